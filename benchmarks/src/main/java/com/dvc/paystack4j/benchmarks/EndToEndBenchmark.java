@@ -0,0 +1,95 @@
+package com.dvc.paystack4j.benchmarks;
+
+import com.dvc.paystack4j.common.HttpClientTransport;
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.config.ClientOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complete calls through the default transport against a stub HTTP server on the loopback
+ * interface. The server runs in the benchmark JVM, so the reported allocation rate includes
+ * the few allocations of the JDK server per exchange.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class EndToEndBenchmark {
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private HttpClientTransport transport;
+    private RequestExecutor executor;
+    private String verifyUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Without it the stub's headers and body go out in separate segments held back by Nagle's
+        // algorithm, and every call waits for a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        byte[] body = Payloads.verifyResponse();
+        serverThreads = Executors.newFixedThreadPool(16);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(serverThreads);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        verifyUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/transaction/verify/";
+        // The JDK server does not speak h2c, so skip the upgrade attempt on every connection
+        transport = HttpClientTransport.builder().version(HttpClient.Version.HTTP_1_1).build();
+        executor = new RequestExecutor("sk_test_benchmark", ClientOptions.builder().transport(transport).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transport.close();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public JsonNode verify() {
+        return executor.execute(new RequestBuilder(verifyUrl).buildGetRequest("ref-1"));
+    }
+
+    @Benchmark
+    public JsonNode verifyAsync() {
+        return executor.executeAsync(new RequestBuilder(verifyUrl).buildGetRequest("ref-1")).join();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public JsonNode verifyConcurrently() {
+        return executor.execute(new RequestBuilder(verifyUrl).buildGetRequest("ref-1"));
+    }
+}
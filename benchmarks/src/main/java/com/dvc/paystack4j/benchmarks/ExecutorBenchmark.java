@@ -0,0 +1,76 @@
+package com.dvc.paystack4j.benchmarks;
+
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.common.Transport;
+import com.dvc.paystack4j.common.TransportRequest;
+import com.dvc.paystack4j.common.TransportResponse;
+import com.dvc.paystack4j.config.ClientOptions;
+import com.dvc.paystack4j.constants.Definitions;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of {@link RequestExecutor} without a network: request construction,
+ * authorization headers, the executor's bookkeeping and response decoding, with a transport
+ * that answers every request from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorBenchmark {
+    private RequestExecutor executor;
+
+    @Setup
+    public void setUp() {
+        byte[] body = Payloads.verifyResponse();
+        Transport transport = new Transport() {
+            @Override
+            public <T> T send(TransportRequest request, ResponseHandler<T> handler) throws IOException {
+                return handler.handle(new TransportResponse(200, name -> null, new ByteArrayInputStream(body)));
+            }
+        };
+        executor = new RequestExecutor("sk_test_benchmark", ClientOptions.builder().transport(transport).build());
+    }
+
+    @Benchmark
+    public JsonNode verifyTree() {
+        return executor.execute(verifyRequest());
+    }
+
+    @Benchmark
+    public Payloads.TransactionResponse verifyTyped() {
+        return executor.execute(verifyRequest(), Payloads.TransactionResponse.class);
+    }
+
+    @Benchmark
+    public JSONObject verifyJsonObject() {
+        return executor.executeForJsonObject(verifyRequest());
+    }
+
+    @Benchmark
+    public JsonNode verifyAsync() {
+        return executor.executeAsync(verifyRequest()).join();
+    }
+
+    private static TransportRequest verifyRequest() {
+        return new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_VERIFY_TRANSACTION).buildGetRequest("ref-1");
+    }
+}
@@ -0,0 +1,101 @@
+package com.dvc.paystack4j.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Representative Paystack response bodies shared by the benchmarks
+ */
+public final class Payloads {
+    private Payloads() {
+    }
+
+    /**
+     * A transaction as returned by verify and fetch
+     * @param id The transaction id
+     * @return The transaction object
+     */
+    public static String transaction(long id) {
+        return "{\"id\":" + id + ",\"domain\":\"test\",\"status\":\"success\",\"reference\":\"ref-" + id + "\"," +
+                "\"amount\":" + (10_000 + id) + ",\"message\":null,\"gateway_response\":\"Successful\"," +
+                "\"paid_at\":\"2024-10-25T10:15:30.000Z\",\"created_at\":\"2024-10-25T10:15:00.000Z\"," +
+                "\"channel\":\"card\",\"currency\":\"NGN\",\"ip_address\":\"102.89.3.14\"," +
+                "\"metadata\":{\"custom_fields\":[{\"display_name\":\"Order\",\"variable_name\":\"order\"," +
+                "\"value\":\"ORD-" + id + "\"}]},\"fees\":150,\"authorization\":{\"authorization_code\":\"AUTH_" +
+                id + "\",\"bin\":\"408408\",\"last4\":\"4081\",\"exp_month\":\"12\",\"exp_year\":\"2030\"," +
+                "\"channel\":\"card\",\"card_type\":\"visa\",\"bank\":\"TEST BANK\",\"country_code\":\"NG\"," +
+                "\"brand\":\"visa\",\"reusable\":true,\"signature\":\"SIG_" + id + "\"}," +
+                "\"customer\":{\"id\":" + (id % 977) + ",\"first_name\":\"Ada\",\"last_name\":\"Obi\"," +
+                "\"email\":\"customer" + (id % 977) + "@example.com\",\"customer_code\":\"CUS_" + (id % 977) +
+                "\",\"phone\":null,\"metadata\":null,\"risk_action\":\"default\"}}";
+    }
+
+    /**
+     * A verify response
+     * @return The response body
+     */
+    public static byte[] verifyResponse() {
+        return ("{\"status\":true,\"message\":\"Verification successful\",\"data\":" + transaction(1) + "}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A page of a transaction list response
+     * @param size The number of transactions on the page
+     * @return The response body
+     */
+    public static byte[] listResponse(int size) {
+        StringBuilder body = new StringBuilder("{\"status\":true,\"message\":\"Transactions retrieved\",\"data\":[");
+        for (int i = 0; i < size; i++) {
+            body.append(i == 0 ? "" : ",").append(transaction(i + 1));
+        }
+        body.append("],\"meta\":{\"total\":").append(size).append(",\"skipped\":0,\"perPage\":").append(size)
+                .append(",\"page\":1,\"pageCount\":1}}");
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Envelope of a single transaction, bound by the typed decoding benchmarks
+     */
+    public static final class TransactionResponse {
+        public boolean status;
+        public String message;
+        public Transaction data;
+    }
+
+    /**
+     * Envelope of a transaction list
+     */
+    public static final class TransactionListResponse {
+        public boolean status;
+        public String message;
+        public List<Transaction> data;
+    }
+
+    /**
+     * The fields of a transaction an integration typically reads
+     */
+    public static final class Transaction {
+        public long id;
+        public String status;
+        public String reference;
+        public long amount;
+        public String currency;
+        public String channel;
+        @JsonProperty("paid_at")
+        public String paidAt;
+        public Customer customer;
+    }
+
+    /**
+     * The fields of a customer an integration typically reads
+     */
+    public static final class Customer {
+        public long id;
+        public String email;
+        @JsonProperty("customer_code")
+        public String customerCode;
+    }
+}
@@ -0,0 +1,91 @@
+package com.dvc.paystack4j.benchmarks;
+
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.TransportRequest;
+import com.dvc.paystack4j.constants.Definitions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning service arguments into a {@link TransportRequest}: the parameter map, the
+ * resource URL concatenation, query string encoding and JSON body serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBuildingBenchmark {
+    private Map<String, Object> filter;
+    private Map<String, Object> initialize;
+
+    @Setup
+    public void setUp() {
+        filter = new HashMap<>();
+        filter.put("perPage", 100);
+        filter.put("status", "success");
+        filter.put("from", "2024-10-01T00:00:00.000Z");
+        filter.put("to", "2024-10-31T23:59:59.999Z");
+
+        initialize = new HashMap<>();
+        initialize.put("email", "customer@example.com");
+        initialize.put("amount", 250_000);
+        initialize.put("currency", "NGN");
+        initialize.put("channels", List.of("card", "bank_transfer"));
+        initialize.put("metadata", Map.of("order", "ORD-1", "cart", List.of(1, 2, 3)));
+    }
+
+    /**
+     * A verify call: no parameters, the reference appended to the template
+     */
+    @Benchmark
+    public TransportRequest getById() {
+        return new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_VERIFY_TRANSACTION)
+                .buildGetRequest("ref-1234567890");
+    }
+
+    /**
+     * A list call: the filter copied into the request
+     */
+    @Benchmark
+    public TransportRequest getWithParameters() {
+        return new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_LIST_TRANSACTIONS)
+                .addParameters(filter)
+                .buildGetRequest();
+    }
+
+    /**
+     * A list call up to the encoded URI the transport sends
+     */
+    @Benchmark
+    public String getWithParametersUri() {
+        return new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_LIST_TRANSACTIONS)
+                .addParameters(filter)
+                .buildGetRequest()
+                .getUri();
+    }
+
+    /**
+     * An initialize call: nested parameters serialized to JSON and an idempotency key generated
+     */
+    @Benchmark
+    public TransportRequest jsonPost() {
+        return new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_INITIALIZE_TRANSACTION)
+                .addParameters(initialize)
+                .buildJsonPostRequest();
+    }
+}
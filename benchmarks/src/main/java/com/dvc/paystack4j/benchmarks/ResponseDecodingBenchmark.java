@@ -0,0 +1,108 @@
+package com.dvc.paystack4j.benchmarks;
+
+import com.dvc.paystack4j.common.JsonObjectAdapter;
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding a response body the ways a caller can ask for it: the legacy
+ * {@link JSONObject}, directly and through the Jackson tree the executor produces, the Jackson
+ * tree itself, typed binding, and a hand-written streaming parse as the lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseDecodingBenchmark {
+    /** {@code verify} is a single transaction, {@code list} a page of 50 */
+    @Param({"verify", "list"})
+    public String payload;
+
+    private byte[] body;
+    private JsonFactory factory;
+
+    @Setup
+    public void setUp() {
+        body = "verify".equals(payload) ? Payloads.verifyResponse() : Payloads.listResponse(50);
+        factory = ResponseDecoder.mapper().getFactory();
+    }
+
+    /**
+     * org.json parsing the body text, as done before responses were decoded with Jackson
+     */
+    @Benchmark
+    public JSONObject jsonObject() throws Exception {
+        return new JSONObject(new String(body, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@code executeForJsonObject}: the Jackson tree converted to a {@link JSONObject}
+     */
+    @Benchmark
+    public JSONObject jsonObjectFromTree() throws Exception {
+        return JsonObjectAdapter.toJsonObject(ResponseDecoder.readTree(new ByteArrayInputStream(body)));
+    }
+
+    /**
+     * {@code execute}: the Jackson tree
+     */
+    @Benchmark
+    public JsonNode jacksonTree() throws IOException {
+        return ResponseDecoder.readTree(new ByteArrayInputStream(body));
+    }
+
+    /**
+     * {@code execute(request, type)}: binding straight to the caller's type
+     */
+    @Benchmark
+    public Object typedBinding() throws IOException {
+        return "verify".equals(payload)
+                ? ResponseDecoder.read(new ByteArrayInputStream(body), Payloads.TransactionResponse.class)
+                : ResponseDecoder.read(new ByteArrayInputStream(body), Payloads.TransactionListResponse.class);
+    }
+
+    /**
+     * Pulling the amounts out with the streaming parser and nothing else, the floor for any
+     * decoding strategy
+     */
+    @Benchmark
+    public long jacksonStreaming() throws IOException {
+        long total = 0;
+        try (JsonParser parser = factory.createParser(body)) {
+            int depth = 0;
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    depth++;
+                } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    depth--;
+                } else if (token == JsonToken.FIELD_NAME && depth <= 3 && "amount".equals(parser.getCurrentName())) {
+                    parser.nextToken();
+                    total += parser.getLongValue();
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,92 @@
+package com.dvc.paystack4j.loadtest;
+
+import com.dvc.paystack4j.PaystackClient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Resources created before the run, so that lookups hit existing records, and a bounded window
+ * of recent transfers for status polling
+ */
+final class Fixtures {
+    private static final int RECENT_TRANSFERS = 4096;
+
+    private final String runId;
+    private final List<String> emails;
+    private final List<String> references;
+    private final String recipientCode = "RCP_loadtest";
+    private final AtomicReferenceArray<String> recentTransfers = new AtomicReferenceArray<>(RECENT_TRANSFERS);
+    private final AtomicLong transfers = new AtomicLong();
+    private final AtomicLong transferSequence = new AtomicLong();
+
+    private Fixtures(String runId, List<String> emails, List<String> references) {
+        this.runId = runId;
+        this.emails = emails;
+        this.references = references;
+    }
+
+    /**
+     * Creates customers and initializes transactions through the client
+     * @param client The client under test
+     * @param runId Prefix making references unique across runs against the same server
+     * @param customers The number of customers
+     * @param transactions The number of transactions
+     * @return The fixtures
+     */
+    static Fixtures create(PaystackClient client, String runId, int customers, int transactions) {
+        List<String> emails = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            String email = "loadtest-" + runId + "-" + i + "@example.com";
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("email", email);
+            parameters.put("first_name", "Load");
+            parameters.put("last_name", "Test " + i);
+            client.customers().create(parameters);
+            emails.add(email);
+        }
+        List<String> references = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("email", emails.get(i % emails.size()));
+            parameters.put("amount", 10_000 + i);
+            parameters.put("reference", "LT-" + runId + "-" + i);
+            references.add(client.transactions().initialize(parameters).path("data").path("reference").asText());
+        }
+        return new Fixtures(runId, emails, references);
+    }
+
+    String customerEmail() {
+        return emails.get(ThreadLocalRandom.current().nextInt(emails.size()));
+    }
+
+    String transactionReference() {
+        return references.get(ThreadLocalRandom.current().nextInt(references.size()));
+    }
+
+    String recipientCode() {
+        return recipientCode;
+    }
+
+    String newTransferReference() {
+        return "LTT-" + runId + "-" + transferSequence.incrementAndGet();
+    }
+
+    void addTransferReference(String reference) {
+        recentTransfers.set((int) (transfers.getAndIncrement() % RECENT_TRANSFERS), reference);
+    }
+
+    /**
+     * Picks one of the recently initiated transfers
+     * @return The reference, or null before the first transfer was accepted
+     */
+    String transferReference() {
+        long count = Math.min(transfers.get(), RECENT_TRANSFERS);
+        return count == 0 ? null : recentTransfers.get(ThreadLocalRandom.current().nextInt((int) count));
+    }
+}
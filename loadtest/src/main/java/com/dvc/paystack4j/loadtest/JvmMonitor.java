@@ -0,0 +1,111 @@
+package com.dvc.paystack4j.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records GC pauses and the heap left after each collection, the live set whose growth over a
+ * soak run points at leaks, from the JVM's garbage collection notifications
+ */
+final class JvmMonitor implements NotificationListener, AutoCloseable {
+    private final Set<String> heapPools = new HashSet<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final Recorder pauses = new Recorder(3);
+    private volatile long liveHeapBytes = -1;
+
+    JvmMonitor() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+    }
+
+    /**
+     * Starts listening for collections
+     * @return The monitor instance for chaining
+     */
+    JvmMonitor start() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        liveHeapBytes = used;
+        // Concurrent cycles run alongside the application; only stop-the-world collections are pauses
+        if (!info.getGcName().contains("Concurrent") && !info.getGcAction().contains("concurrent")) {
+            pauses.recordValue(TimeUnit.MILLISECONDS.toMicros(info.getGcInfo().getDuration()));
+        }
+    }
+
+    /**
+     * Takes the pauses recorded since the previous call
+     * @return Pause durations in microseconds
+     */
+    Histogram takePauses() {
+        return pauses.getIntervalHistogram();
+    }
+
+    /**
+     * Gets the heap in use after the latest collection
+     * @return The live heap in bytes, or -1 before the first collection
+     */
+    long getLiveHeapBytes() {
+        return liveHeapBytes;
+    }
+
+    /**
+     * Gets the heap currently in use, including garbage not yet collected
+     * @return The used heap in bytes
+     */
+    static long getUsedHeapBytes() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // already removed
+            }
+        }
+    }
+}
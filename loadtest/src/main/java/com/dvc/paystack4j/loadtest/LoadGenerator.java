@@ -0,0 +1,85 @@
+package com.dvc.paystack4j.loadtest;
+
+import com.dvc.paystack4j.PaystackClient;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts calls at a fixed average rate regardless of how fast earlier calls complete, as
+ * independent customers and jobs would, and hands their outcomes to a {@link RunRecorder}.
+ *
+ * <p>In such an open model a slow client builds up calls in flight instead of quietly lowering
+ * the load, which is what exposes pool saturation and queueing in the tail latencies. Arrivals
+ * beyond the in-flight limit are dropped and counted rather than queued without bound.</p>
+ */
+final class LoadGenerator {
+    private static final long DRAIN_TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    private final PaystackClient client;
+    private final Fixtures fixtures;
+    private final Mix mix;
+    private final double rate;
+    private final boolean poisson;
+    private final int maxOutstanding;
+    private final SplittableRandom random = new SplittableRandom();
+
+    LoadGenerator(PaystackClient client, Fixtures fixtures, LoadTestConfig config) {
+        this.client = client;
+        this.fixtures = fixtures;
+        this.mix = config.getMix();
+        this.rate = config.getRate();
+        this.poisson = config.isPoissonArrivals();
+        this.maxOutstanding = config.getMaxOutstanding();
+    }
+
+    /**
+     * Generates load on the calling thread for the given time, then waits up to 30 seconds for
+     * the calls in flight to complete
+     * @param duration How long to start calls for
+     * @param recorder Recorder of the outcomes
+     */
+    void run(Duration duration, RunRecorder recorder) {
+        long next = System.nanoTime();
+        long end = next + duration.toNanos();
+        while (next - end < 0) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            long intended = next;
+            next += interarrivalNanos();
+            if (recorder.begin(maxOutstanding)) {
+                start(mix.pick(random.nextDouble()), intended, recorder);
+            }
+        }
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT;
+        while (recorder.getOutstanding() > 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private void start(Operation operation, long intended, RunRecorder recorder) {
+        long started = System.nanoTime();
+        CompletableFuture<JsonNode> call;
+        try {
+            call = operation.start(client, fixtures);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((response, error) -> recorder.end(operation, intended, started, error));
+    }
+
+    /**
+     * Gap to the next arrival: exponentially distributed for Poisson arrivals, constant otherwise
+     */
+    private long interarrivalNanos() {
+        double seconds = poisson ? -Math.log(1 - random.nextDouble()) / rate : 1 / rate;
+        return (long) (seconds * 1e9);
+    }
+}
@@ -0,0 +1,148 @@
+package com.dvc.paystack4j.loadtest;
+
+import com.dvc.paystack4j.PaystackClient;
+import com.dvc.paystack4j.common.HttpClientTransport;
+import com.dvc.paystack4j.config.ClientOptions;
+import com.dvc.paystack4j.config.RateLimitPolicy;
+import com.dvc.paystack4j.config.RetryPolicy;
+import com.dvc.paystack4j.testing.FakePaystackServer;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the load test jar.
+ *
+ * <p>A run starts an embedded {@link FakePaystackServer} unless a target is given, creates
+ * fixtures through the client, generates load for the warm-up period, then measures for the
+ * configured duration. Progress is printed every interval; when the run ends a report
+ * directory holds {@code report.json}, per-operation {@code .hgrm} percentile files and
+ * {@code latency.hlog}, the interval histogram log readable by HdrHistogram's log tools.</p>
+ */
+public final class LoadTest {
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "compare".equals(args[0])) {
+            if (args.length != 3) {
+                System.err.println(LoadTestConfig.USAGE);
+                System.exit(2);
+            }
+            RunReport.compare(Paths.get(args[1]), Paths.get(args[2]), System.out);
+            return;
+        }
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+        run(config, System.out);
+    }
+
+    /**
+     * Runs a load test
+     * @param config The run settings
+     * @param out Where progress is printed
+     * @return The report file
+     * @throws IOException if the embedded server cannot start or the report cannot be written
+     */
+    public static Path run(LoadTestConfig config, PrintStream out) throws IOException {
+        String runId = RUN_ID.format(Instant.now());
+        Path directory = config.getReportDir().resolve(config.getLabel() + "-" + runId);
+        Files.createDirectories(directory);
+
+        FakePaystackServer server = null;
+        String target = config.getTarget();
+        if (target == null) {
+            server = FakePaystackServer.builder()
+                    .faults(FakePaystackServer.Faults.builder()
+                            .latency(config.getLatency())
+                            .latencyJitter(config.getJitter())
+                            .errorRate(config.getErrorRate())
+                            .throttle(config.getThrottle())
+                            .build())
+                    .build()
+                    .start();
+            target = server.getBaseUrl();
+        }
+        HttpClientTransport transport = HttpClientTransport.builder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .maxConcurrentRequests(config.getMaxConnections())
+                .build();
+        ClientOptions.Builder options = ClientOptions.builder()
+                .baseUrl(target)
+                .transport(transport)
+                .virtualThreads(config.isVirtualThreads())
+                .maxInFlightRequests(config.getMaxOutstanding());
+        if (config.isRetry()) {
+            options.retry(RetryPolicy.builder().build());
+        }
+        if (config.getClientRateLimit() > 0) {
+            options.rateLimit(RateLimitPolicy.builder().requestsPerSecond(config.getClientRateLimit()).build());
+        }
+        PaystackClient client = new PaystackClient.Impl("sk_test_loadtest", options.build());
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "loadtest-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (JvmMonitor jvm = new JvmMonitor().start();
+             PrintStream hlog = new PrintStream(Files.newOutputStream(directory.resolve("latency.hlog")))) {
+            out.printf("Target %s, %s at %.0f calls/s%n", target, config.getMix(), config.getRate());
+            Fixtures fixtures = Fixtures.create(client, runId, 200, 2000);
+            LoadGenerator generator = new LoadGenerator(client, fixtures, config);
+            long interval = config.getInterval().toMillis();
+
+            if (!config.getWarmup().isZero()) {
+                out.println("Warming up for " + config.getWarmup());
+                RunRecorder warmup = new RunRecorder(jvm,
+                        new HistogramLogWriter(new PrintStream(OutputStream.nullOutputStream())), out);
+                ScheduledFuture<?> ticks = ticker.scheduleAtFixedRate(warmup::interval, interval, interval, TimeUnit.MILLISECONDS);
+                generator.run(config.getWarmup(), warmup);
+                ticks.cancel(false);
+            }
+
+            out.println("Measuring for " + config.getDuration());
+            Instant started = Instant.now();
+            RunRecorder recorder = new RunRecorder(jvm, new HistogramLogWriter(hlog), out);
+            ScheduledFuture<?> ticks = ticker.scheduleAtFixedRate(recorder::interval, interval, interval, TimeUnit.MILLISECONDS);
+            generator.run(config.getDuration(), recorder);
+            ticks.cancel(false);
+            recorder.interval();
+
+            Path report = RunReport.write(directory, config, started, recorder);
+            out.println("Report written to " + report.toAbsolutePath());
+            if (recorder.getDropped() > 0) {
+                out.println(recorder.getDropped() + " arrivals dropped at the in-flight limit; the client could not keep up");
+            }
+            return report;
+        } finally {
+            ticker.shutdownNow();
+            transport.close();
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+}
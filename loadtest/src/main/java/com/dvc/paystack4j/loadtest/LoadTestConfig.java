@@ -0,0 +1,274 @@
+package com.dvc.paystack4j.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code -name=value} command line arguments.
+ *
+ * <p>Durations take a unit suffix: {@code ms}, {@code s}, {@code m} or {@code h}.</p>
+ */
+public final class LoadTestConfig {
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar loadtest.jar [-name=value ...]",
+            "       java -jar loadtest.jar compare <baseline report.json> <candidate report.json>",
+            "",
+            "Load:",
+            "  -rate=500               arrivals per second, independent of response times",
+            "  -arrivals=poisson       poisson or uniform spacing of arrivals",
+            "  -duration=5m            measured run time",
+            "  -warmup=30s             run time before measuring",
+            "  -mix=balanced           verify-heavy, transfer-heavy, list-heavy or balanced",
+            "  -max-outstanding=20000  calls in flight before further arrivals are dropped",
+            "  -interval=10s           period of the progress lines and the histogram log",
+            "Client:",
+            "  -target=URL             stand-in server to call; an embedded one is started when absent",
+            "  -max-connections=0      concurrent exchanges admitted by the transport, 0 for no limit",
+            "  -virtual-threads=false  run calls on virtual threads",
+            "  -retry=false            retry transient failures",
+            "  -client-rate-limit=0    client side requests per second, 0 for no limit",
+            "Embedded server:",
+            "  -latency=20ms           added latency per response",
+            "  -jitter=10ms            further random latency per response",
+            "  -error-rate=0           share of responses failed with 500",
+            "  -throttle=0             requests per second answered beyond with 429, 0 for none",
+            "Report:",
+            "  -label=run              name of the run in the report",
+            "  -report-dir=loadtest-reports");
+
+    private final Map<String, String> values;
+
+    private LoadTestConfig(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Parses command line arguments
+     * @param args Arguments of the form {@code -name=value}
+     * @return The configuration
+     * @throws IllegalArgumentException if an argument is malformed or unknown
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("rate", "500");
+        values.put("arrivals", "poisson");
+        values.put("duration", "5m");
+        values.put("warmup", "30s");
+        values.put("mix", "balanced");
+        values.put("max-outstanding", "20000");
+        values.put("interval", "10s");
+        values.put("target", "");
+        values.put("max-connections", "0");
+        values.put("virtual-threads", "false");
+        values.put("retry", "false");
+        values.put("client-rate-limit", "0");
+        values.put("latency", "20ms");
+        values.put("jitter", "10ms");
+        values.put("error-rate", "0");
+        values.put("throttle", "0");
+        values.put("label", "run");
+        values.put("report-dir", "loadtest-reports");
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("-") || equals < 0) {
+                throw new IllegalArgumentException("Expected -name=value but got " + arg);
+            }
+            String name = arg.substring(arg.startsWith("--") ? 2 : 1, equals);
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option " + name);
+            }
+            values.put(name, arg.substring(equals + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(values);
+        if (config.getRate() <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        config.getMix();
+        config.isPoissonArrivals();
+        return config;
+    }
+
+    /**
+     * Gets the number of calls started per second
+     * @return The number of calls started per second
+     */
+    public double getRate() {
+        return Double.parseDouble(values.get("rate"));
+    }
+
+    /**
+     * Checks whether arrivals are spaced randomly, as independent users would arrive, rather than evenly
+     * @return true if so
+     */
+    public boolean isPoissonArrivals() {
+        String arrivals = values.get("arrivals");
+        if (!"poisson".equals(arrivals) && !"uniform".equals(arrivals)) {
+            throw new IllegalArgumentException("arrivals must be poisson or uniform");
+        }
+        return "poisson".equals(arrivals);
+    }
+
+    /**
+     * Gets the measured run time
+     * @return The measured run time
+     */
+    public Duration getDuration() {
+        return duration("duration");
+    }
+
+    /**
+     * Gets the run time before measuring starts
+     * @return The run time before measuring starts
+     */
+    public Duration getWarmup() {
+        return duration("warmup");
+    }
+
+    /**
+     * Gets the operation mix
+     * @return The operation mix
+     */
+    public Mix getMix() {
+        return Mix.of(values.get("mix"));
+    }
+
+    /**
+     * Gets the number of calls in flight beyond which arrivals are dropped
+     * @return The number of calls in flight beyond which arrivals are dropped
+     */
+    public int getMaxOutstanding() {
+        return Integer.parseInt(values.get("max-outstanding"));
+    }
+
+    /**
+     * Gets the reporting interval
+     * @return The reporting interval
+     */
+    public Duration getInterval() {
+        return duration("interval");
+    }
+
+    /**
+     * Gets the base URL of an external stand-in server
+     * @return The URL, or null to start an embedded server
+     */
+    public String getTarget() {
+        String target = values.get("target");
+        return target.isEmpty() ? null : target;
+    }
+
+    /**
+     * Gets the number of concurrent exchanges the transport admits
+     * @return The limit, 0 for none
+     */
+    public int getMaxConnections() {
+        return Integer.parseInt(values.get("max-connections"));
+    }
+
+    /**
+     * Checks whether calls run on virtual threads
+     * @return true if so
+     */
+    public boolean isVirtualThreads() {
+        return Boolean.parseBoolean(values.get("virtual-threads"));
+    }
+
+    /**
+     * Checks whether transient failures are retried
+     * @return true if so
+     */
+    public boolean isRetry() {
+        return Boolean.parseBoolean(values.get("retry"));
+    }
+
+    /**
+     * Gets the client side rate limit
+     * @return The limit, 0 for none
+     */
+    public int getClientRateLimit() {
+        return Integer.parseInt(values.get("client-rate-limit"));
+    }
+
+    /**
+     * Gets the latency the embedded server adds to every response
+     * @return The latency the embedded server adds to every response
+     */
+    public Duration getLatency() {
+        return duration("latency");
+    }
+
+    /**
+     * Gets the maximum random latency the embedded server adds on top
+     * @return The maximum random latency the embedded server adds on top
+     */
+    public Duration getJitter() {
+        return duration("jitter");
+    }
+
+    /**
+     * Gets the share of responses the embedded server fails
+     * @return The share of responses the embedded server fails
+     */
+    public double getErrorRate() {
+        return Double.parseDouble(values.get("error-rate"));
+    }
+
+    /**
+     * Gets the requests per second beyond which the embedded server answers 429
+     * @return The limit, 0 for none
+     */
+    public int getThrottle() {
+        return Integer.parseInt(values.get("throttle"));
+    }
+
+    /**
+     * Gets the name of the run
+     * @return The name of the run
+     */
+    public String getLabel() {
+        return values.get("label");
+    }
+
+    /**
+     * Gets the directory reports are written to
+     * @return The directory reports are written to
+     */
+    public Path getReportDir() {
+        return Paths.get(values.get("report-dir"));
+    }
+
+    /**
+     * Gets every setting as given or defaulted, for the run report
+     * @return The settings by name
+     */
+    public Map<String, String> asMap() {
+        return new LinkedHashMap<>(values);
+    }
+
+    private Duration duration(String name) {
+        String value = values.get(name).trim().toLowerCase(Locale.ROOT);
+        try {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            switch (value.charAt(value.length() - 1)) {
+                case 's':
+                    return Duration.ofSeconds(amount);
+                case 'm':
+                    return Duration.ofMinutes(amount);
+                case 'h':
+                    return Duration.ofHours(amount);
+                default:
+                    break;
+            }
+        } catch (NumberFormatException | StringIndexOutOfBoundsException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be a duration such as 500ms, 30s, 10m or 2h");
+    }
+}
@@ -0,0 +1,67 @@
+package com.dvc.paystack4j.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Weighted shares of the operations a run performs
+ */
+public enum Mix {
+    /** Checkout traffic: mostly verifying references, some new checkouts and customer lookups */
+    VERIFY_HEAVY(weights(70, 15, 5, 10, 0, 0)),
+    /** Payout traffic: initiating transfers and polling their status */
+    TRANSFER_HEAVY(weights(10, 0, 5, 5, 45, 35)),
+    /** Reporting traffic: paging through transaction lists */
+    LIST_HEAVY(weights(15, 5, 70, 10, 0, 0)),
+    /** Every operation in comparable shares */
+    BALANCED(weights(30, 15, 15, 15, 15, 10));
+
+    private final Operation[] table;
+
+    Mix(Map<Operation, Integer> weights) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.table = new Operation[total];
+        int index = 0;
+        for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+            for (int i = 0; i < weight.getValue(); i++) {
+                table[index++] = weight.getKey();
+            }
+        }
+    }
+
+    /**
+     * Looks up a mix by its command line name, e.g. {@code verify-heavy}
+     * @param name The name
+     * @return The mix
+     * @throws IllegalArgumentException if there is no such mix
+     */
+    public static Mix of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown mix " + name, e);
+        }
+    }
+
+    /**
+     * Picks an operation according to the weights
+     * @param random A uniformly distributed number in [0, 1)
+     * @return The operation
+     */
+    Operation pick(double random) {
+        return table[(int) (random * table.length)];
+    }
+
+    /**
+     * Weights in the order of {@link Operation}, in percent
+     */
+    private static Map<Operation, Integer> weights(int... percent) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        Operation[] operations = Operation.values();
+        for (int i = 0; i < operations.length; i++) {
+            weights.put(operations[i], percent[i]);
+        }
+        return weights;
+    }
+}
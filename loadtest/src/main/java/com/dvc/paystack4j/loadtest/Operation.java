@@ -0,0 +1,79 @@
+package com.dvc.paystack4j.loadtest;
+
+import com.dvc.paystack4j.PaystackClient;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A call the load generator can make, with arguments drawn from the {@link Fixtures} of the run
+ */
+public enum Operation {
+    VERIFY_TRANSACTION {
+        @Override
+        CompletableFuture<JsonNode> start(PaystackClient client, Fixtures fixtures) {
+            return client.transactions().verifyAsync(fixtures.transactionReference());
+        }
+    },
+    INITIALIZE_TRANSACTION {
+        @Override
+        CompletableFuture<JsonNode> start(PaystackClient client, Fixtures fixtures) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("email", fixtures.customerEmail());
+            parameters.put("amount", 10_000 + ThreadLocalRandom.current().nextInt(1_000_000));
+            return client.transactions().initializeAsync(parameters);
+        }
+    },
+    LIST_TRANSACTIONS {
+        @Override
+        CompletableFuture<JsonNode> start(PaystackClient client, Fixtures fixtures) {
+            Map<String, Object> filter = new HashMap<>();
+            filter.put("perPage", 50);
+            filter.put("page", 1 + ThreadLocalRandom.current().nextInt(4));
+            return client.transactions().listAsync(filter);
+        }
+    },
+    FETCH_CUSTOMER {
+        @Override
+        CompletableFuture<JsonNode> start(PaystackClient client, Fixtures fixtures) {
+            return client.customers().fetchAsync(fixtures.customerEmail());
+        }
+    },
+    INITIATE_TRANSFER {
+        @Override
+        CompletableFuture<JsonNode> start(PaystackClient client, Fixtures fixtures) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("source", "balance");
+            parameters.put("recipient", fixtures.recipientCode());
+            parameters.put("amount", 5_000 + ThreadLocalRandom.current().nextInt(500_000));
+            parameters.put("reference", fixtures.newTransferReference());
+            parameters.put("reason", "Load test payout");
+            return client.transfers().initiateAsync(parameters)
+                    .whenComplete((response, error) -> {
+                        if (error == null) {
+                            fixtures.addTransferReference(response.path("data").path("reference").asText());
+                        }
+                    });
+        }
+    },
+    VERIFY_TRANSFER {
+        @Override
+        CompletableFuture<JsonNode> start(PaystackClient client, Fixtures fixtures) {
+            String reference = fixtures.transferReference();
+            return reference != null
+                    ? client.transfers().verifyAsync(reference)
+                    : INITIATE_TRANSFER.start(client, fixtures);
+        }
+    };
+
+    /**
+     * Starts the call without blocking
+     * @param client The client under test
+     * @param fixtures Existing resources to refer to
+     * @return A future completed with the response
+     */
+    abstract CompletableFuture<JsonNode> start(PaystackClient client, Fixtures fixtures);
+}
@@ -0,0 +1,228 @@
+package com.dvc.paystack4j.loadtest;
+
+import com.dvc.paystack4j.exceptions.APIException;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the outcome of every measured call and rolls them up per reporting interval.
+ *
+ * <p>Response times are taken from the moment a call was due to start, not from when it
+ * actually started, so stalls of the generator or the client count against latency instead of
+ * hiding as fewer calls. Service times, from the actual start, are kept alongside.</p>
+ */
+final class RunRecorder {
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final JvmMonitor jvm;
+    private final HistogramLogWriter log;
+    private final PrintStream out;
+    private final long startNanos;
+    private final long startMillis;
+    private final Histogram gcPauses = new Histogram(3);
+    private final List<Interval> intervals = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicLong peakOutstanding = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private long intervalStartNanos;
+
+    RunRecorder(JvmMonitor jvm, HistogramLogWriter log, PrintStream out) {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+        this.jvm = jvm;
+        this.log = log;
+        this.out = out;
+        this.startNanos = System.nanoTime();
+        this.startMillis = System.currentTimeMillis();
+        this.intervalStartNanos = startNanos;
+        log.outputStartTime(startMillis);
+        log.setBaseTime(startMillis);
+        log.outputLogFormatVersion();
+        log.outputLegend();
+        jvm.takePauses();
+        out.printf("%8s %9s %7s %9s %9s %9s %9s %8s %9s %9s %8s%n", "time", "calls/s", "errors", "p50 ms",
+                "p99 ms", "p99.9 ms", "max ms", "in-flt", "heap MB", "live MB", "gc max");
+    }
+
+    /**
+     * Notes a call starting
+     * @return false if too many calls are in flight and the arrival must be dropped
+     */
+    boolean begin(int maxOutstanding) {
+        long current = outstanding.incrementAndGet();
+        if (current > maxOutstanding) {
+            outstanding.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        peakOutstanding.accumulateAndGet(current, Math::max);
+        return true;
+    }
+
+    /**
+     * Records the outcome of a call
+     * @param operation The operation
+     * @param intended When the call was due to start
+     * @param started When it started
+     * @param error The failure, or null if it succeeded
+     */
+    void end(Operation operation, long intended, long started, Throwable error) {
+        long done = System.nanoTime();
+        outstanding.decrementAndGet();
+        Stats operationStats = stats.get(operation);
+        operationStats.responseTime.recordValue(done - intended);
+        operationStats.serviceTime.recordValue(done - started);
+        if (error == null) {
+            operationStats.successes.increment();
+        } else {
+            operationStats.failures.computeIfAbsent(status(error), status -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Closes the current interval: logs its histograms, prints a progress line and folds it into
+     * the run totals
+     */
+    synchronized void interval() {
+        long now = System.nanoTime();
+        double seconds = (now - intervalStartNanos) / 1e9;
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            Histogram responseTime = operationStats.responseTime.getIntervalHistogram(operationStats.intervalResponseTime);
+            Histogram serviceTime = operationStats.serviceTime.getIntervalHistogram(operationStats.intervalServiceTime);
+            operationStats.intervalResponseTime = responseTime;
+            operationStats.intervalServiceTime = serviceTime;
+            long failures = operationStats.failures.values().stream().mapToLong(LongAdder::sum).sum();
+            errors += failures - operationStats.reportedFailures;
+            operationStats.reportedFailures = failures;
+            if (responseTime.getTotalCount() > 0) {
+                operationStats.totalResponseTime.add(responseTime);
+                operationStats.totalServiceTime.add(serviceTime);
+                all.add(responseTime);
+                responseTime.setTag(entry.getKey().name());
+                responseTime.setStartTimeStamp(startMillis + TimeUnit.NANOSECONDS.toMillis(intervalStartNanos - startNanos));
+                responseTime.setEndTimeStamp(startMillis + TimeUnit.NANOSECONDS.toMillis(now - startNanos));
+                log.outputIntervalHistogram(responseTime);
+            }
+        }
+        Histogram pauses = jvm.takePauses();
+        gcPauses.add(pauses);
+        Interval interval = new Interval(TimeUnit.NANOSECONDS.toMillis(now - startNanos) / 1000.0,
+                all.getTotalCount() / seconds, errors, millis(all.getValueAtPercentile(50)),
+                millis(all.getValueAtPercentile(99)), millis(all.getValueAtPercentile(99.9)), millis(all.getMaxValue()),
+                peakOutstanding.getAndSet(outstanding.get()), JvmMonitor.getUsedHeapBytes(),
+                jvm.getLiveHeapBytes(), pauses.getTotalCount(), pauses.getMaxValue() / 1000.0);
+        intervals.add(interval);
+        intervalStartNanos = now;
+        out.printf("%7.0fs %9.1f %7d %9.2f %9.2f %9.2f %9.2f %8d %9.1f %9.1f %8.1f%n", interval.elapsedSeconds,
+                interval.callsPerSecond, interval.errors, interval.p50Millis, interval.p99Millis, interval.p999Millis,
+                interval.maxMillis, interval.peakOutstanding, interval.usedHeapBytes / 1048576.0,
+                interval.liveHeapBytes / 1048576.0, interval.maxGcPauseMillis);
+    }
+
+    long getOutstanding() {
+        return outstanding.get();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    Map<Operation, Stats> getStats() {
+        return stats;
+    }
+
+    Histogram getGcPauses() {
+        return gcPauses;
+    }
+
+    List<Interval> getIntervals() {
+        synchronized (intervals) {
+            return new ArrayList<>(intervals);
+        }
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Maps a failure to its HTTP status, 0 for failures without a response
+     */
+    private static int status(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof APIException ? ((APIException) cause).getStatusCode() : 0;
+    }
+
+    /**
+     * Outcomes of one operation
+     */
+    static final class Stats {
+        final Recorder responseTime = new Recorder(3);
+        final Recorder serviceTime = new Recorder(3);
+        final Histogram totalResponseTime = new Histogram(3);
+        final Histogram totalServiceTime = new Histogram(3);
+        final LongAdder successes = new LongAdder();
+        final Map<Integer, LongAdder> failures = new ConcurrentHashMap<>();
+        private Histogram intervalResponseTime;
+        private Histogram intervalServiceTime;
+        private long reportedFailures;
+
+        long failureCount() {
+            return failures.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+
+    /**
+     * Summary of one reporting interval
+     */
+    static final class Interval {
+        final double elapsedSeconds;
+        final double callsPerSecond;
+        final long errors;
+        final double p50Millis;
+        final double p99Millis;
+        final double p999Millis;
+        final double maxMillis;
+        final long peakOutstanding;
+        final long usedHeapBytes;
+        final long liveHeapBytes;
+        final long gcPauses;
+        final double maxGcPauseMillis;
+
+        Interval(double elapsedSeconds, double callsPerSecond, long errors, double p50Millis, double p99Millis,
+                 double p999Millis, double maxMillis, long peakOutstanding, long usedHeapBytes, long liveHeapBytes,
+                 long gcPauses, double maxGcPauseMillis) {
+            this.elapsedSeconds = elapsedSeconds;
+            this.callsPerSecond = callsPerSecond;
+            this.errors = errors;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.p999Millis = p999Millis;
+            this.maxMillis = maxMillis;
+            this.peakOutstanding = peakOutstanding;
+            this.usedHeapBytes = usedHeapBytes;
+            this.liveHeapBytes = liveHeapBytes;
+            this.gcPauses = gcPauses;
+            this.maxGcPauseMillis = maxGcPauseMillis;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.dvc.paystack4j.loadtest;
+
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The summary of a run written as {@code report.json}, with the full latency distribution of
+ * each operation as HdrHistogram {@code .hgrm} percentile files next to it.
+ *
+ * <p>Reports share one layout, so two runs, e.g. before and after a change, can be put side by
+ * side with {@link #compare(Path, Path, PrintStream)}.</p>
+ */
+final class RunReport {
+    private static final ObjectMapper MAPPER = ResponseDecoder.mapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private RunReport() {
+    }
+
+    /**
+     * Writes the report of a finished run
+     * @param directory Directory of this run
+     * @param config The run settings
+     * @param started When measuring started
+     * @param recorder The recorded outcomes
+     * @return The report file
+     * @throws IOException if the report cannot be written
+     */
+    static Path write(Path directory, LoadTestConfig config, Instant started, RunRecorder recorder)
+            throws IOException {
+        ObjectNode report = NODES.objectNode();
+        report.put("label", config.getLabel()).put("started", started.toString()).put("ended", Instant.now().toString());
+        ObjectNode settings = report.putObject("config");
+        config.asMap().forEach(settings::put);
+        ObjectNode jvm = report.putObject("jvm")
+                .put("version", Runtime.version().toString())
+                .put("maxHeapBytes", Runtime.getRuntime().maxMemory())
+                .put("processors", Runtime.getRuntime().availableProcessors());
+        ArrayNode collectors = jvm.putArray("collectors");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.add(collector.getName());
+        }
+
+        List<RunRecorder.Interval> intervals = recorder.getIntervals();
+        double seconds = intervals.isEmpty() ? 0 : intervals.get(intervals.size() - 1).elapsedSeconds;
+        Histogram all = new Histogram(3);
+        long failures = 0;
+        ObjectNode operations = report.putObject("operations");
+        for (Map.Entry<Operation, RunRecorder.Stats> entry : recorder.getStats().entrySet()) {
+            RunRecorder.Stats stats = entry.getValue();
+            if (stats.totalResponseTime.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(stats.totalResponseTime);
+            failures += stats.failureCount();
+            ObjectNode operation = operations.putObject(entry.getKey().name());
+            operation.put("calls", stats.totalResponseTime.getTotalCount())
+                    .put("failures", stats.failureCount());
+            ObjectNode statuses = operation.putObject("failuresByStatus");
+            stats.failures.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+            operation.set("responseTimeMillis", latency(stats.totalResponseTime));
+            operation.set("serviceTimeMillis", latency(stats.totalServiceTime));
+            writePercentiles(directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm"), stats.totalResponseTime);
+        }
+        writePercentiles(directory.resolve("all.hgrm"), all);
+
+        ObjectNode total = report.putObject("total");
+        total.put("calls", all.getTotalCount())
+                .put("failures", failures)
+                .put("dropped", recorder.getDropped())
+                .put("seconds", seconds)
+                .put("callsPerSecond", seconds > 0 ? all.getTotalCount() / seconds : 0);
+        total.set("responseTimeMillis", latency(all));
+
+        Histogram pauses = recorder.getGcPauses();
+        ObjectNode gc = report.putObject("gc");
+        gc.put("pauses", pauses.getTotalCount())
+                .put("totalPauseMillis", pauses.getTotalCount() == 0 ? 0 : pauses.getMean() * pauses.getTotalCount() / 1000)
+                .put("p99PauseMillis", pauses.getValueAtPercentile(99) / 1000.0)
+                .put("maxPauseMillis", pauses.getMaxValue() / 1000.0);
+        ObjectNode heap = report.putObject("heap");
+        long firstLive = -1;
+        long lastLive = -1;
+        long peakUsed = 0;
+        for (RunRecorder.Interval interval : intervals) {
+            if (interval.liveHeapBytes >= 0) {
+                firstLive = firstLive < 0 ? interval.liveHeapBytes : firstLive;
+                lastLive = interval.liveHeapBytes;
+            }
+            peakUsed = Math.max(peakUsed, interval.usedHeapBytes);
+        }
+        heap.put("peakUsedBytes", peakUsed)
+                .put("firstLiveBytes", firstLive)
+                .put("lastLiveBytes", lastLive)
+                .put("liveGrowthBytesPerHour", firstLive < 0 || seconds == 0 ? 0 : (lastLive - firstLive) * 3600 / seconds);
+
+        ArrayNode timeline = report.putArray("intervals");
+        for (RunRecorder.Interval interval : intervals) {
+            timeline.addObject()
+                    .put("seconds", interval.elapsedSeconds)
+                    .put("callsPerSecond", interval.callsPerSecond)
+                    .put("errors", interval.errors)
+                    .put("p50Millis", interval.p50Millis)
+                    .put("p99Millis", interval.p99Millis)
+                    .put("p999Millis", interval.p999Millis)
+                    .put("maxMillis", interval.maxMillis)
+                    .put("peakInFlight", interval.peakOutstanding)
+                    .put("usedHeapBytes", interval.usedHeapBytes)
+                    .put("liveHeapBytes", interval.liveHeapBytes)
+                    .put("gcPauses", interval.gcPauses)
+                    .put("maxGcPauseMillis", interval.maxGcPauseMillis);
+        }
+
+        Path file = directory.resolve("report.json");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        return file;
+    }
+
+    /**
+     * Prints two reports side by side: throughput, failures and response time percentiles per
+     * operation, GC pauses and live heap growth, with the relative change of each figure
+     * @param baseline The earlier report
+     * @param candidate The report to compare with it
+     * @param out Where to print
+     * @throws IOException if a report cannot be read
+     */
+    static void compare(Path baseline, Path candidate, PrintStream out) throws IOException {
+        JsonNode before = MAPPER.readTree(baseline.toFile());
+        JsonNode after = MAPPER.readTree(candidate.toFile());
+        out.printf("%-36s %14s %14s %9s%n", "", before.path("label").asText(), after.path("label").asText(), "change");
+        row(out, "calls/s", before.path("total").path("callsPerSecond"), after.path("total").path("callsPerSecond"));
+        row(out, "failures", before.path("total").path("failures"), after.path("total").path("failures"));
+        row(out, "dropped", before.path("total").path("dropped"), after.path("total").path("dropped"));
+        latencyRows(out, "all", before.path("total").path("responseTimeMillis"),
+                after.path("total").path("responseTimeMillis"));
+        Iterator<String> names = after.path("operations").fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            latencyRows(out, name, before.path("operations").path(name).path("responseTimeMillis"),
+                    after.path("operations").path(name).path("responseTimeMillis"));
+        }
+        row(out, "gc pause p99 ms", before.path("gc").path("p99PauseMillis"), after.path("gc").path("p99PauseMillis"));
+        row(out, "gc pause max ms", before.path("gc").path("maxPauseMillis"), after.path("gc").path("maxPauseMillis"));
+        row(out, "live heap growth MB/h", megabytes(before.path("heap").path("liveGrowthBytesPerHour")),
+                megabytes(after.path("heap").path("liveGrowthBytesPerHour")));
+    }
+
+    private static void latencyRows(PrintStream out, String name, JsonNode before, JsonNode after) {
+        for (String percentile : new String[]{"p50", "p99", "p99.9", "max"}) {
+            row(out, name + " " + percentile + " ms", before.path(percentile), after.path(percentile));
+        }
+    }
+
+    private static void row(PrintStream out, String name, JsonNode before, JsonNode after) {
+        String change = "";
+        if (before.isNumber() && after.isNumber() && before.asDouble() != 0) {
+            change = String.format("%+8.1f%%", (after.asDouble() - before.asDouble()) * 100 / before.asDouble());
+        }
+        out.printf("%-36s %14s %14s %9s%n", name, format(before), format(after), change);
+    }
+
+    private static JsonNode megabytes(JsonNode bytes) {
+        return bytes.isNumber() ? NODES.numberNode(bytes.asDouble() / 1048576) : bytes;
+    }
+
+    private static String format(JsonNode value) {
+        return value.isNumber() ? String.format("%.2f", value.asDouble()) : "-";
+    }
+
+    private static ObjectNode latency(Histogram histogram) {
+        ObjectNode latency = NODES.objectNode();
+        latency.put("mean", histogram.getMean() / 1e6);
+        for (double percentile : PERCENTILES) {
+            latency.put("p" + (percentile == (long) percentile ? String.valueOf((long) percentile) : String.valueOf(percentile)),
+                    RunRecorder.millis(histogram.getValueAtPercentile(percentile)));
+        }
+        latency.put("max", RunRecorder.millis(histogram.getMaxValue()));
+        return latency;
+    }
+
+    private static void writePercentiles(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            // Values are recorded in nanoseconds; the file reports milliseconds
+            histogram.outputPercentileDistribution(out, 1e6);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.dvc.paystack4j.micrometer;
+
+import com.dvc.paystack4j.common.Transport;
+import com.dvc.paystack4j.metrics.MetricsListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MetricsListener} publishing Paystack4J metrics to a Micrometer {@link MeterRegistry}.
+ *
+ * <p>Meters are tagged with the endpoint path of the request template, e.g.
+ * {@code /transaction/verify/}, so their number is bounded by the endpoints an application calls.
+ * Meters are looked up once per endpoint, method and status and reused afterwards.</p>
+ *
+ * <table>
+ *     <caption>Published meters</caption>
+ *     <tr><td>{@code paystack.client.calls}</td><td>timer</td><td>endpoint, method, outcome</td></tr>
+ *     <tr><td>{@code paystack.client.exchanges}</td><td>timer</td><td>endpoint, method, status</td></tr>
+ *     <tr><td>{@code paystack.client.request.size}</td><td>summary, bytes</td><td>endpoint</td></tr>
+ *     <tr><td>{@code paystack.client.response.size}</td><td>summary, bytes</td><td>endpoint</td></tr>
+ *     <tr><td>{@code paystack.client.rate.limited}</td><td>timer</td><td>endpoint</td></tr>
+ *     <tr><td>{@code paystack.client.retries}</td><td>counter</td><td>endpoint</td></tr>
+ *     <tr><td>{@code paystack.client.rejected}</td><td>counter</td><td>endpoint</td></tr>
+ *     <tr><td>{@code paystack.client.cache.hits}</td><td>counter</td><td>endpoint</td></tr>
+ *     <tr><td>{@code paystack.client.pool.active}</td><td>gauge</td><td></td></tr>
+ *     <tr><td>{@code paystack.client.pool.queued}</td><td>gauge</td><td></td></tr>
+ * </table>
+ *
+ * <pre>{@code
+ * ClientOptions options = ClientOptions.builder()
+ *         .metrics(new MicrometerMetricsListener(registry))
+ *         .build();
+ * }</pre>
+ */
+public class MicrometerMetricsListener implements MetricsListener {
+    private final MeterRegistry registry;
+    private final Tags commonTags;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a listener publishing to the given registry
+     * @param registry The registry
+     */
+    public MicrometerMetricsListener(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * Creates a listener publishing to the given registry, adding tags to every meter, e.g. to
+     * tell several clients apart
+     * @param registry The registry
+     * @param commonTags Tags added to every meter
+     */
+    public MicrometerMetricsListener(MeterRegistry registry, Iterable<Tag> commonTags) {
+        this.registry = registry;
+        this.commonTags = Tags.of(commonTags);
+    }
+
+    @Override
+    public void bindTransport(Transport transport) {
+        if (transport.getActiveExchanges() < 0) {
+            return;
+        }
+        Gauge.builder("paystack.client.pool.active", transport, Transport::getActiveExchanges)
+                .description("Exchanges in progress on the transport")
+                .tags(commonTags)
+                .register(registry);
+        Gauge.builder("paystack.client.pool.queued", transport, Transport::getQueuedExchanges)
+                .description("Calls waiting for the transport to admit them")
+                .tags(commonTags)
+                .register(registry);
+    }
+
+    @Override
+    public void onRateLimited(String endpoint, long waitNanos) {
+        endpoint(endpoint).rateLimited.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onRejected(String endpoint) {
+        endpoint(endpoint).rejected.increment();
+    }
+
+    @Override
+    public void onExchangeCompleted(String endpoint, String method, int status, long latencyNanos,
+                                    long requestBytes, long responseBytes) {
+        Endpoint meters = endpoint(endpoint);
+        meters.exchange(method, status).record(latencyNanos, TimeUnit.NANOSECONDS);
+        meters.requestSize.record(requestBytes);
+        meters.responseSize.record(responseBytes);
+    }
+
+    @Override
+    public void onRetry(String endpoint, int attempt, long delayNanos) {
+        endpoint(endpoint).retries.increment();
+    }
+
+    @Override
+    public void onCacheHit(String endpoint) {
+        endpoint(endpoint).cacheHits.increment();
+    }
+
+    @Override
+    public void onCallCompleted(String endpoint, String method, long durationNanos, Throwable error) {
+        endpoint(endpoint).call(method, error == null).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Endpoint endpoint(String template) {
+        Endpoint endpoint = endpoints.get(template);
+        return endpoint != null ? endpoint : endpoints.computeIfAbsent(template, Endpoint::new);
+    }
+
+    /**
+     * Strips scheme and host, so the tag does not change with the base URL
+     */
+    private static String path(String template) {
+        int scheme = template.indexOf("://");
+        int start = scheme < 0 ? 0 : template.indexOf('/', scheme + 3);
+        return start < 0 ? "/" : template.substring(start);
+    }
+
+    private final class Endpoint {
+        private final Tags tags;
+        private final Map<String, Timer> successes = new ConcurrentHashMap<>();
+        private final Map<String, Timer> failures = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, Timer>> exchanges = new ConcurrentHashMap<>();
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+        private final Timer rateLimited;
+        private final Counter retries;
+        private final Counter rejected;
+        private final Counter cacheHits;
+
+        Endpoint(String template) {
+            this.tags = commonTags.and("endpoint", path(template));
+            this.requestSize = DistributionSummary.builder("paystack.client.request.size")
+                    .description("Size of request bodies").baseUnit("bytes").tags(tags).register(registry);
+            this.responseSize = DistributionSummary.builder("paystack.client.response.size")
+                    .description("Size of response bodies").baseUnit("bytes").tags(tags).register(registry);
+            this.rateLimited = Timer.builder("paystack.client.rate.limited")
+                    .description("Waits for the client side rate limiter").tags(tags).register(registry);
+            this.retries = Counter.builder("paystack.client.retries")
+                    .description("Retried exchanges").tags(tags).register(registry);
+            this.rejected = Counter.builder("paystack.client.rejected")
+                    .description("Exchanges refused by a circuit breaker, bulkhead or rate limiter")
+                    .tags(tags).register(registry);
+            this.cacheHits = Counter.builder("paystack.client.cache.hits")
+                    .description("Calls answered from the response cache").tags(tags).register(registry);
+        }
+
+        Timer call(String method, boolean success) {
+            Map<String, Timer> calls = success ? successes : failures;
+            Timer timer = calls.get(method);
+            return timer != null ? timer : calls.computeIfAbsent(method, ignored -> Timer.builder("paystack.client.calls")
+                    .description("Calls including rate limiting and retries")
+                    .tags(tags.and("method", method, "outcome", success ? "success" : "failure"))
+                    .register(registry));
+        }
+
+        Timer exchange(String method, int status) {
+            Map<Integer, Timer> byStatus = exchanges.get(method);
+            if (byStatus == null) {
+                byStatus = exchanges.computeIfAbsent(method, ignored -> new ConcurrentHashMap<>());
+            }
+            Timer timer = byStatus.get(status);
+            return timer != null ? timer : byStatus.computeIfAbsent(status, ignored -> Timer.builder("paystack.client.exchanges")
+                    .description("Single HTTP exchanges")
+                    .tags(tags.and("method", method, "status", status == 0 ? "none" : Integer.toString(status)))
+                    .register(registry));
+        }
+    }
+}
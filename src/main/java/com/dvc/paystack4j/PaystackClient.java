@@ -1,6 +1,11 @@
 package com.dvc.paystack4j;
 
+import com.dvc.paystack4j.common.CircuitBreaker;
+import com.dvc.paystack4j.common.CircuitBreakers;
 import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.common.ResponseCache;
+import com.dvc.paystack4j.common.Transport;
+import com.dvc.paystack4j.config.ClientOptions;
 import com.dvc.paystack4j.services.ApplePay;
 import com.dvc.paystack4j.services.BulkCharges;
 import com.dvc.paystack4j.services.Charge;
@@ -25,6 +30,9 @@ import com.dvc.paystack4j.services.TransfersControl;
 import com.dvc.paystack4j.services.TransfersRecipient;
 import com.dvc.paystack4j.services.Verification;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Primary interface for interacting with the Paystack API.
  * Provides access to all Paystack API endpoints through dedicated service objects.
@@ -177,25 +185,66 @@ public interface PaystackClient {
      */
     Verification verification();
 
+    /**
+     * Reports the circuit breaker state of every endpoint group called so far, e.g. for a health
+     * check that takes an instance out of rotation while an endpoint it depends on is open.
+     * @return Breaker states by endpoint group, empty if no circuit breaker is configured
+     */
+    Map<String, CircuitBreaker.State> circuitBreakerStates();
+
+    /**
+     * Gets the response cache, e.g. to export its hit, miss and eviction counters or to clear it
+     * @return The response cache, or null if none is configured
+     */
+    ResponseCache responseCache();
+
     /**
      * Default implementation of the PaystackClient interface.
      * This class provides concrete implementations of all Paystack API service endpoints.
      * It manages the API key configuration and instantiates service objects on demand.
      *
      * <p>This implementation is thread-safe and services are created as lightweight objects
-     * when requested rather than being held in memory.</p>
+     * when requested rather than being held in memory. Every instance owns its own
+     * RequestExecutor, so clients with different keys can be used side by side.</p>
      */
     final class Impl implements PaystackClient {
+        private final RequestExecutor executor;
 
         /**
-         * Creates a new PaystackClient implementation with the specified API key.
-         * The key is stored securely in the RequestExecutor for all subsequent API calls.
+         * Creates a new PaystackClient implementation with the specified API key
+         * and a dedicated default transport.
          *
          * @param secretKey The Paystack secret key used for API authentication
          * @throws IllegalArgumentException if the secretKey is null or empty
          */
         public Impl(String secretKey) {
-            RequestExecutor.setKey(secretKey);
+            this(secretKey, ClientOptions.defaults());
+        }
+
+        /**
+         * Creates a new PaystackClient implementation with the specified API key
+         * that sends its requests through the given transport. A transport may be
+         * shared by many clients.
+         *
+         * @param secretKey The Paystack secret key used for API authentication
+         * @param transport The transport used for all API calls of this client
+         * @throws IllegalArgumentException if the secretKey is null or empty
+         */
+        public Impl(String secretKey, Transport transport) {
+            this(secretKey, ClientOptions.builder().transport(transport).build());
+        }
+
+        /**
+         * Creates a new PaystackClient implementation with the specified API key
+         * and runtime options such as the transport and virtual thread mode.
+         * Options may be shared by many clients.
+         *
+         * @param secretKey The Paystack secret key used for API authentication
+         * @param options The runtime options of this client
+         * @throws IllegalArgumentException if the secretKey is null or empty
+         */
+        public Impl(String secretKey, ClientOptions options) {
+            this.executor = new RequestExecutor(secretKey, options);
         }
 
         /**
@@ -204,7 +253,7 @@ public interface PaystackClient {
          */
         @Override
         public ApplePay applePay() {
-            return new ApplePay();
+            return new ApplePay(executor);
         }
 
         /**
@@ -213,7 +262,7 @@ public interface PaystackClient {
          */
         @Override
         public BulkCharges bulkCharges() {
-            return new BulkCharges();
+            return new BulkCharges(executor);
         }
 
         /**
@@ -222,7 +271,7 @@ public interface PaystackClient {
          */
         @Override
         public Charge charge() {
-            return new Charge();
+            return new Charge(executor);
         }
 
         /**
@@ -231,7 +280,7 @@ public interface PaystackClient {
          */
         @Override
         public Customers customers() {
-            return new Customers();
+            return new Customers(executor);
         }
 
         /**
@@ -240,7 +289,7 @@ public interface PaystackClient {
          */
         @Override
         public DedicatedVirtualAccounts dedicatedVirtualAccounts() {
-            return new DedicatedVirtualAccounts();
+            return new DedicatedVirtualAccounts(executor);
         }
 
         /**
@@ -249,7 +298,7 @@ public interface PaystackClient {
          */
         @Override
         public Disputes disputes() {
-            return new Disputes();
+            return new Disputes(executor);
         }
 
         /**
@@ -258,7 +307,7 @@ public interface PaystackClient {
          */
         @Override
         public Integration integrations() {
-            return new Integration();
+            return new Integration(executor);
         }
 
         /**
@@ -267,7 +316,7 @@ public interface PaystackClient {
          */
         @Override
         public Miscellaneous miscellaneous() {
-            return new Miscellaneous();
+            return new Miscellaneous(executor);
         }
 
         /**
@@ -276,7 +325,7 @@ public interface PaystackClient {
          */
         @Override
         public PaymentPages paymentPages() {
-            return new PaymentPages();
+            return new PaymentPages(executor);
         }
 
         /**
@@ -285,7 +334,7 @@ public interface PaystackClient {
          */
         @Override
         public PaymentRequests paymentRequests() {
-            return new PaymentRequests();
+            return new PaymentRequests(executor);
         }
 
         /**
@@ -294,7 +343,7 @@ public interface PaystackClient {
          */
         @Override
         public Plans plans() {
-            return new Plans();
+            return new Plans(executor);
         }
 
         /**
@@ -303,7 +352,7 @@ public interface PaystackClient {
          */
         @Override
         public Products products() {
-            return new Products();
+            return new Products(executor);
         }
 
         /**
@@ -312,7 +361,7 @@ public interface PaystackClient {
          */
         @Override
         public Refunds refunds() {
-            return new Refunds();
+            return new Refunds(executor);
         }
 
         /**
@@ -321,7 +370,7 @@ public interface PaystackClient {
          */
         @Override
         public Settlements settlements() {
-            return new Settlements();
+            return new Settlements(executor);
         }
 
         /**
@@ -330,7 +379,7 @@ public interface PaystackClient {
          */
         @Override
         public SubAccounts subAccounts() {
-            return new SubAccounts();
+            return new SubAccounts(executor);
         }
 
         /**
@@ -339,7 +388,7 @@ public interface PaystackClient {
          */
         @Override
         public Subscriptions subscriptions() {
-            return new Subscriptions();
+            return new Subscriptions(executor);
         }
 
         /**
@@ -348,7 +397,7 @@ public interface PaystackClient {
          */
         @Override
         public Transactions transactions() {
-            return new Transactions();
+            return new Transactions(executor);
         }
 
         /**
@@ -357,7 +406,7 @@ public interface PaystackClient {
          */
         @Override
         public Transfers transfers() {
-            return new Transfers();
+            return new Transfers(executor);
         }
 
         /**
@@ -366,7 +415,7 @@ public interface PaystackClient {
          */
         @Override
         public TransfersControl transfersControl() {
-            return new TransfersControl();
+            return new TransfersControl(executor);
         }
 
         /**
@@ -375,7 +424,7 @@ public interface PaystackClient {
          */
         @Override
         public Terminal terminal() {
-            return new Terminal();
+            return new Terminal(executor);
         }
 
         /**
@@ -384,7 +433,7 @@ public interface PaystackClient {
          */
         @Override
         public TransactionSplit transactionSplit() {
-            return new TransactionSplit();
+            return new TransactionSplit(executor);
         }
 
         /**
@@ -393,7 +442,7 @@ public interface PaystackClient {
          */
         @Override
         public TransfersRecipient transfersRecipient() {
-            return new TransfersRecipient();
+            return new TransfersRecipient(executor);
         }
 
         /**
@@ -402,7 +451,24 @@ public interface PaystackClient {
          */
         @Override
         public Verification verification() {
-            return new Verification();
+            return new Verification(executor);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<String, CircuitBreaker.State> circuitBreakerStates() {
+            CircuitBreakers circuitBreakers = executor.getCircuitBreakers();
+            return circuitBreakers != null ? circuitBreakers.getStates() : Collections.emptyMap();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ResponseCache responseCache() {
+            return executor.getResponseCache();
         }
     }
 }
@@ -0,0 +1,199 @@
+package com.dvc.paystack4j;
+
+import com.dvc.paystack4j.common.Transport;
+import com.dvc.paystack4j.config.ClientOptions;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A bounded registry of {@link PaystackClient} instances keyed by merchant.
+ *
+ * <p>Intended for gateways that serve many merchant keys from a single process. All clients
+ * created by a registry share one {@link ClientOptions} instance, and thus one {@link Transport},
+ * and every client pre-computes its {@code Authorization} header once, so a lookup on the hot
+ * path is a single concurrent map read. When the registry grows past its capacity the least
+ * recently used client is evicted, and clients that have not been used for longer than the idle
+ * timeout are dropped as new ones are registered.</p>
+ *
+ * <pre>{@code
+ * PaystackClientRegistry registry = new PaystackClientRegistry(500, Duration.ofMinutes(30));
+ * PaystackClient client = registry.get(merchantId, keyStore::secretKeyFor);
+ * }</pre>
+ */
+public final class PaystackClientRegistry {
+    private final int maxClients;
+    private final long idleTimeoutNanos;
+    private final ClientOptions options;
+    private final ConcurrentHashMap<String, Entry> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry whose clients share a new default transport
+     *
+     * @param maxClients Maximum number of clients kept at once
+     * @param idleTimeout Clients unused for longer than this are evicted; null disables idle eviction
+     */
+    public PaystackClientRegistry(int maxClients, Duration idleTimeout) {
+        this(maxClients, idleTimeout, ClientOptions.defaults());
+    }
+
+    /**
+     * Creates a registry whose clients share the given transport
+     *
+     * @param maxClients Maximum number of clients kept at once
+     * @param idleTimeout Clients unused for longer than this are evicted; null disables idle eviction
+     * @param transport Transport shared by every client in the registry
+     * @throws IllegalArgumentException if maxClients is not positive
+     */
+    public PaystackClientRegistry(int maxClients, Duration idleTimeout, Transport transport) {
+        this(maxClients, idleTimeout, ClientOptions.builder()
+                .transport(Objects.requireNonNull(transport, "transport"))
+                .build());
+    }
+
+    /**
+     * Creates a registry whose clients share the given options
+     *
+     * @param maxClients Maximum number of clients kept at once
+     * @param idleTimeout Clients unused for longer than this are evicted; null disables idle eviction
+     * @param options Options shared by every client in the registry
+     * @throws IllegalArgumentException if maxClients is not positive
+     */
+    public PaystackClientRegistry(int maxClients, Duration idleTimeout, ClientOptions options) {
+        if (maxClients <= 0) {
+            throw new IllegalArgumentException("maxClients must be positive");
+        }
+        this.maxClients = maxClients;
+        this.idleTimeoutNanos = idleTimeout == null ? Long.MAX_VALUE : idleTimeout.toNanos();
+        this.options = Objects.requireNonNull(options, "options");
+    }
+
+    /**
+     * Returns the client for a merchant, creating it when absent. If the merchant's key has
+     * changed since the client was created, the client is replaced.
+     *
+     * @param merchantId Identifier of the merchant
+     * @param secretKey The merchant's Paystack secret key
+     * @return The client for the merchant
+     * @throws IllegalArgumentException if the secretKey is null or empty
+     */
+    public PaystackClient get(String merchantId, String secretKey) {
+        if (secretKey == null || secretKey.isEmpty()) {
+            throw new IllegalArgumentException("API secret key cannot be null or empty");
+        }
+        long now = System.nanoTime();
+        Entry entry = clients.get(merchantId);
+        if (entry == null || !entry.secretKey.equals(secretKey)) {
+            entry = clients.compute(merchantId, (id, existing) ->
+                    existing != null && existing.secretKey.equals(secretKey) ? existing : newEntry(secretKey, now));
+            evictIfNeeded(now);
+        }
+        entry.lastAccess = now;
+        return entry.client;
+    }
+
+    /**
+     * Returns the client for a merchant, resolving the key only when the client is absent
+     *
+     * @param merchantId Identifier of the merchant
+     * @param keyResolver Looks up the secret key of a merchant
+     * @return The client for the merchant
+     */
+    public PaystackClient get(String merchantId, Function<String, String> keyResolver) {
+        long now = System.nanoTime();
+        Entry entry = clients.get(merchantId);
+        if (entry == null) {
+            entry = clients.computeIfAbsent(merchantId, id -> newEntry(keyResolver.apply(id), now));
+            evictIfNeeded(now);
+        }
+        entry.lastAccess = now;
+        return entry.client;
+    }
+
+    /**
+     * Removes the client of a merchant
+     *
+     * @param merchantId Identifier of the merchant
+     * @return true if a client was removed
+     */
+    public boolean remove(String merchantId) {
+        return clients.remove(merchantId) != null;
+    }
+
+    /**
+     * Gets the number of registered clients
+     * @return The number of clients
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    /**
+     * Gets the transport shared by the clients of this registry
+     * @return The shared transport
+     */
+    public Transport getTransport() {
+        return options.getTransport();
+    }
+
+    /**
+     * Removes every client that has been idle for longer than the idle timeout
+     *
+     * @return The number of clients removed
+     */
+    public int evictIdle() {
+        return evictIdle(System.nanoTime());
+    }
+
+    private int evictIdle(long now) {
+        if (idleTimeoutNanos == Long.MAX_VALUE) {
+            return 0;
+        }
+        int removed = 0;
+        for (Map.Entry<String, Entry> candidate : clients.entrySet()) {
+            if (now - candidate.getValue().lastAccess > idleTimeoutNanos
+                    && clients.remove(candidate.getKey(), candidate.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void evictIfNeeded(long now) {
+        if (clients.size() <= maxClients) {
+            return;
+        }
+        evictIdle(now);
+        while (clients.size() > maxClients) {
+            Map.Entry<String, Entry> eldest = null;
+            for (Map.Entry<String, Entry> candidate : clients.entrySet()) {
+                if (eldest == null || candidate.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            clients.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private Entry newEntry(String secretKey, long now) {
+        return new Entry(secretKey, new PaystackClient.Impl(secretKey, options), now);
+    }
+
+    private static final class Entry {
+        private final String secretKey;
+        private final PaystackClient client;
+        private volatile long lastAccess;
+
+        private Entry(String secretKey, PaystackClient client, long lastAccess) {
+            this.secretKey = secretKey;
+            this.client = client;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.exceptions.APIException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Submits a large input to a bulk endpoint in batches with bounded concurrency, for operations
+ * such as bulk charges and bulk transfers.
+ *
+ * <p>The input is read lazily: a batch is only filled when fewer than {@code concurrency}
+ * batches are in flight, so an input of any size is held at most {@code concurrency} batches at
+ * a time. Batches are submitted from the thread that completes the previous one and need no
+ * threads of their own. Results are handed to the consuming thread through a queue as the batch
+ * sender emits them; results not yet consumed count against the same budget of
+ * {@code concurrency * batchSize}, so a slow consumer holds back new batches instead of letting
+ * the queue grow.</p>
+ *
+ * <pre>{@code
+ * BatchPipeline pipeline = BatchPipeline.builder().batchSize(100).concurrency(4).build();
+ * Stream<Outcome> outcomes = pipeline.stream(requests.iterator(), this::validate,
+ *         (batch, sink) -> submitAsync(batch).thenAccept(response -> emitAll(response, sink)));
+ * }</pre>
+ */
+public final class BatchPipeline {
+    private final int batchSize;
+    private final int concurrency;
+
+    private BatchPipeline(Builder builder) {
+        this.batchSize = builder.batchSize;
+        this.concurrency = builder.concurrency;
+    }
+
+    /**
+     * Creates a builder for a batch pipeline
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the maximum number of items per batch
+     * @return The batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the maximum number of batches in flight
+     * @return The concurrency
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Streams the results of submitting every item of an input
+     *
+     * @param input The items, read lazily on the consuming thread and on completing threads
+     * @param screen Checks an item before it is batched; returns a result to emit instead of
+     *               submitting the item, or null to submit it
+     * @param sender Submits one batch and emits its results
+     * @return A lazy stream of results; closing it stops submitting new batches
+     */
+    public <I, R> Stream<R> stream(Iterator<I> input, Function<? super I, ? extends R> screen,
+                                   BatchSender<I, R> sender) {
+        Run<I, R> run = new Run<>(input, screen, sender);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(run, Spliterator.NONNULL), false)
+                .onClose(run::close);
+    }
+
+    /**
+     * Submits one batch
+     */
+    @FunctionalInterface
+    public interface BatchSender<I, R> {
+        /**
+         * Submits a batch and emits a result for each item once they are known. API failures
+         * should be emitted as results; a future that completes exceptionally fails the stream.
+         * @param batch The items of the batch
+         * @param sink Receives the results
+         * @return A future completed once every result of the batch has been emitted
+         */
+        CompletableFuture<?> send(List<I> batch, Sink<R> sink);
+    }
+
+    /**
+     * Receives the results of a batch
+     */
+    public interface Sink<R> {
+        /**
+         * Emits a result to the stream
+         * @param result The result
+         */
+        void emit(R result);
+
+        /**
+         * Checks whether the stream has been closed, so that work such as polling can stop early
+         * @return true once the stream is closed
+         */
+        boolean isClosed();
+    }
+
+    private final class Run<I, R> implements Iterator<R>, Sink<R> {
+        private final Object end = new Object();
+        private final Iterator<I> input;
+        private final Function<? super I, ? extends R> screen;
+        private final BatchSender<I, R> sender;
+        private final LinkedBlockingQueue<Object> results = new LinkedBlockingQueue<>();
+        private final AtomicInteger unconsumed = new AtomicInteger();
+        private final long maxUnconsumed = (long) concurrency * batchSize;
+        private int inFlight;
+        private boolean exhausted;
+        private boolean started;
+        private boolean pumping;
+        private boolean repump;
+        private boolean throttled;
+        private boolean ended;
+        private volatile boolean closed;
+        private Object next;
+
+        Run(Iterator<I> input, Function<? super I, ? extends R> screen, BatchSender<I, R> sender) {
+            this.input = input;
+            this.screen = screen;
+            this.sender = sender;
+        }
+
+        /**
+         * Submits batches until the budget is used up or the input is exhausted. A call made while
+         * another thread, or a sender completing synchronously, is already pumping is handed to
+         * that loop rather than recursing.
+         */
+        private void pump() {
+            synchronized (this) {
+                if (pumping) {
+                    repump = true;
+                    return;
+                }
+                pumping = true;
+            }
+            while (true) {
+                for (List<I> batch : fill()) {
+                    send(batch);
+                }
+                synchronized (this) {
+                    if (!repump) {
+                        pumping = false;
+                        return;
+                    }
+                    repump = false;
+                }
+            }
+        }
+
+        /**
+         * Fills batches while fewer than {@code concurrency} are in flight and their items plus the
+         * unconsumed results stay within the budget
+         * @return The batches to submit, already counted as in flight
+         */
+        private synchronized List<List<I>> fill() {
+            List<List<I>> batches = new ArrayList<>();
+            try {
+                while (!closed && !exhausted && inFlight < concurrency && hasRoom()) {
+                    List<I> batch = new ArrayList<>(Math.min(batchSize, 1024));
+                    while (batch.size() < batchSize && unconsumed.get() < maxUnconsumed && input.hasNext()) {
+                        I item = Objects.requireNonNull(input.next(), "item");
+                        R rejected = screen.apply(item);
+                        if (rejected != null) {
+                            unconsumed.incrementAndGet();
+                            results.add(rejected);
+                        } else {
+                            batch.add(item);
+                        }
+                    }
+                    exhausted = !input.hasNext();
+                    if (!batch.isEmpty()) {
+                        inFlight++;
+                        batches.add(batch);
+                    }
+                }
+            } catch (RuntimeException e) {
+                exhausted = true;
+                results.add(e);
+            }
+            // only the consumer taking results can make room again
+            throttled = !closed && !exhausted && inFlight < concurrency;
+            if ((exhausted || closed) && inFlight == 0 && !ended) {
+                ended = true;
+                results.add(end);
+            }
+            return batches;
+        }
+
+        private boolean hasRoom() {
+            return unconsumed.get() + (long) inFlight * batchSize < maxUnconsumed;
+        }
+
+        private void send(List<I> batch) {
+            CompletableFuture<?> sent;
+            try {
+                sent = sender.send(batch, this);
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            sent.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    results.add(toRuntimeException(error));
+                }
+                synchronized (this) {
+                    inFlight--;
+                }
+                pump();
+            });
+        }
+
+        @Override
+        public void emit(R result) {
+            unconsumed.incrementAndGet();
+            results.add(result);
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!started) {
+                started = true;
+                pump();
+            }
+            if (next == null) {
+                try {
+                    next = results.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new APIException("Interrupted while waiting for batch results", e);
+                }
+            }
+            if (next instanceof RuntimeException) {
+                RuntimeException failure = (RuntimeException) next;
+                next = null;
+                throw failure;
+            }
+            return next != end;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            R result = (R) next;
+            next = null;
+            unconsumed.decrementAndGet();
+            boolean resume;
+            synchronized (this) {
+                resume = throttled;
+            }
+            if (resume) {
+                pump();
+            }
+            return result;
+        }
+
+        void close() {
+            closed = true;
+        }
+
+        private RuntimeException toRuntimeException(Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof RuntimeException) {
+                return (RuntimeException) cause;
+            }
+            return cause instanceof Exception
+                    ? new APIException("Batch failed: " + cause.getMessage(), (Exception) cause)
+                    : new APIException("Batch failed: " + cause);
+        }
+    }
+
+    /**
+     * Builder for {@link BatchPipeline}.
+     */
+    public static final class Builder {
+        private int batchSize = 100;
+        private int concurrency = 4;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of items per batch, 100 by default
+         * @param batchSize The batch size
+         * @return The builder instance for chaining
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of batches submitted and not yet finished at once, 4 by default
+         * @param concurrency The number of batches in flight
+         * @return The builder instance for chaining
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency <= 0) {
+                throw new IllegalArgumentException("concurrency must be positive");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Builds the pipeline
+         * @return A new pipeline
+         */
+        public BatchPipeline build() {
+            return new BatchPipeline(this);
+        }
+    }
+}
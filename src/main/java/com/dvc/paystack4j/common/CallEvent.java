@@ -0,0 +1,43 @@
+package com.dvc.paystack4j.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event spanning one call of a service method, from start to its final result, including
+ * rate limiting, every attempt and the backoff between them. The exchanges of the call are
+ * recorded as {@link ExchangeEvent}s.
+ */
+@Name("com.dvc.paystack4j.Call")
+@Label("Paystack Call")
+@Category("Paystack4J")
+@Description("A call of a Paystack API endpoint, including rate limiting and retries")
+@StackTrace(false)
+final class CallEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(CallEvent.class);
+
+    @Label("Endpoint")
+    @Description("Endpoint template the request was built from")
+    String endpoint;
+
+    @Label("Method")
+    String method;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    @Label("Error")
+    @Description("Class of the failure, if the call failed")
+    String error;
+
+    /**
+     * Checks whether a recording is running with this event enabled, without creating an event
+     */
+    static boolean isRecording() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,189 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.CircuitBreakerPolicy;
+import com.dvc.paystack4j.exceptions.APIException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker and bulkhead of a single endpoint group.
+ *
+ * <p>Every admitted call must be reported exactly once through {@link #onSuccess()},
+ * {@link #onFailure()} or {@link #onCancel()}, which also frees its bulkhead slot. Calls and
+ * failures of the current window are packed into one atomic long, so recording an outcome is
+ * a single atomic add.</p>
+ */
+public final class CircuitBreaker {
+    /**
+     * State of a circuit breaker
+     */
+    public enum State {
+        /** Calls pass through and outcomes are counted */
+        CLOSED,
+        /** Calls fail immediately */
+        OPEN,
+        /** A limited number of probe calls pass through to test the endpoint */
+        HALF_OPEN
+    }
+
+    private static final long CALL = 1L << 32;
+    private static final long FAILURES = CALL - 1;
+
+    private final String group;
+    private final CircuitBreakerPolicy policy;
+    private final long openNanos;
+    private final Semaphore bulkhead;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicInteger probes = new AtomicInteger();
+    private final AtomicInteger probeSuccesses = new AtomicInteger();
+    private volatile long openedAt;
+
+    CircuitBreaker(String group, CircuitBreakerPolicy policy) {
+        int maxConcurrentCalls = policy.getMaxConcurrentCalls(group);
+        this.group = group;
+        this.policy = policy;
+        this.openNanos = policy.getOpenDuration().toNanos();
+        this.bulkhead = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls) : null;
+    }
+
+    /**
+     * Gets the endpoint group this breaker guards
+     * @return The endpoint group
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Gets the current state, moving an open breaker to half-open once its open duration has passed
+     * @return The state
+     */
+    public State getState() {
+        State current = state.get();
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            // Only this method leaves OPEN, so the lock makes the probe reset and the move to
+            // HALF_OPEN one step: no caller sees HALF_OPEN with the probes of the last round
+            synchronized (this) {
+                if (state.get() == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                    probeSuccesses.set(0);
+                    probes.set(policy.getHalfOpenProbes());
+                    state.set(State.HALF_OPEN);
+                }
+            }
+        }
+        return state.get();
+    }
+
+    /**
+     * Gets the number of calls currently holding a bulkhead slot
+     * @return The number of concurrent calls, or 0 if the group has no bulkhead
+     */
+    public int getConcurrentCalls() {
+        return bulkhead != null ? policy.getMaxConcurrentCalls(group) - bulkhead.availablePermits() : 0;
+    }
+
+    /**
+     * Admits a call or rejects it right away
+     * @throws APIException if the breaker is open, out of probes, or the bulkhead is full
+     */
+    void acquire() {
+        State current = getState();
+        if (current == State.OPEN) {
+            throw new APIException("Circuit breaker of endpoint group '" + group + "' is open");
+        }
+        if (current == State.HALF_OPEN && !takeProbe()) {
+            throw new APIException("Circuit breaker of endpoint group '" + group +
+                    "' is half-open and waiting for probes");
+        }
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            if (current == State.HALF_OPEN) {
+                probes.incrementAndGet();
+            }
+            throw new APIException("Bulkhead of endpoint group '" + group + "' is full with " +
+                    policy.getMaxConcurrentCalls(group) + " concurrent calls");
+        }
+    }
+
+    /**
+     * Reports an admitted call that reached a healthy endpoint, including 4xx responses
+     */
+    void onSuccess() {
+        release();
+        if (state.get() == State.HALF_OPEN) {
+            if (probeSuccesses.incrementAndGet() >= policy.getHalfOpenProbes()
+                    && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                window.set(0);
+            }
+            return;
+        }
+        record(CALL);
+    }
+
+    /**
+     * Reports an admitted call that failed with a 5xx response or a network error
+     */
+    void onFailure() {
+        release();
+        if (state.get() == State.HALF_OPEN) {
+            open(State.HALF_OPEN);
+            return;
+        }
+        record(CALL + 1);
+    }
+
+    /**
+     * Reports an admitted call that was cancelled before it completed
+     */
+    void onCancel() {
+        release();
+        if (state.get() == State.HALF_OPEN) {
+            probes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Takes a probe if one is left; a rejected call leaves the count at zero, so a probe given
+     * back by {@link #onCancel()} can be taken again
+     */
+    private boolean takeProbe() {
+        int left;
+        do {
+            left = probes.get();
+            if (left <= 0) {
+                return false;
+            }
+        } while (!probes.compareAndSet(left, left - 1));
+        return true;
+    }
+
+    private void record(long outcome) {
+        long counts = window.addAndGet(outcome);
+        long calls = counts >>> 32;
+        long failures = counts & FAILURES;
+        if (calls >= policy.getMinimumCalls() && failures >= policy.getFailureRateThreshold() * calls) {
+            open(State.CLOSED);
+        } else if (calls >= policy.getWindowSize()) {
+            window.compareAndSet(counts, 0);
+        }
+    }
+
+    private void open(State from) {
+        if (state.get() != from) {
+            return;
+        }
+        openedAt = System.nanoTime();
+        if (state.compareAndSet(from, State.OPEN)) {
+            window.set(0);
+        }
+    }
+
+    private void release() {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.CircuitBreakerPolicy;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The circuit breakers of all endpoint groups, created on first use of a group.
+ * One instance is shared by every client built from the same
+ * {@link com.dvc.paystack4j.config.ClientOptions}, since endpoint health does not depend on the key.
+ */
+public final class CircuitBreakers {
+    private final CircuitBreakerPolicy policy;
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the breakers of a policy
+     * @param policy Thresholds, timings and bulkhead sizes
+     */
+    public CircuitBreakers(CircuitBreakerPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Gets the breaker of an endpoint group
+     * @param group The endpoint group
+     * @return The breaker
+     */
+    public CircuitBreaker get(String group) {
+        CircuitBreaker breaker = breakers.get(group);
+        return breaker != null ? breaker : breakers.computeIfAbsent(group, name -> new CircuitBreaker(name, policy));
+    }
+
+    /**
+     * Gets the state of every endpoint group called so far
+     * @return Breaker states by endpoint group, sorted by group
+     */
+    public Map<String, CircuitBreaker.State> getStates() {
+        Map<String, CircuitBreaker.State> states = new TreeMap<>();
+        breakers.forEach((group, breaker) -> states.put(group, breaker.getState()));
+        return Collections.unmodifiableMap(states);
+    }
+}
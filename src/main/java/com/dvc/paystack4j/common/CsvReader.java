@@ -0,0 +1,426 @@
+package com.dvc.paystack4j.common;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming reader of CSV files such as transaction exports, in constant memory.
+ *
+ * <p>The reader works as a cursor: {@link #next()} parses the next record into buffers that are
+ * reused for every record, and the accessors read fields of the current record. Fields are only
+ * turned into strings when asked for with {@link #getString(int)}; {@link #getLong(int)},
+ * {@link #contentEquals(int, CharSequence)} and {@link #appendTo(int, StringBuilder)} read them
+ * without allocating. Quoted fields, escaped quotes, line breaks inside quotes and both LF and
+ * CRLF line endings are supported, as described in RFC 4180.</p>
+ *
+ * <pre>{@code
+ * try (CsvReader csv = CsvReader.open(export)) {
+ *     int status = csv.column("status");
+ *     int amount = csv.column("amount");
+ *     long total = 0;
+ *     while (csv.next()) {
+ *         if (csv.contentEquals(status, "success")) {
+ *             total += csv.getLong(amount);
+ *         }
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public final class CsvReader implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private char[] chars = new char[256];
+    private int[] ends = new int[32];
+    private int fieldCount;
+    private boolean lastFieldQuoted;
+    private long recordNumber;
+
+    private final List<String> header;
+    private final Map<String, Integer> columns;
+
+    /**
+     * Creates a reader
+     * @param reader The CSV text; a leading byte order mark is skipped
+     * @param hasHeader Whether the first record names the columns
+     * @throws IOException if the header cannot be read
+     */
+    public CsvReader(Reader reader, boolean hasHeader) throws IOException {
+        this.reader = reader;
+        if (fill() && buffer[position] == '\uFEFF') {
+            position++;
+        }
+        if (hasHeader && next()) {
+            String[] names = new String[fieldCount];
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < fieldCount; i++) {
+                names[i] = getString(i).trim();
+                columns.putIfAbsent(names[i], i);
+            }
+            this.header = Collections.unmodifiableList(Arrays.asList(names));
+            this.columns = columns;
+            this.recordNumber = 0;
+        } else {
+            this.header = Collections.emptyList();
+            this.columns = Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Opens a UTF-8 encoded CSV file whose first record names the columns
+     * @param file The file
+     * @return A reader positioned before the first data record
+     * @throws IOException if the file cannot be opened or its header read
+     */
+    public static CsvReader open(Path file) throws IOException {
+        return open(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens a CSV file whose first record names the columns
+     * @param file The file
+     * @param charset The encoding of the file
+     * @return A reader positioned before the first data record
+     * @throws IOException if the file cannot be opened or its header read
+     */
+    public static CsvReader open(Path file, Charset charset) throws IOException {
+        Reader reader = Files.newBufferedReader(file, charset);
+        try {
+            return new CsvReader(reader, true);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the column names
+     * @return The names from the header record, empty if there is none
+     */
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * Gets the index of a column
+     * @param name The column name from the header record
+     * @return The index of the first column with that name
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public int column(String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("No column named '" + name + "' in " + header);
+        }
+        return index;
+    }
+
+    /**
+     * Advances to the next record. Blank lines are skipped.
+     * @return false once there are no more records
+     * @throws IOException if the input cannot be read
+     */
+    public boolean next() throws IOException {
+        do {
+            if (!parseRecord()) {
+                return false;
+            }
+        } while (fieldCount == 1 && ends[0] == 0 && !lastFieldQuoted);
+        recordNumber++;
+        return true;
+    }
+
+    /**
+     * Gets the number of the current record, counting data records from 1
+     * @return The record number
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Gets the number of fields of the current record
+     * @return The number of fields
+     */
+    public int size() {
+        return fieldCount;
+    }
+
+    /**
+     * Gets a field of the current record as a new string
+     * @param field The field index
+     * @return The field value, unquoted
+     */
+    public String getString(int field) {
+        int start = start(field);
+        return new String(chars, start, ends[field] - start);
+    }
+
+    /**
+     * Parses a field of the current record as a whole number without allocating. Surrounding
+     * spaces are ignored.
+     * @param field The field index
+     * @return The value
+     * @throws NumberFormatException if the field is empty or not a whole number
+     */
+    public long getLong(int field) {
+        int start = start(field);
+        int end = ends[field];
+        while (start < end && chars[start] == ' ') {
+            start++;
+        }
+        while (end > start && chars[end - 1] == ' ') {
+            end--;
+        }
+        boolean negative = start < end && chars[start] == '-';
+        int i = negative || start < end && chars[start] == '+' ? start + 1 : start;
+        if (i == end) {
+            throw invalidNumber(field);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                throw invalidNumber(field);
+            }
+            value = value * 10 - digit;
+        }
+        if (!negative && value == Long.MIN_VALUE) {
+            throw invalidNumber(field);
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * Checks whether a field of the current record is empty
+     * @param field The field index
+     * @return true if the field has no characters
+     */
+    public boolean isEmpty(int field) {
+        return ends[field] == start(field);
+    }
+
+    /**
+     * Compares a field of the current record with a value without allocating
+     * @param field The field index
+     * @param value The value
+     * @return true if the field holds exactly the value
+     */
+    public boolean contentEquals(int field, CharSequence value) {
+        int start = start(field);
+        int length = ends[field] - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends a field of the current record to a builder without an intermediate string
+     * @param field The field index
+     * @param to The builder
+     * @return The builder
+     */
+    public StringBuilder appendTo(int field, StringBuilder to) {
+        int start = start(field);
+        return to.append(chars, start, ends[field] - start);
+    }
+
+    /**
+     * Streams the remaining records, projected to some columns
+     * @param columns The names of the columns to keep, in the order they should appear; all
+     *                columns if none are given
+     * @return A lazy stream of field arrays; closing it closes the reader
+     * @throws IllegalArgumentException if a column does not exist
+     */
+    public Stream<String[]> stream(String... columns) {
+        int[] projection = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            projection[i] = column(columns[i]);
+        }
+        return stream(csv -> {
+            int count = projection.length > 0 ? projection.length : fieldCount;
+            String[] fields = new String[count];
+            for (int i = 0; i < count; i++) {
+                int field = projection.length > 0 ? projection[i] : i;
+                fields[i] = field < fieldCount ? getString(field) : null;
+            }
+            return fields;
+        });
+    }
+
+    /**
+     * Streams the remaining records, each mapped while the reader is positioned on it
+     * @param mapper Reads what it needs from the reader; it must not advance it
+     * @return A lazy stream of the mapped records; closing it closes the reader
+     */
+    public <T> Stream<T> stream(Function<CsvReader, T> mapper) {
+        Iterator<T> records = new Iterator<T>() {
+            private boolean ready;
+            private boolean more;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    try {
+                        more = CsvReader.this.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    ready = true;
+                }
+                return more;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return mapper.apply(CsvReader.this);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Parses one record into the field buffers
+     * @return false at the end of the input
+     */
+    private boolean parseRecord() throws IOException {
+        fieldCount = 0;
+        lastFieldQuoted = false;
+        if (position == limit && !fill()) {
+            return false;
+        }
+        int length = 0;
+        boolean quoted = false;
+        boolean fieldQuoted = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                endField(length);
+                lastFieldQuoted = fieldQuoted;
+                return true;
+            }
+            char c = buffer[position++];
+            if (quoted) {
+                if (c != '"') {
+                    length = append(length, c);
+                } else if (peek() == '"') {
+                    position++;
+                    length = append(length, '"');
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                endField(length);
+                fieldQuoted = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    position++;
+                }
+                endField(length);
+                lastFieldQuoted = fieldQuoted;
+                return true;
+            } else if (c == '"' && length == (fieldCount == 0 ? 0 : ends[fieldCount - 1])) {
+                quoted = true;
+                fieldQuoted = true;
+            } else {
+                length = append(length, c);
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        return position < limit || fill() ? buffer[position] : -1;
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            eof = true;
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private int append(int length, char c) {
+        if (length == chars.length) {
+            chars = Arrays.copyOf(chars, length * 2);
+        }
+        chars[length] = c;
+        return length + 1;
+    }
+
+    private void endField(int length) {
+        if (fieldCount == ends.length) {
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        ends[fieldCount++] = length;
+    }
+
+    private int start(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + field + " of record " + recordNumber + " with " +
+                    fieldCount + " fields");
+        }
+        return field == 0 ? 0 : ends[field - 1];
+    }
+
+    private NumberFormatException invalidNumber(int field) {
+        return new NumberFormatException("Field " + field + " of record " + recordNumber +
+                " is not a whole number: '" + getString(field) + "'");
+    }
+}
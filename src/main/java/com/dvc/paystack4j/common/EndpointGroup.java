@@ -0,0 +1,42 @@
+package com.dvc.paystack4j.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps endpoint templates from {@link com.dvc.paystack4j.constants.Definitions} to the endpoint
+ * group they belong to, i.e. the first path segment: {@code /transaction/verify/} belongs to
+ * {@code transaction}, {@code /transfer/bulk} to {@code transfer}.
+ *
+ * <p>Templates are a small, fixed set, so results are cached and a lookup on the request path
+ * does not allocate.</p>
+ */
+public final class EndpointGroup {
+    private static final ConcurrentHashMap<String, String> GROUPS = new ConcurrentHashMap<>();
+
+    private EndpointGroup() {
+    }
+
+    /**
+     * Gets the group of an endpoint template
+     * @param template The endpoint template, as returned by {@link TransportRequest#getTemplate()}
+     * @return The group name
+     */
+    public static String of(String template) {
+        String group = GROUPS.get(template);
+        return group != null ? group : GROUPS.computeIfAbsent(template, EndpointGroup::parse);
+    }
+
+    private static String parse(String template) {
+        int start = template.indexOf("://");
+        start = start < 0 ? 0 : template.indexOf('/', start + 3);
+        if (start < 0) {
+            return "";
+        }
+        start++;
+        int end = start;
+        while (end < template.length() && template.charAt(end) != '/' && template.charAt(end) != '?') {
+            end++;
+        }
+        return template.substring(start, end);
+    }
+}
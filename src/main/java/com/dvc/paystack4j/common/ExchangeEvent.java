@@ -0,0 +1,63 @@
+package com.dvc.paystack4j.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event spanning one HTTP exchange with Paystack, from handing the request to the transport
+ * to having read the response body.
+ *
+ * <p>The duration splits into {@link #responseTime}, until the status and headers arrived, and
+ * the remainder spent reading and decoding the body. The rate limiter wait before the exchange
+ * is not part of the duration.</p>
+ */
+@Name("com.dvc.paystack4j.Exchange")
+@Label("Paystack Exchange")
+@Category("Paystack4J")
+@Description("An HTTP exchange with the Paystack API")
+@StackTrace(false)
+final class ExchangeEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(ExchangeEvent.class);
+
+    @Label("Endpoint")
+    @Description("Endpoint template the request was built from")
+    String endpoint;
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    @Description("HTTP status, 0 if no response arrived")
+    int status;
+
+    @Label("Rate Limit Wait")
+    @Description("Time waited for the client side rate limiter before the exchange")
+    @Timespan(Timespan.NANOSECONDS)
+    long rateLimitWait;
+
+    @Label("Response Time")
+    @Description("Time until the status and headers arrived")
+    @Timespan(Timespan.NANOSECONDS)
+    long responseTime;
+
+    @Label("Request Size")
+    @DataAmount(DataAmount.BYTES)
+    long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount(DataAmount.BYTES)
+    long responseBytes;
+
+    /**
+     * Checks whether a recording is running with this event enabled, without creating an event
+     */
+    static boolean isRecording() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,282 @@
+package com.dvc.paystack4j.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default {@link Transport} built on {@link java.net.http.HttpClient}.
+ *
+ * <p>Each instance owns its own client. HTTP/2 is negotiated by default so concurrent calls
+ * are multiplexed over a single connection to the API host. Because the JDK client does not
+ * expose a per-client pool size, the connection limit is enforced as a cap on concurrent
+ * in-flight requests. Asynchronous calls that exceed the cap are queued rather than blocking
+ * the caller.</p>
+ *
+ * <pre>{@code
+ * Transport transport = HttpClientTransport.builder()
+ *         .connectTimeout(Duration.ofSeconds(5))
+ *         .requestTimeout(Duration.ofSeconds(30))
+ *         .maxConcurrentRequests(64)
+ *         .build();
+ * }</pre>
+ */
+public final class HttpClientTransport implements Transport {
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final Semaphore permits;
+    private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeExchanges = new AtomicInteger();
+
+    private HttpClientTransport(Builder builder) {
+        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                .version(builder.version)
+                .connectTimeout(builder.connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (builder.executor != null) {
+            clientBuilder.executor(builder.executor);
+        }
+        this.client = clientBuilder.build();
+        this.requestTimeout = builder.requestTimeout;
+        this.permits = builder.maxConcurrentRequests > 0 ? new Semaphore(builder.maxConcurrentRequests) : null;
+    }
+
+    /**
+     * Creates a transport with default settings
+     * @return A new transport
+     */
+    public static HttpClientTransport create() {
+        return builder().build();
+    }
+
+    /**
+     * Creates a builder for configuring a transport
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public <T> T send(TransportRequest request, ResponseHandler<T> handler) throws IOException {
+        acquire();
+        activeExchanges.incrementAndGet();
+        try {
+            HttpResponse<InputStream> response = client.send(toHttpRequest(request),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                return handler.handle(new TransportResponse(response.statusCode(),
+                        name -> response.headers().firstValue(name).orElse(null), body));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request interrupted: " + request);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendAsync(TransportRequest request, ResponseHandler<T> handler) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        acquireAsync().thenAccept(ignored -> {
+            activeExchanges.incrementAndGet();
+            if (result.isDone()) {
+                release();
+                return;
+            }
+            CompletableFuture<HttpResponse<byte[]>> exchange =
+                    client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    exchange.cancel(true);
+                }
+            });
+            exchange.whenComplete((response, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                    return;
+                }
+                try {
+                    result.complete(handler.handle(new TransportResponse(response.statusCode(),
+                            name -> response.headers().firstValue(name).orElse(null),
+                            new ByteArrayInputStream(response.body()))));
+                } catch (IOException e) {
+                    result.completeExceptionally(new UncheckedIOException(e));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Gets the number of exchanges holding one of the {@code maxConcurrentRequests} permits, or
+     * all exchanges in progress when there is no cap
+     * @return The number of active exchanges
+     */
+    @Override
+    public int getActiveExchanges() {
+        return activeExchanges.get();
+    }
+
+    /**
+     * Gets the number of calls waiting for a permit, blocking and asynchronous
+     * @return The number of queued calls
+     */
+    @Override
+    public int getQueuedExchanges() {
+        return permits == null ? 0 : permits.getQueueLength() + waiters.size();
+    }
+
+    HttpRequest toHttpRequest(TransportRequest request) {
+        HttpRequest.BodyPublisher publisher = request.getBody() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(request.getBody());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUri()))
+                .method(request.getMethod(), publisher)
+                .timeout(requestTimeout);
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        return builder.build();
+    }
+
+    private void acquire() throws InterruptedIOException {
+        if (permits == null) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection");
+        }
+    }
+
+    private CompletableFuture<Void> acquireAsync() {
+        if (permits == null || permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        drainWaiters();
+        return waiter;
+    }
+
+    private void release() {
+        activeExchanges.decrementAndGet();
+        if (permits != null) {
+            permits.release();
+            drainWaiters();
+        }
+    }
+
+    /**
+     * Hands free permits to queued asynchronous callers
+     */
+    private void drainWaiters() {
+        while (!waiters.isEmpty() && permits.tryAcquire()) {
+            CompletableFuture<Void> waiter = waiters.poll();
+            if (waiter == null) {
+                permits.release();
+                return;
+            }
+            waiter.complete(null);
+        }
+    }
+
+    /**
+     * Builder for {@link HttpClientTransport}.
+     */
+    public static final class Builder {
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout = Duration.ofSeconds(60);
+        private int maxConcurrentRequests = 0;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the preferred protocol version, HTTP/2 by default
+         * @param version The protocol version
+         * @return The builder instance for chaining
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Sets the connect timeout, 10 seconds by default
+         * @param connectTimeout The connect timeout
+         * @return The builder instance for chaining
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the timeout for a whole request, 60 seconds by default
+         * @param requestTimeout The request timeout
+         * @return The builder instance for chaining
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Limits the number of requests in flight at once; zero or less means unlimited
+         * @param maxConcurrentRequests Maximum concurrent requests
+         * @return The builder instance for chaining
+         */
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Sets the executor used by the underlying client for asynchronous work
+         * @param executor The executor
+         * @return The builder instance for chaining
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Builds the transport
+         * @return A new transport
+         */
+        public HttpClientTransport build() {
+            return new HttpClientTransport(this);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compatibility adapter that exposes a decoded response as an {@link org.json.JSONObject}.
+ *
+ * <p>The conversion walks the already decoded Jackson tree, so callers that still depend on
+ * the org.json types only pay for the copy they ask for, never for a second parse.</p>
+ */
+public final class JsonObjectAdapter {
+
+    private JsonObjectAdapter() {
+    }
+
+    /**
+     * Converts a decoded JSON object node into a JSONObject
+     * @param node The decoded node, expected to be a JSON object
+     * @return The equivalent JSONObject
+     * @throws JSONException if the node is not a JSON object
+     */
+    public static JSONObject toJsonObject(JsonNode node) throws JSONException {
+        if (node == null || !node.isObject()) {
+            throw new JSONException("Response body is not a JSON object");
+        }
+        JSONObject object = new JSONObject();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            object.put(field.getKey(), toValue(field.getValue()));
+        }
+        return object;
+    }
+
+    /**
+     * Converts a decoded response, reporting a body that is not a JSON object as an API failure.
+     * Keeps the org.json exception out of {@link RequestExecutor}, so that the executor loads
+     * without org.json on the classpath.
+     */
+    static JSONObject toResponse(JsonNode node) throws APIException {
+        try {
+            return toJsonObject(node);
+        } catch (JSONException e) {
+            throw new APIException("Failed to parse JSON response: " + e.getMessage(), e);
+        }
+    }
+
+    private static JSONArray toJsonArray(JsonNode node) throws JSONException {
+        JSONArray array = new JSONArray();
+        for (JsonNode element : node) {
+            array.put(toValue(element));
+        }
+        return array;
+    }
+
+    private static Object toValue(JsonNode node) throws JSONException {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                return toJsonObject(node);
+            case ARRAY:
+                return toJsonArray(node);
+            case BOOLEAN:
+                return node.booleanValue();
+            case NUMBER:
+                return node.numberValue();
+            case STRING:
+                return node.textValue();
+            default:
+                return JSONObject.NULL;
+        }
+    }
+}
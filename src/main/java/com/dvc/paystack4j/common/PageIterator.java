@@ -0,0 +1,148 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily walks a paged list endpoint, yielding the elements of each page's {@code data} array.
+ *
+ * <p>Paging is driven by the {@code meta} block of each response. As soon as page N arrives the
+ * request for page N+1 is started, so it downloads while the caller consumes page N. At most the
+ * current page and the one being prefetched are held in memory, however many pages there are.</p>
+ *
+ * <p>Not thread-safe; like any iterator it is meant to be consumed by a single thread.</p>
+ */
+public final class PageIterator implements Iterator<JsonNode>, AutoCloseable {
+    private final IntFunction<CompletableFuture<JsonNode>> pageFetcher;
+
+    private Iterator<JsonNode> current = Collections.emptyIterator();
+    private CompletableFuture<JsonNode> next;
+    private int nextPage;
+    private boolean started;
+
+    /**
+     * Creates an iterator; no request is sent until the first element is asked for
+     * @param pageFetcher Starts the request for a 1-based page number
+     */
+    public PageIterator(IntFunction<CompletableFuture<JsonNode>> pageFetcher) {
+        this.pageFetcher = pageFetcher;
+    }
+
+    /**
+     * Creates a lazy, sequential stream over every element of every page. Closing the stream
+     * cancels any prefetch still in flight.
+     *
+     * @param pageFetcher Starts the request for a 1-based page number
+     * @return A stream of list elements
+     */
+    public static Stream<JsonNode> stream(IntFunction<CompletableFuture<JsonNode>> pageFetcher) {
+        PageIterator iterator = new PageIterator(pageFetcher);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Copies a list filter and sets its page number
+     *
+     * @param filter The caller's filter, may be null
+     * @param page The 1-based page number
+     * @return A new filter map for the page
+     */
+    public static Map<String, Object> withPage(Map<String, Object> filter, int page) {
+        Map<String, Object> paged = filter == null ? new HashMap<>() : new HashMap<>(filter);
+        paged.put("page", page);
+        return paged;
+    }
+
+    /**
+     * Decides from a list response whether another page follows it
+     *
+     * @param response A list response
+     * @param page The page number the response belongs to
+     * @return true if more pages are available
+     */
+    public static boolean hasNextPage(JsonNode response, int page) {
+        JsonNode data = response.path("data");
+        if (!data.isArray() || data.size() == 0) {
+            return false;
+        }
+        JsonNode meta = response.path("meta");
+        if (meta.hasNonNull("pageCount")) {
+            return page < meta.get("pageCount").asInt();
+        }
+        if (meta.hasNonNull("perPage")) {
+            return data.size() >= meta.get("perPage").asInt();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            nextPage = 1;
+            next = pageFetcher.apply(nextPage);
+        }
+        while (!current.hasNext()) {
+            if (next == null) {
+                return false;
+            }
+            JsonNode response = await(next);
+            int page = nextPage;
+            if (hasNextPage(response, page)) {
+                nextPage = page + 1;
+                next = pageFetcher.apply(nextPage);
+            } else {
+                next = null;
+            }
+            current = response.path("data").elements();
+        }
+        return true;
+    }
+
+    @Override
+    public JsonNode next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stops paging and cancels the prefetch in flight, if any
+     */
+    @Override
+    public void close() {
+        started = true;
+        if (next != null) {
+            next.cancel(true);
+            next = null;
+        }
+        current = Collections.emptyIterator();
+    }
+
+    private static JsonNode await(CompletableFuture<JsonNode> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof APIException) {
+                throw (APIException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fetches the pages of a list endpoint concurrently for bulk historical pulls.
+ *
+ * <p>The listing is split into partitions. By default there is one partition covering the whole
+ * filter: its first page is fetched, {@code meta.pageCount} is read and the remaining pages are
+ * requested with bounded concurrency. When new records arrive during a long pull, page
+ * boundaries drift and records may be skipped or repeated; {@link Builder#dateWindows} avoids
+ * this by splitting the {@code from}/{@code to} range into fixed windows that are paged
+ * independently.</p>
+ *
+ * <p>Each page is retried on its own up to {@link Builder#maxAttempts} times, so a transient
+ * failure does not restart the pull. Results are emitted in page order or in completion order,
+ * as configured. At most {@code concurrency} pages are held in memory at once.</p>
+ *
+ * <pre>{@code
+ * ParallelPager pager = ParallelPager.builder()
+ *         .concurrency(8)
+ *         .ordered(false)
+ *         .dateWindows(from, to, Duration.ofDays(1))
+ *         .build();
+ * try (Stream<JsonNode> transactions = client.transactions().listAllParallel(filter, pager)) {
+ *     transactions.forEach(ledger::record);
+ * }
+ * }</pre>
+ */
+public final class ParallelPager {
+    private final int concurrency;
+    private final boolean ordered;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Instant from;
+    private final Instant to;
+    private final Duration window;
+
+    private ParallelPager(Builder builder) {
+        this.concurrency = builder.concurrency;
+        this.ordered = builder.ordered;
+        this.maxAttempts = builder.maxAttempts;
+        this.retryDelay = builder.retryDelay;
+        this.from = builder.from;
+        this.to = builder.to;
+        this.window = builder.window;
+    }
+
+    /**
+     * Creates a builder for a parallel pager
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Streams every element of every page of every partition
+     *
+     * @param lister Starts the list request for a complete filter, including the page number
+     * @param filter The caller's filter, may be null
+     * @return A stream of list elements; close it to cancel outstanding requests
+     */
+    public Stream<JsonNode> stream(Function<Map<String, Object>, CompletableFuture<JsonNode>> lister,
+                                   Map<String, Object> filter) {
+        List<Partition> partitions = partition(filter);
+        PagedIterator iterator = ordered
+                ? new OrderedIterator(lister, partitions)
+                : new UnorderedIterator(lister, partitions);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                        (ordered ? Spliterator.ORDERED : 0) | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    private List<Partition> partition(Map<String, Object> filter) {
+        Map<String, Object> base = filter == null ? new HashMap<>() : new HashMap<>(filter);
+        if (window == null) {
+            return Collections.singletonList(new Partition(base));
+        }
+        List<Partition> partitions = new ArrayList<>();
+        for (Instant start = from; start.isBefore(to); start = start.plus(window)) {
+            Instant end = start.plus(window).isBefore(to) ? start.plus(window).minusMillis(1) : to;
+            Map<String, Object> windowFilter = new HashMap<>(base);
+            windowFilter.put("from", start.toString());
+            windowFilter.put("to", end.toString());
+            partitions.add(new Partition(windowFilter));
+        }
+        return partitions;
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+    }
+
+    private static JsonNode await(PageFetch page) {
+        try {
+            return page.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof APIException) {
+                throw (APIException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A slice of the listing that is paged on its own
+     */
+    private static final class Partition {
+        private final Map<String, Object> filter;
+        private volatile int pageCount = -1;
+        private int nextPage = 1;
+
+        private Partition(Map<String, Object> filter) {
+            this.filter = filter;
+        }
+
+        /**
+         * Learns the page count from the first page, and stops the partition early at an empty page
+         */
+        private synchronized void observe(JsonNode response, int page) {
+            if (pageCount < 0) {
+                JsonNode meta = response.path("meta");
+                if (meta.hasNonNull("pageCount")) {
+                    pageCount = meta.get("pageCount").asInt();
+                } else {
+                    pageCount = PageIterator.hasNextPage(response, page) ? Integer.MAX_VALUE : page;
+                }
+            }
+            if (response.path("data").size() == 0 && page - 1 < pageCount) {
+                pageCount = page - 1;
+            }
+        }
+
+        private boolean pageCountKnown() {
+            return pageCount >= 0;
+        }
+
+        private boolean exhausted() {
+            return pageCountKnown() && nextPage > pageCount;
+        }
+    }
+
+    /**
+     * One page of a partition, retried on failure without touching other pages. Keeps the request
+     * or retry currently pending so that closing the stream reaches the exchange itself.
+     */
+    private final class PageFetch {
+        private final PagedIterator owner;
+        private final Partition partition;
+        private final int page;
+        private final CompletableFuture<JsonNode> result = new CompletableFuture<>();
+        private volatile CompletableFuture<?> pending;
+
+        private PageFetch(PagedIterator owner, Partition partition, int page) {
+            this.owner = owner;
+            this.partition = partition;
+            this.page = page;
+        }
+
+        private void attempt(int attempt) {
+            if (owner.closed) {
+                result.cancel(false);
+                return;
+            }
+            CompletableFuture<JsonNode> request;
+            try {
+                request = owner.lister.apply(PageIterator.withPage(partition.filter, page));
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            pending = request;
+            if (owner.closed) {
+                request.cancel(true);
+            }
+            request.whenComplete((response, error) -> {
+                if (error == null) {
+                    partition.observe(response, page);
+                    result.complete(response);
+                } else if (owner.closed) {
+                    result.cancel(false);
+                } else if (attempt >= maxAttempts) {
+                    result.completeExceptionally(new APIException("Page " + page + " of " + partition.filter
+                            + " failed after " + attempt + " attempts", unwrap(error)));
+                } else {
+                    long delay = retryDelay.toMillis() * attempt;
+                    pending = CompletableFuture.runAsync(() -> attempt(attempt + 1),
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+                }
+            });
+        }
+
+        private void cancel() {
+            result.cancel(false);
+            CompletableFuture<?> current = pending;
+            if (current != null) {
+                current.cancel(true);
+            }
+        }
+    }
+
+    private abstract class PagedIterator implements Iterator<JsonNode>, AutoCloseable {
+        final Function<Map<String, Object>, CompletableFuture<JsonNode>> lister;
+        final List<PageFetch> inFlight = new ArrayList<>();
+        Iterator<JsonNode> current = Collections.emptyIterator();
+        volatile boolean closed;
+
+        PagedIterator(Function<Map<String, Object>, CompletableFuture<JsonNode>> lister) {
+            this.lister = lister;
+        }
+
+        PageFetch start(Partition partition) {
+            PageFetch page = new PageFetch(this, partition, partition.nextPage++);
+            inFlight.add(page);
+            page.attempt(1);
+            return page;
+        }
+
+        abstract JsonNode nextPage();
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (closed) {
+                    return false;
+                }
+                JsonNode response = nextPage();
+                if (response == null) {
+                    return false;
+                }
+                current = response.path("data").elements();
+            }
+            return true;
+        }
+
+        @Override
+        public JsonNode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            for (PageFetch page : inFlight) {
+                page.cancel();
+            }
+            inFlight.clear();
+            current = Collections.emptyIterator();
+        }
+    }
+
+    /**
+     * Emits pages partition by partition, in page order, keeping a sliding window of requests
+     */
+    private final class OrderedIterator extends PagedIterator {
+        private final Deque<Partition> partitions;
+        private final Deque<PageFetch> window = new ArrayDeque<>();
+
+        private OrderedIterator(Function<Map<String, Object>, CompletableFuture<JsonNode>> lister,
+                                List<Partition> partitions) {
+            super(lister);
+            this.partitions = new ArrayDeque<>(partitions);
+        }
+
+        @Override
+        JsonNode nextPage() {
+            schedule();
+            PageFetch head = window.poll();
+            if (head == null) {
+                return null;
+            }
+            inFlight.remove(head);
+            JsonNode response = await(head);
+            schedule();
+            return response;
+        }
+
+        private void schedule() {
+            while (window.size() < concurrency && !partitions.isEmpty()) {
+                Partition partition = partitions.peek();
+                if (partition.exhausted()) {
+                    partitions.poll();
+                } else if (partition.nextPage == 1 || partition.pageCountKnown()) {
+                    window.add(start(partition));
+                } else {
+                    // the page count of this partition is not known until its first page arrives
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Emits pages as they complete, from any partition
+     */
+    private final class UnorderedIterator extends PagedIterator {
+        private final Deque<Partition> waiting;
+        private final List<Partition> active = new ArrayList<>();
+        private final BlockingQueue<PageFetch> completed = new LinkedBlockingQueue<>();
+
+        private UnorderedIterator(Function<Map<String, Object>, CompletableFuture<JsonNode>> lister,
+                                  List<Partition> partitions) {
+            super(lister);
+            this.waiting = new ArrayDeque<>(partitions);
+        }
+
+        @Override
+        JsonNode nextPage() {
+            schedule();
+            if (inFlight.isEmpty()) {
+                return null;
+            }
+            PageFetch done;
+            try {
+                done = completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new APIException("Interrupted while waiting for a page", e);
+            }
+            inFlight.remove(done);
+            JsonNode response = await(done);
+            schedule();
+            return response;
+        }
+
+        private void schedule() {
+            active.removeIf(Partition::exhausted);
+            for (Partition partition : active) {
+                while (inFlight.size() < concurrency && partition.pageCountKnown() && !partition.exhausted()) {
+                    track(start(partition));
+                }
+            }
+            while (inFlight.size() < concurrency && !waiting.isEmpty()) {
+                Partition partition = waiting.poll();
+                active.add(partition);
+                track(start(partition));
+            }
+        }
+
+        private void track(PageFetch page) {
+            page.result.whenComplete((response, error) -> completed.add(page));
+        }
+    }
+
+    /**
+     * Builder for {@link ParallelPager}.
+     */
+    public static final class Builder {
+        private int concurrency = 4;
+        private boolean ordered = true;
+        private int maxAttempts = 3;
+        private Duration retryDelay = Duration.ofMillis(500);
+        private Instant from;
+        private Instant to;
+        private Duration window;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of pages requested at once, 4 by default
+         * @param concurrency Maximum concurrent page requests
+         * @return The builder instance for chaining
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency <= 0) {
+                throw new IllegalArgumentException("concurrency must be positive");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Chooses between page order (the default) and completion order
+         * @param ordered true to emit in page order
+         * @return The builder instance for chaining
+         */
+        public Builder ordered(boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        /**
+         * Sets how often a single page is attempted before the pull fails, 3 by default
+         * @param maxAttempts Attempts per page
+         * @return The builder instance for chaining
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be positive");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry of a page; later retries wait proportionally longer
+         * @param retryDelay Base retry delay
+         * @return The builder instance for chaining
+         */
+        public Builder retryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+            return this;
+        }
+
+        /**
+         * Splits the listing into consecutive date windows that are paged independently.
+         * Each window's {@code from} and {@code to} replace those of the caller's filter.
+         * @param from Start of the range, inclusive
+         * @param to End of the range
+         * @param window Length of each window
+         * @return The builder instance for chaining
+         */
+        public Builder dateWindows(Instant from, Instant to, Duration window) {
+            if (!from.isBefore(to) || window.isZero() || window.isNegative()) {
+                throw new IllegalArgumentException("Date windows need from < to and a positive window");
+            }
+            this.from = from;
+            this.to = to;
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Builds the pager
+         * @return A new pager
+         */
+        public ParallelPager build() {
+            return new ParallelPager(this);
+        }
+    }
+}
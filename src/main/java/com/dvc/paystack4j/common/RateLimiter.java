@@ -0,0 +1,180 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.RateLimitPolicy;
+import com.dvc.paystack4j.exceptions.APIException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adaptive client side rate limiter of a single secret key, with one bucket per endpoint group.
+ *
+ * <p>Buckets use the generic cell rate algorithm: the only shared state on the hot path is the
+ * bucket's theoretical arrival time, advanced with a single compare-and-set per request, so
+ * callers never block each other. {@link #reserve(String)} hands out a time slot and returns how
+ * long the caller has to wait for it; it is up to the caller to sleep or to schedule the send.</p>
+ *
+ * <p>A 429 response cuts the bucket's rate by the policy's decrease factor, at most once per
+ * second so a wave of rejected in-flight requests counts as one signal, and holds back every
+ * request until the {@code Retry-After} delay has passed. The rate then grows back linearly.</p>
+ */
+public final class RateLimiter {
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitPolicy policy;
+    private final long maxWaitNanos;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a limiter with empty buckets
+     * @param policy Rates, burst sizes and adaptation settings
+     */
+    public RateLimiter(RateLimitPolicy policy) {
+        this.policy = policy;
+        this.maxWaitNanos = policy.getMaxWait().toNanos();
+    }
+
+    /**
+     * Reserves a time slot for a request of the given endpoint group
+     * @param group The endpoint group
+     * @return Nanoseconds the caller has to wait before sending, 0 if it may send right away
+     * @throws APIException if the wait would exceed the policy's maximum wait
+     */
+    public long reserve(String group) {
+        return bucket(group).reserve(System.nanoTime());
+    }
+
+    /**
+     * Reports a 429 response for the given endpoint group
+     * @param group The endpoint group
+     * @param retryAfterNanos Delay requested by the server, 0 if none was given
+     */
+    public void onThrottled(String group, long retryAfterNanos) {
+        bucket(group).throttle(System.nanoTime(), retryAfterNanos);
+    }
+
+    /**
+     * Gets the rate an endpoint group is currently limited to
+     * @param group The endpoint group
+     * @return Requests per second, below the configured rate while recovering from a 429
+     */
+    public double getRequestsPerSecond(String group) {
+        return bucket(group).rate(System.nanoTime());
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either in seconds or as an HTTP date
+     * @param value The header value, possibly null
+     * @return The delay in nanoseconds, 0 if absent, malformed or in the past
+     */
+    static long retryAfterNanos(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toNanos(Long.parseLong(value.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+            } catch (DateTimeParseException | ArithmeticException malformed) {
+                return 0;
+            }
+        }
+    }
+
+    private Bucket bucket(String group) {
+        Bucket bucket = buckets.get(group);
+        return bucket != null ? bucket : buckets.computeIfAbsent(group, Bucket::new);
+    }
+
+    /**
+     * Returns the later of two {@link System#nanoTime()} readings
+     */
+    private static long latest(long a, long b) {
+        return a - b >= 0 ? a : b;
+    }
+
+    private final class Bucket {
+        private final String group;
+        private final double configuredRate;
+        private final int burst;
+        private final AtomicLong arrival;
+        private final AtomicLong blockedUntil;
+        private final AtomicReference<Throttle> throttle = new AtomicReference<>();
+
+        Bucket(String group) {
+            long now = System.nanoTime();
+            this.group = group;
+            this.configuredRate = policy.getRequestsPerSecond(group);
+            this.burst = policy.getBurst(group);
+            this.arrival = new AtomicLong(now);
+            this.blockedUntil = new AtomicLong(now);
+        }
+
+        long reserve(long now) {
+            long interval = (long) (ONE_SECOND / rate(now));
+            long tolerance = interval * (burst - 1);
+            long start = latest(now, blockedUntil.get());
+            while (true) {
+                long current = arrival.get();
+                long wait = latest(start, current - tolerance) - now;
+                if (wait > maxWaitNanos) {
+                    throw new APIException("Rate limit of endpoint group '" + group +
+                            "' would delay the request by " + TimeUnit.NANOSECONDS.toMillis(wait) + " ms");
+                }
+                if (arrival.compareAndSet(current, latest(current, start) + interval)) {
+                    return wait;
+                }
+            }
+        }
+
+        double rate(long now) {
+            Throttle current = throttle.get();
+            if (current == null) {
+                return configuredRate;
+            }
+            double recovered = configuredRate * policy.getRecoveryPerSecond() * (now - current.at) / ONE_SECOND;
+            double rate = current.rate + recovered;
+            if (rate >= configuredRate) {
+                throttle.compareAndSet(current, null);
+                return configuredRate;
+            }
+            return rate;
+        }
+
+        void throttle(long now, long retryAfterNanos) {
+            if (retryAfterNanos > 0) {
+                long until = now + retryAfterNanos;
+                blockedUntil.accumulateAndGet(until, RateLimiter::latest);
+            }
+            double floor = configuredRate * policy.getMinimumFraction();
+            while (true) {
+                Throttle current = throttle.get();
+                if (current != null && now - current.at < ONE_SECOND) {
+                    return;
+                }
+                double rate = Math.max(floor, rate(now) * policy.getDecreaseFactor());
+                if (throttle.compareAndSet(current, new Throttle(rate, now))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Throttle {
+        private final double rate;
+        private final long at;
+
+        Throttle(double rate, long at) {
+            this.rate = rate;
+            this.at = at;
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.dvc.paystack4j.common;
 
-import kong.unirest.HttpRequest;
-import kong.unirest.Unirest;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.json.JSONObject;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * A utility class for building Unirest HTTP requests.
+ * A utility class for building transport independent HTTP requests.
+ *
+ * <p>POST requests carry an {@code Idempotency-Key} header so they can be retried safely. A new
+ * key is generated for every built request unless one is set with {@link #setIdempotencyKey(String)}.</p>
  */
 public class RequestBuilder {
     private String baseUrl;
     private final Map<String, Object> params;
+    private String idempotencyKey;
 
     public RequestBuilder(String baseUrl) {
         this.baseUrl = baseUrl;
@@ -59,98 +65,132 @@ public class RequestBuilder {
 
     /**
      * Builds a GET request with the base URL
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildGetRequest() {
-        return Unirest.get(baseUrl)
-                .queryString(params);
+    public TransportRequest buildGetRequest() {
+        return new TransportRequest("GET", baseUrl, baseUrl, getParameters(), null, null);
     }
 
     /**
      * Builds a GET request with the base URL and an ID
      * @param id The ID of the resource
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildGetRequest(String id) {
-        return Unirest.get(baseUrl + "/" + id)
-                .queryString(params);
+    public TransportRequest buildGetRequest(String id) {
+        return new TransportRequest("GET", resourceUrl(id), baseUrl, getParameters(), null, null);
     }
 
     /**
      * Builds a POST request with the current parameters as form fields
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildPostRequest() {
-        return Unirest.post(baseUrl)
-                .fields(params);
+    public TransportRequest buildPostRequest() {
+        return idempotent(new TransportRequest("POST", baseUrl, baseUrl, Collections.emptyMap(),
+                TransportRequest.CONTENT_TYPE_FORM, formBody()));
     }
 
     /**
      * Builds a POST request with a JSON body
      * @param body The request body as JSONObject
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildPostRequest(JSONObject body) {
-        return Unirest.post(baseUrl)
-                .header("Content-Type", "application/json")
-                .queryString(params)  // Parameters as query string for POST with JSON body
-                .body(body);
+    public TransportRequest buildPostRequest(JSONObject body) {
+        // Parameters as query string for POST with JSON body
+        return idempotent(new TransportRequest("POST", baseUrl, baseUrl, getParameters(),
+                TransportRequest.CONTENT_TYPE_JSON, body.toString()));
+    }
+
+    /**
+     * Builds a POST request with the current parameters serialized as a JSON body.
+     * Unlike form fields this supports nested maps and lists as parameter values.
+     * @return The transport request
+     */
+    public TransportRequest buildJsonPostRequest() {
+        return idempotent(new TransportRequest("POST", baseUrl, baseUrl, Collections.emptyMap(),
+                TransportRequest.CONTENT_TYPE_JSON, jsonBody()));
+    }
+
+    /**
+     * Builds a POST request with a JSON body that is not an object, such as the array of a bulk
+     * operation; the current parameters are sent in the query string
+     * @param body The body, serialized with Jackson
+     * @return The transport request
+     */
+    public TransportRequest buildJsonPostRequest(Object body) {
+        return idempotent(new TransportRequest("POST", baseUrl, baseUrl, getParameters(),
+                TransportRequest.CONTENT_TYPE_JSON, toJson(body)));
+    }
+
+    /**
+     * Builds a PUT request to the base URL with the current parameters serialized as a JSON body
+     * @return The transport request
+     */
+    public TransportRequest buildJsonPutRequest() {
+        return new TransportRequest("PUT", baseUrl, baseUrl, Collections.emptyMap(),
+                TransportRequest.CONTENT_TYPE_JSON, jsonBody());
+    }
+
+    /**
+     * Builds a PUT request with the current parameters serialized as a JSON body
+     * @param id The ID of the resource
+     * @return The transport request
+     */
+    public TransportRequest buildJsonPutRequest(String id) {
+        return new TransportRequest("PUT", resourceUrl(id), baseUrl, Collections.emptyMap(),
+                TransportRequest.CONTENT_TYPE_JSON, jsonBody());
     }
 
     /**
      * Builds a PUT request using current parameters as form fields
      * @param id The ID of the resource
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildPutRequest(String id) {
-        return Unirest.put(baseUrl + "/" + id)
-                .fields(params);
+    public TransportRequest buildPutRequest(String id) {
+        return new TransportRequest("PUT", resourceUrl(id), baseUrl, Collections.emptyMap(),
+                TransportRequest.CONTENT_TYPE_FORM, formBody());
     }
 
     /**
      * Builds a PUT request with a JSON body
      * @param id The ID of the resource
      * @param body The request body as JSONObject
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildPutRequest(String id, JSONObject body) {
-        return Unirest.put(baseUrl + "/" + id)
-                .header("Content-Type", "application/json")
-                .queryString(params)  // Parameters as query string for PUT with JSON body
-                .body(body);
+    public TransportRequest buildPutRequest(String id, JSONObject body) {
+        // Parameters as query string for PUT with JSON body
+        return new TransportRequest("PUT", resourceUrl(id), baseUrl, getParameters(),
+                TransportRequest.CONTENT_TYPE_JSON, body.toString());
     }
 
     /**
      * Builds a PATCH request using current parameters as form fields
      * @param id The ID of the resource
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildPatchRequest(String id) {
-        return Unirest.patch(baseUrl + "/" + id)
-                .fields(params);
+    public TransportRequest buildPatchRequest(String id) {
+        return new TransportRequest("PATCH", resourceUrl(id), baseUrl, Collections.emptyMap(),
+                TransportRequest.CONTENT_TYPE_FORM, formBody());
     }
 
     /**
      * Builds a PATCH request with a JSON body
      * @param id The ID of the resource
      * @param body The request body as JSONObject
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildPatchRequest(String id, JSONObject body) {
-        return Unirest.patch(baseUrl + "/" + id)
-                .header("Content-Type", "application/json")
-                .queryString(params)  // Parameters as query string for PATCH with JSON body
-                .body(body);
+    public TransportRequest buildPatchRequest(String id, JSONObject body) {
+        // Parameters as query string for PATCH with JSON body
+        return new TransportRequest("PATCH", resourceUrl(id), baseUrl, getParameters(),
+                TransportRequest.CONTENT_TYPE_JSON, body.toString());
     }
 
     /**
      * Builds a DELETE request
      * @param id The ID of the resource
-     * @return The HTTP request object
+     * @return The transport request
      */
-    public HttpRequest<?> buildDeleteRequest(String id) {
-        return Unirest.delete(baseUrl + "/" + id)
-                .queryString(params);
+    public TransportRequest buildDeleteRequest(String id) {
+        return new TransportRequest("DELETE", resourceUrl(id), baseUrl, getParameters(), null, null);
     }
 
     /**
@@ -163,6 +203,16 @@ public class RequestBuilder {
         return this;
     }
 
+    /**
+     * Sets the idempotency key sent with POST requests, e.g. to reuse a key across process restarts
+     * @param idempotencyKey The key, or null to generate a new one for every request
+     * @return The builder instance for chaining
+     */
+    public RequestBuilder setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+        return this;
+    }
+
     /**
      * Gets the current base URL
      * @return The current base URL
@@ -170,4 +220,41 @@ public class RequestBuilder {
     public String getBaseUrl() {
         return baseUrl;
     }
+
+    private TransportRequest idempotent(TransportRequest request) {
+        return request.header(TransportRequest.IDEMPOTENCY_KEY,
+                idempotencyKey != null ? idempotencyKey : newIdempotencyKey());
+    }
+
+    /**
+     * Generates a random version 4 UUID without going through the shared {@link java.security.SecureRandom}
+     */
+    private static String newIdempotencyKey() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        return new UUID(high, low).toString();
+    }
+
+    private String resourceUrl(String id) {
+        return baseUrl.endsWith("/") ? baseUrl + id : baseUrl + "/" + id;
+    }
+
+    private String jsonBody() {
+        return toJson(params);
+    }
+
+    private static String toJson(Object body) {
+        try {
+            return ResponseDecoder.mapper().writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Parameters cannot be serialized as JSON", e);
+        }
+    }
+
+    private String formBody() {
+        StringBuilder body = new StringBuilder();
+        TransportRequest.encode(params, body);
+        return body.toString();
+    }
 }
@@ -1,55 +1,862 @@
 package com.dvc.paystack4j.common;
 
+import com.dvc.paystack4j.config.CachePolicy;
+import com.dvc.paystack4j.config.ClientOptions;
+import com.dvc.paystack4j.config.RateLimitPolicy;
+import com.dvc.paystack4j.config.RetryPolicy;
+import com.dvc.paystack4j.constants.Definitions;
 import com.dvc.paystack4j.exceptions.APIException;
-import kong.unirest.JsonNode;
-import kong.unirest.UnirestException;
-import kong.unirest.HttpResponse;
-import kong.unirest.HttpRequest;
+import com.dvc.paystack4j.metrics.MetricsListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.json.JSONObject;
-import org.json.JSONException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executes requests for a single Paystack secret key.
+ *
+ * <p>Each executor carries its own key and transport, so any number of clients can live in the
+ * same JVM. The {@code Authorization} header is assembled once at construction time.</p>
+ *
+ * <p>When the options carry a {@link RateLimitPolicy}, the executor
+ * owns a {@link RateLimiter} for its key: blocking calls sleep until their slot comes up,
+ * asynchronous calls are scheduled for it, and 429 responses feed back into the limiter.
+ * Likewise a {@link RetryPolicy} makes the executor retry transient failures on both paths, and
+ * {@link CircuitBreakers} admit or reject every attempt and learn from its outcome.</p>
+ *
+ * <p>With request coalescing enabled, concurrent identical GET calls decoded to a JSON tree share
+ * a single exchange and the same result tree, which callers must therefore treat as read-only.
+ * The same holds for responses served by the {@link ResponseCache} a {@link CachePolicy} enables.</p>
+ *
+ * <p>With a base URL in the options, requests built against {@link Definitions#BASE_API_ENDPOINT}
+ * are sent to that host instead; everything keyed by the request template is unaffected.</p>
+ *
+ * <p>A {@link MetricsListener} in the options is told about each stage of every call. While a
+ * JFR recording is running, calls and exchanges are also recorded as {@code com.dvc.paystack4j.Call}
+ * and {@code com.dvc.paystack4j.Exchange} events. Without either, the executor takes no timestamps
+ * and wraps no streams on their behalf.</p>
+ */
 public class RequestExecutor {
-    private static String secretKey;
+    private static final Logger log = LoggerFactory.getLogger(RequestExecutor.class);
+    private static final long DOWNLOAD_CHUNK = 1 << 20;
+    private static final BodyReader<JsonNode> TREE = response -> ResponseDecoder.readTree(response.getBody());
+
+    private final String authorization;
+    private final Transport transport;
+    private final VirtualThreadDispatcher dispatcher;
+    private final RateLimiter rateLimiter;
+    private final Retrier retrier;
+    private final CircuitBreakers circuitBreakers;
+    private final SingleFlight<JsonNode> singleFlight;
+    private final ResponseCache responseCache;
+    private final String baseUrl;
+    private final MetricsListener metrics;
+    private final boolean metricsEnabled;
+
+    /**
+     * Creates an executor that authenticates with the given key and sends requests through the given transport
+     *
+     * @param secretKey The Paystack secret key used for API authentication
+     * @param transport The transport to delegate to
+     * @throws IllegalArgumentException if the secretKey is null or empty
+     */
+    public RequestExecutor(String secretKey, Transport transport) {
+        this(secretKey, ClientOptions.builder().transport(transport).build());
+    }
 
+    /**
+     * Creates an executor that authenticates with the given key and runs requests as configured by the options
+     *
+     * @param secretKey The Paystack secret key used for API authentication
+     * @param options Transport and execution options, possibly shared with other executors
+     * @throws IllegalArgumentException if the secretKey is null or empty
+     */
+    public RequestExecutor(String secretKey, ClientOptions options) {
+        if (secretKey == null || secretKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("API secret key cannot be null or empty");
+        }
+        this.authorization = "Bearer " + secretKey;
+        this.transport = options.getTransport();
+        this.dispatcher = options.getDispatcher();
+        RateLimitPolicy rateLimitPolicy = options.getRateLimitPolicy();
+        this.rateLimiter = rateLimitPolicy != null ? new RateLimiter(rateLimitPolicy) : null;
+        RetryPolicy retryPolicy = options.getRetryPolicy();
+        this.retrier = retryPolicy != null ? new Retrier(retryPolicy) : null;
+        this.circuitBreakers = options.getCircuitBreakers();
+        this.singleFlight = options.isCoalesceRequests()
+                ? new SingleFlight<>(RequestExecutor::toApiException) : null;
+        CachePolicy cachePolicy = options.getCachePolicy();
+        this.responseCache = cachePolicy != null ? new ResponseCache(cachePolicy) : null;
+        this.baseUrl = options.getBaseUrl();
+        this.metrics = options.getMetricsListener();
+        this.metricsEnabled = metrics != MetricsListener.NOOP;
+    }
 
+    /**
+     * Gets the transport this executor delegates to
+     * @return The transport
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Gets the rate limiter pacing this executor's calls
+     * @return The rate limiter, or null when rate limiting is off
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Gets the circuit breakers guarding this executor's calls
+     * @return The circuit breakers, or null when none are configured
+     */
+    public CircuitBreakers getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * Gets the cache of read-mostly responses, e.g. to read its hit and eviction counters
+     * @return The response cache, or null when caching is off
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Executes a request and decodes the response into a lightweight JSON tree
+     *
+     * @param request Request built by a {@link RequestBuilder}
+     * @return Root node of the API response
+     */
+    public JsonNode execute(TransportRequest request) throws APIException {
+        if (responseCache != null && responseCache.isCacheable(request)) {
+            return executeCached(request);
+        }
+        if (isCoalesced(request)) {
+            return singleFlight.run(request.toString(), () -> execute(request, TREE));
+        }
+        return execute(request, TREE);
+    }
 
-    public static void setKey(String secretKey) {
-        RequestExecutor.secretKey = secretKey;
+    /**
+     * Executes a request and binds the response directly to the given type
+     *
+     * @param request Request built by a {@link RequestBuilder}
+     * @param type Type the response body is bound to
+     * @return The bound API response
+     */
+    public <T> T execute(TransportRequest request, Class<T> type) throws APIException {
+        return execute(request, response -> ResponseDecoder.read(response.getBody(), type));
     }
 
     /**
-     * Executes a Unirest request and returns the response as JSONObject
+     * Executes a request and returns the response as JSONObject.
+     * Kept for callers that still depend on org.json types; prefer {@link #execute(TransportRequest)}.
      *
-     * @param requestBuilder Partially built Unirest request
+     * @param request Request built by a {@link RequestBuilder}
      * @return JSONObject containing API response
      */
-    @SuppressWarnings("unchecked")
-    private JSONObject executeRequest(HttpRequest<?> requestBuilder) throws APIException {
-        if (secretKey == null || secretKey.trim().isEmpty()) {
-            throw new APIException("API secret key cannot be null or empty");
+    public JSONObject executeForJsonObject(TransportRequest request) throws APIException {
+        return JsonObjectAdapter.toResponse(execute(request));
+    }
+
+    /**
+     * Executes a request without blocking and decodes the response into a lightweight JSON tree.
+     * Cancelling the returned future aborts the underlying exchange where the transport supports it.
+     *
+     * @param request Request built by a {@link RequestBuilder}
+     * @return A future completed with the root node of the API response, or with an {@link APIException}
+     */
+    public CompletableFuture<JsonNode> executeAsync(TransportRequest request) {
+        return executeAsync(request, (Duration) null);
+    }
+
+    /**
+     * Executes a request without blocking, failing it if no response arrives before the deadline
+     *
+     * @param request Request built by a {@link RequestBuilder}
+     * @param deadline Maximum time to wait for the response
+     * @return A future completed with the root node of the API response, or with an {@link APIException}
+     */
+    public CompletableFuture<JsonNode> executeAsync(TransportRequest request, Duration deadline) {
+        if (responseCache != null && responseCache.isCacheable(request)) {
+            return executeCachedAsync(request, deadline);
+        }
+        if (!isCoalesced(request)) {
+            return executeRequestAsync(request, TREE, deadline);
+        }
+        CompletableFuture<JsonNode> result = singleFlight.submit(request.toString(),
+                () -> executeRequestAsync(request, TREE, null));
+        return deadline != null ? withDeadline(result, request, deadline) : result;
+    }
+
+    /**
+     * Executes a request without blocking and binds the response directly to the given type
+     *
+     * @param request Request built by a {@link RequestBuilder}
+     * @param type Type the response body is bound to
+     * @return A future completed with the bound API response, or with an {@link APIException}
+     */
+    public <T> CompletableFuture<T> executeAsync(TransportRequest request, Class<T> type) {
+        return executeRequestAsync(request, response -> ResponseDecoder.read(response.getBody(), type), null);
+    }
+
+    /**
+     * Downloads a file from a pre-signed URL, such as a transaction export, straight to disk.
+     *
+     * <p>The request goes to the transport as is: it carries no API credentials, which storage
+     * URLs must not receive, and is not rate limited, retried or guarded by a circuit breaker.
+     * The body is copied through NIO channels in chunks, so memory use does not depend on the
+     * file size. The file is written next to the target and moved into place once complete.</p>
+     *
+     * @param url The pre-signed URL
+     * @param target The file to write; it is replaced if it exists
+     * @return The number of bytes written
+     * @throws APIException if the download fails or returns an error status
+     */
+    public long download(String url, Path target) throws APIException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            long size = transport.send(TransportRequest.get(url), response -> {
+                if (response.getStatus() >= 400) {
+                    throw new APIException("Download failed with status " + response.getStatus(),
+                            response.getStatus());
+                }
+                try (ReadableByteChannel source = Channels.newChannel(response.getBody());
+                     FileChannel file = FileChannel.open(partial, StandardOpenOption.CREATE,
+                             StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    long position = 0;
+                    for (long copied; (copied = file.transferFrom(source, position, DOWNLOAD_CHUNK)) > 0; ) {
+                        position += copied;
+                    }
+                    return position;
+                }
+            });
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        } catch (IOException e) {
+            deleteQuietly(partial);
+            throw new APIException("Download to " + target + " failed: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            deleteQuietly(partial);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // the partial file is overwritten by the next download
+        }
+    }
+
+    private JsonNode executeCached(TransportRequest request) {
+        String key = request.toString();
+        long now = System.nanoTime();
+        ResponseCache.Entry entry = responseCache.get(key, now);
+        if (entry != null && entry.isServable(now)) {
+            return serveCached(request, entry, now);
+        }
+        BodyReader<JsonNode> reader = response -> responseCache.store(request, response, entry).getBody();
+        TransportRequest conditional = responseCache.conditional(request, entry);
+        return singleFlight != null
+                ? singleFlight.run(key, () -> execute(conditional, reader))
+                : execute(conditional, reader);
+    }
+
+    private CompletableFuture<JsonNode> executeCachedAsync(TransportRequest request, Duration deadline) {
+        long now = System.nanoTime();
+        ResponseCache.Entry entry = responseCache.get(request.toString(), now);
+        if (entry != null && entry.isServable(now)) {
+            return CompletableFuture.completedFuture(serveCached(request, entry, now));
+        }
+        BodyReader<JsonNode> reader = response -> responseCache.store(request, response, entry).getBody();
+        return executeRequestAsync(responseCache.conditional(request, entry), reader, deadline);
+    }
+
+    /**
+     * Serves a cached body, refreshing it in the background first if it is stale
+     */
+    private JsonNode serveCached(TransportRequest request, ResponseCache.Entry entry, long now) {
+        if (metricsEnabled) {
+            metrics.onCacheHit(request.getTemplate());
+        }
+        if (!entry.isFresh(now) && entry.startRevalidation()) {
+            BodyReader<JsonNode> reader = response -> responseCache.store(request, response, entry).getBody();
+            executeRequestAsync(responseCache.conditional(request, entry), reader, null)
+                    .whenComplete((body, error) -> {
+                        entry.endRevalidation();
+                        if (error != null) {
+                            log.debug("Background refresh of {} failed: {}", request, error.getMessage());
+                        }
+                    });
+        }
+        return entry.getBody();
+    }
+
+    /**
+     * Sends a request through the transport, streaming the response body through the given reader once
+     *
+     * @param request Request to send
+     * @param reader Decoder applied to the successful response
+     * @return The decoded API response
+     */
+    private <T> T executeRequest(TransportRequest request, BodyReader<T> reader) throws APIException {
+        authorize(request);
+
+        long wait;
+        try {
+            wait = awaitPermit(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Interrupted while waiting for a rate limit permit: " + request, e);
+        }
+        CircuitBreaker breaker = admit(request);
+        if (breaker == null) {
+            return send(request, reader, wait);
+        }
+        try {
+            T body = send(request, reader, wait);
+            breaker.onSuccess();
+            return body;
+        } catch (APIException e) {
+            record(breaker, e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            breaker.onCancel();
+            throw e;
+        }
+    }
+
+    private <T> T send(TransportRequest request, BodyReader<T> reader, long rateLimitWait) {
+        Probe probe = probe(request, rateLimitWait);
+        try {
+            return requireBody(transport.send(route(request),
+                    response -> decode(request, observe(probe, response), reader)));
+
+        } catch (JsonProcessingException e) {
+            throw new APIException("Failed to parse JSON response: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new APIException("Network or request error: " + e.getMessage(), e);
+        } finally {
+            if (probe != null) {
+                probe.complete();
+            }
         }
+    }
 
+    private <T> T execute(TransportRequest request, BodyReader<T> reader) {
+        Call call = call(request);
+        if (call == null) {
+            return dispatch(request, reader);
+        }
         try {
-            HttpResponse<JsonNode> response = (HttpResponse<JsonNode>) requestBuilder
-                    .header("Accept", "application/json")
-                    .header("Authorization", "Bearer " + secretKey)
-                    .asJson();
+            T body = dispatch(request, reader);
+            call.complete(null);
+            return body;
+        } catch (RuntimeException | Error e) {
+            call.complete(e);
+            throw e;
+        }
+    }
+
+    private <T> T dispatch(TransportRequest request, BodyReader<T> reader) {
+        return dispatcher != null
+                ? dispatcher.run(() -> executeWithRetries(request, reader))
+                : executeWithRetries(request, reader);
+    }
 
-            if (response.getStatus() >= 400) {
-                throw new APIException("Request failed with status " + response.getStatus() +
-                        ": " + response.getStatusText());
+    private <T> T executeWithRetries(TransportRequest request, BodyReader<T> reader) {
+        if (retrier == null) {
+            return executeRequest(request, reader);
+        }
+        retrier.recordCall();
+        long delay = 0;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeRequest(request, reader);
+            } catch (APIException e) {
+                delay = retrier.backoff(request, e, attempt, delay);
+                if (delay < 0) {
+                    throw e;
+                }
+                if (metricsEnabled) {
+                    metrics.onRetry(request.getTemplate(), attempt, delay);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
             }
+        }
+    }
 
-            if (response.getBody() == null) {
-                throw new APIException("Received empty response body");
+    private <T> CompletableFuture<T> executeRequestAsync(TransportRequest request, BodyReader<T> reader,
+                                                         Duration deadline) {
+        Call call = call(request);
+        CompletableFuture<T> exchange = dispatcher != null
+                ? dispatcher.submit(() -> executeWithRetries(request, reader))
+                : sendWithRetries(request, reader);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        exchange.whenComplete((body, error) -> {
+            if (error != null) {
+                result.completeExceptionally(toApiException(error));
+            } else {
+                result.complete(body);
+            }
+        });
+        if (deadline != null) {
+            withDeadline(result, request, deadline);
+        }
+        result.whenComplete((body, error) -> {
+            if (error != null && !exchange.isDone()) {
+                exchange.cancel(true);
             }
+            if (call != null) {
+                call.complete(error);
+            }
+        });
+        return result;
+    }
 
-            return new JSONObject(response.getBody().toString());
+    /**
+     * Fails the result with an {@link APIException} if it is not complete before the deadline
+     */
+    private static <T> CompletableFuture<T> withDeadline(CompletableFuture<T> result, TransportRequest request,
+                                                         Duration deadline) {
+        CompletableFuture<Void> timer = new CompletableFuture<Void>()
+                .orTimeout(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        timer.whenComplete((ignored, timeout) -> {
+            if (timeout != null) {
+                result.completeExceptionally(new APIException("Request deadline of " + deadline +
+                        " exceeded: " + request, new TimeoutException(request.toString())));
+            }
+        });
+        result.whenComplete((body, error) -> timer.complete(null));
+        return result;
+    }
 
-        } catch (UnirestException e) {
-            throw new APIException("Network or request error: " + e.getMessage(), e);
-        } catch (JSONException e) {
-            throw new APIException("Failed to parse JSON response: " + e.getMessage(), e);
+    private boolean isCoalesced(TransportRequest request) {
+        return singleFlight != null && "GET".equals(request.getMethod());
+    }
+
+    private <T> CompletableFuture<T> sendWithRetries(TransportRequest request, BodyReader<T> reader) {
+        if (retrier == null) {
+            return sendAsync(request, reader);
+        }
+        retrier.recordCall();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(request, reader, result, 1, 0);
+        return result;
+    }
+
+    /**
+     * Sends one attempt and, if it fails with a retryable error, schedules the next one
+     */
+    private <T> void attempt(TransportRequest request, BodyReader<T> reader, CompletableFuture<T> result,
+                             int attempt, long previousDelay) {
+        CompletableFuture<T> exchange = sendAsync(request, reader);
+        result.whenComplete((body, error) -> exchange.cancel(true));
+        exchange.whenComplete((body, error) -> {
+            if (error == null) {
+                result.complete(body);
+                return;
+            }
+            APIException failure = toApiException(error);
+            long delay = result.isDone() ? -1 : retrier.backoff(request, failure, attempt, previousDelay);
+            if (delay < 0) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            if (metricsEnabled) {
+                metrics.onRetry(request.getTemplate(), attempt, delay);
+            }
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                if (!result.isDone()) {
+                    attempt(request, reader, result, attempt + 1, delay);
+                }
+            });
+        });
+    }
+
+    private <T> CompletableFuture<T> sendAsync(TransportRequest request, BodyReader<T> reader) {
+        authorize(request);
+
+        long wait;
+        try {
+            wait = rateLimiter != null ? rateLimiter.reserve(EndpointGroup.of(request.getTemplate())) : 0;
+        } catch (APIException e) {
+            if (metricsEnabled) {
+                metrics.onRejected(request.getTemplate());
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        if (wait <= 0) {
+            return exchange(request, reader, 0);
+        }
+        if (metricsEnabled) {
+            metrics.onRateLimited(request.getTemplate(), wait);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Executor delayed = CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS);
+        delayed.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> exchange = exchange(request, reader, wait);
+            result.whenComplete((body, error) -> exchange.cancel(true));
+            exchange.whenComplete((body, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(body);
+                }
+            });
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> exchange(TransportRequest request, BodyReader<T> reader, long rateLimitWait) {
+        CircuitBreaker breaker;
+        try {
+            breaker = admit(request);
+        } catch (APIException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Probe probe = probe(request, rateLimitWait);
+        CompletableFuture<T> sent;
+        try {
+            sent = transport.sendAsync(route(request), response -> decode(request, observe(probe, response), reader));
+        } catch (RuntimeException e) {
+            // e.g. an invalid URI, found before anything was sent: free the permit and the probe
+            if (probe != null) {
+                probe.complete();
+            }
+            if (breaker != null) {
+                breaker.onCancel();
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> exchange = sent.thenApply(RequestExecutor::requireBody);
+        exchange.whenComplete((body, error) -> {
+            if (probe != null) {
+                probe.complete();
+            }
+            if (error instanceof CancellationException) {
+                sent.cancel(true);
+            }
+            if (breaker == null) {
+                return;
+            }
+            if (error == null) {
+                breaker.onSuccess();
+            } else if (error instanceof CancellationException) {
+                breaker.onCancel();
+            } else {
+                record(breaker, toApiException(error));
+            }
+        });
+        return exchange;
+    }
+
+    /**
+     * Admits the request through the circuit breaker of its endpoint group
+     */
+    private CircuitBreaker admit(TransportRequest request) {
+        if (circuitBreakers == null) {
+            return null;
+        }
+        CircuitBreaker breaker = circuitBreakers.get(EndpointGroup.of(request.getTemplate()));
+        try {
+            breaker.acquire();
+        } catch (APIException e) {
+            if (metricsEnabled) {
+                metrics.onRejected(request.getTemplate());
+            }
+            throw e;
+        }
+        return breaker;
+    }
+
+    /**
+     * Counts 5xx responses and network errors against the endpoint; other failures such as 4xx
+     * responses mean the endpoint itself is healthy
+     */
+    private static void record(CircuitBreaker breaker, APIException failure) {
+        if (failure.getStatusCode() >= 500 || isNetworkError(failure)) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    /**
+     * Checks whether a call failed with an I/O error before any response arrived
+     */
+    static boolean isNetworkError(APIException failure) {
+        Throwable cause = failure.getCause();
+        return failure.getStatusCode() == 0 && cause instanceof IOException
+                && !(cause instanceof JsonProcessingException) && cause.getClass() != InterruptedIOException.class;
+    }
+
+    /**
+     * Waits for the rate limiter, if any
+     * @return The time waited in nanoseconds
+     */
+    private long awaitPermit(TransportRequest request) throws InterruptedException {
+        if (rateLimiter == null) {
+            return 0;
+        }
+        long wait;
+        try {
+            wait = rateLimiter.reserve(EndpointGroup.of(request.getTemplate()));
+        } catch (APIException e) {
+            if (metricsEnabled) {
+                metrics.onRejected(request.getTemplate());
+            }
+            throw e;
+        }
+        if (wait > 0) {
+            if (metricsEnabled) {
+                metrics.onRateLimited(request.getTemplate(), wait);
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return Math.max(0, wait);
+    }
+
+    /**
+     * Moves the request to the configured base URL, if any
+     */
+    private TransportRequest route(TransportRequest request) {
+        return baseUrl != null ? request.rebase(Definitions.BASE_API_ENDPOINT, baseUrl) : request;
+    }
+
+    private void authorize(TransportRequest request) {
+        request.header("Accept", "application/json")
+                .header("Authorization", authorization);
+    }
+
+    private static <T> T requireBody(T body) {
+        if (body == null || (body instanceof JsonNode && ((JsonNode) body).isMissingNode())) {
+            throw new APIException("Received empty response body");
+        }
+        return body;
+    }
+
+    /**
+     * Maps a failure of an asynchronous exchange to the exception the blocking path would throw
+     */
+    private static APIException toApiException(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof UncheckedIOException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof APIException) {
+            return (APIException) cause;
+        }
+        if (cause instanceof JsonProcessingException) {
+            return new APIException("Failed to parse JSON response: " + cause.getMessage(), (Exception) cause);
+        }
+        if (cause instanceof Exception) {
+            return new APIException("Network or request error: " + cause.getMessage(), (Exception) cause);
+        }
+        return new APIException("Network or request error: " + cause, new RuntimeException(cause));
+    }
+
+    private <T> T decode(TransportRequest request, TransportResponse response, BodyReader<T> reader)
+            throws IOException {
+        if (response.getStatus() < 400) {
+            if (responseCache != null && !"GET".equals(request.getMethod())) {
+                responseCache.invalidate(EndpointGroup.of(request.getTemplate()));
+            }
+            return reader.read(response);
+        }
+        long retryAfter = RateLimiter.retryAfterNanos(response.getHeader("Retry-After"));
+        if (response.getStatus() == 429 && rateLimiter != null) {
+            rateLimiter.onThrottled(EndpointGroup.of(request.getTemplate()), retryAfter);
+        }
+        throw new APIException("Request failed with status " + response.getStatus() + ": " +
+                errorMessage(response.getBody()), response.getStatus(),
+                retryAfter > 0 ? Duration.ofNanos(retryAfter) : null);
+    }
+
+    /**
+     * Extracts the {@code message} field Paystack includes in error bodies
+     */
+    private static String errorMessage(InputStream body) {
+        try {
+            JsonNode error = ResponseDecoder.readTree(body);
+            if (error != null && error.hasNonNull("message")) {
+                return error.get("message").asText();
+            }
+        } catch (IOException ignored) {
+            // fall through to a generic message when the error body is not JSON
+        }
+        return "no error message returned";
+    }
+
+    /**
+     * Starts measuring a call, if metrics are on or a recording is running
+     */
+    private Call call(TransportRequest request) {
+        boolean recording = CallEvent.isRecording();
+        return metricsEnabled || recording ? new Call(request, recording) : null;
+    }
+
+    /**
+     * Starts measuring an exchange, if metrics are on or a recording is running
+     */
+    private Probe probe(TransportRequest request, long rateLimitWait) {
+        boolean recording = ExchangeEvent.isRecording();
+        return metricsEnabled || recording ? new Probe(request, rateLimitWait, recording) : null;
+    }
+
+    /**
+     * Counts the response body of an exchange through the probe, if there is one
+     */
+    private static TransportResponse observe(Probe probe, TransportResponse response) {
+        return probe != null ? probe.observe(response) : response;
+    }
+
+    /**
+     * Measures one call for the metrics listener and JFR
+     */
+    private final class Call {
+        private final String endpoint;
+        private final String method;
+        private final CallEvent event;
+        private final long start;
+
+        Call(TransportRequest request, boolean recording) {
+            this.endpoint = request.getTemplate();
+            this.method = request.getMethod();
+            if (metricsEnabled) {
+                metrics.onCallStarted(endpoint, method);
+            }
+            this.event = recording ? new CallEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            this.start = System.nanoTime();
+        }
+
+        void complete(Throwable error) {
+            if (metricsEnabled) {
+                metrics.onCallCompleted(endpoint, method, System.nanoTime() - start, error);
+            }
+            if (event != null) {
+                event.endpoint = endpoint;
+                event.method = method;
+                event.succeeded = error == null;
+                event.error = error != null ? unwrap(error).getClass().getName() : null;
+                event.commit();
+            }
+        }
+
+        private Throwable unwrap(Throwable error) {
+            return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
         }
     }
+
+    /**
+     * Measures one exchange for the metrics listener and JFR
+     */
+    private final class Probe {
+        private final String endpoint;
+        private final String method;
+        private final long requestBytes;
+        private final ExchangeEvent event;
+        private final long start;
+        private volatile int status;
+        private volatile long responseTime;
+        private volatile CountingInputStream body;
+
+        Probe(TransportRequest request, long rateLimitWait, boolean recording) {
+            this.endpoint = request.getTemplate();
+            this.method = request.getMethod();
+            this.requestBytes = request.getBody() != null ? utf8Length(request.getBody()) : 0;
+            if (metricsEnabled) {
+                metrics.onExchangeStarted(endpoint, method);
+            }
+            this.event = recording ? new ExchangeEvent() : null;
+            if (event != null) {
+                event.rateLimitWait = rateLimitWait;
+                event.begin();
+            }
+            this.start = System.nanoTime();
+        }
+
+        TransportResponse observe(TransportResponse response) {
+            responseTime = System.nanoTime() - start;
+            status = response.getStatus();
+            CountingInputStream counted = new CountingInputStream(response.getBody());
+            body = counted;
+            return new TransportResponse(response.getStatus(), response::getHeader, counted);
+        }
+
+        void complete() {
+            CountingInputStream counted = body;
+            long responseBytes = counted != null ? counted.getCount() : 0;
+            if (metricsEnabled) {
+                metrics.onExchangeCompleted(endpoint, method, status, System.nanoTime() - start, requestBytes,
+                        responseBytes);
+            }
+            if (event != null) {
+                event.endpoint = endpoint;
+                event.method = method;
+                event.status = status;
+                event.responseTime = responseTime;
+                event.requestBytes = requestBytes;
+                event.responseBytes = responseBytes;
+                event.commit();
+            }
+        }
+
+        /**
+         * Computes the encoded size of the body without encoding it
+         */
+        private long utf8Length(String text) {
+            long length = text.length();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    // surrogate pairs are two chars and four bytes, other chars from U+0800 three bytes
+                    length += c < 0x800 || Character.isSurrogate(c) ? 1 : 2;
+                }
+            }
+            return length;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(TransportResponse response) throws IOException;
+    }
 }
@@ -0,0 +1,280 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.CachePolicy;
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of decoded GET responses of a single secret key.
+ *
+ * <p>Lookups are lock-free reads of a concurrent map. The cache is bounded by entry count and
+ * by the total size of the cached bodies; when either bound is exceeded the least recently used
+ * entries are evicted. Entries past their time to live are kept, so the next call can revalidate
+ * them with {@code If-None-Match} and reuse the body on a {@code 304 Not Modified}.</p>
+ */
+public final class ResponseCache {
+    private static final long ACCESS_GRANULARITY = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final CachePolicy policy;
+    private final long staleNanos;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an empty cache
+     * @param policy Time to live per endpoint and size bounds
+     */
+    public ResponseCache(CachePolicy policy) {
+        this.policy = policy;
+        this.staleNanos = policy.getStaleWhileRevalidate().toNanos();
+    }
+
+    /**
+     * Gets the number of calls served from a fresh entry
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of calls served from an expired entry while it was being refreshed
+     * @return The number of stale hits
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Gets the number of cacheable calls that had to go to the network
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of expired entries renewed by a {@code 304 Not Modified} response
+     * @return The number of revalidations
+     */
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    /**
+     * Gets the number of entries evicted to stay within the size bounds
+     * @return The number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the number of cached responses
+     * @return The number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the total size of the cached response bodies
+     * @return The weight in bytes
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /**
+     * Drops every cached response
+     */
+    public void clear() {
+        entries.forEach(this::remove);
+    }
+
+    boolean isCacheable(TransportRequest request) {
+        return "GET".equals(request.getMethod()) && policy.getTtl(request.getTemplate()) != null;
+    }
+
+    /**
+     * Looks up the entry of a call and counts it as a hit, a stale hit or a miss
+     *
+     * @param key The call's method and URI
+     * @param now Current {@link System#nanoTime()}
+     * @return The entry, possibly expired, or null if there is none
+     */
+    Entry get(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (now - entry.lastAccess > ACCESS_GRANULARITY) {
+            entry.lastAccess = now;
+        }
+        if (entry.isFresh(now)) {
+            hits.increment();
+        } else if (entry.isServable(now)) {
+            staleHits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Makes the request conditional on the cached entry's {@code ETag}, if any
+     */
+    TransportRequest conditional(TransportRequest request, Entry entry) {
+        if (entry != null && entry.etag != null) {
+            request.header("If-None-Match", entry.etag);
+        }
+        return request;
+    }
+
+    /**
+     * Decodes a successful response and stores it. A {@code 304 Not Modified} renews the
+     * previous entry instead.
+     *
+     * @param request The request the response belongs to
+     * @param response The response, with a status below 400
+     * @param previous The entry the request was made conditional on, possibly null
+     * @return The stored entry
+     */
+    Entry store(TransportRequest request, TransportResponse response, Entry previous) throws IOException {
+        long now = System.nanoTime();
+        long ttl = policy.getTtl(request.getTemplate()).toNanos();
+        String etag = response.getHeader("ETag");
+        Entry entry;
+        if (response.getStatus() == 304 && previous != null) {
+            revalidations.increment();
+            entry = new Entry(previous.group, previous.body, etag != null ? etag : previous.etag,
+                    previous.weight, now, ttl, staleNanos);
+        } else {
+            byte[] body = response.getBody().readAllBytes();
+            JsonNode tree = ResponseDecoder.mapper().readTree(body);
+            if (tree == null || tree.isMissingNode()) {
+                throw new APIException("Received empty response body");
+            }
+            entry = new Entry(EndpointGroup.of(request.getTemplate()), tree, etag, body.length,
+                    now, ttl, staleNanos);
+        }
+        Entry replaced = entries.put(request.toString(), entry);
+        weight.addAndGet(entry.weight - (replaced != null ? replaced.weight : 0));
+        if (entries.size() > policy.getMaxEntries() || weight.get() > policy.getMaxWeight()) {
+            evict();
+        }
+        return entry;
+    }
+
+    /**
+     * Drops the cached responses of an endpoint group after a call that may have changed them
+     */
+    void invalidate(String group) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.forEach((key, entry) -> {
+            if (entry.group.equals(group)) {
+                remove(key, entry);
+            }
+        });
+    }
+
+    /**
+     * Evicts least recently used entries until the cache is within its bounds. Eviction scans
+     * the whole map, which is cheap at the sizes reference data caches have and keeps lookups free
+     * of any bookkeeping beyond a timestamp.
+     */
+    private synchronized void evict() {
+        while (entries.size() > policy.getMaxEntries() || weight.get() > policy.getMaxWeight()) {
+            Map.Entry<String, Entry> eldest = null;
+            for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                if (eldest == null || candidate.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            if (remove(eldest.getKey(), eldest.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            weight.addAndGet(-entry.weight);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * A cached response
+     */
+    static final class Entry {
+        private final String group;
+        private final JsonNode body;
+        private final String etag;
+        private final long weight;
+        private final long expiresAt;
+        private final long staleUntil;
+        private final AtomicBoolean revalidating = new AtomicBoolean();
+        private volatile long lastAccess;
+
+        Entry(String group, JsonNode body, String etag, long weight, long now, long ttl, long stale) {
+            this.group = group;
+            this.body = body;
+            this.etag = etag;
+            this.weight = weight;
+            this.expiresAt = now + ttl;
+            this.staleUntil = now + ttl + stale;
+            this.lastAccess = now;
+        }
+
+        JsonNode getBody() {
+            return body;
+        }
+
+        boolean isFresh(long now) {
+            return now - expiresAt < 0;
+        }
+
+        boolean isServable(long now) {
+            return now - staleUntil < 0;
+        }
+
+        /**
+         * Claims the background refresh of this entry, so only one caller performs it
+         */
+        boolean startRevalidation() {
+            return revalidating.compareAndSet(false, true);
+        }
+
+        void endRevalidation() {
+            revalidating.set(false);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache{entries=" + size() + ", weight=" + getWeight() + ", hits=" + getHits() +
+                ", staleHits=" + getStaleHits() + ", misses=" + getMisses() +
+                ", revalidations=" + getRevalidations() + ", evictions=" + getEvictions() + "}";
+    }
+}
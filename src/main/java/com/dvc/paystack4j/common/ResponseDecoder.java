@@ -0,0 +1,81 @@
+package com.dvc.paystack4j.common;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes Paystack response bodies in a single pass.
+ *
+ * <p>The body stream is handed straight to Jackson's streaming parser and bound either to a
+ * lightweight {@link JsonNode} tree or to a caller supplied type. No intermediate String or
+ * second parse is involved. The underlying mapper is shared and thread-safe.</p>
+ */
+public final class ResponseDecoder {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final ObjectReader TREE_READER = MAPPER.reader();
+
+    private ResponseDecoder() {
+    }
+
+    /**
+     * Gets the shared mapper used for decoding
+     * @return The shared ObjectMapper
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Reads the body into a JSON tree
+     * @param body Response body stream
+     * @return Root node of the document
+     * @throws IOException if the body cannot be read or is not valid JSON
+     */
+    public static JsonNode readTree(InputStream body) throws IOException {
+        return TREE_READER.readTree(body);
+    }
+
+    /**
+     * Binds the body directly to the given type
+     * @param body Response body stream
+     * @param type Target type
+     * @return The bound value
+     * @throws IOException if the body cannot be read or bound
+     */
+    public static <T> T read(InputStream body, Class<T> type) throws IOException {
+        return MAPPER.readValue(body, type);
+    }
+
+    /**
+     * Binds the body directly to the given generic type
+     * @param body Response body stream
+     * @param type Target type
+     * @return The bound value
+     * @throws IOException if the body cannot be read or bound
+     */
+    public static <T> T read(InputStream body, JavaType type) throws IOException {
+        return MAPPER.readValue(body, type);
+    }
+
+    /**
+     * Converts an already decoded tree to the given type without re-parsing
+     * @param node Decoded tree
+     * @param type Target type
+     * @return The bound value
+     */
+    public static <T> T convert(JsonNode node, Class<T> type) {
+        try {
+            return MAPPER.treeToValue(node, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot bind response to " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.RetryPolicy;
+import com.dvc.paystack4j.exceptions.APIException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies a {@link RetryPolicy} on behalf of one executor: decides whether a failed attempt is
+ * retried, computes the delay and keeps the executor's retry budget.
+ *
+ * <p>The budget is held in thousandths of a retry in a single atomic counter, so recording a
+ * call or spending a retry is one compare-and-set.</p>
+ */
+final class Retrier {
+    private static final long UNIT = 1000;
+
+    private final RetryPolicy policy;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong budget;
+
+    Retrier(RetryPolicy policy) {
+        this.policy = policy;
+        this.initialBackoff = policy.getInitialBackoff().toNanos();
+        this.maxBackoff = policy.getMaxBackoff().toNanos();
+        this.deposit = Math.round(policy.getBudgetRatio() * UNIT);
+        this.capacity = policy.getBudgetReserve() * UNIT;
+        this.budget = new AtomicLong(capacity);
+    }
+
+    /**
+     * Records a call, adding its share to the retry budget
+     */
+    void recordCall() {
+        while (true) {
+            long current = budget.get();
+            if (current >= capacity || budget.compareAndSet(current, Math.min(capacity, current + deposit))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Decides whether to retry a failed attempt and how long to wait first
+     *
+     * @param request The failed request
+     * @param failure The failure of the attempt
+     * @param attempt Number of the failed attempt, starting at 1
+     * @param previousDelay Delay before the failed attempt in nanoseconds, 0 for the first attempt
+     * @return Nanoseconds to wait before the next attempt, or -1 to give up
+     */
+    long backoff(TransportRequest request, APIException failure, int attempt, long previousDelay) {
+        if (attempt >= policy.getMaxAttempts() || !isRetryable(request, failure) || !withdraw()) {
+            return -1;
+        }
+        long upper = Math.min(maxBackoff, Math.max(initialBackoff, previousDelay) * 3);
+        long delay = upper > initialBackoff
+                ? ThreadLocalRandom.current().nextLong(initialBackoff, upper + 1)
+                : initialBackoff;
+        return Math.max(delay, failure.getRetryAfter() != null ? failure.getRetryAfter().toNanos() : 0);
+    }
+
+    private boolean isRetryable(TransportRequest request, APIException failure) {
+        if (!isIdempotent(request)) {
+            return false;
+        }
+        if (failure.getStatusCode() > 0) {
+            return policy.isRetryableStatus(failure.getStatusCode());
+        }
+        return policy.isRetryNetworkErrors() && RequestExecutor.isNetworkError(failure);
+    }
+
+    private static boolean isIdempotent(TransportRequest request) {
+        switch (request.getMethod()) {
+            case "GET":
+            case "PUT":
+            case "DELETE":
+                return true;
+            default:
+                return request.getHeaders().containsKey(TransportRequest.IDEMPOTENCY_KEY);
+        }
+    }
+
+    private boolean withdraw() {
+        while (true) {
+            long current = budget.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.exceptions.APIException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into one.
+ *
+ * <p>The first caller for a key runs the call and publishes its future in a concurrent map;
+ * callers arriving while it is in flight share that future instead of starting their own. The
+ * entry is removed as soon as the call completes, before its result is published, so a caller
+ * arriving afterwards always triggers a fresh call. Nothing is cached beyond the call itself.</p>
+ *
+ * @param <V> Type of the shared result
+ */
+final class SingleFlight<V> {
+    private final ConcurrentHashMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Function<Throwable, APIException> errorMapper;
+
+    /**
+     * @param errorMapper Maps the failure of a shared call to the exception a blocking caller sees
+     */
+    SingleFlight(Function<Throwable, APIException> errorMapper) {
+        this.errorMapper = errorMapper;
+    }
+
+    /**
+     * Runs a blocking call, or waits for the identical call already in flight
+     *
+     * @param key Identity of the call
+     * @param call The call, run on the current thread if no identical call is in flight
+     * @return The result of the call
+     */
+    V run(String key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> shared = inFlight.putIfAbsent(key, flight);
+        if (shared != null) {
+            return await(shared);
+        }
+        try {
+            V value = call.get();
+            inFlight.remove(key, flight);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts an asynchronous call, or joins the identical call already in flight. Each caller gets
+     * its own future, so cancelling it detaches that caller without aborting the shared call.
+     *
+     * @param key Identity of the call
+     * @param call Starts the call if no identical call is in flight
+     * @return A future completed with the result of the call
+     */
+    CompletableFuture<V> submit(String key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> shared = inFlight.putIfAbsent(key, flight);
+        if (shared == null) {
+            shared = flight;
+            CompletableFuture<V> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, error) -> {
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.completeExceptionally(error);
+                } else {
+                    flight.complete(value);
+                }
+            });
+        }
+        CompletableFuture<V> caller = new CompletableFuture<>();
+        shared.whenComplete((value, error) -> {
+            if (error != null) {
+                caller.completeExceptionally(error);
+            } else {
+                caller.complete(value);
+            }
+        });
+        return caller;
+    }
+
+    /**
+     * Gets the number of distinct calls in flight
+     * @return The number of calls
+     */
+    int size() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> shared) {
+        try {
+            return shared.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Interrupted while waiting for a coalesced request", e);
+        } catch (ExecutionException | CancellationException e) {
+            throw errorMapper.apply(e instanceof ExecutionException ? e.getCause() : e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.dvc.paystack4j.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The HTTP layer used by {@link RequestExecutor}.
+ *
+ * <p>A transport owns its own connection pool and configuration, so two clients built on
+ * different transports never share state. Implementations must be thread-safe.</p>
+ *
+ * @see HttpClientTransport
+ * @see UnirestTransport
+ */
+public interface Transport extends AutoCloseable {
+
+    /**
+     * Sends the request and passes the response to the handler while the body is still open
+     *
+     * @param request The request to send
+     * @param handler Consumes the response; its result is returned from this method
+     * @return The value produced by the handler
+     * @throws IOException on network failure or if the handler fails to read the body
+     */
+    <T> T send(TransportRequest request, ResponseHandler<T> handler) throws IOException;
+
+    /**
+     * Sends the request without blocking the calling thread. Cancelling the returned future
+     * aborts the exchange where the implementation supports it.
+     *
+     * <p>The default implementation runs {@link #send} on the common pool and exists only so that
+     * simple custom transports keep working; the bundled transports override it with
+     * non-blocking I/O.</p>
+     *
+     * @param request The request to send
+     * @param handler Consumes the response; its result completes the future
+     * @return A future completed with the value produced by the handler
+     */
+    default <T> CompletableFuture<T> sendAsync(TransportRequest request, ResponseHandler<T> handler) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(request, handler);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Gets the number of exchanges in progress, i.e. the occupancy of the connection pool.
+     * The default implementation does not track it.
+     * @return The number of active exchanges, or -1 if unknown
+     */
+    default int getActiveExchanges() {
+        return -1;
+    }
+
+    /**
+     * Gets the number of calls waiting for the pool to admit them.
+     * The default implementation does not track it.
+     * @return The number of queued calls, or -1 if unknown
+     */
+    default int getQueuedExchanges() {
+        return -1;
+    }
+
+    /**
+     * Releases the resources held by this transport. The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Consumes a response while its body stream is open.
+     */
+    @FunctionalInterface
+    interface ResponseHandler<T> {
+        T handle(TransportResponse response) throws IOException;
+    }
+}
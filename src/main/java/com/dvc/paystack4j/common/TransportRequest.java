@@ -0,0 +1,171 @@
+package com.dvc.paystack4j.common;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A transport independent description of a single Paystack API call.
+ * Instances are produced by {@link RequestBuilder} and executed by a {@link Transport}.
+ */
+public final class TransportRequest {
+    static final String CONTENT_TYPE_JSON = "application/json";
+    static final String CONTENT_TYPE_FORM = "application/x-www-form-urlencoded";
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final String method;
+    private final String url;
+    private final String template;
+    private final Map<String, Object> queryParameters;
+    private final Map<String, String> headers;
+    private final String body;
+
+    TransportRequest(String method, String url, String template, Map<String, Object> queryParameters,
+                     String contentType, String body) {
+        this.method = method;
+        this.url = url;
+        this.template = template;
+        this.queryParameters = queryParameters;
+        this.headers = new LinkedHashMap<>();
+        this.body = body;
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+    }
+
+    /**
+     * Creates a GET request for an absolute URL without any parameters
+     * @param url The absolute URL
+     * @return The request
+     */
+    public static TransportRequest get(String url) {
+        return new TransportRequest("GET", url, url, Collections.emptyMap(), null, null);
+    }
+
+    /**
+     * Copies the request with its URL moved from one base URL to another, keeping the template,
+     * parameters, headers and body
+     * @param from The base URL the request was built against
+     * @param to The base URL to send it to
+     * @return The moved copy, or this request if its URL does not start with {@code from}
+     */
+    TransportRequest rebase(String from, String to) {
+        if (!url.startsWith(from)) {
+            return this;
+        }
+        TransportRequest moved = new TransportRequest(method, to + url.substring(from.length()), template,
+                queryParameters, null, body);
+        moved.headers.putAll(headers);
+        return moved;
+    }
+
+    /**
+     * Adds or replaces a header on the request
+     * @param name Header name
+     * @param value Header value
+     * @return The request instance for chaining
+     */
+    public TransportRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Gets the HTTP method
+     * @return The HTTP method, e.g. GET or POST
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the resource URL without query string
+     * @return The resource URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Gets the endpoint template this request was built from, i.e. the URL before any
+     * resource id was appended. Suitable as a low cardinality key for grouping calls.
+     * @return The endpoint template
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the query parameters
+     * @return Unmodifiable map of query parameters
+     */
+    public Map<String, Object> getQueryParameters() {
+        return Collections.unmodifiableMap(queryParameters);
+    }
+
+    /**
+     * Gets the full URI including the encoded query string
+     * @return The URI string
+     */
+    public String getUri() {
+        if (queryParameters.isEmpty()) {
+            return url;
+        }
+        StringBuilder uri = new StringBuilder(url);
+        uri.append(url.indexOf('?') < 0 ? '?' : '&');
+        encode(queryParameters, uri);
+        return uri.toString();
+    }
+
+    /**
+     * Gets the request headers
+     * @return Unmodifiable map of headers
+     */
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Gets the encoded request body
+     * @return The body, or null when the request has none
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * URL-encodes parameters as {@code key=value} pairs, repeating the key for collection values
+     * @param parameters Parameters to encode
+     * @param target Builder the encoded pairs are appended to
+     */
+    static void encode(Map<String, Object> parameters, StringBuilder target) {
+        int start = target.length();
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            if (entry.getValue() instanceof Collection) {
+                for (Object value : (Collection<?>) entry.getValue()) {
+                    appendPair(target, start, entry.getKey(), value);
+                }
+            } else {
+                appendPair(target, start, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static void appendPair(StringBuilder target, int start, String key, Object value) {
+        if (target.length() > start) {
+            target.append('&');
+        }
+        target.append(URLEncoder.encode(key, StandardCharsets.UTF_8));
+        if (value != null) {
+            target.append('=').append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + getUri();
+    }
+}
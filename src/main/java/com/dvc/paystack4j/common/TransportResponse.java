@@ -0,0 +1,50 @@
+package com.dvc.paystack4j.common;
+
+import java.io.InputStream;
+import java.util.function.Function;
+
+/**
+ * A response received by a {@link Transport}. The body stream is only valid while the
+ * {@link Transport.ResponseHandler} it was handed to is running.
+ */
+public final class TransportResponse {
+    private final int status;
+    private final Function<String, String> headers;
+    private final InputStream body;
+
+    /**
+     * @param status HTTP status code
+     * @param headers Lookup returning the first value of a header, or null if absent
+     * @param body Response body stream
+     */
+    public TransportResponse(int status, Function<String, String> headers, InputStream body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Gets the HTTP status code
+     * @return The status code
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the first value of a response header
+     * @param name Header name, case insensitive
+     * @return The header value, or null if absent
+     */
+    public String getHeader(String name) {
+        return headers.apply(name);
+    }
+
+    /**
+     * Gets the response body stream
+     * @return The body stream
+     */
+    public InputStream getBody() {
+        return body;
+    }
+}
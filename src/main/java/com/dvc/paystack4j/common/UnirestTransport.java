@@ -0,0 +1,122 @@
+package com.dvc.paystack4j.common;
+
+import kong.unirest.HttpRequest;
+import kong.unirest.HttpResponse;
+import kong.unirest.HttpRequestWithBody;
+import kong.unirest.RawResponse;
+import kong.unirest.Unirest;
+import kong.unirest.UnirestException;
+import kong.unirest.UnirestInstance;
+import kong.unirest.UnirestParsingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * {@link Transport} backed by a dedicated {@link UnirestInstance}.
+ *
+ * <p>Unlike the static {@code Unirest} entry points, each transport spawns its own instance, so
+ * pool size and timeouts are configured per client. Unirest is an optional dependency; this
+ * class is only loaded when it is selected explicitly.</p>
+ */
+public final class UnirestTransport implements Transport {
+    private final UnirestInstance unirest;
+
+    /**
+     * Creates a transport with the given pool and timeout settings
+     *
+     * @param maxConnections Maximum connections in the pool
+     * @param maxConnectionsPerRoute Maximum connections per route
+     * @param connectTimeoutMillis Connect timeout in milliseconds
+     * @param socketTimeoutMillis Socket timeout in milliseconds
+     */
+    public UnirestTransport(int maxConnections, int maxConnectionsPerRoute,
+                            int connectTimeoutMillis, int socketTimeoutMillis) {
+        this.unirest = Unirest.spawnInstance();
+        this.unirest.config()
+                .concurrency(maxConnections, maxConnectionsPerRoute)
+                .connectTimeout(connectTimeoutMillis)
+                .socketTimeout(socketTimeoutMillis)
+                .automaticRetries(false);
+    }
+
+    /**
+     * Creates a transport with Unirest's default pool and timeout settings
+     */
+    public UnirestTransport() {
+        this.unirest = Unirest.spawnInstance();
+    }
+
+    @Override
+    public <T> T send(TransportRequest request, ResponseHandler<T> handler) throws IOException {
+        try {
+            HttpResponse<T> response = toUnirestRequest(request).asObject(adapt(handler));
+            if (response.getParsingError().isPresent()) {
+                throw unwrap(response.getParsingError().get());
+            }
+            return response.getBody();
+        } catch (UnirestException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends the request on Unirest's asynchronous (NIO) client. Cancelling the returned future
+     * does not abort an exchange that is already on the wire.
+     */
+    @Override
+    public <T> CompletableFuture<T> sendAsync(TransportRequest request, ResponseHandler<T> handler) {
+        return toUnirestRequest(request).asObjectAsync(adapt(handler)).thenApply(response -> {
+            if (response.getParsingError().isPresent()) {
+                try {
+                    throw unwrap(response.getParsingError().get());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return response.getBody();
+        });
+    }
+
+    private static <T> Function<RawResponse, T> adapt(ResponseHandler<T> handler) {
+        return raw -> {
+            try (InputStream body = raw.getContent()) {
+                return handler.handle(new TransportResponse(raw.getStatus(),
+                        name -> raw.getHeaders().getFirst(name), body));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private HttpRequest<?> toUnirestRequest(TransportRequest request) {
+        HttpRequestWithBody unirestRequest = unirest.request(request.getMethod(), request.getUri());
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            unirestRequest.header(header.getKey(), header.getValue());
+        }
+        if (request.getBody() == null) {
+            return unirestRequest;
+        }
+        return unirestRequest.body(request.getBody());
+    }
+
+    private static IOException unwrap(UnirestParsingException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException) {
+            return ((UncheckedIOException) cause).getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IOException(e.getMessage(), e);
+    }
+
+    @Override
+    public void close() {
+        unirest.close();
+    }
+}
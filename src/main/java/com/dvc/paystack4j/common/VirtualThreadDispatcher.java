@@ -0,0 +1,141 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.exceptions.APIException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs blocking API calls on virtual threads, one per call, while a semaphore caps the number
+ * of calls in flight so a burst of tens of thousands of requests cannot exhaust the transport.
+ *
+ * <p>Virtual threads are detected at runtime, so the library still targets Java 17. Use
+ * {@link #isSupported()} or {@link #create(int)}, which returns null on older runtimes.</p>
+ */
+public final class VirtualThreadDispatcher implements AutoCloseable {
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxInFlightRequests;
+
+    private VirtualThreadDispatcher(ExecutorService executor, int maxInFlightRequests) {
+        this.executor = executor;
+        this.inFlight = new Semaphore(maxInFlightRequests);
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads
+     * @return true on Java 21 or later
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task
+     * @return A new executor, or null if virtual threads are unavailable
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to create a virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Creates a dispatcher when the running JVM supports virtual threads
+     *
+     * @param maxInFlightRequests Maximum number of calls executing at once
+     * @return A new dispatcher, or null if virtual threads are unavailable
+     * @throws IllegalArgumentException if maxInFlightRequests is not positive
+     */
+    public static VirtualThreadDispatcher create(int maxInFlightRequests) {
+        if (maxInFlightRequests <= 0) {
+            throw new IllegalArgumentException("maxInFlightRequests must be positive");
+        }
+        ExecutorService executor = newVirtualThreadExecutor();
+        return executor != null ? new VirtualThreadDispatcher(executor, maxInFlightRequests) : null;
+    }
+
+    /**
+     * Runs a call on the current thread once an in-flight permit is available
+     *
+     * @param call The blocking call
+     * @return The result of the call
+     */
+    public <T> T run(Callable<T> call) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Interrupted while waiting for an in-flight slot", e);
+        }
+        try {
+            return call.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new APIException("Request failed: " + e.getMessage(), e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Runs a call on a new virtual thread. Cancelling the returned future interrupts the thread.
+     *
+     * @param call The blocking call
+     * @return A future completed with the result of the call
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(run(call));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Gets the number of calls currently in flight
+     * @return The number of calls holding a permit
+     */
+    public int getInFlightRequests() {
+        return maxInFlightRequests - inFlight.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static MethodHandle findVirtualThreadExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
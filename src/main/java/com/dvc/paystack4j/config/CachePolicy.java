@@ -0,0 +1,141 @@
+package com.dvc.paystack4j.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the response cache for read-mostly endpoints.
+ *
+ * <p>Only GET calls to endpoints given a time to live are cached; everything else passes
+ * through. Each client caches the responses of its own secret key. A successful POST, PUT or
+ * DELETE drops the cached responses of the same endpoint group.</p>
+ *
+ * <pre>{@code
+ * CachePolicy policy = CachePolicy.builder()
+ *         .ttl(Definitions.PAYSTACK_MISCELLANEOUS_LIST_BANKS, Duration.ofHours(6))
+ *         .ttl(Definitions.PAYSTACK_PLANS_LIST_PLANS, Duration.ofMinutes(5))
+ *         .staleWhileRevalidate(Duration.ofMinutes(1))
+ *         .build();
+ * }</pre>
+ */
+public final class CachePolicy {
+    private final Map<String, Duration> ttls;
+    private final Duration staleWhileRevalidate;
+    private final int maxEntries;
+    private final long maxWeight;
+
+    private CachePolicy(Builder builder) {
+        this.ttls = new HashMap<>(builder.ttls);
+        this.staleWhileRevalidate = builder.staleWhileRevalidate;
+        this.maxEntries = builder.maxEntries;
+        this.maxWeight = builder.maxWeight;
+    }
+
+    /**
+     * Creates a builder for a cache policy
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the time to live of responses of an endpoint
+     * @param template The endpoint template from {@link com.dvc.paystack4j.constants.Definitions}
+     * @return The time to live, or null if the endpoint is not cached
+     */
+    public Duration getTtl(String template) {
+        return ttls.get(template);
+    }
+
+    /**
+     * Gets how long an expired response may still be served while it is refreshed in the background
+     * @return The stale window, zero if expired responses are never served
+     */
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * Gets the maximum number of cached responses
+     * @return The maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Gets the maximum total size of the cached response bodies
+     * @return The maximum weight in bytes
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Builder for {@link CachePolicy}.
+     */
+    public static final class Builder {
+        private final Map<String, Duration> ttls = new HashMap<>();
+        private Duration staleWhileRevalidate = Duration.ZERO;
+        private int maxEntries = 1024;
+        private long maxWeight = 16L * 1024 * 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Caches GET responses of an endpoint for the given time
+         * @param template The endpoint template from {@link com.dvc.paystack4j.constants.Definitions}
+         * @param ttl The time to live
+         * @return The builder instance for chaining
+         */
+        public Builder ttl(String template, Duration ttl) {
+            if (ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("ttl must be positive");
+            }
+            ttls.put(template, ttl);
+            return this;
+        }
+
+        /**
+         * Lets an expired response be served for the given time while a background call
+         * refreshes it, zero by default
+         * @param staleWhileRevalidate The stale window
+         * @return The builder instance for chaining
+         */
+        public Builder staleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached responses, 1024 by default
+         * @param maxEntries The maximum number of entries
+         * @return The builder instance for chaining
+         */
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total size of the cached response bodies, 16 MiB by default
+         * @param maxWeight The maximum weight in bytes
+         * @return The builder instance for chaining
+         */
+        public Builder maxWeight(long maxWeight) {
+            this.maxWeight = maxWeight;
+            return this;
+        }
+
+        /**
+         * Builds the policy
+         * @return A new cache policy
+         */
+        public CachePolicy build() {
+            return new CachePolicy(this);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.dvc.paystack4j.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the circuit breakers and bulkheads guarding each endpoint group.
+ *
+ * <p>A breaker opens when the share of failed calls, i.e. 5xx responses and network errors,
+ * reaches the failure rate threshold within a window of calls. While open, calls of the group
+ * fail immediately. After the open duration a few probe calls are let through; if they all
+ * succeed the breaker closes, otherwise it opens again. Independently, a bulkhead caps the
+ * number of concurrent calls per group so a slow endpoint cannot take up every connection.</p>
+ *
+ * <pre>{@code
+ * CircuitBreakerPolicy policy = CircuitBreakerPolicy.builder()
+ *         .failureRateThreshold(0.5)
+ *         .openDuration(Duration.ofSeconds(15))
+ *         .maxConcurrentCalls(64)
+ *         .maxConcurrentCalls("bulkcharge", 8)
+ *         .build();
+ * }</pre>
+ */
+public final class CircuitBreakerPolicy {
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final int windowSize;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final int maxConcurrentCalls;
+    private final Map<String, Integer> groupConcurrency;
+
+    private CircuitBreakerPolicy(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.minimumCalls = builder.minimumCalls;
+        this.windowSize = builder.windowSize;
+        this.openDuration = builder.openDuration;
+        this.halfOpenProbes = builder.halfOpenProbes;
+        this.maxConcurrentCalls = builder.maxConcurrentCalls;
+        this.groupConcurrency = new HashMap<>(builder.groupConcurrency);
+    }
+
+    /**
+     * Creates a builder for a circuit breaker policy
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the share of failed calls at which a breaker opens
+     * @return The failure rate threshold between 0 and 1
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Gets the number of calls a window needs before the failure rate is evaluated
+     * @return The minimum number of calls
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Gets the number of calls after which the failure counts start over
+     * @return The window size
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Gets how long a breaker stays open before it admits probe calls
+     * @return The open duration
+     */
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Gets the number of probe calls that must succeed to close a half-open breaker
+     * @return The number of probes
+     */
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    /**
+     * Gets the maximum number of concurrent calls of an endpoint group
+     * @param group The endpoint group
+     * @return The limit, or 0 for no limit
+     */
+    public int getMaxConcurrentCalls(String group) {
+        return groupConcurrency.getOrDefault(group, maxConcurrentCalls);
+    }
+
+    /**
+     * Builder for {@link CircuitBreakerPolicy}.
+     */
+    public static final class Builder {
+        private double failureRateThreshold = 0.5;
+        private int minimumCalls = 10;
+        private int windowSize = 50;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 3;
+        private int maxConcurrentCalls;
+        private final Map<String, Integer> groupConcurrency = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the share of failed calls at which a breaker opens, 0.5 by default
+         * @param failureRateThreshold A rate between 0 and 1
+         * @return The builder instance for chaining
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+                throw new IllegalArgumentException("failureRateThreshold must be between 0 and 1");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the number of calls a window needs before the failure rate is evaluated and the
+         * number of calls after which the counts start over, 10 and 50 by default
+         * @param minimumCalls The minimum number of calls
+         * @param windowSize The window size
+         * @return The builder instance for chaining
+         */
+        public Builder window(int minimumCalls, int windowSize) {
+            if (minimumCalls < 1 || windowSize < minimumCalls) {
+                throw new IllegalArgumentException("minimumCalls must be at least 1 and not exceed windowSize");
+            }
+            this.minimumCalls = minimumCalls;
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a breaker stays open before it admits probe calls, 30 seconds by default
+         * @param openDuration The open duration
+         * @return The builder instance for chaining
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * Sets the number of probe calls that must succeed to close a half-open breaker, 3 by default
+         * @param halfOpenProbes The number of probes
+         * @return The builder instance for chaining
+         */
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            if (halfOpenProbes < 1) {
+                throw new IllegalArgumentException("halfOpenProbes must be at least 1");
+            }
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        /**
+         * Caps the number of concurrent calls of every endpoint group, unlimited by default
+         * @param maxConcurrentCalls The limit, or 0 for no limit
+         * @return The builder instance for chaining
+         */
+        public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        /**
+         * Caps the number of concurrent calls of a single endpoint group
+         * @param group The endpoint group, e.g. {@code transfer}
+         * @param maxConcurrentCalls The limit, or 0 for no limit
+         * @return The builder instance for chaining
+         */
+        public Builder maxConcurrentCalls(String group, int maxConcurrentCalls) {
+            groupConcurrency.put(group, maxConcurrentCalls);
+            return this;
+        }
+
+        /**
+         * Builds the policy
+         * @return A new circuit breaker policy
+         */
+        public CircuitBreakerPolicy build() {
+            return new CircuitBreakerPolicy(this);
+        }
+    }
+}
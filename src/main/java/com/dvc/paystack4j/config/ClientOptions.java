@@ -0,0 +1,296 @@
+package com.dvc.paystack4j.config;
+
+import com.dvc.paystack4j.common.CircuitBreakers;
+import com.dvc.paystack4j.common.HttpClientTransport;
+import com.dvc.paystack4j.common.Transport;
+import com.dvc.paystack4j.common.VirtualThreadDispatcher;
+import com.dvc.paystack4j.constants.Definitions;
+import com.dvc.paystack4j.metrics.MetricsListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runtime options of a {@link com.dvc.paystack4j.PaystackClient}.
+ *
+ * <p>Options are immutable once built. The transport and any execution resources they hold are
+ * shared by every client created with the same options instance.</p>
+ *
+ * <pre>{@code
+ * ClientOptions options = ClientOptions.builder()
+ *         .transport(HttpClientTransport.builder().maxConcurrentRequests(256).build())
+ *         .virtualThreads(true)
+ *         .maxInFlightRequests(10_000)
+ *         .rateLimit(RateLimitPolicy.builder().requestsPerSecond(50).build())
+ *         .retry(RetryPolicy.builder().maxAttempts(4).build())
+ *         .circuitBreaker(CircuitBreakerPolicy.builder().maxConcurrentCalls(64).build())
+ *         .responseCache(CachePolicy.builder()
+ *                 .ttl(Definitions.PAYSTACK_MISCELLANEOUS_LIST_BANKS, Duration.ofHours(6))
+ *                 .build())
+ *         .metrics(new EndpointMetrics())
+ *         .build();
+ * PaystackClient client = new PaystackClient.Impl(secretKey, options);
+ * }</pre>
+ */
+public final class ClientOptions {
+    private static final Logger log = LoggerFactory.getLogger(ClientOptions.class);
+
+    private final Transport transport;
+    private final VirtualThreadDispatcher dispatcher;
+    private final RateLimitPolicy rateLimitPolicy;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreakers circuitBreakers;
+    private final boolean coalesceRequests;
+    private final CachePolicy cachePolicy;
+    private final String baseUrl;
+    private final MetricsListener metricsListener;
+
+    private ClientOptions(Builder builder) {
+        this.transport = builder.transport != null ? builder.transport : HttpClientTransport.create();
+        this.dispatcher = builder.virtualThreads ? createDispatcher(builder.maxInFlightRequests) : null;
+        this.rateLimitPolicy = builder.rateLimitPolicy;
+        this.retryPolicy = builder.retryPolicy;
+        this.circuitBreakers = builder.circuitBreakerPolicy != null
+                ? new CircuitBreakers(builder.circuitBreakerPolicy) : null;
+        this.coalesceRequests = builder.coalesceRequests;
+        this.cachePolicy = builder.cachePolicy;
+        this.baseUrl = builder.baseUrl;
+        this.metricsListener = builder.metricsListener;
+        metricsListener.bindTransport(transport);
+    }
+
+    /**
+     * Creates options with a new default transport and no optional features enabled
+     * @return New default options
+     */
+    public static ClientOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Creates a builder for client options
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the transport used for API calls
+     * @return The transport
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Gets the virtual thread dispatcher blocking calls are run on
+     * @return The dispatcher, or null when virtual thread mode is off or unsupported
+     */
+    public VirtualThreadDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Gets the policy of the client side rate limiter. Each client applies it to its own secret key.
+     * @return The policy, or null when rate limiting is off
+     */
+    public RateLimitPolicy getRateLimitPolicy() {
+        return rateLimitPolicy;
+    }
+
+    /**
+     * Gets the policy of automatic retries. Each client keeps its own retry budget.
+     * @return The policy, or null when failed calls are not retried
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Gets the circuit breakers and bulkheads guarding each endpoint group
+     * @return The circuit breakers, or null when none are configured
+     */
+    public CircuitBreakers getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * Checks whether concurrent identical GET calls share one exchange
+     * @return true if request coalescing is on
+     */
+    public boolean isCoalesceRequests() {
+        return coalesceRequests;
+    }
+
+    /**
+     * Gets the policy of the response cache. Each client caches the responses of its own key.
+     * @return The policy, or null when responses are not cached
+     */
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * Gets the base URL API calls are sent to in place of {@link Definitions#BASE_API_ENDPOINT}
+     * @return The base URL, or null when calls go to Paystack
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Gets the listener notified of every request stage
+     * @return The listener, {@link MetricsListener#NOOP} when metrics are off
+     */
+    public MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    private static VirtualThreadDispatcher createDispatcher(int maxInFlightRequests) {
+        VirtualThreadDispatcher dispatcher = VirtualThreadDispatcher.create(maxInFlightRequests);
+        if (dispatcher == null) {
+            log.info("Virtual threads are not available on Java {}; using the transport's asynchronous I/O",
+                    Runtime.version().feature());
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Builder for {@link ClientOptions}.
+     */
+    public static final class Builder {
+        private Transport transport;
+        private boolean virtualThreads;
+        private int maxInFlightRequests = 1024;
+        private RateLimitPolicy rateLimitPolicy;
+        private RetryPolicy retryPolicy;
+        private CircuitBreakerPolicy circuitBreakerPolicy;
+        private boolean coalesceRequests;
+        private CachePolicy cachePolicy;
+        private String baseUrl;
+        private MetricsListener metricsListener = MetricsListener.NOOP;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the transport; a new {@link HttpClientTransport} is created when none is given
+         * @param transport The transport
+         * @return The builder instance for chaining
+         */
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Runs calls as blocking exchanges on a virtual thread per call instead of the transport's
+         * asynchronous I/O. Ignored, with an info log entry, on runtimes without virtual threads.
+         * @param virtualThreads Whether to enable virtual thread mode
+         * @return The builder instance for chaining
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Limits the number of calls in flight at once in virtual thread mode, 1024 by default
+         * @param maxInFlightRequests Maximum concurrent calls
+         * @return The builder instance for chaining
+         */
+        public Builder maxInFlightRequests(int maxInFlightRequests) {
+            this.maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+
+        /**
+         * Enables the adaptive client side rate limiter, which paces calls per secret key and
+         * endpoint group and slows down when Paystack answers with 429
+         * @param rateLimitPolicy The rate limit policy, or null to turn rate limiting off
+         * @return The builder instance for chaining
+         */
+        public Builder rateLimit(RateLimitPolicy rateLimitPolicy) {
+            this.rateLimitPolicy = rateLimitPolicy;
+            return this;
+        }
+
+        /**
+         * Enables automatic retries of transient failures
+         * @param retryPolicy The retry policy, or null to turn retries off
+         * @return The builder instance for chaining
+         */
+        public Builder retry(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Guards every endpoint group with a circuit breaker and a concurrency bulkhead, shared by
+         * all clients built from these options
+         * @param circuitBreakerPolicy The circuit breaker policy, or null to turn circuit breaking off
+         * @return The builder instance for chaining
+         */
+        public Builder circuitBreaker(CircuitBreakerPolicy circuitBreakerPolicy) {
+            this.circuitBreakerPolicy = circuitBreakerPolicy;
+            return this;
+        }
+
+        /**
+         * Lets concurrent identical GET calls of a client, such as several components verifying
+         * the same reference at once, share one exchange and its decoded JSON tree. Callers then
+         * receive the same tree instance and must not modify it. Off by default.
+         * @param coalesceRequests Whether to coalesce identical GET calls
+         * @return The builder instance for chaining
+         */
+        public Builder coalesceRequests(boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+
+        /**
+         * Caches responses of read-mostly endpoints such as banks, plans and products
+         * @param cachePolicy The cache policy, or null to turn caching off
+         * @return The builder instance for chaining
+         */
+        public Builder responseCache(CachePolicy cachePolicy) {
+            this.cachePolicy = cachePolicy;
+            return this;
+        }
+
+        /**
+         * Sends API calls to another host, such as a local stand-in server for offline load and
+         * integration tests. Requests keep their {@link Definitions} endpoint as template, so rate
+         * limits, circuit breakers and cache policies apply unchanged.
+         * @param baseUrl The base URL without trailing slash, e.g. {@code http://127.0.0.1:8080},
+         *                or null to call Paystack
+         * @return The builder instance for chaining
+         */
+        public Builder baseUrl(String baseUrl) {
+            if (baseUrl != null && baseUrl.endsWith("/")) {
+                baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+            }
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * Reports every call, exchange, retry and cache hit of clients built from these options
+         * to a listener, such as {@link com.dvc.paystack4j.metrics.EndpointMetrics}
+         * @param metricsListener The listener, or null to turn metrics off
+         * @return The builder instance for chaining
+         */
+        public Builder metrics(MetricsListener metricsListener) {
+            this.metricsListener = metricsListener != null ? metricsListener : MetricsListener.NOOP;
+            return this;
+        }
+
+        /**
+         * Builds the options
+         * @return New client options
+         */
+        public ClientOptions build() {
+            return new ClientOptions(this);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.dvc.paystack4j.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the client side rate limiter.
+ *
+ * <p>Every secret key gets its own limiter with one token bucket per endpoint group (the first
+ * path segment, e.g. {@code transaction} or {@code transfer}). When Paystack answers with
+ * {@code 429 Too Many Requests} the bucket's rate is cut by {@link Builder#decreaseFactor(double)}
+ * and requests are held back until any {@code Retry-After} has passed; the rate then recovers
+ * linearly over time.</p>
+ *
+ * <pre>{@code
+ * RateLimitPolicy policy = RateLimitPolicy.builder()
+ *         .requestsPerSecond(50)
+ *         .burst(20)
+ *         .group("transfer", 10, 5)
+ *         .build();
+ * }</pre>
+ */
+public final class RateLimitPolicy {
+    private final double requestsPerSecond;
+    private final int burst;
+    private final Map<String, double[]> groups;
+    private final double decreaseFactor;
+    private final double minimumFraction;
+    private final double recoveryPerSecond;
+    private final Duration maxWait;
+
+    private RateLimitPolicy(Builder builder) {
+        this.requestsPerSecond = builder.requestsPerSecond;
+        this.burst = builder.burst;
+        this.groups = new HashMap<>(builder.groups);
+        this.decreaseFactor = builder.decreaseFactor;
+        this.minimumFraction = builder.minimumFraction;
+        this.recoveryPerSecond = builder.recoveryPerSecond;
+        this.maxWait = builder.maxWait;
+    }
+
+    /**
+     * Creates a builder for a rate limit policy
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the sustained rate of an endpoint group
+     * @param group The endpoint group
+     * @return Requests per second
+     */
+    public double getRequestsPerSecond(String group) {
+        double[] limits = groups.get(group);
+        return limits != null ? limits[0] : requestsPerSecond;
+    }
+
+    /**
+     * Gets the number of requests of an endpoint group that may be sent back to back
+     * @param group The endpoint group
+     * @return The burst size
+     */
+    public int getBurst(String group) {
+        double[] limits = groups.get(group);
+        return limits != null ? (int) limits[1] : burst;
+    }
+
+    /**
+     * Gets the factor a bucket's rate is multiplied by on every 429 response
+     * @return The decrease factor
+     */
+    public double getDecreaseFactor() {
+        return decreaseFactor;
+    }
+
+    /**
+     * Gets the lowest fraction of the configured rate a bucket can be cut to
+     * @return The minimum fraction
+     */
+    public double getMinimumFraction() {
+        return minimumFraction;
+    }
+
+    /**
+     * Gets the fraction of the configured rate a throttled bucket regains per second
+     * @return The recovery rate
+     */
+    public double getRecoveryPerSecond() {
+        return recoveryPerSecond;
+    }
+
+    /**
+     * Gets the longest a call may wait for a permit before it fails instead
+     * @return The maximum wait
+     */
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Builder for {@link RateLimitPolicy}.
+     */
+    public static final class Builder {
+        private double requestsPerSecond = 50;
+        private int burst = 25;
+        private final Map<String, double[]> groups = new HashMap<>();
+        private double decreaseFactor = 0.5;
+        private double minimumFraction = 0.05;
+        private double recoveryPerSecond = 0.05;
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the sustained rate of each endpoint group, 50 by default
+         * @param requestsPerSecond Requests per second
+         * @return The builder instance for chaining
+         */
+        public Builder requestsPerSecond(double requestsPerSecond) {
+            if (requestsPerSecond <= 0) {
+                throw new IllegalArgumentException("requestsPerSecond must be positive");
+            }
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets how many requests of an endpoint group may be sent back to back, 25 by default
+         * @param burst The burst size
+         * @return The builder instance for chaining
+         */
+        public Builder burst(int burst) {
+            if (burst < 1) {
+                throw new IllegalArgumentException("burst must be at least 1");
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Overrides the rate and burst of a single endpoint group
+         * @param group The endpoint group, e.g. {@code transfer}
+         * @param requestsPerSecond Requests per second
+         * @param burst The burst size
+         * @return The builder instance for chaining
+         */
+        public Builder group(String group, double requestsPerSecond, int burst) {
+            if (requestsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("requestsPerSecond must be positive and burst at least 1");
+            }
+            groups.put(group, new double[] {requestsPerSecond, burst});
+            return this;
+        }
+
+        /**
+         * Sets the factor a bucket's rate is multiplied by on every 429 response, 0.5 by default
+         * @param decreaseFactor A factor between 0 and 1
+         * @return The builder instance for chaining
+         */
+        public Builder decreaseFactor(double decreaseFactor) {
+            if (decreaseFactor <= 0 || decreaseFactor >= 1) {
+                throw new IllegalArgumentException("decreaseFactor must be between 0 and 1");
+            }
+            this.decreaseFactor = decreaseFactor;
+            return this;
+        }
+
+        /**
+         * Sets the lowest fraction of the configured rate a bucket can be cut to, 0.05 by default
+         * @param minimumFraction A fraction between 0 and 1
+         * @return The builder instance for chaining
+         */
+        public Builder minimumFraction(double minimumFraction) {
+            if (minimumFraction <= 0 || minimumFraction > 1) {
+                throw new IllegalArgumentException("minimumFraction must be between 0 and 1");
+            }
+            this.minimumFraction = minimumFraction;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of the configured rate a throttled bucket regains per second,
+         * 0.05 by default, i.e. a halved rate is fully restored after ten quiet seconds
+         * @param recoveryPerSecond The recovery rate
+         * @return The builder instance for chaining
+         */
+        public Builder recoveryPerSecond(double recoveryPerSecond) {
+            if (recoveryPerSecond <= 0) {
+                throw new IllegalArgumentException("recoveryPerSecond must be positive");
+            }
+            this.recoveryPerSecond = recoveryPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets the longest a call may wait for a permit before it fails, 30 seconds by default
+         * @param maxWait The maximum wait
+         * @return The builder instance for chaining
+         */
+        public Builder maxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Builds the policy
+         * @return A new rate limit policy
+         */
+        public RateLimitPolicy build() {
+            return new RateLimitPolicy(this);
+        }
+    }
+}
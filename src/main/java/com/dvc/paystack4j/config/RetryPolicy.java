@@ -0,0 +1,200 @@
+package com.dvc.paystack4j.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Settings of automatic retries.
+ *
+ * <p>A failed call is retried when Paystack answered with one of the retryable status codes or
+ * the exchange failed with an I/O error before a response arrived. GET, PUT and DELETE calls
+ * are always eligible; POST and PATCH calls only when they carry an {@code Idempotency-Key},
+ * which every POST built by {@link com.dvc.paystack4j.common.RequestBuilder} does.</p>
+ *
+ * <p>Delays grow exponentially with decorrelated jitter and never undercut a
+ * {@code Retry-After} header. A retry budget shared by all calls of a secret key caps retries
+ * at a fraction of the traffic, so an outage does not turn into a retry storm.</p>
+ *
+ * <pre>{@code
+ * RetryPolicy policy = RetryPolicy.builder()
+ *         .maxAttempts(4)
+ *         .backoff(Duration.ofMillis(200), Duration.ofSeconds(10))
+ *         .build();
+ * }</pre>
+ */
+public final class RetryPolicy {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Set<Integer> retryableStatuses;
+    private final boolean retryNetworkErrors;
+    private final double budgetRatio;
+    private final int budgetReserve;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.retryableStatuses = new HashSet<>(builder.retryableStatuses);
+        this.retryNetworkErrors = builder.retryNetworkErrors;
+        this.budgetRatio = builder.budgetRatio;
+        this.budgetReserve = builder.budgetReserve;
+    }
+
+    /**
+     * Creates a builder for a retry policy
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the maximum number of attempts per call, including the first one
+     * @return The maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Gets the delay before the first retry
+     * @return The initial backoff
+     */
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * Gets the upper bound of any delay between attempts
+     * @return The maximum backoff
+     */
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * Checks whether responses with the given status are retried
+     * @param statusCode The HTTP status code
+     * @return true if the status is retryable
+     */
+    public boolean isRetryableStatus(int statusCode) {
+        return retryableStatuses.contains(statusCode);
+    }
+
+    /**
+     * Checks whether I/O errors without a response are retried
+     * @return true if network errors are retryable
+     */
+    public boolean isRetryNetworkErrors() {
+        return retryNetworkErrors;
+    }
+
+    /**
+     * Gets the number of retries each call adds to the retry budget
+     * @return The budget ratio
+     */
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    /**
+     * Gets the number of retries the budget starts with and can hold at most
+     * @return The budget reserve
+     */
+    public int getBudgetReserve() {
+        return budgetReserve;
+    }
+
+    /**
+     * Builder for {@link RetryPolicy}.
+     */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+        private Set<Integer> retryableStatuses = new HashSet<>(Arrays.asList(429, 500, 502, 503, 504));
+        private boolean retryNetworkErrors = true;
+        private double budgetRatio = 0.2;
+        private int budgetReserve = 10;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of attempts per call including the first one, 3 by default
+         * @param maxAttempts The maximum number of attempts
+         * @return The builder instance for chaining
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry and the upper bound of any delay,
+         * 100 milliseconds and 5 seconds by default
+         * @param initialBackoff The initial backoff
+         * @param maxBackoff The maximum backoff
+         * @return The builder instance for chaining
+         */
+        public Builder backoff(Duration initialBackoff, Duration maxBackoff) {
+            if (initialBackoff.isNegative() || initialBackoff.isZero() || maxBackoff.compareTo(initialBackoff) < 0) {
+                throw new IllegalArgumentException("Backoff must be positive and not exceed the maximum");
+            }
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * Sets the status codes that are retried, 429, 500, 502, 503 and 504 by default
+         * @param statusCodes The retryable status codes
+         * @return The builder instance for chaining
+         */
+        public Builder retryableStatuses(Integer... statusCodes) {
+            this.retryableStatuses = new HashSet<>(Arrays.asList(statusCodes));
+            return this;
+        }
+
+        /**
+         * Sets whether I/O errors without a response are retried, true by default
+         * @param retryNetworkErrors Whether to retry network errors
+         * @return The builder instance for chaining
+         */
+        public Builder retryNetworkErrors(boolean retryNetworkErrors) {
+            this.retryNetworkErrors = retryNetworkErrors;
+            return this;
+        }
+
+        /**
+         * Sets the retry budget. Every call adds {@code ratio} retries to the budget and every
+         * retry takes one; the budget starts with, and never holds more than, {@code reserve}
+         * retries. Defaults to 0.2 and 10, i.e. sustained retries stay below 20% of the calls.
+         * @param ratio Retries earned per call
+         * @param reserve Retries available for bursts
+         * @return The builder instance for chaining
+         */
+        public Builder budget(double ratio, int reserve) {
+            if (ratio < 0 || reserve < 0) {
+                throw new IllegalArgumentException("Retry budget must not be negative");
+            }
+            this.budgetRatio = ratio;
+            this.budgetReserve = reserve;
+            return this;
+        }
+
+        /**
+         * Builds the policy
+         * @return A new retry policy
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
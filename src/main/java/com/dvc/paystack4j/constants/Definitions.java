@@ -9,9 +9,10 @@ public class Definitions {
      * The following are URL definitions for the Paystack API. All URLs are
      * RESTful endpoints and as such modification of these URL resources
      * will lead to problems with querying the Paystack API. Only modify if you
-     * know what you are doing.
+     * know what you are doing. To reach another host, such as a local stand-in
+     * server, set a base URL on the client options instead.
      */
-    private final static String BASE_API_ENDPOINT = "https://api.paystack.co";
+    public final static String BASE_API_ENDPOINT = "https://api.paystack.co";
 
     public static final String PAYSTACK_INLINE_PAYSTACK_STANDARD = BASE_API_ENDPOINT + "/transaction/initialize";
     public static final String PAYSTACK_INLINE_VERIFY_TRANSACTIONS = BASE_API_ENDPOINT + "/transaction/verify/";
@@ -32,12 +33,47 @@ public class Definitions {
     public static final String PAYSTACK_TRANSACTIONS_CHARGE_TOKEN = BASE_API_ENDPOINT + "/transaction/charge_token";
     public static final String PAYSTACK_TRANSACTIONS_EXPORT_TRANSACTIONS = BASE_API_ENDPOINT + "/transaction/export";
 
+    //URL definitions for transfer endpoints
+    public static final String PAYSTACK_TRANSFERS_INITIATE_TRANSFER = BASE_API_ENDPOINT + "/transfer";
+    public static final String PAYSTACK_TRANSFERS_FINALIZE_TRANSFER = BASE_API_ENDPOINT + "/transfer/finalize_transfer";
+    public static final String PAYSTACK_TRANSFERS_INITIATE_BULK_TRANSFER = BASE_API_ENDPOINT + "/transfer/bulk";
+    public static final String PAYSTACK_TRANSFERS_LIST_TRANSFERS = BASE_API_ENDPOINT + "/transfer";
+    public static final String PAYSTACK_TRANSFERS_FETCH_TRANSFER = BASE_API_ENDPOINT + "/transfer/";
+    public static final String PAYSTACK_TRANSFERS_VERIFY_TRANSFER = BASE_API_ENDPOINT + "/transfer/verify/";
+
     //URL definitions for plan endpoint
     public static final String PAYSTACK_PLANS_CREATE_PLAN = BASE_API_ENDPOINT + "/plan";
     public static final String PAYSTACK_PLANS_LIST_PLANS = BASE_API_ENDPOINT + "/plan";
     public static final String PAYSTACK_PLANS_FETCH_PLAN = BASE_API_ENDPOINT + "/plan/";
     public static final String PAYSTACK_PLANS_UPDATE_PLAN = BASE_API_ENDPOINT + "/plan/";
 
+    //URL definitions for product endpoints
+    public static final String PAYSTACK_PRODUCTS_CREATE_PRODUCT = BASE_API_ENDPOINT + "/product";
+    public static final String PAYSTACK_PRODUCTS_LIST_PRODUCTS = BASE_API_ENDPOINT + "/product";
+    public static final String PAYSTACK_PRODUCTS_FETCH_PRODUCT = BASE_API_ENDPOINT + "/product/";
+    public static final String PAYSTACK_PRODUCTS_UPDATE_PRODUCT = BASE_API_ENDPOINT + "/product/";
+
+    //URL definitions for integration endpoints
+    public static final String PAYSTACK_INTEGRATION_FETCH_PAYMENT_SESSION_TIMEOUT = BASE_API_ENDPOINT + "/integration/payment_session_timeout";
+    public static final String PAYSTACK_INTEGRATION_UPDATE_PAYMENT_SESSION_TIMEOUT = BASE_API_ENDPOINT + "/integration/payment_session_timeout";
+
+    //URL definitions for miscellaneous endpoints
+    public static final String PAYSTACK_MISCELLANEOUS_LIST_BANKS = BASE_API_ENDPOINT + "/bank";
+    public static final String PAYSTACK_MISCELLANEOUS_LIST_COUNTRIES = BASE_API_ENDPOINT + "/country";
+    public static final String PAYSTACK_MISCELLANEOUS_LIST_STATES = BASE_API_ENDPOINT + "/address_verification/states";
+
+    //URL definitions for verification endpoints
+    public static final String PAYSTACK_VERIFICATION_RESOLVE_ACCOUNT = BASE_API_ENDPOINT + "/bank/resolve";
+    public static final String PAYSTACK_VERIFICATION_RESOLVE_CARD_BIN = BASE_API_ENDPOINT + "/decision/bin/";
+
+    //URL definitions for bulk charge endpoints
+    public static final String PAYSTACK_BULK_CHARGES_INITIATE_BULK_CHARGE = BASE_API_ENDPOINT + "/bulkcharge";
+    public static final String PAYSTACK_BULK_CHARGES_LIST_BATCHES = BASE_API_ENDPOINT + "/bulkcharge";
+    public static final String PAYSTACK_BULK_CHARGES_FETCH_BATCH = BASE_API_ENDPOINT + "/bulkcharge/";
+    public static final String PAYSTACK_BULK_CHARGES_FETCH_CHARGES = BASE_API_ENDPOINT + "/bulkcharge/";
+    public static final String PAYSTACK_BULK_CHARGES_PAUSE_BATCH = BASE_API_ENDPOINT + "/bulkcharge/pause/";
+    public static final String PAYSTACK_BULK_CHARGES_RESUME_BATCH = BASE_API_ENDPOINT + "/bulkcharge/resume/";
+
     //URL definitions for subscription endpoints
     public static final String PAYSTACK_SUBSCRIPTIONS_CREATE_SUBSCRIPTION = BASE_API_ENDPOINT + "/subscription";
     public static final String PAYSTACK_SUBSCRIPTIONS_DISABLE_SUBSCRIPTION = BASE_API_ENDPOINT + "/subscription/disable";
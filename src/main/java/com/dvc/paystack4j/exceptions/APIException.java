@@ -1,10 +1,41 @@
 package com.dvc.paystack4j.exceptions;
 
+import java.time.Duration;
+
 public class APIException extends RuntimeException {
+    private final int statusCode;
+    private final Duration retryAfter;
+
     public APIException(String message) {
-        super(message);
+        this(message, 0);
     }
     public APIException(String message, Exception e) {
         super(message, e);
+        this.statusCode = 0;
+        this.retryAfter = null;
+    }
+    public APIException(String message, int statusCode) {
+        this(message, statusCode, null);
+    }
+    public APIException(String message, int statusCode, Duration retryAfter) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets the HTTP status code returned by the API
+     * @return The status code, or 0 if the request failed before a response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the delay the API asked for in a {@code Retry-After} header
+     * @return The delay, or null if the response carried none
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
 }
@@ -0,0 +1,80 @@
+package com.dvc.paystack4j.metrics;
+
+import com.dvc.paystack4j.common.Transport;
+
+/**
+ * Forwards every event to several listeners.
+ *
+ * @see MetricsListener#all(MetricsListener...)
+ */
+final class CompositeMetricsListener implements MetricsListener {
+    private final MetricsListener[] listeners;
+
+    CompositeMetricsListener(MetricsListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void bindTransport(Transport transport) {
+        for (MetricsListener listener : listeners) {
+            listener.bindTransport(transport);
+        }
+    }
+
+    @Override
+    public void onCallStarted(String endpoint, String method) {
+        for (MetricsListener listener : listeners) {
+            listener.onCallStarted(endpoint, method);
+        }
+    }
+
+    @Override
+    public void onRateLimited(String endpoint, long waitNanos) {
+        for (MetricsListener listener : listeners) {
+            listener.onRateLimited(endpoint, waitNanos);
+        }
+    }
+
+    @Override
+    public void onRejected(String endpoint) {
+        for (MetricsListener listener : listeners) {
+            listener.onRejected(endpoint);
+        }
+    }
+
+    @Override
+    public void onExchangeStarted(String endpoint, String method) {
+        for (MetricsListener listener : listeners) {
+            listener.onExchangeStarted(endpoint, method);
+        }
+    }
+
+    @Override
+    public void onExchangeCompleted(String endpoint, String method, int status, long latencyNanos,
+                                    long requestBytes, long responseBytes) {
+        for (MetricsListener listener : listeners) {
+            listener.onExchangeCompleted(endpoint, method, status, latencyNanos, requestBytes, responseBytes);
+        }
+    }
+
+    @Override
+    public void onRetry(String endpoint, int attempt, long delayNanos) {
+        for (MetricsListener listener : listeners) {
+            listener.onRetry(endpoint, attempt, delayNanos);
+        }
+    }
+
+    @Override
+    public void onCacheHit(String endpoint) {
+        for (MetricsListener listener : listeners) {
+            listener.onCacheHit(endpoint);
+        }
+    }
+
+    @Override
+    public void onCallCompleted(String endpoint, String method, long durationNanos, Throwable error) {
+        for (MetricsListener listener : listeners) {
+            listener.onCallCompleted(endpoint, method, durationNanos, error);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.dvc.paystack4j.metrics;
+
+import com.dvc.paystack4j.common.Transport;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsListener} keeping per-endpoint statistics in memory, for applications that
+ * read them directly or export them with their own tooling.
+ *
+ * <p>Statistics are keyed by endpoint template. Counters are {@link LongAdder}s and latencies go
+ * to {@link LatencyHistogram}s, so recording never takes a lock. Pool occupancy is read from the
+ * transport of the client options the listener is configured on.</p>
+ *
+ * <pre>{@code
+ * EndpointMetrics metrics = new EndpointMetrics();
+ * PaystackClient client = new PaystackClient.Impl(secretKey, ClientOptions.builder().metrics(metrics).build());
+ * ...
+ * EndpointMetrics.Stats verify = metrics.snapshot().get(Definitions.PAYSTACK_TRANSACTIONS_VERIFY_TRANSACTION);
+ * long p99 = verify.getExchangeLatency().getPercentileMicros(99);
+ * }</pre>
+ */
+public class EndpointMetrics implements MetricsListener {
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile Transport transport;
+
+    @Override
+    public void bindTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public void onCallStarted(String endpoint, String method) {
+        endpoint(endpoint).calls.increment();
+    }
+
+    @Override
+    public void onRateLimited(String endpoint, long waitNanos) {
+        Endpoint stats = endpoint(endpoint);
+        stats.rateLimited.increment();
+        stats.rateLimitWaitNanos.add(waitNanos);
+    }
+
+    @Override
+    public void onRejected(String endpoint) {
+        endpoint(endpoint).rejected.increment();
+    }
+
+    @Override
+    public void onExchangeStarted(String endpoint, String method) {
+        endpoint(endpoint).inFlight.increment();
+    }
+
+    @Override
+    public void onExchangeCompleted(String endpoint, String method, int status, long latencyNanos,
+                                    long requestBytes, long responseBytes) {
+        Endpoint stats = endpoint(endpoint);
+        stats.inFlight.decrement();
+        stats.exchangeLatency.record(latencyNanos);
+        stats.bytesSent.add(requestBytes);
+        stats.bytesReceived.add(responseBytes);
+        LongAdder statusCount = stats.statuses.get(status);
+        if (statusCount == null) {
+            statusCount = stats.statuses.computeIfAbsent(status, ignored -> new LongAdder());
+        }
+        statusCount.increment();
+    }
+
+    @Override
+    public void onRetry(String endpoint, int attempt, long delayNanos) {
+        endpoint(endpoint).retries.increment();
+    }
+
+    @Override
+    public void onCacheHit(String endpoint) {
+        endpoint(endpoint).cacheHits.increment();
+    }
+
+    @Override
+    public void onCallCompleted(String endpoint, String method, long durationNanos, Throwable error) {
+        Endpoint stats = endpoint(endpoint);
+        stats.callLatency.record(durationNanos);
+        if (error != null) {
+            stats.failures.increment();
+        }
+    }
+
+    /**
+     * Reads the statistics of every endpoint called so far
+     * @return Statistics by endpoint template, sorted by template
+     */
+    public Map<String, Stats> snapshot() {
+        Map<String, Stats> snapshot = new TreeMap<>();
+        endpoints.forEach((template, endpoint) -> snapshot.put(template, endpoint.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Gets the number of exchanges the transport is running
+     * @return The count, or -1 if the transport does not track it or no transport is bound
+     */
+    public int getActiveExchanges() {
+        Transport bound = transport;
+        return bound != null ? bound.getActiveExchanges() : -1;
+    }
+
+    /**
+     * Gets the number of calls waiting for the transport to admit them
+     * @return The count, or -1 if the transport does not track it or no transport is bound
+     */
+    public int getQueuedExchanges() {
+        Transport bound = transport;
+        return bound != null ? bound.getQueuedExchanges() : -1;
+    }
+
+    private Endpoint endpoint(String template) {
+        Endpoint endpoint = endpoints.get(template);
+        return endpoint != null ? endpoint : endpoints.computeIfAbsent(template, ignored -> new Endpoint());
+    }
+
+    private static final class Endpoint {
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder rateLimited = new LongAdder();
+        final LongAdder rateLimitWaitNanos = new LongAdder();
+        final LongAdder cacheHits = new LongAdder();
+        final LongAdder inFlight = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LatencyHistogram callLatency = new LatencyHistogram();
+        final LatencyHistogram exchangeLatency = new LatencyHistogram();
+
+        Stats snapshot() {
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+            return new Stats(calls.sum(), failures.sum(), retries.sum(), rejected.sum(), rateLimited.sum(),
+                    rateLimitWaitNanos.sum(), cacheHits.sum(), inFlight.sum(), bytesSent.sum(), bytesReceived.sum(),
+                    Collections.unmodifiableMap(statusCounts), callLatency.snapshot(), exchangeLatency.snapshot());
+        }
+    }
+
+    /**
+     * Statistics of one endpoint at the time of the snapshot
+     */
+    public static final class Stats {
+        private final long calls;
+        private final long failures;
+        private final long retries;
+        private final long rejected;
+        private final long rateLimited;
+        private final long rateLimitWaitNanos;
+        private final long cacheHits;
+        private final long inFlight;
+        private final long bytesSent;
+        private final long bytesReceived;
+        private final Map<Integer, Long> statuses;
+        private final LatencyHistogram.Snapshot callLatency;
+        private final LatencyHistogram.Snapshot exchangeLatency;
+
+        Stats(long calls, long failures, long retries, long rejected, long rateLimited, long rateLimitWaitNanos,
+              long cacheHits, long inFlight, long bytesSent, long bytesReceived, Map<Integer, Long> statuses,
+              LatencyHistogram.Snapshot callLatency, LatencyHistogram.Snapshot exchangeLatency) {
+            this.calls = calls;
+            this.failures = failures;
+            this.retries = retries;
+            this.rejected = rejected;
+            this.rateLimited = rateLimited;
+            this.rateLimitWaitNanos = rateLimitWaitNanos;
+            this.cacheHits = cacheHits;
+            this.inFlight = inFlight;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+            this.statuses = statuses;
+            this.callLatency = callLatency;
+            this.exchangeLatency = exchangeLatency;
+        }
+
+        /**
+         * Gets the number of calls started, excluding those served from the cache
+         * @return The call count
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * Gets the number of calls that failed after any retries
+         * @return The failure count
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * Gets the number of retried exchanges
+         * @return The retry count
+         */
+        public long getRetries() {
+            return retries;
+        }
+
+        /**
+         * Gets the number of exchanges refused by a circuit breaker, bulkhead or rate limiter
+         * @return The rejection count
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Gets the number of exchanges delayed by the rate limiter
+         * @return The delayed exchange count
+         */
+        public long getRateLimited() {
+            return rateLimited;
+        }
+
+        /**
+         * Gets the total time exchanges waited for the rate limiter
+         * @return The wait time in nanoseconds
+         */
+        public long getRateLimitWaitNanos() {
+            return rateLimitWaitNanos;
+        }
+
+        /**
+         * Gets the number of calls answered from the response cache
+         * @return The cache hit count
+         */
+        public long getCacheHits() {
+            return cacheHits;
+        }
+
+        /**
+         * Gets the number of exchanges in progress
+         * @return The in-flight exchange count
+         */
+        public long getInFlight() {
+            return inFlight;
+        }
+
+        /**
+         * Gets the total size of request bodies sent
+         * @return The byte count
+         */
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        /**
+         * Gets the total size of response bodies received
+         * @return The byte count
+         */
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        /**
+         * Gets the number of exchanges per HTTP status; 0 counts exchanges without a response
+         * @return Exchange counts by status, sorted by status
+         */
+        public Map<Integer, Long> getStatuses() {
+            return statuses;
+        }
+
+        /**
+         * Gets the distribution of call durations, including rate limiting and retries
+         * @return The call latency
+         */
+        public LatencyHistogram.Snapshot getCallLatency() {
+            return callLatency;
+        }
+
+        /**
+         * Gets the distribution of single exchange durations
+         * @return The exchange latency
+         */
+        public LatencyHistogram.Snapshot getExchangeLatency() {
+            return exchangeLatency;
+        }
+    }
+}
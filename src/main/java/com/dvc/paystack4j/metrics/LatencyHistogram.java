@@ -0,0 +1,152 @@
+package com.dvc.paystack4j.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in the spirit of HdrHistogram: log-linear buckets with 64
+ * sub-buckets per power of two, so every recorded value is kept to within about 1.6% from one
+ * microsecond to several hours, in fixed memory.
+ *
+ * <p>Recording is a single atomic increment on one of several stripes chosen by the recording
+ * thread, so concurrent callers rarely contend on a cache line. Reading merges the stripes into a
+ * {@link Snapshot}; it may miss values recorded concurrently but never blocks recording.</p>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    /** Values up to 2^36 microseconds, about 19 hours; larger values land in the last bucket */
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+    private static final int STRIPES = Math.min(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+    private final AtomicLongArray sums = new AtomicLongArray(STRIPES * 8);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+    }
+
+    /**
+     * Records a duration
+     * @param nanos The duration in nanoseconds; negative values count as zero
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        stripes[stripe].incrementAndGet(index(micros));
+        // Sums are spaced a cache line apart so stripes do not share one
+        sums.addAndGet(stripe * 8, micros);
+    }
+
+    /**
+     * Merges the stripes into an immutable view
+     * @return The current distribution
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long sum = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            AtomicLongArray buckets = stripes[stripe];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += buckets.get(i);
+            }
+            sum += sums.get(stripe * 8);
+        }
+        return new Snapshot(counts, sum);
+    }
+
+    static int index(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (micros >>> shift);
+    }
+
+    /**
+     * Gets the highest value that falls into a bucket
+     */
+    static long highestValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * A point in time view of a {@link LatencyHistogram}
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumMicros;
+
+        private Snapshot(long[] counts, long sumMicros) {
+            this.counts = counts;
+            long total = 0;
+            for (long bucket : counts) {
+                total += bucket;
+            }
+            this.count = total;
+            this.sumMicros = sumMicros;
+        }
+
+        /**
+         * Gets the number of recorded durations
+         * @return The count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the mean duration
+         * @return The mean in microseconds, or 0 if nothing was recorded
+         */
+        public double getMeanMicros() {
+            return count == 0 ? 0 : (double) sumMicros / count;
+        }
+
+        /**
+         * Gets the duration below which the given share of recorded durations fall
+         * @param percentile The percentile, e.g. 99.9
+         * @return The duration in microseconds, or 0 if nothing was recorded
+         */
+        public long getPercentileMicros(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return highestValue(i);
+                }
+            }
+            return getMaxMicros();
+        }
+
+        /**
+         * Gets the longest recorded duration, to the precision of its bucket
+         * @return The duration in microseconds, or 0 if nothing was recorded
+         */
+        public long getMaxMicros() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return highestValue(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
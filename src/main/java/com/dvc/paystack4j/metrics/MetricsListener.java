@@ -0,0 +1,117 @@
+package com.dvc.paystack4j.metrics;
+
+import com.dvc.paystack4j.common.Transport;
+
+/**
+ * Receives the stages of every request a {@link com.dvc.paystack4j.common.RequestExecutor} runs.
+ *
+ * <p>A call is one invocation of a service method. It starts, may wait for the rate limiter, is
+ * sent as one or more exchanges (attempts) with retries in between, and completes once. Calls
+ * served from the response cache only report a cache hit. Every stage names the endpoint
+ * template the request was built from, e.g. {@code https://api.paystack.co/transaction/verify/},
+ * never the URL with ids appended, so keys stay few however many resources are called.</p>
+ *
+ * <p>Methods are invoked on the threads running the call, including transport threads, and must
+ * be thread-safe, fast and non-throwing. All methods default to doing nothing, so implementations
+ * override only the stages they need. When no listener is configured the executor skips the
+ * timing and counting that feeds them.</p>
+ *
+ * @see EndpointMetrics
+ * @see RecentCalls
+ */
+public interface MetricsListener {
+    /**
+     * A listener that ignores every event
+     */
+    MetricsListener NOOP = new MetricsListener() {
+    };
+
+    /**
+     * Combines listeners, e.g. {@link EndpointMetrics} for dashboards and {@link RecentCalls} for
+     * incident analysis
+     * @param listeners The listeners, notified in the given order
+     * @return A listener forwarding every event to all of them
+     */
+    static MetricsListener all(MetricsListener... listeners) {
+        return listeners.length == 1 ? listeners[0] : new CompositeMetricsListener(listeners.clone());
+    }
+
+    /**
+     * Called once when client options are built with this listener, so that it can sample the
+     * pool occupancy of their transport
+     * @param transport The transport of the options
+     */
+    default void bindTransport(Transport transport) {
+    }
+
+    /**
+     * A call started
+     * @param endpoint The endpoint template
+     * @param method The HTTP method
+     */
+    default void onCallStarted(String endpoint, String method) {
+    }
+
+    /**
+     * A call waits for the client side rate limiter before its next exchange
+     * @param endpoint The endpoint template
+     * @param waitNanos How long it waits
+     */
+    default void onRateLimited(String endpoint, long waitNanos) {
+    }
+
+    /**
+     * An exchange was refused before it was sent, by an open circuit breaker, a full bulkhead or
+     * a rate limiter wait beyond its limit
+     * @param endpoint The endpoint template
+     */
+    default void onRejected(String endpoint) {
+    }
+
+    /**
+     * An exchange is handed to the transport
+     * @param endpoint The endpoint template
+     * @param method The HTTP method
+     */
+    default void onExchangeStarted(String endpoint, String method) {
+    }
+
+    /**
+     * An exchange completed, successfully or not
+     * @param endpoint The endpoint template
+     * @param method The HTTP method
+     * @param status The HTTP status, or 0 if no response arrived
+     * @param latencyNanos Time from handing the request to the transport to having read the response
+     * @param requestBytes Size of the request body
+     * @param responseBytes Size of the response body read
+     */
+    default void onExchangeCompleted(String endpoint, String method, int status, long latencyNanos,
+                                     long requestBytes, long responseBytes) {
+    }
+
+    /**
+     * A failed exchange will be retried
+     * @param endpoint The endpoint template
+     * @param attempt The number of the failed attempt, starting at 1
+     * @param delayNanos The backoff before the next attempt
+     */
+    default void onRetry(String endpoint, int attempt, long delayNanos) {
+    }
+
+    /**
+     * A call was answered from the response cache without an exchange
+     * @param endpoint The endpoint template
+     */
+    default void onCacheHit(String endpoint) {
+    }
+
+    /**
+     * A call completed
+     * @param endpoint The endpoint template
+     * @param method The HTTP method
+     * @param durationNanos Time from start to completion, including rate limiting and retries
+     * @param error The failure, or null if the call succeeded
+     */
+    default void onCallCompleted(String endpoint, String method, long durationNanos, Throwable error) {
+    }
+}
@@ -0,0 +1,232 @@
+package com.dvc.paystack4j.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link MetricsListener} keeping a summary of the most recent exchanges with Paystack in a
+ * fixed-size ring, to answer "what were the last few thousand calls and which were slow" during
+ * an incident without debug logging.
+ *
+ * <p>All slots are allocated up front and overwritten in place, so recording allocates nothing.
+ * Writers claim a slot with one atomic increment and publish it with a sequence number; readers
+ * copy slots optimistically and skip any that change while being read. A writer that laps a
+ * slot still being written by another drops its summary rather than wait.</p>
+ *
+ * <pre>{@code
+ * RecentCalls recent = new RecentCalls(5000);
+ * ClientOptions options = ClientOptions.builder().metrics(MetricsListener.all(metrics, recent)).build();
+ * ...
+ * recent.dump(System.err);
+ * }</pre>
+ */
+public class RecentCalls implements MetricsListener {
+    private static final long WRITING = -1;
+
+    private final int mask;
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * Creates a ring holding at least the given number of summaries
+     * @param capacity Minimum number of summaries kept; rounded up to a power of two
+     */
+    public RecentCalls(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = size - 1;
+        this.slots = new Slot[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, WRITING - 1);
+        }
+    }
+
+    @Override
+    public void onExchangeCompleted(String endpoint, String method, int status, long latencyNanos,
+                                    long requestBytes, long responseBytes) {
+        long sequence = next.getAndIncrement();
+        int index = (int) sequence & mask;
+        long previous = sequences.get(index);
+        if (previous == WRITING || previous > sequence || !sequences.compareAndSet(index, previous, WRITING)) {
+            return;
+        }
+        Slot slot = slots[index];
+        slot.timestampMillis = System.currentTimeMillis();
+        slot.endpoint = endpoint;
+        slot.method = method;
+        slot.status = status;
+        slot.latencyNanos = latencyNanos;
+        slot.requestBytes = requestBytes;
+        slot.responseBytes = responseBytes;
+        sequences.set(index, sequence);
+    }
+
+    /**
+     * Gets the number of exchanges recorded since creation, including those overwritten since
+     * @return The total count
+     */
+    public long getRecorded() {
+        return next.get();
+    }
+
+    /**
+     * Copies the summaries currently in the ring
+     * @return The summaries, oldest first
+     */
+    public List<Entry> snapshot() {
+        long end = next.get();
+        long start = Math.max(0, end - slots.length);
+        List<Entry> entries = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            int index = (int) sequence & mask;
+            if (sequences.get(index) != sequence) {
+                continue;
+            }
+            Slot slot = slots[index];
+            Entry entry = new Entry(slot.timestampMillis, slot.endpoint, slot.method, slot.status,
+                    slot.latencyNanos, slot.requestBytes, slot.responseBytes);
+            VarHandle.acquireFence();
+            if (sequences.get(index) == sequence) {
+                entries.add(entry);
+            }
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Writes the summaries currently in the ring, oldest first, one per line
+     * @param out Where to write them, e.g. {@code System.err} or a file writer
+     */
+    public void dump(Appendable out) {
+        try {
+            for (Entry entry : snapshot()) {
+                out.append(entry.toString()).append(System.lineSeparator());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the summaries currently in the ring that took at least the given time
+     * @param thresholdNanos Minimum exchange duration in nanoseconds
+     * @return The matching summaries, oldest first
+     */
+    public List<Entry> slowerThan(long thresholdNanos) {
+        List<Entry> slow = new ArrayList<>();
+        for (Entry entry : snapshot()) {
+            if (entry.getLatencyNanos() >= thresholdNanos) {
+                slow.add(entry);
+            }
+        }
+        return slow;
+    }
+
+    private static final class Slot {
+        long timestampMillis;
+        String endpoint;
+        String method;
+        int status;
+        long latencyNanos;
+        long requestBytes;
+        long responseBytes;
+    }
+
+    /**
+     * Summary of one exchange
+     */
+    public static final class Entry {
+        private final long timestampMillis;
+        private final String endpoint;
+        private final String method;
+        private final int status;
+        private final long latencyNanos;
+        private final long requestBytes;
+        private final long responseBytes;
+
+        Entry(long timestampMillis, String endpoint, String method, int status, long latencyNanos,
+              long requestBytes, long responseBytes) {
+            this.timestampMillis = timestampMillis;
+            this.endpoint = endpoint;
+            this.method = method;
+            this.status = status;
+            this.latencyNanos = latencyNanos;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+        }
+
+        /**
+         * Gets the time the exchange completed
+         * @return The completion time
+         */
+        public Instant getTimestamp() {
+            return Instant.ofEpochMilli(timestampMillis);
+        }
+
+        /**
+         * Gets the endpoint template the request was built from
+         * @return The endpoint template
+         */
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Gets the HTTP method
+         * @return The HTTP method
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * Gets the HTTP status
+         * @return The status, or 0 if no response arrived
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * Gets the duration of the exchange
+         * @return The duration in nanoseconds
+         */
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        /**
+         * Gets the size of the request body
+         * @return The byte count
+         */
+        public long getRequestBytes() {
+            return requestBytes;
+        }
+
+        /**
+         * Gets the size of the response body read
+         * @return The byte count
+         */
+        public long getResponseBytes() {
+            return responseBytes;
+        }
+
+        @Override
+        public String toString() {
+            return getTimestamp() + " " + method + " " + endpoint + " " + status + " "
+                    + latencyNanos / 1000 + "us sent=" + requestBytes + "B received=" + responseBytes + "B";
+        }
+    }
+}
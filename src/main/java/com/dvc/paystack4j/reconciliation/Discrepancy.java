@@ -0,0 +1,87 @@
+package com.dvc.paystack4j.reconciliation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A difference between the ledger and Paystack found by a {@link Reconciler}
+ */
+public final class Discrepancy {
+    /**
+     * The kinds of difference
+     */
+    public enum Type {
+        /** A Paystack transaction whose reference is not in the ledger */
+        MISSING_IN_LEDGER,
+        /** A ledger entry without a Paystack transaction */
+        MISSING_AT_PAYSTACK,
+        /** A reference that appears more than once in the ledger */
+        DUPLICATE_IN_LEDGER,
+        /** A reference shared by more than one Paystack transaction */
+        DUPLICATE_AT_PAYSTACK,
+        /** A Paystack transaction whose amount differs from its ledger entry */
+        AMOUNT_MISMATCH
+    }
+
+    private final Type type;
+    private final String reference;
+    private final long ledgerAmount;
+    private final long paystackAmount;
+    private final int occurrences;
+    private final JsonNode transaction;
+
+    Discrepancy(Type type, String reference, long ledgerAmount, long paystackAmount, int occurrences,
+                JsonNode transaction) {
+        this.type = type;
+        this.reference = reference;
+        this.ledgerAmount = ledgerAmount;
+        this.paystackAmount = paystackAmount;
+        this.occurrences = occurrences;
+        this.transaction = transaction;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * Gets the amount of the ledger entry
+     * @return The amount in minor units, 0 for {@link Type#MISSING_IN_LEDGER}
+     */
+    public long getLedgerAmount() {
+        return ledgerAmount;
+    }
+
+    /**
+     * Gets the amount of the Paystack transaction
+     * @return The amount in minor units, 0 for {@link Type#MISSING_AT_PAYSTACK} and
+     *         {@link Type#DUPLICATE_IN_LEDGER}
+     */
+    public long getPaystackAmount() {
+        return paystackAmount;
+    }
+
+    /**
+     * Gets how many times the reference has been seen on the side the discrepancy is about
+     * @return The occurrence count, e.g. 2 for the first duplicate of a reference
+     */
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    /**
+     * Gets the Paystack transaction the discrepancy was found on
+     * @return The transaction, or null for discrepancies found in the ledger
+     */
+    public JsonNode getTransaction() {
+        return transaction;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + reference + " (ledger " + ledgerAmount + ", paystack " + paystackAmount + ")";
+    }
+}
@@ -0,0 +1,366 @@
+package com.dvc.paystack4j.reconciliation;
+
+import com.dvc.paystack4j.common.CsvReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The local side of a reconciliation: payment references with their amounts in minor units,
+ * held in an off-heap hash table.
+ *
+ * <p>Each entry takes a 32-byte slot of an open-addressing table plus two bytes per reference
+ * character in an off-heap arena, so a large ledger adds nothing to the Java heap; its size is
+ * bounded by {@code -XX:MaxDirectMemorySize} instead. Entries are found by a 64-bit hash of the
+ * reference and confirmed by comparing the characters, without creating strings. A reference
+ * added more than once is reported as a duplicate by the reconciliation.</p>
+ *
+ * <p>The table and the arena are split into segments of 32 MiB, so neither is limited by the
+ * 2 GiB size of a single buffer. A ledger holds up to {@value #MAX_REFERENCES} distinct references,
+ * Paystack-only ones included, with up to 2<sup>32</sup> reference characters in total.</p>
+ *
+ * <p>A ledger is reconciled once; load a new one for each run. Not thread-safe.</p>
+ */
+public final class Ledger {
+    /** The most distinct references a ledger holds, half the largest table */
+    public static final int MAX_REFERENCES = 1 << 29;
+
+    private static final int SLOT_SIZE = 32;
+    private static final int HASH = 0;
+    private static final int AMOUNT = 8;
+    private static final int OFFSET = 16;
+    private static final int LENGTH = 20;
+    private static final int LEDGER_COUNT = 24;
+    private static final int PAYSTACK_COUNT = 28;
+    private static final int MAX_CAPACITY = MAX_REFERENCES * 2;
+    private static final int TABLE_SEGMENT_BITS = 20;
+    private static final int TABLE_SEGMENT_MASK = (1 << TABLE_SEGMENT_BITS) - 1;
+    private static final int ARENA_SEGMENT_BITS = 24;
+    private static final long ARENA_SEGMENT_MASK = (1L << ARENA_SEGMENT_BITS) - 1;
+    private static final long MAX_ARENA_CHARS = 1L << 32;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ByteBuffer[] table;
+    private int capacity;
+    private int used;
+    private int entries;
+    private ByteBuffer[] arena;
+    private long arenaChars;
+    private boolean reconciled;
+
+    /**
+     * Creates an empty ledger
+     * @param expectedEntries The number of entries the ledger is sized for; it grows beyond
+     * @throws IllegalArgumentException if expectedEntries exceeds {@link #MAX_REFERENCES}
+     */
+    public Ledger(int expectedEntries) {
+        if (expectedEntries > MAX_REFERENCES) {
+            throw new IllegalArgumentException("A ledger holds at most " + MAX_REFERENCES + " references");
+        }
+        int entries = Math.max(8, expectedEntries);
+        this.capacity = Integer.highestOneBit(entries * 2 - 1) << 1;
+        this.table = allocateTable(capacity);
+        long arenaBytes = Math.min((long) entries * 32, (ARENA_SEGMENT_MASK + 1) * 2);
+        this.arena = new ByteBuffer[] {ByteBuffer.allocateDirect((int) arenaBytes)};
+    }
+
+    /**
+     * Loads a ledger from a CSV file whose first record names the columns
+     * @param file The CSV file
+     * @param referenceColumn The column holding the payment reference
+     * @param amountColumn The column holding the amount in minor units, e.g. kobo
+     * @return The loaded ledger
+     * @throws IOException if the file cannot be read
+     * @throws NumberFormatException if an amount is not a whole number
+     */
+    public static Ledger load(Path file, String referenceColumn, String amountColumn) throws IOException {
+        Ledger ledger = new Ledger(1 << 16);
+        StringBuilder reference = new StringBuilder();
+        try (CsvReader csv = CsvReader.open(file)) {
+            int referenceField = csv.column(referenceColumn);
+            int amountField = csv.column(amountColumn);
+            while (csv.next()) {
+                reference.setLength(0);
+                ledger.add(csv.appendTo(referenceField, reference), csv.getLong(amountField));
+            }
+        }
+        return ledger;
+    }
+
+    /**
+     * Adds an entry
+     * @param reference The payment reference
+     * @param amount The amount in minor units
+     * @throws IllegalStateException if the ledger is full
+     */
+    public void add(CharSequence reference, long amount) {
+        if (reconciled) {
+            throw new IllegalStateException("The ledger has already been reconciled");
+        }
+        long hash = hash(reference);
+        int slot = find(reference, hash);
+        if (slot >= 0) {
+            increment(slot, LEDGER_COUNT);
+        } else {
+            insert(-slot - 1, reference, hash, amount, 1, 0);
+        }
+        entries++;
+    }
+
+    /**
+     * Gets the number of entries added, duplicates included
+     * @return The number of entries
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * Gets the off-heap memory held by the ledger
+     * @return The size of the table and the reference arena in bytes
+     */
+    public long getOffHeapBytes() {
+        long bytes = 0;
+        for (ByteBuffer segment : table) {
+            bytes += segment.capacity();
+        }
+        for (ByteBuffer segment : arena) {
+            bytes += segment.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Marks the ledger as being reconciled
+     */
+    void startReconciliation() {
+        if (reconciled) {
+            throw new IllegalStateException("The ledger has already been reconciled");
+        }
+        reconciled = true;
+    }
+
+    /**
+     * Records a Paystack transaction
+     * @return The slot of the reference, which is added as a Paystack-only entry if unknown
+     * @throws IllegalStateException if the ledger is full
+     */
+    int match(CharSequence reference, long amount) {
+        long hash = hash(reference);
+        int slot = find(reference, hash);
+        if (slot >= 0) {
+            increment(slot, PAYSTACK_COUNT);
+            return slot;
+        }
+        return insert(-slot - 1, reference, hash, amount, 0, 1);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    boolean isOccupied(int slot) {
+        return segment(slot).getLong(position(slot) + HASH) != 0;
+    }
+
+    int ledgerCount(int slot) {
+        return segment(slot).getInt(position(slot) + LEDGER_COUNT);
+    }
+
+    int paystackCount(int slot) {
+        return segment(slot).getInt(position(slot) + PAYSTACK_COUNT);
+    }
+
+    long amount(int slot) {
+        return segment(slot).getLong(position(slot) + AMOUNT);
+    }
+
+    String reference(int slot) {
+        ByteBuffer segment = segment(slot);
+        long offset = Integer.toUnsignedLong(segment.getInt(position(slot) + OFFSET));
+        int length = segment.getInt(position(slot) + LENGTH);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(offset + i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Looks up a reference
+     * @return The slot index, or {@code -(free slot) - 1} if the reference is not in the table
+     */
+    private int find(CharSequence reference, long hash) {
+        int mask = capacity - 1;
+        for (int slot = index(hash); ; slot = (slot + 1) & mask) {
+            long slotHash = segment(slot).getLong(position(slot) + HASH);
+            if (slotHash == 0) {
+                return -slot - 1;
+            }
+            if (slotHash == hash && referenceEquals(slot, reference)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Fills a free slot, growing the table once it is half full
+     * @return The slot of the new entry, which moves if the table grows
+     */
+    private int insert(int slot, CharSequence reference, long hash, long amount, int ledgerCount,
+                       int paystackCount) {
+        if (used >= MAX_REFERENCES) {
+            throw new IllegalStateException("Ledger is full with " + MAX_REFERENCES + " distinct references");
+        }
+        int length = reference.length();
+        long offset = reserveArena(length);
+        for (int i = 0; i < length; i++) {
+            arena[(int) (offset >>> ARENA_SEGMENT_BITS)].putChar((int) ((offset + i) & ARENA_SEGMENT_MASK) * 2,
+                    reference.charAt(i));
+        }
+        ByteBuffer segment = segment(slot);
+        int base = position(slot);
+        segment.putLong(base + HASH, hash);
+        segment.putLong(base + AMOUNT, amount);
+        segment.putInt(base + OFFSET, (int) offset);
+        segment.putInt(base + LENGTH, length);
+        segment.putInt(base + LEDGER_COUNT, ledgerCount);
+        segment.putInt(base + PAYSTACK_COUNT, paystackCount);
+        if (++used > capacity / 2 && capacity < MAX_CAPACITY) {
+            grow();
+            return find(reference, hash);
+        }
+        return slot;
+    }
+
+    private void increment(int slot, int field) {
+        ByteBuffer segment = segment(slot);
+        int offset = position(slot) + field;
+        segment.putInt(offset, segment.getInt(offset) + 1);
+    }
+
+    private boolean referenceEquals(int slot, CharSequence reference) {
+        ByteBuffer segment = segment(slot);
+        int base = position(slot);
+        int length = segment.getInt(base + LENGTH);
+        if (length != reference.length()) {
+            return false;
+        }
+        long offset = Integer.toUnsignedLong(segment.getInt(base + OFFSET));
+        for (int i = 0; i < length; i++) {
+            if (charAt(offset + i) != reference.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the table and rehashes every slot into it; the arena is kept as is
+     */
+    private void grow() {
+        ByteBuffer[] old = table;
+        int oldCapacity = capacity;
+        capacity = oldCapacity * 2;
+        table = allocateTable(capacity);
+        int mask = capacity - 1;
+        for (int from = 0; from < oldCapacity; from++) {
+            ByteBuffer source = old[from >>> TABLE_SEGMENT_BITS];
+            int sourceBase = (from & TABLE_SEGMENT_MASK) * SLOT_SIZE;
+            long hash = source.getLong(sourceBase + HASH);
+            if (hash == 0) {
+                continue;
+            }
+            int to = index(hash);
+            while (segment(to).getLong(position(to) + HASH) != 0) {
+                to = (to + 1) & mask;
+            }
+            ByteBuffer target = segment(to);
+            int targetBase = position(to);
+            for (int i = 0; i < SLOT_SIZE; i += 8) {
+                target.putLong(targetBase + i, source.getLong(sourceBase + i));
+            }
+        }
+    }
+
+    private static ByteBuffer[] allocateTable(int capacity) {
+        int segmentSlots = Math.min(capacity, TABLE_SEGMENT_MASK + 1);
+        ByteBuffer[] segments = new ByteBuffer[capacity / segmentSlots];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentSlots * SLOT_SIZE);
+        }
+        return segments;
+    }
+
+    private ByteBuffer segment(int slot) {
+        return table[slot >>> TABLE_SEGMENT_BITS];
+    }
+
+    private static int position(int slot) {
+        return (slot & TABLE_SEGMENT_MASK) * SLOT_SIZE;
+    }
+
+    private char charAt(long offset) {
+        return arena[(int) (offset >>> ARENA_SEGMENT_BITS)].getChar((int) (offset & ARENA_SEGMENT_MASK) * 2);
+    }
+
+    /**
+     * Reserves room for a reference in the arena, within a single segment
+     * @return The offset of its first character
+     */
+    private long reserveArena(int length) {
+        if (length > ARENA_SEGMENT_MASK + 1) {
+            throw new IllegalArgumentException("Reference of " + length + " characters is too long");
+        }
+        long offset = arenaChars;
+        if ((offset & ARENA_SEGMENT_MASK) + length > ARENA_SEGMENT_MASK + 1) {
+            offset = (offset | ARENA_SEGMENT_MASK) + 1;
+        }
+        if (offset + length > MAX_ARENA_CHARS) {
+            throw new IllegalStateException("Ledger references exceed " + MAX_ARENA_CHARS + " characters");
+        }
+        int segment = (int) (offset >>> ARENA_SEGMENT_BITS);
+        long required = ((offset & ARENA_SEGMENT_MASK) + length) * 2;
+        if (segment == arena.length) {
+            arena = Arrays.copyOf(arena, segment + 1);
+            arena[segment] = ByteBuffer.allocateDirect((int) ((ARENA_SEGMENT_MASK + 1) * 2));
+        } else if (required > arena[segment].capacity()) {
+            // only the first segment starts small; it doubles up to the segment size
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) Math.min((ARENA_SEGMENT_MASK + 1) * 2,
+                    Math.max(required, (long) arena[segment].capacity() * 2)));
+            ByteBuffer current = arena[segment];
+            current.clear();
+            grown.put(current);
+            grown.clear();
+            arena[segment] = grown;
+        }
+        arenaChars = offset + length;
+        return offset;
+    }
+
+    private int index(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+
+    /**
+     * Hashes a reference with FNV-1a, finished with the MurmurHash3 mixer; never returns 0,
+     * which marks a free slot
+     */
+    private static long hash(CharSequence reference) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+}
@@ -0,0 +1,148 @@
+package com.dvc.paystack4j.reconciliation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reconciles a local {@link Ledger} against Paystack transactions.
+ *
+ * <p>The ledger is the build side of a hash join held off-heap; the transactions are probed
+ * against it as they stream in, for example straight from
+ * {@link com.dvc.paystack4j.services.Transactions#listAll(java.util.Map)}, so they are never
+ * collected. Discrepancies on the Paystack side are reported as they are found, and a final scan
+ * of the ledger reports the entries Paystack has no transaction for. Both passes are linear in
+ * the size of their input.</p>
+ *
+ * <pre>{@code
+ * Ledger ledger = Ledger.load(Paths.get("ledger.csv"), "reference", "amount_kobo");
+ * try (Stream<JsonNode> transactions = client.transactions().listAll(filter)) {
+ *     ReconciliationSummary summary = Reconciler.builder().build()
+ *             .reconcile(ledger, transactions, discrepancy -> log.warn("{}", discrepancy));
+ * }
+ * }</pre>
+ *
+ * <p>Transactions are matched on {@code reference} and compared on {@code amount}, in the
+ * subunits Paystack reports, so the ledger amounts must be in the same subunit.</p>
+ */
+public final class Reconciler {
+    private final Set<String> statuses;
+
+    private Reconciler(Builder builder) {
+        this.statuses = builder.statuses;
+    }
+
+    /**
+     * Creates a builder for a reconciler
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Reconciles a ledger against a stream of transactions
+     * @param ledger The ledger, which can only be reconciled once
+     * @param transactions The Paystack transactions, each with a {@code reference} and an {@code amount}
+     * @param report Receives each discrepancy as it is found
+     * @return The totals of the run
+     * @throws IllegalStateException if the ledger has already been reconciled
+     */
+    public ReconciliationSummary reconcile(Ledger ledger, Stream<JsonNode> transactions,
+                                           Consumer<? super Discrepancy> report) {
+        return reconcile(ledger, transactions.iterator(), report);
+    }
+
+    /**
+     * Reconciles a ledger against transactions
+     * @param ledger The ledger, which can only be reconciled once
+     * @param transactions The Paystack transactions, each with a {@code reference} and an {@code amount}
+     * @param report Receives each discrepancy as it is found
+     * @return The totals of the run
+     * @throws IllegalStateException if the ledger has already been reconciled
+     */
+    public ReconciliationSummary reconcile(Ledger ledger, Iterator<JsonNode> transactions,
+                                           Consumer<? super Discrepancy> report) {
+        ledger.startReconciliation();
+        long[] counts = new long[Discrepancy.Type.values().length];
+        long compared = 0;
+        long skipped = 0;
+        long matched = 0;
+        while (transactions.hasNext()) {
+            JsonNode transaction = transactions.next();
+            String reference = transaction.path("reference").textValue();
+            if (reference == null || !statuses.isEmpty() && !statuses.contains(transaction.path("status").asText())) {
+                skipped++;
+                continue;
+            }
+            compared++;
+            long amount = transaction.path("amount").asLong();
+            int slot = ledger.match(reference, amount);
+            int seen = ledger.paystackCount(slot);
+            Discrepancy.Type type;
+            if (seen > 1) {
+                type = Discrepancy.Type.DUPLICATE_AT_PAYSTACK;
+            } else if (ledger.ledgerCount(slot) == 0) {
+                type = Discrepancy.Type.MISSING_IN_LEDGER;
+            } else if (ledger.amount(slot) != amount) {
+                type = Discrepancy.Type.AMOUNT_MISMATCH;
+            } else {
+                matched++;
+                continue;
+            }
+            counts[type.ordinal()]++;
+            long ledgerAmount = ledger.ledgerCount(slot) > 0 ? ledger.amount(slot) : 0;
+            report.accept(new Discrepancy(type, reference, ledgerAmount, amount, seen, transaction));
+        }
+        for (int slot = 0, capacity = ledger.getCapacity(); slot < capacity; slot++) {
+            if (!ledger.isOccupied(slot) || ledger.ledgerCount(slot) == 0) {
+                continue;
+            }
+            if (ledger.ledgerCount(slot) > 1) {
+                counts[Discrepancy.Type.DUPLICATE_IN_LEDGER.ordinal()]++;
+                report.accept(new Discrepancy(Discrepancy.Type.DUPLICATE_IN_LEDGER, ledger.reference(slot),
+                        ledger.amount(slot), 0, ledger.ledgerCount(slot), null));
+            }
+            if (ledger.paystackCount(slot) == 0) {
+                counts[Discrepancy.Type.MISSING_AT_PAYSTACK.ordinal()]++;
+                report.accept(new Discrepancy(Discrepancy.Type.MISSING_AT_PAYSTACK, ledger.reference(slot),
+                        ledger.amount(slot), 0, ledger.ledgerCount(slot), null));
+            }
+        }
+        return new ReconciliationSummary(ledger.size(), compared, skipped, matched, counts);
+    }
+
+    /**
+     * Builder for {@link Reconciler}.
+     */
+    public static final class Builder {
+        private Set<String> statuses = Set.of("success");
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the transaction statuses that are compared with the ledger, only {@code success}
+         * by default; other transactions are skipped
+         * @param statuses The statuses, or none to compare every transaction
+         * @return The builder instance for chaining
+         */
+        public Builder statuses(String... statuses) {
+            this.statuses = new HashSet<>(Arrays.asList(statuses));
+            return this;
+        }
+
+        /**
+         * Builds the reconciler
+         * @return A new reconciler
+         */
+        public Reconciler build() {
+            return new Reconciler(this);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.dvc.paystack4j.reconciliation;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Totals of a reconciliation run
+ */
+public final class ReconciliationSummary {
+    private final long ledgerEntries;
+    private final long transactions;
+    private final long skipped;
+    private final long matched;
+    private final EnumMap<Discrepancy.Type, Long> discrepancies;
+
+    ReconciliationSummary(long ledgerEntries, long transactions, long skipped, long matched, long[] counts) {
+        this.ledgerEntries = ledgerEntries;
+        this.transactions = transactions;
+        this.skipped = skipped;
+        this.matched = matched;
+        this.discrepancies = new EnumMap<>(Discrepancy.Type.class);
+        for (Discrepancy.Type type : Discrepancy.Type.values()) {
+            discrepancies.put(type, counts[type.ordinal()]);
+        }
+    }
+
+    /**
+     * Gets the number of ledger entries, duplicates included
+     * @return The number of ledger entries
+     */
+    public long getLedgerEntries() {
+        return ledgerEntries;
+    }
+
+    /**
+     * Gets the number of Paystack transactions compared with the ledger
+     * @return The number of transactions, excluding skipped ones
+     */
+    public long getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * Gets the number of Paystack transactions skipped for their status
+     * @return The number of skipped transactions
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Gets the number of Paystack transactions that matched a ledger entry with the same amount
+     * @return The number of matches
+     */
+    public long getMatched() {
+        return matched;
+    }
+
+    /**
+     * Gets the number of discrepancies of a type
+     * @param type The type
+     * @return The number reported
+     */
+    public long getDiscrepancies(Discrepancy.Type type) {
+        return discrepancies.get(type);
+    }
+
+    /**
+     * Gets the number of discrepancies of every type
+     * @return The counts by type
+     */
+    public Map<Discrepancy.Type, Long> getDiscrepancies() {
+        return new EnumMap<>(discrepancies);
+    }
+
+    /**
+     * Checks whether the ledger and Paystack agree
+     * @return true if no discrepancy was reported
+     */
+    public boolean isBalanced() {
+        return discrepancies.values().stream().allMatch(count -> count == 0);
+    }
+
+    @Override
+    public String toString() {
+        return "ReconciliationSummary{ledgerEntries=" + ledgerEntries + ", transactions=" + transactions +
+                ", skipped=" + skipped + ", matched=" + matched + ", discrepancies=" + discrepancies + "}";
+    }
+}
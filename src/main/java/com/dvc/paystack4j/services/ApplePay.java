@@ -1,4 +1,11 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.RequestExecutor;
+
 public class ApplePay {
+    private final RequestExecutor executor;
+
+    public ApplePay(RequestExecutor executor) {
+        this.executor = executor;
+    }
 }
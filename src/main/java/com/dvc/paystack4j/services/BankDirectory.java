@@ -0,0 +1,458 @@
+package com.dvc.paystack4j.services;
+
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory directory of the banks Paystack supports, for lookups on every keystroke.
+ *
+ * <p>The bank list of a country and currency is fetched once, on first use, and indexed by code
+ * and by name. Lookups on an {@link Index} read an immutable snapshot and neither block nor
+ * allocate: a code lookup is a hash map read and a name prefix search is a binary search over
+ * the names sorted case-insensitively. Once a snapshot is older than the refresh interval, the
+ * next lookup starts a single background reload and keeps answering from the old snapshot until
+ * the new one is swapped in.</p>
+ *
+ * <pre>{@code
+ * BankDirectory directory = BankDirectory.builder(client.miscellaneous())
+ *         .refreshInterval(Duration.ofHours(12))
+ *         .build();
+ * BankDirectory.Index banks = directory.get("nigeria", "NGN");
+ * BankDirectory.Bank bank = banks.getByCode("058");
+ * BankDirectory.Bank[] matches = new BankDirectory.Bank[10];
+ * int count = banks.search("gua", matches);
+ * }</pre>
+ */
+public final class BankDirectory {
+    private static final Logger log = LoggerFactory.getLogger(BankDirectory.class);
+
+    private final Miscellaneous miscellaneous;
+    private final long refreshNanos;
+    private final int pageSize;
+    private final ConcurrentHashMap<String, Index> indexes = new ConcurrentHashMap<>();
+
+    private BankDirectory(Builder builder) {
+        this.miscellaneous = builder.miscellaneous;
+        this.refreshNanos = builder.refreshInterval.toNanos();
+        this.pageSize = builder.pageSize;
+    }
+
+    /**
+     * Creates a builder for a bank directory
+     * @param miscellaneous The service the bank lists are fetched with
+     * @return A new builder
+     */
+    public static Builder builder(Miscellaneous miscellaneous) {
+        return new Builder(miscellaneous);
+    }
+
+    /**
+     * Gets the index of a country and currency, loading it on first use. Hold on to the
+     * returned index rather than calling this method per lookup.
+     *
+     * @param country The country as Paystack names it, e.g. nigeria, or null for every country
+     * @param currency The currency code, e.g. NGN, or null for every currency
+     * @return The loaded index
+     * @throws APIException if the first load of the bank list fails
+     */
+    public Index get(String country, String currency) {
+        try {
+            return getAsync(country, currency).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof APIException) {
+                throw (APIException) e.getCause();
+            }
+            throw new APIException("Failed to load the bank list", e);
+        }
+    }
+
+    /**
+     * Gets the index of a country and currency without blocking, loading it on first use.
+     * Concurrent first calls share a single load; a failed load is retried by the next call.
+     *
+     * @param country The country as Paystack names it, e.g. nigeria, or null for every country
+     * @param currency The currency code, e.g. NGN, or null for every currency
+     * @return A future completed with the loaded index
+     */
+    public CompletableFuture<Index> getAsync(String country, String currency) {
+        String key = (country != null ? country : "") + '/' + (currency != null ? currency : "");
+        Index index = indexes.get(key);
+        if (index != null) {
+            return index.ready;
+        }
+        Index created = new Index(country, currency);
+        index = indexes.putIfAbsent(key, created);
+        if (index != null) {
+            return index.ready;
+        }
+        load(country, currency).whenComplete((banks, error) -> {
+            if (error != null) {
+                indexes.remove(key, created);
+                created.ready.completeExceptionally(error);
+            } else {
+                created.swap(banks);
+                created.ready.complete(created);
+            }
+        });
+        return created.ready;
+    }
+
+    /**
+     * Drops every loaded index, so the next lookup of each country and currency reloads it
+     */
+    public void clear() {
+        indexes.clear();
+    }
+
+    private CompletableFuture<List<Bank>> load(String country, String currency) {
+        return loadPage(country, currency, null, new ArrayList<>());
+    }
+
+    /**
+     * Fetches the bank list page by page, following the {@code meta.next} cursor
+     */
+    private CompletableFuture<List<Bank>> loadPage(String country, String currency, String cursor,
+                                                   List<Bank> banks) {
+        Map<String, Object> filter = new HashMap<>();
+        if (country != null) {
+            filter.put("country", country);
+        }
+        if (currency != null) {
+            filter.put("currency", currency);
+        }
+        filter.put("perPage", pageSize);
+        filter.put("use_cursor", true);
+        if (cursor != null) {
+            filter.put("next", cursor);
+        }
+        return miscellaneous.listBanksAsync(filter).thenCompose(response -> {
+            JsonNode data = response.path("data");
+            for (JsonNode bank : data) {
+                if (!bank.path("is_deleted").asBoolean(false)) {
+                    banks.add(new Bank(bank));
+                }
+            }
+            JsonNode meta = response.path("meta");
+            String next = meta.hasNonNull("next") ? meta.get("next").asText() : null;
+            if (data.size() == 0 || next == null || next.isEmpty() || next.equals(cursor)) {
+                return CompletableFuture.completedFuture(banks);
+            }
+            return loadPage(country, currency, next, banks);
+        });
+    }
+
+    /**
+     * Compares a name with a prefix, ignoring case, as if the name were cut to the prefix's length.
+     * Characters are folded like {@link String#CASE_INSENSITIVE_ORDER}, which sorts the names,
+     * so the names starting with a prefix form one contiguous range.
+     */
+    private static int comparePrefix(String name, CharSequence prefix) {
+        int length = prefix.length();
+        for (int i = 0; i < length; i++) {
+            if (i == name.length()) {
+                return -1;
+            }
+            int diff = fold(name.charAt(i)) - fold(prefix.charAt(i));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * The banks of one country and currency
+     */
+    public final class Index {
+        private final String country;
+        private final String currency;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final CompletableFuture<Index> ready = new CompletableFuture<>();
+        private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+        private Index(String country, String currency) {
+            this.country = country;
+            this.currency = currency;
+        }
+
+        /**
+         * Finds a bank by its code
+         * @param code The bank code, e.g. 058
+         * @return The bank, or null if no bank has this code
+         */
+        public Bank getByCode(String code) {
+            return current().byCode.get(code);
+        }
+
+        /**
+         * Finds the banks whose name starts with a prefix, ignoring case, in name order.
+         * Nothing is allocated; at most {@code into.length} banks are written.
+         *
+         * @param prefix The typed prefix; an empty prefix matches every bank
+         * @param into The array the matches are written to, from index 0
+         * @return The number of banks written
+         */
+        public int search(CharSequence prefix, Bank[] into) {
+            Bank[] byName = current().byName;
+            int from = lowerBound(byName, prefix);
+            int count = 0;
+            for (int i = from; i < byName.length && count < into.length; i++) {
+                if (comparePrefix(byName[i].name, prefix) != 0) {
+                    break;
+                }
+                into[count++] = byName[i];
+            }
+            return count;
+        }
+
+        /**
+         * Finds the banks whose name starts with a prefix, ignoring case, in name order
+         * @param prefix The typed prefix; an empty prefix matches every bank
+         * @param limit The maximum number of banks returned
+         * @return An unmodifiable list of the matches
+         */
+        public List<Bank> search(CharSequence prefix, int limit) {
+            Bank[] byName = current().byName;
+            int from = lowerBound(byName, prefix);
+            int to = from;
+            while (to < byName.length && to - from < limit && comparePrefix(byName[to].name, prefix) == 0) {
+                to++;
+            }
+            return Collections.unmodifiableList(Arrays.asList(byName).subList(from, to));
+        }
+
+        /**
+         * Gets the number of banks in the index
+         * @return The number of banks
+         */
+        public int size() {
+            return current().byName.length;
+        }
+
+        /**
+         * Reloads the bank list in the background; lookups keep using the current list until
+         * the new one has loaded. Does nothing if a reload is already running.
+         *
+         * @return A future completed when the reload has finished
+         */
+        public CompletableFuture<Void> refresh() {
+            if (!refreshing.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return load(country, currency).handle((banks, error) -> {
+                if (error != null) {
+                    log.debug("Refreshing the bank list of {}/{} failed", country, currency, error);
+                    snapshot = snapshot.retryAt(System.nanoTime());
+                } else {
+                    swap(banks);
+                }
+                refreshing.set(false);
+                return null;
+            });
+        }
+
+        private Snapshot current() {
+            Snapshot current = snapshot;
+            if (System.nanoTime() - current.loadedAt > refreshNanos && !refreshing.get()) {
+                refresh();
+            }
+            return current;
+        }
+
+        private void swap(List<Bank> banks) {
+            snapshot = new Snapshot(banks, System.nanoTime());
+        }
+
+        private int lowerBound(Bank[] byName, CharSequence prefix) {
+            int low = 0;
+            int high = byName.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparePrefix(byName[mid].name, prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Immutable indexes of one load of a bank list
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), System.nanoTime());
+
+        private final Map<String, Bank> byCode;
+        private final Bank[] byName;
+        private final long loadedAt;
+
+        private Snapshot(List<Bank> banks, long loadedAt) {
+            Map<String, Bank> byCode = new HashMap<>();
+            for (Bank bank : banks) {
+                Bank existing = byCode.get(bank.code);
+                if (bank.code != null && (existing == null || !existing.active && bank.active)) {
+                    byCode.put(bank.code, bank);
+                }
+            }
+            Bank[] byName = banks.toArray(new Bank[0]);
+            Arrays.sort(byName, Comparator.comparing(Bank::getName, String.CASE_INSENSITIVE_ORDER));
+            this.byCode = byCode;
+            this.byName = byName;
+            this.loadedAt = loadedAt;
+        }
+
+        private Snapshot(Snapshot snapshot, long loadedAt) {
+            this.byCode = snapshot.byCode;
+            this.byName = snapshot.byName;
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * Keeps the indexes after a failed reload, postponing the next attempt by a refresh interval
+         */
+        private Snapshot retryAt(long now) {
+            return new Snapshot(this, now);
+        }
+    }
+
+    /**
+     * A bank as listed by Paystack
+     */
+    public static final class Bank {
+        private final long id;
+        private final String name;
+        private final String slug;
+        private final String code;
+        private final String longCode;
+        private final String country;
+        private final String currency;
+        private final String type;
+        private final boolean active;
+
+        Bank(JsonNode bank) {
+            this.id = bank.path("id").asLong();
+            this.name = bank.path("name").asText("");
+            this.slug = bank.path("slug").asText(null);
+            this.code = bank.path("code").asText(null);
+            this.longCode = bank.path("longcode").asText(null);
+            this.country = bank.path("country").asText(null);
+            this.currency = bank.path("currency").asText(null);
+            this.type = bank.path("type").asText(null);
+            this.active = bank.path("active").asBoolean(true);
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSlug() {
+            return slug;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getLongCode() {
+            return longCode;
+        }
+
+        public String getCountry() {
+            return country;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        /**
+         * Gets the payment channel type of the bank, e.g. nuban or mobile_money
+         * @return The type
+         */
+        public String getType() {
+            return type;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + code + ")";
+        }
+    }
+
+    /**
+     * Builder for {@link BankDirectory}.
+     */
+    public static final class Builder {
+        private final Miscellaneous miscellaneous;
+        private Duration refreshInterval = Duration.ofHours(24);
+        private int pageSize = 100;
+
+        private Builder(Miscellaneous miscellaneous) {
+            this.miscellaneous = miscellaneous;
+        }
+
+        /**
+         * Sets how old a loaded bank list may get before it is reloaded in the background,
+         * 24 hours by default
+         * @param refreshInterval The refresh interval
+         * @return The builder instance for chaining
+         */
+        public Builder refreshInterval(Duration refreshInterval) {
+            if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+                throw new IllegalArgumentException("refreshInterval must be positive");
+            }
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+
+        /**
+         * Sets the number of banks fetched per request while loading, 100 by default
+         * @param pageSize The page size
+         * @return The builder instance for chaining
+         */
+        public Builder pageSize(int pageSize) {
+            if (pageSize < 1) {
+                throw new IllegalArgumentException("pageSize must be at least 1");
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Builds the directory; no bank list is loaded until it is first asked for
+         * @return A new bank directory
+         */
+        public BankDirectory build() {
+            return new BankDirectory(this);
+        }
+    }
+}
@@ -1,4 +1,562 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.BatchPipeline;
+import com.dvc.paystack4j.common.PageIterator;
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.constants.Definitions;
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Operations on the Paystack bulk charge endpoints, which charge many saved authorizations in
+ * one batch.
+ *
+ * <p>Besides the raw endpoints, {@link #chargeAll(Iterable, Options)} charges any number of
+ * authorizations: the input is read lazily and split into batches, a bounded number of batches
+ * is in flight at a time, and each batch is polled until Paystack has processed it. Polls are
+ * scheduled on the JDK's shared delayed executor, so waiting batches hold no threads. Requests
+ * go through the client's rate limiter like any other call.</p>
+ *
+ * <pre>{@code
+ * try (Stream<BulkCharges.Result> results = client.bulkCharges().chargeAll(renewals,
+ *         BulkCharges.Options.builder().concurrency(4).build())) {
+ *     results.filter(result -> !result.isSuccessful()).forEach(dunning::schedule);
+ * }
+ * }</pre>
+ */
 public class BulkCharges {
+    private static final String COMPLETE = "complete";
+
+    private final RequestExecutor executor;
+
+    public BulkCharges(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Initiates a bulk charge batch
+     * @param charges The charges, each with an {@code authorization} code, an {@code amount} and
+     *                optionally a {@code reference}
+     * @return The API response, whose data holds the {@code batch_code}
+     */
+    public JsonNode initiate(List<?> charges) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_INITIATE_BULK_CHARGE)
+                .buildJsonPostRequest(charges));
+    }
+
+    /**
+     * Initiates a bulk charge batch without blocking
+     * @param charges The charges, each with an {@code authorization} code, an {@code amount} and
+     *                optionally a {@code reference}
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> initiateAsync(List<?> charges) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_INITIATE_BULK_CHARGE)
+                .buildJsonPostRequest(charges));
+    }
+
+    /**
+     * Lists bulk charge batches
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return The API response
+     */
+    public JsonNode list(Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_LIST_BATCHES)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists bulk charge batches without blocking
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listAsync(Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_LIST_BATCHES)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Fetches a batch and its progress
+     * @param idOrCode The batch ID or code
+     * @return The API response
+     */
+    public JsonNode fetch(String idOrCode) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_FETCH_BATCH)
+                .buildGetRequest(idOrCode));
+    }
+
+    /**
+     * Fetches a batch and its progress without blocking
+     * @param idOrCode The batch ID or code
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> fetchAsync(String idOrCode) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_FETCH_BATCH)
+                .buildGetRequest(idOrCode));
+    }
+
+    /**
+     * Lists the charges of a batch
+     * @param idOrCode The batch ID or code
+     * @param filter Query parameters such as status, perPage and page
+     * @return The API response
+     */
+    public JsonNode fetchCharges(String idOrCode, Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_FETCH_CHARGES)
+                .addParameters(filter)
+                .buildGetRequest(idOrCode + "/charges"));
+    }
+
+    /**
+     * Lists the charges of a batch without blocking
+     * @param idOrCode The batch ID or code
+     * @param filter Query parameters such as status, perPage and page
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> fetchChargesAsync(String idOrCode, Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_FETCH_CHARGES)
+                .addParameters(filter)
+                .buildGetRequest(idOrCode + "/charges"));
+    }
+
+    /**
+     * Pauses the processing of a batch
+     * @param batchCode The batch code
+     * @return The API response
+     */
+    public JsonNode pause(String batchCode) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_PAUSE_BATCH)
+                .buildGetRequest(batchCode));
+    }
+
+    /**
+     * Pauses the processing of a batch without blocking
+     * @param batchCode The batch code
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> pauseAsync(String batchCode) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_PAUSE_BATCH)
+                .buildGetRequest(batchCode));
+    }
+
+    /**
+     * Resumes the processing of a paused batch
+     * @param batchCode The batch code
+     * @return The API response
+     */
+    public JsonNode resume(String batchCode) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_RESUME_BATCH)
+                .buildGetRequest(batchCode));
+    }
+
+    /**
+     * Resumes the processing of a paused batch without blocking
+     * @param batchCode The batch code
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> resumeAsync(String batchCode) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_BULK_CHARGES_RESUME_BATCH)
+                .buildGetRequest(batchCode));
+    }
+
+    /**
+     * Charges authorizations in batches with the default options
+     * @param charges The charges, read lazily as batches are submitted
+     * @return A stream of results, see {@link #chargeAll(Iterable, Options)}
+     */
+    public Stream<Result> chargeAll(Iterable<Charge> charges) {
+        return chargeAll(charges, Options.builder().build());
+    }
+
+    /**
+     * Charges authorizations in batches.
+     *
+     * <p>The returned stream yields one result per charge, batch by batch as each batch is
+     * processed, so results of concurrent batches interleave. A batch that cannot be submitted
+     * yields a failed result for each of its charges rather than failing the stream. Closing the
+     * stream stops submitting new batches; batches already submitted are processed by Paystack
+     * regardless.</p>
+     * @param charges The charges, read lazily as batches are submitted
+     * @param options Batch size, concurrency and polling settings
+     * @return A lazy stream of results
+     */
+    public Stream<Result> chargeAll(Iterable<Charge> charges, Options options) {
+        BatchPipeline pipeline = BatchPipeline.builder()
+                .batchSize(options.batchSize)
+                .concurrency(options.concurrency)
+                .build();
+        return pipeline.stream(charges.iterator(), charge -> null,
+                (batch, sink) -> new Batch(batch, options, sink).submit());
+    }
+
+    /**
+     * One batch of {@link #chargeAll(Iterable, Options)}, from submission through polling to
+     * reading its charges
+     */
+    private final class Batch {
+        private final List<Charge> charges;
+        private final Options options;
+        private final BatchPipeline.Sink<Result> sink;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private String batchCode;
+        private long deadline;
+
+        Batch(List<Charge> charges, Options options, BatchPipeline.Sink<Result> sink) {
+            this.charges = charges;
+            this.options = options;
+            this.sink = sink;
+        }
+
+        CompletableFuture<Void> submit() {
+            List<Map<String, Object>> body = new ArrayList<>(charges.size());
+            for (Charge charge : charges) {
+                body.add(charge.toParameters());
+            }
+            initiateAsync(body).whenComplete((response, error) -> {
+                batchCode = error == null ? response.path("data").path("batch_code").textValue() : null;
+                if (batchCode == null) {
+                    fail(charges, error != null ? error : new APIException("Bulk charge response has no batch code"));
+                } else {
+                    deadline = System.nanoTime() + options.timeout.toNanos();
+                    poll();
+                }
+            });
+            return done;
+        }
+
+        private void poll() {
+            if (sink.isClosed()) {
+                done.complete(null);
+                return;
+            }
+            CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(options.pollInterval.toMillis(), TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> fetchAsync(batchCode))
+                    .whenComplete((response, error) -> {
+                        boolean expired = System.nanoTime() - deadline >= 0;
+                        JsonNode data = error == null ? response.path("data") : null;
+                        boolean processed = data != null && (COMPLETE.equals(data.path("status").asText())
+                                || data.path("pending_charges").asInt(-1) == 0);
+                        if (processed || expired && error == null) {
+                            collect(index(), 1);
+                        } else if (expired) {
+                            fail(charges, error);
+                        } else {
+                            poll();
+                        }
+                    });
+        }
+
+        /**
+         * Reads the charges of the processed batch page by page and matches them to the submitted
+         * charges by authorization code and amount
+         */
+        private void collect(Map<String, Deque<Charge>> submitted, int page) {
+            Map<String, Object> filter = PageIterator.withPage(Collections.singletonMap("perPage", 100), page);
+            fetchChargesAsync(batchCode, filter).whenComplete((response, error) -> {
+                if (error != null) {
+                    List<Charge> remaining = new ArrayList<>();
+                    submitted.values().forEach(remaining::addAll);
+                    fail(remaining, error);
+                    return;
+                }
+                for (JsonNode item : response.path("data")) {
+                    String key = key(item.path("authorization").path("authorization_code").asText(),
+                            item.path("amount").asLong());
+                    Deque<Charge> candidates = submitted.get(key);
+                    Charge charge = candidates != null ? candidates.poll() : null;
+                    sink.emit(new Result(charge, batchCode, item.path("status").asText(null), item, null));
+                }
+                if (!sink.isClosed() && PageIterator.hasNextPage(response, page)) {
+                    collect(submitted, page + 1);
+                    return;
+                }
+                for (Deque<Charge> unreported : submitted.values()) {
+                    for (Charge charge : unreported) {
+                        sink.emit(new Result(charge, batchCode, null, null, null));
+                    }
+                }
+                done.complete(null);
+            });
+        }
+
+        private void fail(List<Charge> failed, Throwable error) {
+            APIException failure = toApiException(error);
+            for (Charge charge : failed) {
+                sink.emit(new Result(charge, batchCode, null, null, failure));
+            }
+            done.complete(null);
+        }
+
+        private Map<String, Deque<Charge>> index() {
+            Map<String, Deque<Charge>> submitted = new LinkedHashMap<>();
+            for (Charge charge : charges) {
+                submitted.computeIfAbsent(key(charge.authorizationCode, charge.amount), k -> new ArrayDeque<>())
+                        .add(charge);
+            }
+            return submitted;
+        }
+    }
+
+    private static String key(String authorizationCode, long amount) {
+        return authorizationCode + ':' + amount;
+    }
+
+    private static APIException toApiException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof APIException) {
+            return (APIException) cause;
+        }
+        return cause instanceof Exception
+                ? new APIException("Bulk charge failed: " + cause.getMessage(), (Exception) cause)
+                : new APIException("Bulk charge failed: " + cause);
+    }
+
+    /**
+     * One charge of a bulk charge
+     */
+    public static final class Charge {
+        private final String authorizationCode;
+        private final long amount;
+        private final String reference;
+
+        private Charge(String authorizationCode, long amount, String reference) {
+            this.authorizationCode = Objects.requireNonNull(authorizationCode, "authorizationCode");
+            this.amount = amount;
+            this.reference = reference;
+        }
+
+        /**
+         * Creates a charge
+         * @param authorizationCode The authorization code of the saved card
+         * @param amount The amount in the subunit of the currency, e.g. kobo
+         * @return The charge
+         */
+        public static Charge of(String authorizationCode, long amount) {
+            return new Charge(authorizationCode, amount, null);
+        }
+
+        /**
+         * Creates a charge with a reference of your own
+         * @param authorizationCode The authorization code of the saved card
+         * @param amount The amount in the subunit of the currency, e.g. kobo
+         * @param reference The unique transaction reference
+         * @return The charge
+         */
+        public static Charge of(String authorizationCode, long amount, String reference) {
+            return new Charge(authorizationCode, amount, reference);
+        }
+
+        public String getAuthorizationCode() {
+            return authorizationCode;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public String getReference() {
+            return reference;
+        }
+
+        Map<String, Object> toParameters() {
+            Map<String, Object> parameters = new HashMap<>(4);
+            parameters.put("authorization", authorizationCode);
+            parameters.put("amount", amount);
+            if (reference != null) {
+                parameters.put("reference", reference);
+            }
+            return parameters;
+        }
+
+        @Override
+        public String toString() {
+            return "Charge{" + authorizationCode + ", " + amount + (reference != null ? ", " + reference : "") + "}";
+        }
+    }
+
+    /**
+     * The outcome of one charge of {@link #chargeAll(Iterable, Options)}
+     */
+    public static final class Result {
+        private final Charge charge;
+        private final String batchCode;
+        private final String status;
+        private final JsonNode data;
+        private final APIException error;
+
+        Result(Charge charge, String batchCode, String status, JsonNode data, APIException error) {
+            this.charge = charge;
+            this.batchCode = batchCode;
+            this.status = status;
+            this.data = data;
+            this.error = error;
+        }
+
+        /**
+         * Gets the submitted charge
+         * @return The charge, or null if Paystack reported a charge that matches none submitted
+         */
+        public Charge getCharge() {
+            return charge;
+        }
+
+        /**
+         * Gets the code of the batch the charge was submitted in
+         * @return The batch code, or null if the batch could not be submitted
+         */
+        public String getBatchCode() {
+            return batchCode;
+        }
+
+        /**
+         * Gets the status of the charge, such as {@code success}, {@code failed} or {@code pending}
+         * when the batch did not finish before the timeout
+         * @return The status reported by Paystack, or null if there is none
+         */
+        public String getStatus() {
+            return status;
+        }
+
+        /**
+         * Gets the charge as reported by Paystack
+         * @return The charge object from the batch, or null if there is none
+         */
+        public JsonNode getData() {
+            return data;
+        }
+
+        /**
+         * Gets the error that prevented the charge from being submitted or its outcome from being read
+         * @return The error, or null
+         */
+        public APIException getError() {
+            return error;
+        }
+
+        /**
+         * Checks whether the charge succeeded
+         * @return true if Paystack reported it as successful
+         */
+        public boolean isSuccessful() {
+            return "success".equals(status);
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" + charge + ", batch=" + batchCode + ", status=" + status +
+                    (error != null ? ", error=" + error.getMessage() : "") + "}";
+        }
+    }
+
+    /**
+     * Settings of {@link #chargeAll(Iterable, Options)}
+     */
+    public static final class Options {
+        private final int batchSize;
+        private final int concurrency;
+        private final Duration pollInterval;
+        private final Duration timeout;
+
+        private Options(Builder builder) {
+            this.batchSize = builder.batchSize;
+            this.concurrency = builder.concurrency;
+            this.pollInterval = builder.pollInterval;
+            this.timeout = builder.timeout;
+        }
+
+        /**
+         * Creates a builder for bulk charge options
+         * @return A new builder
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Builder for {@link Options}.
+         */
+        public static final class Builder {
+            private int batchSize = 1000;
+            private int concurrency = 2;
+            private Duration pollInterval = Duration.ofSeconds(5);
+            private Duration timeout = Duration.ofHours(1);
+
+            private Builder() {
+            }
+
+            /**
+             * Sets the number of charges per batch, 1000 by default
+             * @param batchSize The batch size
+             * @return The builder instance for chaining
+             */
+            public Builder batchSize(int batchSize) {
+                if (batchSize < 1) {
+                    throw new IllegalArgumentException("batchSize must be positive");
+                }
+                this.batchSize = batchSize;
+                return this;
+            }
+
+            /**
+             * Sets the number of batches submitted and not yet processed at a time, 2 by default
+             * @param concurrency The number of batches in flight
+             * @return The builder instance for chaining
+             */
+            public Builder concurrency(int concurrency) {
+                if (concurrency < 1) {
+                    throw new IllegalArgumentException("concurrency must be positive");
+                }
+                this.concurrency = concurrency;
+                return this;
+            }
+
+            /**
+             * Sets the delay between progress checks of a batch, 5 seconds by default
+             * @param pollInterval The poll interval
+             * @return The builder instance for chaining
+             */
+            public Builder pollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+                return this;
+            }
+
+            /**
+             * Sets how long a batch is polled before its charges are reported as they stand,
+             * 1 hour by default
+             * @param timeout The timeout per batch
+             * @return The builder instance for chaining
+             */
+            public Builder timeout(Duration timeout) {
+                this.timeout = timeout;
+                return this;
+            }
+
+            /**
+             * Builds the options
+             * @return The bulk charge options
+             */
+            public Options build() {
+                return new Options(this);
+            }
+        }
+    }
 }
@@ -1,4 +1,146 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.PageIterator;
+import com.dvc.paystack4j.common.ParallelPager;
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.dvc.paystack4j.constants.Definitions;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Operations on the Paystack customer endpoints.
+ *
+ * <p>Every operation is available as a blocking call and as a non-blocking variant suffixed
+ * with {@code Async}.</p>
+ */
 public class Customers {
+    private final RequestExecutor executor;
+
+    public Customers(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a customer
+     * @param parameters Request parameters such as email, first_name and last_name
+     * @return The API response
+     */
+    public JsonNode create(Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_CUSTOMERS_CREATE_CUSTOMER)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Creates a customer without blocking
+     * @param parameters Request parameters such as email, first_name and last_name
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> createAsync(Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_CUSTOMERS_CREATE_CUSTOMER)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Lists customers
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return The API response
+     */
+    public JsonNode list(Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_CUSTOMERS_LIST_CUSTOMERS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists customers without blocking
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listAsync(Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_CUSTOMERS_LIST_CUSTOMERS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists every matching customer across all pages as a lazy stream. The next page is
+     * prefetched while the current one is consumed; close the stream to stop early.
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @return A stream of the customers in the {@code data} arrays of all pages
+     */
+    public Stream<JsonNode> listAll(Map<String, Object> filter) {
+        return PageIterator.stream(page -> listAsync(PageIterator.withPage(filter, page)));
+    }
+
+    /**
+     * Lists every matching customer across all pages as a lazy stream of typed values
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @param type Type each element is bound to
+     * @return A stream of the bound customers
+     */
+    public <T> Stream<T> listAll(Map<String, Object> filter, Class<T> type) {
+        return listAll(filter).map(element -> ResponseDecoder.convert(element, type));
+    }
+
+    /**
+     * Lists every matching customer by fetching pages concurrently, for bulk pulls.
+     * See {@link ParallelPager} for ordering, date window partitioning and per-page retries.
+     * @param filter Query parameters such as perPage, from and to; page is managed by the pager
+     * @param pager Concurrency, ordering and partitioning settings
+     * @return A stream of the customers; close it to cancel outstanding requests
+     */
+    public Stream<JsonNode> listAllParallel(Map<String, Object> filter, ParallelPager pager) {
+        return pager.stream(this::listAsync, filter);
+    }
+
+    /**
+     * Fetches a customer
+     * @param emailOrCode The customer's email or customer code
+     * @return The API response
+     */
+    public JsonNode fetch(String emailOrCode) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_CUSTOMERS_FETCH_CUSTOMER)
+                .buildGetRequest(emailOrCode));
+    }
+
+    /**
+     * Fetches a customer without blocking
+     * @param emailOrCode The customer's email or customer code
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> fetchAsync(String emailOrCode) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_CUSTOMERS_FETCH_CUSTOMER)
+                .buildGetRequest(emailOrCode));
+    }
+
+    /**
+     * Updates a customer
+     * @param code The customer code
+     * @param parameters Fields to update
+     * @return The API response
+     */
+    public JsonNode update(String code, Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_CUSTOMERS_UPDATE_CUSTOMER)
+                .addParameters(parameters)
+                .buildJsonPutRequest(code));
+    }
+
+    /**
+     * Updates a customer without blocking
+     * @param code The customer code
+     * @param parameters Fields to update
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> updateAsync(String code, Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_CUSTOMERS_UPDATE_CUSTOMER)
+                .addParameters(parameters)
+                .buildJsonPutRequest(code));
+    }
 }
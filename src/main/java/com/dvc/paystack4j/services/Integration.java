@@ -1,4 +1,62 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.constants.Definitions;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Operations on the Paystack integration settings endpoints.
+ *
+ * <p>Every operation is available as a blocking call and as a non-blocking variant suffixed
+ * with {@code Async}.</p>
+ */
 public class Integration {
+    private final RequestExecutor executor;
+
+    public Integration(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Fetches the payment session timeout of the integration
+     * @return The API response
+     */
+    public JsonNode fetchPaymentSessionTimeout() {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_INTEGRATION_FETCH_PAYMENT_SESSION_TIMEOUT)
+                .buildGetRequest());
+    }
+
+    /**
+     * Fetches the payment session timeout of the integration without blocking
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> fetchPaymentSessionTimeoutAsync() {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_INTEGRATION_FETCH_PAYMENT_SESSION_TIMEOUT)
+                .buildGetRequest());
+    }
+
+    /**
+     * Updates the payment session timeout of the integration
+     * @param timeout Time before stopping a session in seconds, 0 to disable the timeout
+     * @return The API response
+     */
+    public JsonNode updatePaymentSessionTimeout(int timeout) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_INTEGRATION_UPDATE_PAYMENT_SESSION_TIMEOUT)
+                .addParameter("timeout", timeout)
+                .buildJsonPutRequest());
+    }
+
+    /**
+     * Updates the payment session timeout of the integration without blocking
+     * @param timeout Time before stopping a session in seconds, 0 to disable the timeout
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> updatePaymentSessionTimeoutAsync(int timeout) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_INTEGRATION_UPDATE_PAYMENT_SESSION_TIMEOUT)
+                .addParameter("timeout", timeout)
+                .buildJsonPutRequest());
+    }
 }
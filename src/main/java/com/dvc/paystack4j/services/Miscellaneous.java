@@ -1,4 +1,87 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.constants.Definitions;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Operations on the Paystack reference data endpoints: banks, countries and states.
+ *
+ * <p>Every operation is available as a blocking call and as a non-blocking variant suffixed
+ * with {@code Async}. The data rarely changes, which makes these endpoints good candidates for
+ * the response cache of {@link com.dvc.paystack4j.config.CachePolicy}. For lookups by bank code or
+ * name prefix, load the bank list once into a {@link BankDirectory}.</p>
+ */
 public class Miscellaneous {
+    private final RequestExecutor executor;
+
+    public Miscellaneous(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Lists banks
+     * @param filter Query parameters such as country, currency, type, perPage and use_cursor
+     * @return The API response
+     */
+    public JsonNode listBanks(Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_MISCELLANEOUS_LIST_BANKS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists banks without blocking
+     * @param filter Query parameters such as country, currency, type, perPage and use_cursor
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listBanksAsync(Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_MISCELLANEOUS_LIST_BANKS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists the countries Paystack supports
+     * @return The API response
+     */
+    public JsonNode listCountries() {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_MISCELLANEOUS_LIST_COUNTRIES)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists the countries Paystack supports without blocking
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listCountriesAsync() {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_MISCELLANEOUS_LIST_COUNTRIES)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists the states of a country for address verification
+     * @param country The two letter country code, e.g. CA
+     * @return The API response
+     */
+    public JsonNode listStates(String country) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_MISCELLANEOUS_LIST_STATES)
+                .addParameter("country", country)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists the states of a country for address verification without blocking
+     * @param country The two letter country code, e.g. CA
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listStatesAsync(String country) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_MISCELLANEOUS_LIST_STATES)
+                .addParameter("country", country)
+                .buildGetRequest());
+    }
 }
@@ -1,4 +1,11 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.RequestExecutor;
+
 public class PaymentPages {
+    private final RequestExecutor executor;
+
+    public PaymentPages(RequestExecutor executor) {
+        this.executor = executor;
+    }
 }
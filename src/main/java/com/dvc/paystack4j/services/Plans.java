@@ -1,4 +1,134 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.PageIterator;
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.dvc.paystack4j.constants.Definitions;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Operations on the Paystack plan endpoints.
+ *
+ * <p>Every operation is available as a blocking call and as a non-blocking variant suffixed
+ * with {@code Async}.</p>
+ */
 public class Plans {
+    private final RequestExecutor executor;
+
+    public Plans(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a plan
+     * @param parameters Request parameters such as name, amount and interval
+     * @return The API response
+     */
+    public JsonNode create(Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_PLANS_CREATE_PLAN)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Creates a plan without blocking
+     * @param parameters Request parameters such as name, amount and interval
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> createAsync(Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_PLANS_CREATE_PLAN)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Lists plans
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return The API response
+     */
+    public JsonNode list(Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_PLANS_LIST_PLANS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists plans without blocking
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listAsync(Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_PLANS_LIST_PLANS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists every matching plan across all pages as a lazy stream. The next page is
+     * prefetched while the current one is consumed; close the stream to stop early.
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @return A stream of the plans in the {@code data} arrays of all pages
+     */
+    public Stream<JsonNode> listAll(Map<String, Object> filter) {
+        return PageIterator.stream(page -> listAsync(PageIterator.withPage(filter, page)));
+    }
+
+    /**
+     * Lists every matching plan across all pages as a lazy stream of typed values
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @param type Type each element is bound to
+     * @return A stream of the bound plans
+     */
+    public <T> Stream<T> listAll(Map<String, Object> filter, Class<T> type) {
+        return listAll(filter).map(element -> ResponseDecoder.convert(element, type));
+    }
+
+    /**
+     * Fetches a plan
+     * @param idOrCode The plan ID or plan code
+     * @return The API response
+     */
+    public JsonNode fetch(String idOrCode) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_PLANS_FETCH_PLAN)
+                .buildGetRequest(idOrCode));
+    }
+
+    /**
+     * Fetches a plan without blocking
+     * @param idOrCode The plan ID or plan code
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> fetchAsync(String idOrCode) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_PLANS_FETCH_PLAN)
+                .buildGetRequest(idOrCode));
+    }
+
+    /**
+     * Updates a plan
+     * @param idOrCode The plan ID or plan code
+     * @param parameters Fields to update
+     * @return The API response
+     */
+    public JsonNode update(String idOrCode, Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_PLANS_UPDATE_PLAN)
+                .addParameters(parameters)
+                .buildJsonPutRequest(idOrCode));
+    }
+
+    /**
+     * Updates a plan without blocking
+     * @param idOrCode The plan ID or plan code
+     * @param parameters Fields to update
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> updateAsync(String idOrCode, Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_PLANS_UPDATE_PLAN)
+                .addParameters(parameters)
+                .buildJsonPutRequest(idOrCode));
+    }
 }
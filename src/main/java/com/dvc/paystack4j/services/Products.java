@@ -1,4 +1,134 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.PageIterator;
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.dvc.paystack4j.constants.Definitions;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Operations on the Paystack product endpoints.
+ *
+ * <p>Every operation is available as a blocking call and as a non-blocking variant suffixed
+ * with {@code Async}.</p>
+ */
 public class Products {
+    private final RequestExecutor executor;
+
+    public Products(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a product
+     * @param parameters Request parameters such as name, description, price and currency
+     * @return The API response
+     */
+    public JsonNode create(Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_PRODUCTS_CREATE_PRODUCT)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Creates a product without blocking
+     * @param parameters Request parameters such as name, description, price and currency
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> createAsync(Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_PRODUCTS_CREATE_PRODUCT)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Lists products
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return The API response
+     */
+    public JsonNode list(Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_PRODUCTS_LIST_PRODUCTS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists products without blocking
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listAsync(Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_PRODUCTS_LIST_PRODUCTS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists every matching product across all pages as a lazy stream. The next page is
+     * prefetched while the current one is consumed; close the stream to stop early.
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @return A stream of the products in the {@code data} arrays of all pages
+     */
+    public Stream<JsonNode> listAll(Map<String, Object> filter) {
+        return PageIterator.stream(page -> listAsync(PageIterator.withPage(filter, page)));
+    }
+
+    /**
+     * Lists every matching product across all pages as a lazy stream of typed values
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @param type Type each element is bound to
+     * @return A stream of the bound products
+     */
+    public <T> Stream<T> listAll(Map<String, Object> filter, Class<T> type) {
+        return listAll(filter).map(element -> ResponseDecoder.convert(element, type));
+    }
+
+    /**
+     * Fetches a product
+     * @param id The product ID
+     * @return The API response
+     */
+    public JsonNode fetch(String id) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_PRODUCTS_FETCH_PRODUCT)
+                .buildGetRequest(id));
+    }
+
+    /**
+     * Fetches a product without blocking
+     * @param id The product ID
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> fetchAsync(String id) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_PRODUCTS_FETCH_PRODUCT)
+                .buildGetRequest(id));
+    }
+
+    /**
+     * Updates a product
+     * @param id The product ID
+     * @param parameters Fields to update
+     * @return The API response
+     */
+    public JsonNode update(String id, Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_PRODUCTS_UPDATE_PRODUCT)
+                .addParameters(parameters)
+                .buildJsonPutRequest(id));
+    }
+
+    /**
+     * Updates a product without blocking
+     * @param id The product ID
+     * @param parameters Fields to update
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> updateAsync(String id, Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_PRODUCTS_UPDATE_PRODUCT)
+                .addParameters(parameters)
+                .buildJsonPutRequest(id));
+    }
 }
@@ -1,4 +1,11 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.RequestExecutor;
+
 public class Refunds {
+    private final RequestExecutor executor;
+
+    public Refunds(RequestExecutor executor) {
+        this.executor = executor;
+    }
 }
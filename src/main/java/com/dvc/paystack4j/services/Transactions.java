@@ -1,4 +1,233 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.CsvReader;
+import com.dvc.paystack4j.common.PageIterator;
+import com.dvc.paystack4j.common.ParallelPager;
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.dvc.paystack4j.constants.Definitions;
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Operations on the Paystack transaction endpoints.
+ *
+ * <p>Every operation is available as a blocking call and as a non-blocking variant suffixed
+ * with {@code Async}. Responses are returned as the decoded JSON envelope
+ * ({@code status}, {@code message}, {@code data} and, for lists, {@code meta}).</p>
+ */
 public class Transactions {
+    private final RequestExecutor executor;
+
+    public Transactions(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Initializes a transaction
+     * @param parameters Request parameters such as email and amount
+     * @return The API response
+     */
+    public JsonNode initialize(Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_INITIALIZE_TRANSACTION)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Initializes a transaction without blocking
+     * @param parameters Request parameters such as email and amount
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> initializeAsync(Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_INITIALIZE_TRANSACTION)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Verifies a transaction
+     * @param reference The transaction reference
+     * @return The API response
+     */
+    public JsonNode verify(String reference) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_VERIFY_TRANSACTION)
+                .buildGetRequest(reference));
+    }
+
+    /**
+     * Verifies a transaction without blocking
+     * @param reference The transaction reference
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> verifyAsync(String reference) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_VERIFY_TRANSACTION)
+                .buildGetRequest(reference));
+    }
+
+    /**
+     * Verifies a transaction without blocking, failing if no response arrives before the deadline
+     * @param reference The transaction reference
+     * @param deadline Maximum time to wait for the response
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> verifyAsync(String reference, Duration deadline) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_VERIFY_TRANSACTION)
+                .buildGetRequest(reference), deadline);
+    }
+
+    /**
+     * Lists transactions
+     * @param filter Query parameters such as perPage, page, status, from and to
+     * @return The API response
+     */
+    public JsonNode list(Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_LIST_TRANSACTIONS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists transactions without blocking
+     * @param filter Query parameters such as perPage, page, status, from and to
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listAsync(Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_LIST_TRANSACTIONS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists every matching transaction across all pages as a lazy stream. The next page is
+     * prefetched while the current one is consumed; close the stream to stop early.
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @return A stream of the transactions in the {@code data} arrays of all pages
+     */
+    public Stream<JsonNode> listAll(Map<String, Object> filter) {
+        return PageIterator.stream(page -> listAsync(PageIterator.withPage(filter, page)));
+    }
+
+    /**
+     * Lists every matching transaction across all pages as a lazy stream of typed values
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @param type Type each element is bound to
+     * @return A stream of the bound transactions
+     */
+    public <T> Stream<T> listAll(Map<String, Object> filter, Class<T> type) {
+        return listAll(filter).map(element -> ResponseDecoder.convert(element, type));
+    }
+
+    /**
+     * Lists every matching transaction by fetching pages concurrently, for bulk pulls.
+     * See {@link ParallelPager} for ordering, date window partitioning and per-page retries.
+     * @param filter Query parameters such as perPage, from and to; page is managed by the pager
+     * @param pager Concurrency, ordering and partitioning settings
+     * @return A stream of the transactions; close it to cancel outstanding requests
+     */
+    public Stream<JsonNode> listAllParallel(Map<String, Object> filter, ParallelPager pager) {
+        return pager.stream(this::listAsync, filter);
+    }
+
+    /**
+     * Fetches a single transaction
+     * @param id The transaction ID
+     * @return The API response
+     */
+    public JsonNode fetch(String id) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_FETCH_TRANSACTION)
+                .buildGetRequest(id));
+    }
+
+    /**
+     * Fetches a single transaction without blocking
+     * @param id The transaction ID
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> fetchAsync(String id) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_FETCH_TRANSACTION)
+                .buildGetRequest(id));
+    }
+
+    /**
+     * Charges a previously authorized card
+     * @param parameters Request parameters such as authorization_code, email and amount
+     * @return The API response
+     */
+    public JsonNode chargeAuthorization(Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_CHARGE_AUTHORIZATION)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Charges a previously authorized card without blocking
+     * @param parameters Request parameters such as authorization_code, email and amount
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> chargeAuthorizationAsync(Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_CHARGE_AUTHORIZATION)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Requests an export of transactions; the response carries the URL of the export file
+     * @param filter Query parameters such as from, to and status
+     * @return The API response
+     */
+    public JsonNode export(Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_EXPORT_TRANSACTIONS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Requests an export of transactions without blocking
+     * @param filter Query parameters such as from, to and status
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> exportAsync(Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSACTIONS_EXPORT_TRANSACTIONS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Exports all transactions and streams the export file to disk
+     * @param target The file to write; it is replaced if it exists
+     * @return The target file
+     * @see #exportTo(Map, Path)
+     */
+    public Path exportTo(Path target) {
+        return exportTo(Collections.emptyMap(), target);
+    }
+
+    /**
+     * Requests an export of transactions and streams the export file to disk, in constant
+     * memory whatever its size. The file is fetched from its pre-signed URL without the secret
+     * key. Read it with a {@link CsvReader}.
+     *
+     * @param filter Query parameters such as from, to and status
+     * @param target The file to write; it is replaced if it exists
+     * @return The target file
+     * @throws APIException if the export or the download fails
+     */
+    public Path exportTo(Map<String, Object> filter, Path target) {
+        JsonNode data = export(filter).path("data");
+        String url = data.path("path").asText("");
+        if (url.isEmpty()) {
+            throw new APIException("Transaction export response carries no file URL");
+        }
+        executor.download(url, target);
+        return target;
+    }
 }
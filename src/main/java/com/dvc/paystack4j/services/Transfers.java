@@ -1,4 +1,579 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.BatchPipeline;
+import com.dvc.paystack4j.common.PageIterator;
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.dvc.paystack4j.constants.Definitions;
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Operations on the Paystack transfer endpoints.
+ *
+ * <p>Every operation is available as a blocking call and as a non-blocking variant suffixed
+ * with {@code Async}. Payouts to many recipients go through {@link #bulk(Stream, BulkOptions)},
+ * which validates, deduplicates and batches the transfers for the bulk transfer endpoint.</p>
+ */
 public class Transfers {
+    /** The largest number of transfers Paystack accepts in one bulk transfer */
+    public static final int MAX_BULK_SIZE = 100;
+
+    private final RequestExecutor executor;
+
+    public Transfers(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Initiates a transfer
+     * @param parameters Request parameters such as source, amount, recipient and reference
+     * @return The API response
+     */
+    public JsonNode initiate(Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_INITIATE_TRANSFER)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Initiates a transfer without blocking
+     * @param parameters Request parameters such as source, amount, recipient and reference
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> initiateAsync(Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_INITIATE_TRANSFER)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Initiates up to {@value #MAX_BULK_SIZE} transfers in one request
+     * @param parameters Request parameters source, currency and transfers, the list of transfers
+     *                   each with amount, recipient, reference and reason
+     * @return The API response, whose data lists the queued transfers
+     */
+    public JsonNode initiateBulk(Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_INITIATE_BULK_TRANSFER)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Initiates up to {@value #MAX_BULK_SIZE} transfers in one request without blocking
+     * @param parameters Request parameters source, currency and transfers, the list of transfers
+     *                   each with amount, recipient, reference and reason
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> initiateBulkAsync(Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_INITIATE_BULK_TRANSFER)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Finalizes a transfer that requires OTP confirmation
+     * @param parameters Request parameters transfer_code and otp
+     * @return The API response
+     */
+    public JsonNode finalizeTransfer(Map<String, Object> parameters) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_FINALIZE_TRANSFER)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Finalizes a transfer that requires OTP confirmation without blocking
+     * @param parameters Request parameters transfer_code and otp
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> finalizeTransferAsync(Map<String, Object> parameters) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_FINALIZE_TRANSFER)
+                .addParameters(parameters)
+                .buildJsonPostRequest());
+    }
+
+    /**
+     * Lists transfers
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return The API response
+     */
+    public JsonNode list(Map<String, Object> filter) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_LIST_TRANSFERS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists transfers without blocking
+     * @param filter Query parameters such as perPage, page, from and to
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> listAsync(Map<String, Object> filter) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_LIST_TRANSFERS)
+                .addParameters(filter)
+                .buildGetRequest());
+    }
+
+    /**
+     * Lists every matching transfer across all pages as a lazy stream. The next page is
+     * prefetched while the current one is consumed; close the stream to stop early.
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @return A stream of the transfers in the {@code data} arrays of all pages
+     */
+    public Stream<JsonNode> listAll(Map<String, Object> filter) {
+        return PageIterator.stream(page -> listAsync(PageIterator.withPage(filter, page)));
+    }
+
+    /**
+     * Lists every matching transfer across all pages as a lazy stream of typed values
+     * @param filter Query parameters such as perPage, from and to; page is managed by the stream
+     * @param type Type each element is bound to
+     * @return A stream of the bound transfers
+     */
+    public <T> Stream<T> listAll(Map<String, Object> filter, Class<T> type) {
+        return listAll(filter).map(element -> ResponseDecoder.convert(element, type));
+    }
+
+    /**
+     * Fetches a transfer
+     * @param idOrCode The transfer ID or transfer code
+     * @return The API response
+     */
+    public JsonNode fetch(String idOrCode) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_FETCH_TRANSFER)
+                .buildGetRequest(idOrCode));
+    }
+
+    /**
+     * Fetches a transfer without blocking
+     * @param idOrCode The transfer ID or transfer code
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> fetchAsync(String idOrCode) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_FETCH_TRANSFER)
+                .buildGetRequest(idOrCode));
+    }
+
+    /**
+     * Verifies a transfer
+     * @param reference The transfer reference
+     * @return The API response
+     */
+    public JsonNode verify(String reference) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_VERIFY_TRANSFER)
+                .buildGetRequest(reference));
+    }
+
+    /**
+     * Verifies a transfer without blocking
+     * @param reference The transfer reference
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> verifyAsync(String reference) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_TRANSFERS_VERIFY_TRANSFER)
+                .buildGetRequest(reference));
+    }
+
+    /**
+     * Initiates transfers in bulk with the default options
+     * @param transfers The transfers, read lazily as batches are submitted
+     * @return A stream of outcomes, see {@link #bulk(Stream, BulkOptions)}
+     */
+    public Stream<TransferOutcome> bulk(Stream<TransferRequest> transfers) {
+        return bulk(transfers, BulkOptions.builder().build());
+    }
+
+    /**
+     * Initiates transfers in bulk.
+     *
+     * <p>Each transfer is validated first; an invalid transfer, or one whose reference was already
+     * seen in this call, is reported without being sent. The rest are grouped into batches of up to
+     * {@value #MAX_BULK_SIZE} transfers and submitted with bounded concurrency. The returned stream
+     * yields one outcome per transfer as its batch is answered, so outcomes of concurrent batches
+     * interleave. A batch Paystack rejects yields a failed outcome for each of its transfers;
+     * since every batch carries an idempotency key, retried batches are not paid twice.</p>
+     * @param transfers The transfers, read lazily as batches are submitted
+     * @param options Batch size, concurrency, currency and source settings
+     * @return A lazy stream of outcomes; closing it, or the input stream, stops submitting batches
+     */
+    public Stream<TransferOutcome> bulk(Stream<TransferRequest> transfers, BulkOptions options) {
+        BatchPipeline pipeline = BatchPipeline.builder()
+                .batchSize(options.batchSize)
+                .concurrency(options.concurrency)
+                .build();
+        Set<String> references = new HashSet<>();
+        return pipeline.<TransferRequest, TransferOutcome>stream(transfers.iterator(),
+                        transfer -> screen(transfer, references),
+                        (batch, sink) -> submit(batch, options, sink))
+                .onClose(transfers::close);
+    }
+
+    private static TransferOutcome screen(TransferRequest transfer, Set<String> references) {
+        String invalid = transfer.validate();
+        if (invalid != null) {
+            return new TransferOutcome(transfer, TransferOutcome.Status.INVALID, null, invalid, null);
+        }
+        if (!references.add(transfer.reference)) {
+            return new TransferOutcome(transfer, TransferOutcome.Status.DUPLICATE, null,
+                    "Reference " + transfer.reference + " appears more than once", null);
+        }
+        return null;
+    }
+
+    private CompletableFuture<Void> submit(List<TransferRequest> batch, BulkOptions options,
+                                           BatchPipeline.Sink<TransferOutcome> sink) {
+        List<Map<String, Object>> items = new ArrayList<>(batch.size());
+        Map<String, TransferRequest> byReference = new LinkedHashMap<>();
+        for (TransferRequest transfer : batch) {
+            items.add(transfer.toParameters());
+            byReference.put(transfer.reference, transfer);
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("source", options.source);
+        parameters.put("transfers", items);
+        if (options.currency != null) {
+            parameters.put("currency", options.currency);
+        }
+        return initiateBulkAsync(parameters).handle((response, error) -> {
+            if (error != null) {
+                APIException failure = toApiException(error);
+                for (TransferRequest transfer : batch) {
+                    sink.emit(new TransferOutcome(transfer, TransferOutcome.Status.FAILED, null,
+                            failure.getMessage(), failure));
+                }
+                return null;
+            }
+            for (JsonNode item : response.path("data")) {
+                TransferRequest transfer = byReference.remove(item.path("reference").asText());
+                if (transfer != null) {
+                    sink.emit(new TransferOutcome(transfer, TransferOutcome.Status.ACCEPTED, item, null, null));
+                }
+            }
+            for (TransferRequest unreported : byReference.values()) {
+                sink.emit(new TransferOutcome(unreported, TransferOutcome.Status.FAILED, null,
+                        "Paystack did not report this transfer: " + response.path("message").asText(), null));
+            }
+            return null;
+        });
+    }
+
+    private static APIException toApiException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof APIException) {
+            return (APIException) cause;
+        }
+        return cause instanceof Exception
+                ? new APIException("Bulk transfer failed: " + cause.getMessage(), (Exception) cause)
+                : new APIException("Bulk transfer failed: " + cause);
+    }
+
+    /**
+     * One transfer of a bulk transfer
+     */
+    public static final class TransferRequest {
+        private final String recipient;
+        private final long amount;
+        private final String reference;
+        private final String reason;
+
+        private TransferRequest(Builder builder) {
+            this.recipient = builder.recipient;
+            this.amount = builder.amount;
+            this.reference = builder.reference;
+            this.reason = builder.reason;
+        }
+
+        /**
+         * Creates a builder for a transfer
+         * @param recipient The transfer recipient code, e.g. {@code RCP_...}
+         * @param amount The amount in the subunit of the currency, e.g. kobo
+         * @param reference Your unique reference of the transfer, 16 to 50 lowercase letters,
+         *                  digits, dashes and underscores
+         * @return A new builder
+         */
+        public static Builder builder(String recipient, long amount, String reference) {
+            return new Builder(recipient, amount, reference);
+        }
+
+        public String getRecipient() {
+            return recipient;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public String getReference() {
+            return reference;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Checks the transfer against the rules Paystack applies
+         * @return A description of the problem, or null if the transfer is valid
+         */
+        String validate() {
+            if (recipient == null || recipient.trim().isEmpty()) {
+                return "Recipient is required";
+            }
+            if (amount <= 0) {
+                return "Amount must be positive";
+            }
+            if (reference == null || reference.length() < 16 || reference.length() > 50) {
+                return "Reference must be 16 to 50 characters long";
+            }
+            for (int i = 0; i < reference.length(); i++) {
+                char c = reference.charAt(i);
+                if (!(c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+                    return "Reference may only contain lowercase letters, digits, '-' and '_'";
+                }
+            }
+            return null;
+        }
+
+        Map<String, Object> toParameters() {
+            Map<String, Object> parameters = new HashMap<>(6);
+            parameters.put("recipient", recipient);
+            parameters.put("amount", amount);
+            parameters.put("reference", reference);
+            if (reason != null) {
+                parameters.put("reason", reason);
+            }
+            return parameters;
+        }
+
+        @Override
+        public String toString() {
+            return "TransferRequest{" + reference + ", " + recipient + ", " + amount + "}";
+        }
+
+        /**
+         * Builder for {@link TransferRequest}.
+         */
+        public static final class Builder {
+            private final String recipient;
+            private final long amount;
+            private final String reference;
+            private String reason;
+
+            private Builder(String recipient, long amount, String reference) {
+                this.recipient = recipient;
+                this.amount = amount;
+                this.reference = reference;
+            }
+
+            /**
+             * Sets the reason shown to the recipient, none by default
+             * @param reason The reason
+             * @return The builder instance for chaining
+             */
+            public Builder reason(String reason) {
+                this.reason = reason;
+                return this;
+            }
+
+            /**
+             * Builds the transfer; it is validated when submitted
+             * @return A new transfer request
+             */
+            public TransferRequest build() {
+                return new TransferRequest(this);
+            }
+        }
+    }
+
+    /**
+     * The outcome of one transfer of {@link #bulk(Stream, BulkOptions)}
+     */
+    public static final class TransferOutcome {
+        /**
+         * What happened to a transfer
+         */
+        public enum Status {
+            /** Paystack accepted the transfer; its own status tells whether it is pending or done */
+            ACCEPTED,
+            /** The transfer failed validation and was not sent */
+            INVALID,
+            /** An earlier transfer had the same reference; this one was not sent */
+            DUPLICATE,
+            /** The batch of the transfer was rejected or failed */
+            FAILED
+        }
+
+        private final TransferRequest request;
+        private final Status status;
+        private final JsonNode data;
+        private final String message;
+        private final APIException error;
+
+        TransferOutcome(TransferRequest request, Status status, JsonNode data, String message, APIException error) {
+            this.request = request;
+            this.status = status;
+            this.data = data;
+            this.message = message;
+            this.error = error;
+        }
+
+        public TransferRequest getRequest() {
+            return request;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Gets the transfer as queued by Paystack
+         * @return The transfer object, or null unless the transfer was accepted
+         */
+        public JsonNode getData() {
+            return data;
+        }
+
+        /**
+         * Gets the transfer code assigned by Paystack
+         * @return The transfer code, or null unless the transfer was accepted
+         */
+        public String getTransferCode() {
+            return data != null ? data.path("transfer_code").textValue() : null;
+        }
+
+        /**
+         * Gets the status Paystack reported for an accepted transfer, such as {@code pending}
+         * @return The transfer status, or null unless the transfer was accepted
+         */
+        public String getTransferStatus() {
+            return data != null ? data.path("status").textValue() : null;
+        }
+
+        /**
+         * Gets why the transfer was not accepted
+         * @return The reason, or null if it was accepted
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Gets the error of a failed batch
+         * @return The error, or null
+         */
+        public APIException getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return "TransferOutcome{" + request + ", " + status + (message != null ? ", " + message : "") + "}";
+        }
+    }
+
+    /**
+     * Settings of {@link #bulk(Stream, BulkOptions)}
+     */
+    public static final class BulkOptions {
+        private final int batchSize;
+        private final int concurrency;
+        private final String source;
+        private final String currency;
+
+        private BulkOptions(Builder builder) {
+            this.batchSize = builder.batchSize;
+            this.concurrency = builder.concurrency;
+            this.source = builder.source;
+            this.currency = builder.currency;
+        }
+
+        /**
+         * Creates a builder for bulk transfer options
+         * @return A new builder
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Builder for {@link BulkOptions}.
+         */
+        public static final class Builder {
+            private int batchSize = MAX_BULK_SIZE;
+            private int concurrency = 4;
+            private String source = "balance";
+            private String currency;
+
+            private Builder() {
+            }
+
+            /**
+             * Sets the number of transfers per request, {@value #MAX_BULK_SIZE} by default
+             * @param batchSize The batch size, at most {@value #MAX_BULK_SIZE}
+             * @return The builder instance for chaining
+             */
+            public Builder batchSize(int batchSize) {
+                if (batchSize < 1 || batchSize > MAX_BULK_SIZE) {
+                    throw new IllegalArgumentException("batchSize must be between 1 and " + MAX_BULK_SIZE);
+                }
+                this.batchSize = batchSize;
+                return this;
+            }
+
+            /**
+             * Sets the number of batch requests in flight at a time, 4 by default
+             * @param concurrency The number of requests in flight
+             * @return The builder instance for chaining
+             */
+            public Builder concurrency(int concurrency) {
+                if (concurrency < 1) {
+                    throw new IllegalArgumentException("concurrency must be positive");
+                }
+                this.concurrency = concurrency;
+                return this;
+            }
+
+            /**
+             * Sets where the transfers are paid from, {@code balance} by default
+             * @param source The transfer source
+             * @return The builder instance for chaining
+             */
+            public Builder source(String source) {
+                this.source = Objects.requireNonNull(source, "source");
+                return this;
+            }
+
+            /**
+             * Sets the currency of the transfers, the integration's default by default
+             * @param currency The currency code, e.g. {@code NGN}
+             * @return The builder instance for chaining
+             */
+            public Builder currency(String currency) {
+                this.currency = currency;
+                return this;
+            }
+
+            /**
+             * Builds the options
+             * @return The bulk transfer options
+             */
+            public BulkOptions build() {
+                return new BulkOptions(this);
+            }
+        }
+    }
 }
@@ -1,4 +1,69 @@
 package com.dvc.paystack4j.services;
 
+import com.dvc.paystack4j.common.RequestBuilder;
+import com.dvc.paystack4j.common.RequestExecutor;
+import com.dvc.paystack4j.constants.Definitions;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Operations on the Paystack verification endpoints: account number and card BIN resolution.
+ *
+ * <p>Every operation is available as a blocking call and as a non-blocking variant suffixed
+ * with {@code Async}. To avoid repeated round trips for the same inputs, e.g. during payout
+ * batches, resolve through a {@link VerificationCache}.</p>
+ */
 public class Verification {
+    private final RequestExecutor executor;
+
+    public Verification(RequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Resolves the name of the holder of a bank account
+     * @param accountNumber The account number
+     * @param bankCode The bank code from the bank list
+     * @return The API response
+     */
+    public JsonNode resolveAccount(String accountNumber, String bankCode) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_VERIFICATION_RESOLVE_ACCOUNT)
+                .addParameter("account_number", accountNumber)
+                .addParameter("bank_code", bankCode)
+                .buildGetRequest());
+    }
+
+    /**
+     * Resolves the name of the holder of a bank account without blocking
+     * @param accountNumber The account number
+     * @param bankCode The bank code from the bank list
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> resolveAccountAsync(String accountNumber, String bankCode) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_VERIFICATION_RESOLVE_ACCOUNT)
+                .addParameter("account_number", accountNumber)
+                .addParameter("bank_code", bankCode)
+                .buildGetRequest());
+    }
+
+    /**
+     * Resolves the brand, type and issuing bank of a card
+     * @param bin The first 6 digits of the card number
+     * @return The API response
+     */
+    public JsonNode resolveCardBin(String bin) {
+        return executor.execute(new RequestBuilder(Definitions.PAYSTACK_VERIFICATION_RESOLVE_CARD_BIN)
+                .buildGetRequest(bin));
+    }
+
+    /**
+     * Resolves the brand, type and issuing bank of a card without blocking
+     * @param bin The first 6 digits of the card number
+     * @return A future completed with the API response
+     */
+    public CompletableFuture<JsonNode> resolveCardBinAsync(String bin) {
+        return executor.executeAsync(new RequestBuilder(Definitions.PAYSTACK_VERIFICATION_RESOLVE_CARD_BIN)
+                .buildGetRequest(bin));
+    }
 }
@@ -0,0 +1,472 @@
+package com.dvc.paystack4j.services;
+
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes account number and card BIN resolutions of the {@link Verification} service.
+ *
+ * <p>Resolved accounts and BINs are kept for the positive time to live. Lookups Paystack rejects
+ * with a 4xx response other than 429, such as an account that does not exist, are kept for the
+ * separate negative time to live and rethrown from the cache. Rate limiting, server errors and
+ * network errors are never cached.</p>
+ *
+ * <p>Numeric inputs, which covers NUBAN account numbers, bank codes and BINs, are packed into a
+ * single {@code long} key; anything else falls back to a string key. When the cache grows past
+ * its maximum size, expired entries are dropped first and then arbitrary entries, down to 90% of
+ * the maximum, so the cost of eviction is spread over many inserts.</p>
+ *
+ * <pre>{@code
+ * VerificationCache cache = VerificationCache.builder(client.verification())
+ *         .positiveTtl(Duration.ofHours(24))
+ *         .negativeTtl(Duration.ofMinutes(10))
+ *         .build();
+ * Map<VerificationCache.Account, VerificationCache.Result> results = cache.resolveAll(accounts);
+ * }</pre>
+ */
+public final class VerificationCache {
+    private final Verification verification;
+    private final long positiveNanos;
+    private final long negativeNanos;
+    private final int maxEntries;
+    private final int concurrency;
+    private final ConcurrentHashMap<Object, Result> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Result> bins = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private VerificationCache(Builder builder) {
+        this.verification = builder.verification;
+        this.positiveNanos = builder.positiveTtl.toNanos();
+        this.negativeNanos = builder.negativeTtl.toNanos();
+        this.maxEntries = builder.maxEntries;
+        this.concurrency = builder.concurrency;
+    }
+
+    /**
+     * Creates a builder for a verification cache
+     * @param verification The service lookups are sent through on a miss
+     * @return A new builder
+     */
+    public static Builder builder(Verification verification) {
+        return new Builder(verification);
+    }
+
+    /**
+     * Resolves the name of the holder of a bank account, from the cache if possible
+     * @param accountNumber The account number
+     * @param bankCode The bank code from the bank list
+     * @return The API response
+     * @throws APIException if the account could not be resolved, possibly as a cached result
+     */
+    public JsonNode resolveAccount(String accountNumber, String bankCode) {
+        return await(resolve(accounts, accountKey(accountNumber, bankCode),
+                () -> verification.resolveAccountAsync(accountNumber, bankCode))).get();
+    }
+
+    /**
+     * Resolves the brand, type and issuing bank of a card, from the cache if possible
+     * @param bin The first 6 digits of the card number
+     * @return The API response
+     * @throws APIException if the BIN could not be resolved, possibly as a cached result
+     */
+    public JsonNode resolveCardBin(String bin) {
+        return await(resolve(bins, binKey(bin), () -> verification.resolveCardBinAsync(bin))).get();
+    }
+
+    /**
+     * Resolves many accounts. Duplicate inputs are resolved once, cached results are used as is
+     * and the remaining lookups are sent with bounded concurrency.
+     *
+     * @param accounts The accounts to resolve
+     * @return The result of each distinct account, in the order of first appearance; lookups that
+     *         failed without a verdict, e.g. on a network error, carry their error but are not cached
+     */
+    public Map<Account, Result> resolveAll(Collection<Account> accounts) {
+        Map<Account, Object> keys = new LinkedHashMap<>();
+        for (Account account : accounts) {
+            keys.computeIfAbsent(account, a -> accountKey(a.accountNumber, a.bankCode));
+        }
+        return resolveAll(keys, this.accounts,
+                account -> () -> verification.resolveAccountAsync(account.accountNumber, account.bankCode));
+    }
+
+    /**
+     * Resolves many card BINs. Duplicate inputs are resolved once, cached results are used as is
+     * and the remaining lookups are sent with bounded concurrency.
+     *
+     * @param bins The BINs to resolve
+     * @return The result of each distinct BIN, in the order of first appearance; lookups that
+     *         failed without a verdict, e.g. on a network error, carry their error but are not cached
+     */
+    public Map<String, Result> resolveAllBins(Collection<String> bins) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String bin : bins) {
+            keys.computeIfAbsent(bin, VerificationCache::binKey);
+        }
+        return resolveAll(keys, this.bins, bin -> () -> verification.resolveCardBinAsync(bin));
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups sent to Paystack
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of cached account and BIN results
+     * @return The number of entries
+     */
+    public int size() {
+        return accounts.size() + bins.size();
+    }
+
+    /**
+     * Drops every cached result
+     */
+    public void clear() {
+        accounts.clear();
+        bins.clear();
+    }
+
+    private <I> Map<I, Result> resolveAll(Map<I, Object> keys, ConcurrentHashMap<Object, Result> cache,
+                                          Function<I, Supplier<CompletableFuture<JsonNode>>> call) {
+        Map<I, CompletableFuture<Result>> pending = new LinkedHashMap<>();
+        Semaphore permits = new Semaphore(concurrency);
+        for (Map.Entry<I, Object> input : keys.entrySet()) {
+            Result cached = lookup(cache, input.getValue());
+            if (cached != null) {
+                pending.put(input.getKey(), CompletableFuture.completedFuture(cached));
+                continue;
+            }
+            permits.acquireUninterruptibly();
+            CompletableFuture<Result> result = fetch(cache, input.getValue(), call.apply(input.getKey()));
+            result.whenComplete((value, error) -> permits.release());
+            pending.put(input.getKey(), result);
+        }
+        Map<I, Result> results = new LinkedHashMap<>();
+        pending.forEach((input, result) -> results.put(input, result
+                .handle((value, error) -> error == null ? value : new Result(null, unwrap(error), 0))
+                .join()));
+        return Collections.unmodifiableMap(results);
+    }
+
+    private CompletableFuture<Result> resolve(ConcurrentHashMap<Object, Result> cache, Object key,
+                                              Supplier<CompletableFuture<JsonNode>> call) {
+        Result cached = lookup(cache, key);
+        return cached != null ? CompletableFuture.completedFuture(cached) : fetch(cache, key, call);
+    }
+
+    private Result lookup(ConcurrentHashMap<Object, Result> cache, Object key) {
+        Result cached = cache.get(key);
+        if (cached != null && System.nanoTime() - cached.expiresAt < 0) {
+            hits.increment();
+            return cached;
+        }
+        return null;
+    }
+
+    /**
+     * Sends a lookup and caches its result; a failure that is not cacheable completes the
+     * future exceptionally
+     */
+    private CompletableFuture<Result> fetch(ConcurrentHashMap<Object, Result> cache, Object key,
+                                            Supplier<CompletableFuture<JsonNode>> call) {
+        misses.increment();
+        return call.get().handle((response, error) -> {
+            long now = System.nanoTime();
+            Result result;
+            if (error == null) {
+                result = new Result(response, null, now + positiveNanos);
+            } else {
+                APIException failure = unwrap(error);
+                if (!isNegative(failure)) {
+                    throw failure;
+                }
+                result = new Result(null, failure, now + negativeNanos);
+            }
+            cache.put(key, result);
+            if (cache.size() > maxEntries) {
+                evict(cache, now);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Drops expired entries, then arbitrary ones until the cache is at 90% of its maximum size
+     */
+    private synchronized void evict(ConcurrentHashMap<Object, Result> cache, long now) {
+        if (cache.size() <= maxEntries) {
+            return;
+        }
+        cache.values().removeIf(result -> now - result.expiresAt >= 0);
+        int target = maxEntries - maxEntries / 10;
+        Iterator<Object> keys = cache.keySet().iterator();
+        while (cache.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Tells whether Paystack rejected the lookup itself, rather than failing to answer it
+     */
+    private static boolean isNegative(APIException failure) {
+        int status = failure.getStatusCode();
+        return status >= 400 && status < 500 && status != 429;
+    }
+
+    private static Result await(CompletableFuture<Result> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static APIException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof APIException ? (APIException) cause
+                : new APIException("Verification lookup failed", cause instanceof Exception ? (Exception) cause : null);
+    }
+
+    /**
+     * Packs a numeric bank code of up to 5 digits and a numeric account number of up to 12 digits
+     * into one long, keeping their lengths so leading zeros are significant
+     */
+    private static Object accountKey(String accountNumber, String bankCode) {
+        long account = digits(accountNumber, 12);
+        long bank = digits(bankCode, 5);
+        if (account < 0 || bank < 0) {
+            return bankCode + ':' + accountNumber;
+        }
+        return ((long) bankCode.length() << 61) | (bank << 44) | ((long) accountNumber.length() << 40) | account;
+    }
+
+    /**
+     * Packs a numeric BIN of up to 12 digits into one long, keeping its length
+     */
+    private static Object binKey(String bin) {
+        long value = digits(bin, 12);
+        return value < 0 ? bin : ((long) bin.length() << 56) | value;
+    }
+
+    /**
+     * Parses a string of 1 to maxLength ASCII digits
+     * @return The value, or -1 if the string does not qualify
+     */
+    private static long digits(String value, int maxLength) {
+        int length = value.length();
+        if (length == 0 || length > maxLength) {
+            return -1;
+        }
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * A bank account to resolve
+     */
+    public static final class Account {
+        private final String accountNumber;
+        private final String bankCode;
+
+        private Account(String accountNumber, String bankCode) {
+            this.accountNumber = Objects.requireNonNull(accountNumber, "accountNumber");
+            this.bankCode = Objects.requireNonNull(bankCode, "bankCode");
+        }
+
+        /**
+         * Creates an account to resolve
+         * @param accountNumber The account number
+         * @param bankCode The bank code from the bank list
+         * @return The account
+         */
+        public static Account of(String accountNumber, String bankCode) {
+            return new Account(accountNumber, bankCode);
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public String getBankCode() {
+            return bankCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Account)) {
+                return false;
+            }
+            Account other = (Account) o;
+            return accountNumber.equals(other.accountNumber) && bankCode.equals(other.bankCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * bankCode.hashCode() + accountNumber.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return bankCode + "/" + accountNumber;
+        }
+    }
+
+    /**
+     * The outcome of a lookup: the API response if it resolved, the rejection otherwise
+     */
+    public static final class Result {
+        private final JsonNode response;
+        private final APIException error;
+        private final long expiresAt;
+
+        private Result(JsonNode response, APIException error, long expiresAt) {
+            this.response = response;
+            this.error = error;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Tells whether the lookup resolved
+         * @return true if Paystack resolved the input
+         */
+        public boolean isResolved() {
+            return error == null;
+        }
+
+        /**
+         * Gets the API response of a resolved lookup
+         * @return The response, or null if the lookup was rejected
+         */
+        public JsonNode getResponse() {
+            return response;
+        }
+
+        /**
+         * Gets the rejection of a lookup Paystack could not resolve
+         * @return The error, or null if the lookup resolved
+         */
+        public APIException getError() {
+            return error;
+        }
+
+        /**
+         * Gets the API response, or throws the rejection
+         * @return The response
+         * @throws APIException if the lookup was rejected
+         */
+        public JsonNode get() {
+            if (error != null) {
+                throw new APIException(error.getMessage(), error.getStatusCode(), error.getRetryAfter());
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Builder for {@link VerificationCache}.
+     */
+    public static final class Builder {
+        private final Verification verification;
+        private Duration positiveTtl = Duration.ofHours(24);
+        private Duration negativeTtl = Duration.ofMinutes(10);
+        private int maxEntries = 100_000;
+        private int concurrency = 8;
+
+        private Builder(Verification verification) {
+            this.verification = verification;
+        }
+
+        /**
+         * Sets how long a resolved lookup is kept, 24 hours by default
+         * @param positiveTtl The time to live of resolved lookups
+         * @return The builder instance for chaining
+         */
+        public Builder positiveTtl(Duration positiveTtl) {
+            this.positiveTtl = positiveTtl;
+            return this;
+        }
+
+        /**
+         * Sets how long a rejected lookup is kept, 10 minutes by default
+         * @param negativeTtl The time to live of rejected lookups, zero to not cache them
+         * @return The builder instance for chaining
+         */
+        public Builder negativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached results of each kind, 100,000 by default
+         * @param maxEntries The maximum number of entries
+         * @return The builder instance for chaining
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("maxEntries must be at least 1");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of lookups {@code resolveAll} sends at once, 8 by default
+         * @param concurrency The maximum number of concurrent lookups
+         * @return The builder instance for chaining
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("concurrency must be at least 1");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Builds the cache
+         * @return A new verification cache
+         */
+        public VerificationCache build() {
+            return new VerificationCache(this);
+        }
+    }
+}
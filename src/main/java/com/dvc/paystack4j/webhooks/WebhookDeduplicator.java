@@ -0,0 +1,414 @@
+package com.dvc.paystack4j.webhooks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Remembers the webhook events seen within a time window, so redelivered events are handled once.
+ *
+ * <p>Events are identified by a 64-bit key, by default derived from the event name and the
+ * {@code id}, or else {@code reference}, and {@code status} of its data; events without either
+ * are identified by their whole body. Keys live in an open-addressing hash table of
+ * {@code (key, expiry)} pairs of primitive longs held off-heap, so checking an event neither boxes
+ * nor allocates. When a file is configured the table is a memory-mapped file, which survives
+ * restarts and is written back by the operating system.</p>
+ *
+ * <p>Expired slots are reused by later inserts. When three quarters of the slots are taken the
+ * table is compacted, and if the live keys alone exceed half the slots, the keys closest to
+ * expiry are dropped. The table never grows, so its footprint is fixed at 16 bytes per slot.</p>
+ *
+ * <pre>{@code
+ * WebhookDeduplicator seen = WebhookDeduplicator.builder()
+ *         .window(Duration.ofHours(72))
+ *         .file(Path.of("/var/lib/payments/webhooks.dedup"))
+ *         .build();
+ * WebhookDispatcher dispatcher = WebhookDispatcher.builder(secretKey)
+ *         .deduplicate(seen)
+ *         ...
+ * }</pre>
+ */
+public final class WebhookDeduplicator implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WebhookDeduplicator.class);
+
+    private static final long MAGIC = 0x5053344A44445550L;
+    private static final int HEADER_LONGS = 2;
+    private static final long EMPTY = 0;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long windowMillis;
+    private final int capacity;
+    private final int mask;
+    private final int threshold;
+    private final ByteBuffer buffer;
+    private final LongBuffer slots;
+    private int occupied;
+
+    private WebhookDeduplicator(Builder builder) {
+        this.windowMillis = builder.window.toMillis();
+        this.capacity = Integer.highestOneBit(Math.max(16, builder.maxEntries * 2 - 1)) << 1;
+        this.mask = capacity - 1;
+        this.threshold = capacity / 4 * 3;
+        long bytes = (HEADER_LONGS + 2L * capacity) * Long.BYTES;
+        this.buffer = builder.file != null ? map(builder.file, bytes) : ByteBuffer.allocateDirect((int) bytes);
+        this.slots = buffer.asLongBuffer();
+        if (slots.get(0) != MAGIC || slots.get(1) != capacity) {
+            if (slots.get(0) != 0) {
+                log.warn("Discarding webhook deduplication file {} with an unrecognized header", builder.file);
+            }
+            clear();
+        } else {
+            for (int i = 0; i < capacity; i++) {
+                if (key(i) != EMPTY) {
+                    occupied++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a builder for a deduplicator
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Records a key as seen
+     * @param key The event key, e.g. from {@link #hash(CharSequence)}
+     * @return true if the key was not seen within the window, i.e. the event should be handled
+     */
+    public synchronized boolean markSeen(long key) {
+        key = normalize(key);
+        long now = System.currentTimeMillis();
+        int reusable = -1;
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            long slotKey = key(i);
+            if (slotKey == EMPTY) {
+                if (reusable < 0) {
+                    reusable = i;
+                    occupied++;
+                }
+                put(reusable, key, now + windowMillis);
+                if (occupied > threshold) {
+                    compact(now);
+                }
+                return true;
+            }
+            boolean expired = expiry(i) - now <= 0;
+            if (slotKey == key) {
+                if (!expired) {
+                    return false;
+                }
+                put(i, key, now + windowMillis);
+                return true;
+            }
+            if (expired && reusable < 0) {
+                reusable = i;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a key was seen within the window, without recording it
+     * @param key The event key
+     * @return true if the key was seen
+     */
+    public synchronized boolean contains(long key) {
+        int slot = find(normalize(key));
+        return slot >= 0 && expiry(slot) - System.currentTimeMillis() > 0;
+    }
+
+    /**
+     * Forgets a key, e.g. because handling its event failed and the redelivery must be handled
+     * @param key The event key
+     */
+    public synchronized void forget(long key) {
+        int slot = find(normalize(key));
+        if (slot >= 0) {
+            slots.put(expiryIndex(slot), 0);
+        }
+    }
+
+    /**
+     * Counts the keys seen within the window by walking the table
+     * @return The number of live keys
+     */
+    public synchronized int size() {
+        long now = System.currentTimeMillis();
+        int live = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (key(i) != EMPTY && expiry(i) - now > 0) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Gets the number of slots of the table
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Forgets every key
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < HEADER_LONGS + 2 * capacity; i++) {
+            slots.put(i, 0);
+        }
+        slots.put(1, capacity);
+        slots.put(0, MAGIC);
+        occupied = 0;
+    }
+
+    /**
+     * Writes a memory-mapped table back to its file; the file stays usable after a crash of the
+     * process even without this, as the operating system writes mapped pages back on its own
+     */
+    @Override
+    public synchronized void close() {
+        if (buffer instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    /**
+     * Hashes a string to a 64-bit key without allocating
+     * @param value The value, e.g. an event name or reference
+     * @return The key
+     */
+    public static long hash(CharSequence value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Hashes bytes to a 64-bit key without allocating
+     * @param value The bytes, e.g. a raw request body
+     * @return The key
+     */
+    public static long hash(byte[] value) {
+        long hash = FNV_OFFSET;
+        for (byte b : value) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Derives the default key of an event
+     * @param event The parsed event
+     * @param body The raw body it was parsed from
+     * @return The key
+     */
+    static long keyOf(WebhookEvent event, byte[] body) {
+        JsonNode data = event.getData();
+        JsonNode id = data.get("id");
+        if (id == null || !id.isValueNode()) {
+            id = data.get("reference");
+        }
+        if (id == null || !id.isValueNode()) {
+            return hash(body);
+        }
+        long key = hash(event.getEvent());
+        key = mix(key ^ (id.isIntegralNumber() ? mix(id.longValue()) : hash(id.asText())));
+        JsonNode status = data.get("status");
+        if (status != null && status.isTextual()) {
+            key = mix(key ^ hash(status.textValue()));
+        }
+        return key;
+    }
+
+    /**
+     * The finalizer of MurmurHash3, spreading every input bit over the whole key
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long normalize(long key) {
+        return key == EMPTY ? 1 : key;
+    }
+
+    private int index(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private int find(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            long slotKey = key(i);
+            if (slotKey == EMPTY) {
+                return -1;
+            }
+            if (slotKey == key) {
+                return i;
+            }
+        }
+    }
+
+    private long key(int slot) {
+        return slots.get(HEADER_LONGS + 2 * slot);
+    }
+
+    private long expiry(int slot) {
+        return slots.get(expiryIndex(slot));
+    }
+
+    private static int expiryIndex(int slot) {
+        return HEADER_LONGS + 2 * slot + 1;
+    }
+
+    /**
+     * Writes a slot, expiry first, so a crash never leaves a key with a stale expiry behind
+     */
+    private void put(int slot, long key, long expiresAt) {
+        slots.put(expiryIndex(slot), expiresAt);
+        slots.put(HEADER_LONGS + 2 * slot, key);
+    }
+
+    /**
+     * Rehashes the live keys into an empty table, dropping the ones closest to expiry if more than
+     * half the slots would still be taken
+     */
+    private void compact(long now) {
+        long[] keys = new long[occupied];
+        long[] expiries = new long[occupied];
+        int live = 0;
+        for (int i = 0; i < capacity; i++) {
+            long key = key(i);
+            if (key != EMPTY && expiry(i) - now > 0) {
+                keys[live] = key;
+                expiries[live++] = expiry(i);
+            }
+        }
+        long cutoff = Long.MIN_VALUE;
+        int dropAtCutoff = 0;
+        if (live > capacity / 2) {
+            int drop = live - capacity / 2;
+            long[] sorted = Arrays.copyOf(expiries, live);
+            Arrays.sort(sorted);
+            cutoff = sorted[drop];
+            dropAtCutoff = drop;
+            for (int n = 0; n < drop && sorted[n] < cutoff; n++) {
+                dropAtCutoff--;
+            }
+            log.warn("Webhook deduplication table is full; forgetting the {} keys closest to expiry", drop);
+        }
+        clear();
+        for (int n = 0; n < live; n++) {
+            if (expiries[n] < cutoff || expiries[n] == cutoff && dropAtCutoff-- > 0) {
+                continue;
+            }
+            int i = index(keys[n]);
+            while (key(i) != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            put(i, keys[n], expiries[n]);
+            occupied++;
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, long bytes) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size != bytes) {
+                if (size > 0) {
+                    log.warn("Discarding webhook deduplication file {} of {} bytes, written with another "
+                            + "maxEntries; {} bytes expected", file, size, bytes);
+                }
+                channel.truncate(0);
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map webhook deduplication file " + file, e);
+        }
+    }
+
+    /**
+     * Builder for {@link WebhookDeduplicator}.
+     */
+    public static final class Builder {
+        private Duration window = Duration.ofHours(72);
+        private int maxEntries = 1 << 20;
+        private Path file;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets how long a seen event is remembered, 72 hours by default, which covers Paystack's
+         * redelivery schedule
+         * @param window The time window
+         * @return The builder instance for chaining
+         */
+        public Builder window(Duration window) {
+            if (window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("window must be positive");
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Sets the number of events the table is sized for, about a million by default; the table
+         * takes 32 to 64 bytes per entry
+         * @param maxEntries The expected maximum number of events within the window
+         * @return The builder instance for chaining
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries < 1 || maxEntries > 1 << 24) {
+                throw new IllegalArgumentException("maxEntries must be between 1 and 2^24");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Keeps the table in a memory-mapped file on local disk, so it survives restarts. A file
+         * written with a different maxEntries is discarded.
+         * @param file The file, created if it does not exist
+         * @return The builder instance for chaining
+         */
+        public Builder file(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        /**
+         * Builds the deduplicator, mapping and loading its file if one is configured
+         * @return A new webhook deduplicator
+         * @throws UncheckedIOException if the file cannot be mapped
+         */
+        public WebhookDeduplicator build() {
+            return new WebhookDeduplicator(this);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.dvc.paystack4j.webhooks;
+
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Verifies webhook requests and dispatches their events to the handlers registered for them.
+ *
+ * <p>Independent of any HTTP server: pass the raw body and the {@code x-paystack-signature}
+ * header to {@link #handle(byte[], String)} from a servlet, a framework controller or the
+ * embedded {@link WebhookReceiver}, and answer with the returned status code. The body is read
+ * into a single array, which is both verified and parsed without being copied.</p>
+ *
+ * <pre>{@code
+ * WebhookDispatcher dispatcher = WebhookDispatcher.builder(secretKey)
+ *         .on(WebhookEvent.CHARGE_SUCCESS, Charge.class, orders::markPaid)
+ *         .on(WebhookEvent.TRANSFER_FAILED, event -> payouts.retry(event.getData()))
+ *         .build();
+ * int status = dispatcher.handle(body, request.getHeader(WebhookVerifier.SIGNATURE_HEADER));
+ * }</pre>
+ *
+ * <p>Handlers run on the calling thread. An event without handlers is acknowledged, so Paystack
+ * does not deliver it again. With a {@link WebhookDeduplicator}, redelivered events are
+ * acknowledged without running their handlers.</p>
+ */
+public final class WebhookDispatcher {
+    /** The event was handled, or had no handlers */
+    public static final int OK = 200;
+    /** The body is not a webhook event */
+    public static final int BAD_REQUEST = 400;
+    /** The signature is missing or does not match the body */
+    public static final int UNAUTHORIZED = 401;
+    /** The body is larger than the maximum body size */
+    public static final int PAYLOAD_TOO_LARGE = 413;
+    /** A handler failed; Paystack will deliver the event again */
+    public static final int ERROR = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDispatcher.class);
+
+    private final WebhookVerifier verifier;
+    private final Map<String, List<WebhookHandler<WebhookEvent>>> handlers;
+    private final List<WebhookHandler<WebhookEvent>> fallback;
+    private final int maxBodySize;
+    private final WebhookDeduplicator deduplicator;
+    private final ToLongFunction<WebhookEvent> deduplicationKey;
+
+    private WebhookDispatcher(Builder builder) {
+        Map<String, List<WebhookHandler<WebhookEvent>>> handlers = new HashMap<>();
+        builder.handlers.forEach((event, list) ->
+                handlers.put(event, Collections.unmodifiableList(new ArrayList<>(list))));
+        this.verifier = builder.verifier;
+        this.handlers = handlers;
+        this.fallback = Collections.unmodifiableList(new ArrayList<>(builder.fallback));
+        this.maxBodySize = builder.maxBodySize;
+        this.deduplicator = builder.deduplicator;
+        this.deduplicationKey = builder.deduplicationKey;
+    }
+
+    /**
+     * Creates a builder for a dispatcher that verifies requests with a secret key
+     * @param secretKey The Paystack secret key of the integration receiving the webhooks
+     * @return A new builder
+     */
+    public static Builder builder(String secretKey) {
+        return new Builder(new WebhookVerifier(secretKey));
+    }
+
+    /**
+     * Creates a builder for a dispatcher that verifies requests with an existing verifier
+     * @param verifier The verifier, which may be shared
+     * @return A new builder
+     */
+    public static Builder builder(WebhookVerifier verifier) {
+        return new Builder(verifier);
+    }
+
+    /**
+     * Reads, verifies and dispatches a webhook request
+     * @param body The request body stream; it is read to the end but not closed
+     * @param signature The value of the {@code x-paystack-signature} header, may be null
+     * @return The HTTP status code to answer with
+     * @throws IOException if the body cannot be read
+     */
+    public int handle(InputStream body, String signature) throws IOException {
+        if (signature == null) {
+            return UNAUTHORIZED;
+        }
+        byte[] bytes = body.readNBytes(maxBodySize + 1);
+        if (bytes.length > maxBodySize) {
+            return PAYLOAD_TOO_LARGE;
+        }
+        return handle(bytes, signature);
+    }
+
+    /**
+     * Verifies and dispatches a webhook request
+     * @param body The raw request body
+     * @param signature The value of the {@code x-paystack-signature} header, may be null
+     * @return The HTTP status code to answer with
+     */
+    public int handle(byte[] body, String signature) {
+        if (body.length > maxBodySize) {
+            return PAYLOAD_TOO_LARGE;
+        }
+        if (!verifier.verify(body, signature)) {
+            log.warn("Rejected a webhook request with an invalid signature");
+            return UNAUTHORIZED;
+        }
+        WebhookEvent event = parse(body);
+        if (event == null) {
+            return BAD_REQUEST;
+        }
+        long key = 0;
+        if (deduplicator != null) {
+            key = deduplicationKey != null
+                    ? deduplicationKey.applyAsLong(event)
+                    : WebhookDeduplicator.keyOf(event, body);
+            if (!deduplicator.markSeen(key)) {
+                log.debug("Acknowledged a redelivered {} event", event.getEvent());
+                return OK;
+            }
+        }
+        List<WebhookHandler<WebhookEvent>> targets = handlers.getOrDefault(event.getEvent(), fallback);
+        for (WebhookHandler<WebhookEvent> handler : targets) {
+            try {
+                handler.handle(event);
+            } catch (Exception e) {
+                log.error("Webhook handler for {} failed", event.getEvent(), e);
+                if (deduplicator != null) {
+                    deduplicator.forget(key);
+                }
+                return ERROR;
+            }
+        }
+        return OK;
+    }
+
+    /**
+     * Gets the verifier requests are checked with
+     * @return The verifier
+     */
+    public WebhookVerifier getVerifier() {
+        return verifier;
+    }
+
+    private static WebhookEvent parse(byte[] body) {
+        try {
+            JsonNode payload = ResponseDecoder.mapper().readTree(body);
+            if (payload == null || !payload.path("event").isTextual()) {
+                return null;
+            }
+            return new WebhookEvent(payload.get("event").asText(), payload);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builder for {@link WebhookDispatcher}.
+     */
+    public static final class Builder {
+        private final WebhookVerifier verifier;
+        private final Map<String, List<WebhookHandler<WebhookEvent>>> handlers = new HashMap<>();
+        private final List<WebhookHandler<WebhookEvent>> fallback = new ArrayList<>();
+        private int maxBodySize = 1024 * 1024;
+        private WebhookDeduplicator deduplicator;
+        private ToLongFunction<WebhookEvent> deduplicationKey;
+
+        private Builder(WebhookVerifier verifier) {
+            this.verifier = verifier;
+        }
+
+        /**
+         * Registers a handler for an event; handlers of the same event run in registration order
+         * @param event The event name, e.g. {@link WebhookEvent#CHARGE_SUCCESS}
+         * @param handler The handler
+         * @return The builder instance for chaining
+         */
+        public Builder on(String event, WebhookHandler<WebhookEvent> handler) {
+            handlers.computeIfAbsent(event, e -> new ArrayList<>()).add(handler);
+            return this;
+        }
+
+        /**
+         * Registers a handler for the data of an event, bound to a type
+         * @param event The event name, e.g. {@link WebhookEvent#CHARGE_SUCCESS}
+         * @param type The type the {@code data} object is bound to
+         * @param handler The handler
+         * @return The builder instance for chaining
+         */
+        public <T> Builder on(String event, Class<T> type, WebhookHandler<? super T> handler) {
+            return on(event, webhookEvent -> handler.handle(webhookEvent.getDataAs(type)));
+        }
+
+        /**
+         * Registers a handler for events that have no handler of their own
+         * @param handler The handler
+         * @return The builder instance for chaining
+         */
+        public Builder otherwise(WebhookHandler<WebhookEvent> handler) {
+            fallback.add(handler);
+            return this;
+        }
+
+        /**
+         * Acknowledges redelivered events without running their handlers again. An event whose
+         * handler fails is forgotten, so its redelivery is handled.
+         * @param deduplicator The store of seen events, which may be shared
+         * @return The builder instance for chaining
+         */
+        public Builder deduplicate(WebhookDeduplicator deduplicator) {
+            return deduplicate(deduplicator, null);
+        }
+
+        /**
+         * Acknowledges redelivered events without running their handlers again, identifying events
+         * by a custom key
+         * @param deduplicator The store of seen events, which may be shared
+         * @param key Derives the key of an event, e.g. with {@link WebhookDeduplicator#hash(CharSequence)}
+         * @return The builder instance for chaining
+         */
+        public Builder deduplicate(WebhookDeduplicator deduplicator, ToLongFunction<WebhookEvent> key) {
+            this.deduplicator = deduplicator;
+            this.deduplicationKey = key;
+            return this;
+        }
+
+        /**
+         * Sets the largest accepted request body, 1 MiB by default
+         * @param maxBodySize The maximum body size in bytes
+         * @return The builder instance for chaining
+         */
+        public Builder maxBodySize(int maxBodySize) {
+            if (maxBodySize < 1) {
+                throw new IllegalArgumentException("maxBodySize must be positive");
+            }
+            this.maxBodySize = maxBodySize;
+            return this;
+        }
+
+        /**
+         * Builds the dispatcher
+         * @return A new webhook dispatcher
+         */
+        public WebhookDispatcher build() {
+            return new WebhookDispatcher(this);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.dvc.paystack4j.webhooks;
+
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A verified webhook event, parsed once from the request body.
+ *
+ * <p>Paystack sends events as {@code {"event": "charge.success", "data": {...}}}. The constants
+ * of this class name the most common events.</p>
+ */
+public final class WebhookEvent {
+    public static final String CHARGE_SUCCESS = "charge.success";
+    public static final String CHARGE_DISPUTE_CREATE = "charge.dispute.create";
+    public static final String CHARGE_DISPUTE_REMIND = "charge.dispute.remind";
+    public static final String CHARGE_DISPUTE_RESOLVE = "charge.dispute.resolve";
+    public static final String CUSTOMER_IDENTIFICATION_SUCCESS = "customeridentification.success";
+    public static final String CUSTOMER_IDENTIFICATION_FAILED = "customeridentification.failed";
+    public static final String DEDICATED_ACCOUNT_ASSIGN_SUCCESS = "dedicatedaccount.assign.success";
+    public static final String DEDICATED_ACCOUNT_ASSIGN_FAILED = "dedicatedaccount.assign.failed";
+    public static final String INVOICE_CREATE = "invoice.create";
+    public static final String INVOICE_UPDATE = "invoice.update";
+    public static final String INVOICE_PAYMENT_FAILED = "invoice.payment_failed";
+    public static final String PAYMENT_REQUEST_PENDING = "paymentrequest.pending";
+    public static final String PAYMENT_REQUEST_SUCCESS = "paymentrequest.success";
+    public static final String REFUND_FAILED = "refund.failed";
+    public static final String REFUND_PENDING = "refund.pending";
+    public static final String REFUND_PROCESSED = "refund.processed";
+    public static final String SUBSCRIPTION_CREATE = "subscription.create";
+    public static final String SUBSCRIPTION_DISABLE = "subscription.disable";
+    public static final String SUBSCRIPTION_NOT_RENEW = "subscription.not_renew";
+    public static final String TRANSFER_SUCCESS = "transfer.success";
+    public static final String TRANSFER_FAILED = "transfer.failed";
+    public static final String TRANSFER_REVERSED = "transfer.reversed";
+
+    private final String event;
+    private final JsonNode payload;
+
+    WebhookEvent(String event, JsonNode payload) {
+        this.event = event;
+        this.payload = payload;
+    }
+
+    /**
+     * Gets the name of the event
+     * @return The event name, e.g. {@value #CHARGE_SUCCESS}
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * Gets the {@code data} object of the event
+     * @return The event data, a missing node if the event has none
+     */
+    public JsonNode getData() {
+        return payload.path("data");
+    }
+
+    /**
+     * Binds the {@code data} object of the event to a type
+     * @param type The type to bind to; unknown properties are ignored
+     * @return The event data
+     * @throws IllegalArgumentException if the data cannot be bound to the type
+     */
+    public <T> T getDataAs(Class<T> type) {
+        if (type == JsonNode.class) {
+            return type.cast(getData());
+        }
+        try {
+            return ResponseDecoder.mapper().treeToValue(getData(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to bind " + event + " data to " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Gets the whole event document
+     * @return The root node of the request body
+     */
+    public JsonNode getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "WebhookEvent{" + event + "}";
+    }
+}
@@ -0,0 +1,18 @@
+package com.dvc.paystack4j.webhooks;
+
+/**
+ * Handles webhook events, or their data bound to a type
+ *
+ * @param <T> Type of what is handled, {@link WebhookEvent} for the event itself
+ */
+@FunctionalInterface
+public interface WebhookHandler<T> {
+    /**
+     * Handles an event. A handler that throws makes the receiver answer with a 500, so Paystack
+     * delivers the event again later.
+     *
+     * @param value The event or its data
+     * @throws Exception if the event could not be handled
+     */
+    void handle(T value) throws Exception;
+}
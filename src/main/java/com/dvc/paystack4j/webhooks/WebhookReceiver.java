@@ -0,0 +1,192 @@
+package com.dvc.paystack4j.webhooks;
+
+import com.dvc.paystack4j.common.VirtualThreadDispatcher;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP endpoint that receives Paystack webhooks, built on the JDK's
+ * {@code com.sun.net.httpserver}.
+ *
+ * <p>Each request is served on its own virtual thread when the JVM supports them, otherwise on a
+ * cached thread pool. POST requests to the configured path are passed to a
+ * {@link WebhookDispatcher} and answered with the status it returns; anything else is answered
+ * with a 404 or 405.</p>
+ *
+ * <pre>{@code
+ * try (WebhookReceiver receiver = WebhookReceiver.builder(dispatcher).port(8080).path("/paystack").build()) {
+ *     receiver.start();
+ *     ...
+ * }
+ * }</pre>
+ */
+public final class WebhookReceiver implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WebhookReceiver.class);
+
+    private final WebhookDispatcher dispatcher;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String path;
+    private final Duration shutdownGrace;
+
+    private WebhookReceiver(Builder builder) {
+        ExecutorService virtualThreads = VirtualThreadDispatcher.newVirtualThreadExecutor();
+        this.dispatcher = builder.dispatcher;
+        this.path = builder.path;
+        this.shutdownGrace = builder.shutdownGrace;
+        this.executor = virtualThreads != null ? virtualThreads : Executors.newCachedThreadPool();
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+        } catch (IOException e) {
+            executor.shutdown();
+            throw new UncheckedIOException("Unable to bind the webhook receiver to " + builder.host + ":" +
+                    builder.port, e);
+        }
+        server.setExecutor(executor);
+        server.createContext(path, this::serve);
+    }
+
+    /**
+     * Creates a builder for a receiver that passes requests to a dispatcher
+     * @param dispatcher The dispatcher verifying and handling the requests
+     * @return A new builder
+     */
+    public static Builder builder(WebhookDispatcher dispatcher) {
+        return new Builder(dispatcher);
+    }
+
+    /**
+     * Starts accepting requests
+     */
+    public void start() {
+        server.start();
+        log.info("Receiving Paystack webhooks on port {} at {}", getPort(), path);
+    }
+
+    /**
+     * Gets the port the receiver listens on, which is useful when it was bound to port 0
+     * @return The local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits up to the shutdown grace period for requests in progress
+     * and releases the threads
+     */
+    @Override
+    public void close() {
+        server.stop((int) Math.max(0, shutdownGrace.getSeconds()));
+        executor.shutdown();
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            int status;
+            if (!path.equals(exchange.getRequestURI().getPath())) {
+                status = 404;
+            } else if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                status = 405;
+            } else {
+                status = dispatcher.handle(body,
+                        exchange.getRequestHeaders().getFirst(WebhookVerifier.SIGNATURE_HEADER));
+            }
+            exchange.sendResponseHeaders(status, -1);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to serve a webhook request", e);
+            exchange.sendResponseHeaders(WebhookDispatcher.ERROR, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Builder for {@link WebhookReceiver}.
+     */
+    public static final class Builder {
+        private final WebhookDispatcher dispatcher;
+        private String host = "0.0.0.0";
+        private int port = 8080;
+        private String path = "/webhooks/paystack";
+        private int backlog;
+        private Duration shutdownGrace = Duration.ofSeconds(5);
+
+        private Builder(WebhookDispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+        }
+
+        /**
+         * Sets the address to bind to, all interfaces by default
+         * @param host The host name or IP address
+         * @return The builder instance for chaining
+         */
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * Sets the port to listen on, 8080 by default; 0 picks a free port
+         * @param port The port
+         * @return The builder instance for chaining
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the path webhooks are posted to, {@code /webhooks/paystack} by default
+         * @param path The path, starting with a slash
+         * @return The builder instance for chaining
+         */
+        public Builder path(String path) {
+            if (path == null || !path.startsWith("/")) {
+                throw new IllegalArgumentException("path must start with a slash");
+            }
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of queued incoming connections, the system default by default
+         * @param backlog The backlog
+         * @return The builder instance for chaining
+         */
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * Sets how long closing the receiver waits for requests in progress, 5 seconds by default
+         * @param shutdownGrace The grace period, rounded down to whole seconds
+         * @return The builder instance for chaining
+         */
+        public Builder shutdownGrace(Duration shutdownGrace) {
+            this.shutdownGrace = shutdownGrace;
+            return this;
+        }
+
+        /**
+         * Binds the receiver; it accepts requests once started
+         * @return A new webhook receiver
+         * @throws UncheckedIOException if the address cannot be bound
+         */
+        public WebhookReceiver build() {
+            return new WebhookReceiver(this);
+        }
+    }
+}
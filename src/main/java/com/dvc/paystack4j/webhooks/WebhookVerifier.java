@@ -0,0 +1,165 @@
+package com.dvc.paystack4j.webhooks;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the {@code x-paystack-signature} header of webhook requests.
+ *
+ * <p>Paystack signs the raw request body with HMAC-SHA512, keyed with the secret key, and sends
+ * the hex encoded digest. Initialised {@link Mac} instances are pooled together with the buffers
+ * of the expected and computed digests, so verifying a request allocates nothing once the pool is
+ * warm. The digests are compared with {@link MessageDigest#isEqual}, which takes the same time
+ * wherever they differ.</p>
+ *
+ * <p>Thread-safe. A pool is used rather than a {@link ThreadLocal}: on virtual threads, which
+ * live for a single request, a thread-local instance would never be reused.</p>
+ */
+public final class WebhookVerifier {
+    /** Name of the header carrying the signature */
+    public static final String SIGNATURE_HEADER = "x-paystack-signature";
+
+    private static final String ALGORITHM = "HmacSHA512";
+    private static final int DIGEST_LENGTH = 64;
+    private static final int MAX_POOLED = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final SecretKeySpec key;
+    private final ConcurrentLinkedQueue<Signer> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Creates a verifier
+     * @param secretKey The Paystack secret key of the integration receiving the webhooks
+     * @throws IllegalArgumentException if the secretKey is null or empty
+     */
+    public WebhookVerifier(String secretKey) {
+        if (secretKey == null || secretKey.isEmpty()) {
+            throw new IllegalArgumentException("Secret key cannot be null or empty");
+        }
+        this.key = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        release(newSigner());
+    }
+
+    /**
+     * Checks the signature of a request body
+     * @param body The raw request body
+     * @param signature The value of the {@code x-paystack-signature} header, may be null
+     * @return true if the signature matches the body
+     */
+    public boolean verify(byte[] body, String signature) {
+        return verify(body, 0, body.length, signature);
+    }
+
+    /**
+     * Checks the signature of a request body held in part of an array
+     * @param body The buffer holding the raw request body
+     * @param offset The offset of the body in the buffer
+     * @param length The length of the body
+     * @param signature The value of the {@code x-paystack-signature} header, may be null
+     * @return true if the signature matches the body
+     */
+    public boolean verify(byte[] body, int offset, int length, String signature) {
+        if (signature == null || signature.length() != DIGEST_LENGTH * 2) {
+            return false;
+        }
+        Signer signer = acquire();
+        try {
+            if (!decodeHex(signature, signer.expected)) {
+                return false;
+            }
+            signer.mac.update(body, offset, length);
+            signer.mac.doFinal(signer.actual, 0);
+            return MessageDigest.isEqual(signer.expected, signer.actual);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute the webhook signature", e);
+        } finally {
+            release(signer);
+        }
+    }
+
+    /**
+     * Computes the signature Paystack would send for a body, e.g. to replay or simulate webhooks
+     * @param body The raw request body
+     * @return The hex encoded HMAC-SHA512 digest
+     */
+    public String sign(byte[] body) {
+        Signer signer = acquire();
+        try {
+            signer.mac.update(body);
+            signer.mac.doFinal(signer.actual, 0);
+            char[] hex = new char[DIGEST_LENGTH * 2];
+            for (int i = 0; i < DIGEST_LENGTH; i++) {
+                hex[2 * i] = HEX[(signer.actual[i] >> 4) & 0xf];
+                hex[2 * i + 1] = HEX[signer.actual[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute the webhook signature", e);
+        } finally {
+            release(signer);
+        }
+    }
+
+    private Signer acquire() {
+        Signer signer = pool.poll();
+        if (signer == null) {
+            return newSigner();
+        }
+        pooled.decrementAndGet();
+        return signer;
+    }
+
+    private void release(Signer signer) {
+        signer.mac.reset();
+        if (pooled.incrementAndGet() <= MAX_POOLED) {
+            pool.offer(signer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    private Signer newSigner() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return new Signer(mac);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA512 is not available", e);
+        }
+    }
+
+    /**
+     * Decodes a hex string, in either case, into a buffer of half its length
+     * @return false if the string holds a character that is not a hex digit
+     */
+    private static boolean decodeHex(String hex, byte[] into) {
+        for (int i = 0; i < into.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            into[i] = (byte) (high << 4 | low);
+        }
+        return true;
+    }
+
+    /**
+     * An initialised Mac with the digest buffers it is used with
+     */
+    private static final class Signer {
+        private final Mac mac;
+        private final byte[] expected = new byte[DIGEST_LENGTH];
+        private final byte[] actual = new byte[DIGEST_LENGTH];
+
+        private Signer(Mac mac) {
+            this.mac = mac;
+        }
+    }
+}
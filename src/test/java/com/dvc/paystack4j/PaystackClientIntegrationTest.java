@@ -0,0 +1,150 @@
+package com.dvc.paystack4j;
+
+import com.dvc.paystack4j.common.ParallelPager;
+import com.dvc.paystack4j.config.ClientOptions;
+import com.dvc.paystack4j.config.RateLimitPolicy;
+import com.dvc.paystack4j.config.RetryPolicy;
+import com.dvc.paystack4j.exceptions.APIException;
+import com.dvc.paystack4j.services.BulkCharges;
+import com.dvc.paystack4j.testing.FakePaystackServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the client against {@link FakePaystackServer}, end to end over HTTP
+ */
+class PaystackClientIntegrationTest {
+    private static final String SECRET_KEY = "sk_test_fake";
+    private static final RetryPolicy RETRIES = RetryPolicy.builder()
+            .maxAttempts(3)
+            .backoff(Duration.ofMillis(10), Duration.ofMillis(100))
+            .build();
+
+    private FakePaystackServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = FakePaystackServer.builder().bulkChargeProcessingTime(Duration.ofMillis(100)).build().start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void listAllReadsEveryPage() {
+        Set<String> seeded = new HashSet<>(server.seedTransactions(230));
+        PaystackClient client = client(server.clientOptions());
+        long before = server.getRequestCount();
+        try (Stream<JsonNode> transactions = client.transactions().listAll(Map.of("perPage", 50))) {
+            assertEquals(seeded, transactions.map(node -> node.get("reference").asText()).collect(Collectors.toSet()));
+        }
+        assertEquals(5, server.getRequestCount() - before);
+    }
+
+    @Test
+    void listAllParallelReadsEveryPage() {
+        Set<String> seeded = new HashSet<>(server.seedTransactions(230));
+        PaystackClient client = client(server.clientOptions());
+        try (Stream<JsonNode> transactions = client.transactions().listAllParallel(Map.of("perPage", 50),
+                ParallelPager.builder().concurrency(3).build())) {
+            List<String> references = transactions.map(node -> node.get("reference").asText())
+                    .collect(Collectors.toList());
+            assertEquals(seeded.size(), references.size());
+            assertEquals(seeded, new HashSet<>(references));
+        }
+    }
+
+    @Test
+    void throttledCallIsRetriedAfterRetryAfter() {
+        String reference = server.seedTransactions(1).get(0);
+        PaystackClient client = client(server.clientOptions()
+                .retry(RETRIES)
+                .rateLimit(RateLimitPolicy.builder().build()));
+        server.failNext(1, 429);
+        long started = System.nanoTime();
+        JsonNode verified = client.transactions().verify(reference);
+        long elapsed = System.nanoTime() - started;
+        assertEquals(reference, verified.path("data").path("reference").asText());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, server.getThrottledCount());
+        assertTrue(elapsed >= Duration.ofMillis(900).toNanos(), "retried before Retry-After: " + elapsed);
+    }
+
+    @Test
+    void serverErrorsAreRetried() {
+        String reference = server.seedTransactions(1).get(0);
+        PaystackClient client = client(server.clientOptions().retry(RETRIES));
+        server.failNext(2, 503);
+        assertEquals(reference, client.transactions().verify(reference).path("data").path("reference").asText());
+        assertEquals(3, server.getRequestCount());
+
+        // a POST is retried too, as every POST carries an Idempotency-Key
+        server.failNext(1, 502);
+        JsonNode initialized = client.transactions().initialize(Map.of("email", "ada@example.com", "amount", 5000));
+        assertNotNull(server.find("transaction", initialized.path("data").path("reference").asText()));
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    void retriesStopAtMaxAttempts() {
+        String reference = server.seedTransactions(1).get(0);
+        PaystackClient client = client(server.clientOptions().retry(RETRIES));
+        server.failNext(3, 500);
+        APIException failure = assertThrows(APIException.class, () -> client.transactions().verify(reference));
+        assertEquals(500, failure.getStatusCode());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void bulkChargeRoundTrip() {
+        List<BulkCharges.Charge> charges = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            charges.add(BulkCharges.Charge.of("AUTH_" + i, 1000L + i));
+        }
+        PaystackClient client = client(server.clientOptions().retry(RETRIES));
+        List<BulkCharges.Result> results;
+        try (Stream<BulkCharges.Result> stream = client.bulkCharges().chargeAll(charges, BulkCharges.Options.builder()
+                .batchSize(10)
+                .concurrency(2)
+                .pollInterval(Duration.ofMillis(20))
+                .build())) {
+            results = stream.collect(Collectors.toList());
+        }
+        assertEquals(charges.size(), results.size());
+        Set<BulkCharges.Charge> matched = new HashSet<>();
+        Set<String> batches = new HashSet<>();
+        for (BulkCharges.Result result : results) {
+            assertTrue(result.isSuccessful(), result.toString());
+            assertTrue(matched.add(result.getCharge()), "charge reported twice: " + result);
+            batches.add(result.getBatchCode());
+        }
+        assertEquals(new HashSet<>(charges), matched);
+        assertEquals(3, batches.size());
+        for (String batch : batches) {
+            assertEquals("complete", server.find("bulkcharge", batch).path("status").asText());
+        }
+    }
+
+    private static PaystackClient client(ClientOptions.Builder options) {
+        return new PaystackClient.Impl(SECRET_KEY, options.build());
+    }
+}
@@ -0,0 +1,119 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.CircuitBreakerPolicy;
+import com.dvc.paystack4j.exceptions.APIException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+    private static final String GROUP = "transaction";
+
+    @Test
+    void opensOnceTheFailureRateIsReached() {
+        CircuitBreaker breaker = new CircuitBreaker(GROUP, CircuitBreakerPolicy.builder()
+                .window(4, 10).failureRateThreshold(0.5).openDuration(Duration.ofHours(1)).build());
+        for (int i = 0; i < 3; i++) {
+            breaker.acquire();
+            breaker.onSuccess();
+        }
+        breaker.acquire();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.acquire();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.acquire();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(APIException.class, breaker::acquire);
+    }
+
+    @Test
+    void closesAfterEveryProbeSucceeds() {
+        CircuitBreaker breaker = halfOpen(2);
+        breaker.acquire();
+        breaker.acquire();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void cancelledProbeIsReplacedAfterRejectedCalls() {
+        CircuitBreaker breaker = halfOpen(2);
+        breaker.acquire();
+        breaker.acquire();
+        assertThrows(APIException.class, breaker::acquire);
+        assertThrows(APIException.class, breaker::acquire);
+
+        breaker.onCancel();
+        breaker.onSuccess();
+
+        breaker.acquire();
+        assertThrows(APIException.class, breaker::acquire);
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failedProbeOpensAgain() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(GROUP, CircuitBreakerPolicy.builder()
+                .window(1, 10).openDuration(Duration.ofMillis(50)).halfOpenProbes(1).build());
+        breaker.acquire();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Thread.sleep(80);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquire();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(APIException.class, breaker::acquire);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheLimit() {
+        CircuitBreaker breaker = new CircuitBreaker(GROUP, CircuitBreakerPolicy.builder()
+                .maxConcurrentCalls(GROUP, 2).build());
+        breaker.acquire();
+        breaker.acquire();
+        assertEquals(2, breaker.getConcurrentCalls());
+        assertThrows(APIException.class, breaker::acquire);
+        breaker.onCancel();
+        breaker.acquire();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(0, breaker.getConcurrentCalls());
+    }
+
+    @Test
+    void fullBulkheadGivesBackTheProbe() {
+        CircuitBreaker breaker = new CircuitBreaker(GROUP, CircuitBreakerPolicy.builder()
+                .window(1, 10).openDuration(Duration.ZERO).halfOpenProbes(2).maxConcurrentCalls(GROUP, 1).build());
+        breaker.acquire();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquire();
+        assertThrows(APIException.class, breaker::acquire);
+        breaker.onSuccess();
+        breaker.acquire();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    /**
+     * Creates a breaker that trips on its first failure and goes half-open right away
+     */
+    private static CircuitBreaker halfOpen(int probes) {
+        CircuitBreaker breaker = new CircuitBreaker(GROUP, CircuitBreakerPolicy.builder()
+                .window(1, 10).openDuration(Duration.ZERO).halfOpenProbes(probes).build());
+        breaker.acquire();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,198 @@
+package com.dvc.paystack4j.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Test
+    void readsHeaderAndRecords() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("id, status ,amount\n1,success,500\n2,failed,70"), true)) {
+            assertEquals(Arrays.asList("id", "status", "amount"), csv.getHeader());
+            int status = csv.column("status");
+            assertTrue(csv.next());
+            assertEquals(1, csv.getRecordNumber());
+            assertTrue(csv.contentEquals(status, "success"));
+            assertEquals(500, csv.getLong(csv.column("amount")));
+            assertTrue(csv.next());
+            assertEquals("failed", csv.getString(status));
+            assertEquals(70, csv.getLong(2));
+            assertFalse(csv.next());
+            assertThrows(IllegalArgumentException.class, () -> csv.column("missing"));
+        }
+    }
+
+    @Test
+    void unquotesFields() throws IOException {
+        String input = "\"a,b\",\"say \"\"hi\"\"\",\"\",plain\n\"line\none\",\"cr\r\nlf\",x\"y\n";
+        assertEquals(Arrays.asList(
+                Arrays.asList("a,b", "say \"hi\"", "", "plain"),
+                Arrays.asList("line\none", "cr\r\nlf", "x\"y")), parse(input));
+    }
+
+    @Test
+    void acceptsLfCrlfAndCrLineEndings() throws IOException {
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d"), Arrays.asList("e", "f")),
+                parse("a,b\r\nc,d\re,f\r\n"));
+    }
+
+    @Test
+    void skipsBlankLinesButKeepsQuotedEmptyRecords() throws IOException {
+        assertEquals(Arrays.asList(Arrays.asList("a"), Arrays.asList(""), Arrays.asList("b")),
+                parse("\n\r\na\n\n\"\"\r\n\r\nb\n\n"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertEquals(Arrays.asList(Arrays.asList("", "", ""), Arrays.asList("x", "")), parse(",,\nx,"));
+    }
+
+    @Test
+    void skipsByteOrderMark() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("\uFEFFid,name\n1,Ada\n"), true)) {
+            assertEquals(0, csv.column("id"));
+            assertTrue(csv.next());
+            assertEquals("Ada", csv.getString(1));
+        }
+    }
+
+    @Test
+    void readsEmptyInput() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader(""), true)) {
+            assertTrue(csv.getHeader().isEmpty());
+            assertFalse(csv.next());
+        }
+    }
+
+    @Test
+    void parsesLongsAtTheLimits() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader(
+                "9223372036854775807,-9223372036854775808, +42 ,-0\n"), false)) {
+            assertTrue(csv.next());
+            assertEquals(Long.MAX_VALUE, csv.getLong(0));
+            assertEquals(Long.MIN_VALUE, csv.getLong(1));
+            assertEquals(42, csv.getLong(2));
+            assertEquals(0, csv.getLong(3));
+        }
+    }
+
+    @Test
+    void rejectsInvalidLongs() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader(
+                "9223372036854775808,-9223372036854775809,,-,1.5,12a, \n"), false)) {
+            assertTrue(csv.next());
+            for (int field = 0; field < csv.size(); field++) {
+                int index = field;
+                assertThrows(NumberFormatException.class, () -> csv.getLong(index), "field " + field);
+            }
+        }
+    }
+
+    @Test
+    void growsFieldBuffersForWideRecords() throws IOException {
+        StringBuilder input = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String field = "field-" + "x".repeat(i * 10);
+            expected.add(field);
+            input.append(i > 0 ? "," : "").append(field);
+        }
+        assertEquals(Arrays.asList(expected), parse(input.toString()));
+    }
+
+    @Test
+    void splitsCrlfAcrossBufferRefill() throws IOException {
+        String input = padTo(BUFFER_SIZE - 1) + "\r\nnext,row\n";
+        List<List<String>> records = parse(input);
+        assertEquals(2, records.size());
+        assertEquals(Arrays.asList("next", "row"), records.get(1));
+    }
+
+    @Test
+    void splitsEscapedQuoteAcrossBufferRefill() throws IOException {
+        // the two quotes of "" are the last char of one buffer and the first of the next
+        String prefix = "\"" + "q".repeat(BUFFER_SIZE - 2);
+        String input = prefix + "\"\"tail\",x\n";
+        List<List<String>> records = parse(input);
+        assertEquals(1, records.size());
+        assertEquals("q".repeat(BUFFER_SIZE - 2) + "\"tail", records.get(0).get(0));
+        assertEquals("x", records.get(0).get(1));
+    }
+
+    @Test
+    void splitsClosingQuoteFromDelimiterAcrossBufferRefill() throws IOException {
+        String input = "\"" + "q".repeat(BUFFER_SIZE - 2) + "\",x\n";
+        assertEquals(Arrays.asList(Arrays.asList("q".repeat(BUFFER_SIZE - 2), "x")), parse(input));
+    }
+
+    @Test
+    void parsesTheSameWhateverTheReadSizes() throws IOException {
+        String input = "\uFEFFa,\"b\"\"c\",\"d\r\ne\"\r\n\r\n\"\"\r\n,f,\"\"\"\"\rg";
+        List<List<String>> whole = parse(new StringReader(input));
+        assertEquals(Arrays.asList(
+                Arrays.asList("a", "b\"c", "d\r\ne"),
+                Arrays.asList(""),
+                Arrays.asList("", "f", "\""),
+                Arrays.asList("g")), whole);
+        assertEquals(whole, parse(new OneCharReader(input)));
+    }
+
+    private static String padTo(int length) {
+        return "p".repeat(length);
+    }
+
+    private static List<List<String>> parse(String input) throws IOException {
+        return parse(new StringReader(input));
+    }
+
+    private static List<List<String>> parse(Reader input) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader csv = new CsvReader(input, false)) {
+            while (csv.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < csv.size(); i++) {
+                    fields.add(csv.getString(i));
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Hands out one char per read, so every char boundary is also a buffer boundary
+     */
+    private static final class OneCharReader extends Reader {
+        private final String text;
+        private int position;
+
+        private OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
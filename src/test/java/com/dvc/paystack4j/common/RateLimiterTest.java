@@ -0,0 +1,98 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.RateLimitPolicy;
+import com.dvc.paystack4j.exceptions.APIException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+    private static final String GROUP = "transaction";
+    private static final long INTERVAL = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void admitsABurstThenSpacesRequests() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.builder().requestsPerSecond(10).burst(3).build());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.reserve(GROUP), "request " + i);
+        }
+        long fourth = limiter.reserve(GROUP);
+        long fifth = limiter.reserve(GROUP);
+        assertTrue(fourth > INTERVAL / 2 && fourth <= INTERVAL, "fourth waits " + fourth);
+        assertTrue(fifth > fourth + INTERVAL / 2 && fifth <= 2 * INTERVAL, "fifth waits " + fifth);
+    }
+
+    @Test
+    void keepsGroupsApart() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.builder().requestsPerSecond(10).burst(1)
+                .group("transfer", 1, 1).build());
+        assertEquals(0, limiter.reserve("transfer"));
+        assertTrue(limiter.reserve("transfer") > INTERVAL * 5);
+        assertEquals(0, limiter.reserve(GROUP));
+        assertEquals(1, limiter.getRequestsPerSecond("transfer"));
+        assertEquals(10, limiter.getRequestsPerSecond(GROUP));
+    }
+
+    @Test
+    void rejectsWaitsBeyondTheMaximum() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.builder().requestsPerSecond(1).burst(1)
+                .maxWait(Duration.ofMillis(500)).build());
+        assertEquals(0, limiter.reserve(GROUP));
+        assertThrows(APIException.class, () -> limiter.reserve(GROUP));
+    }
+
+    @Test
+    void throttlingCutsTheRateOncePerSecond() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.builder().requestsPerSecond(100)
+                .decreaseFactor(0.5).recoveryPerSecond(0.01).build());
+        limiter.onThrottled(GROUP, 0);
+        double cut = limiter.getRequestsPerSecond(GROUP);
+        assertTrue(cut >= 50 && cut < 51, "rate " + cut);
+        // the other in-flight requests rejected by the same overload count as one signal
+        limiter.onThrottled(GROUP, 0);
+        assertTrue(limiter.getRequestsPerSecond(GROUP) >= 50, "cut twice");
+    }
+
+    @Test
+    void throttlingNeverGoesBelowTheMinimumFraction() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.builder().requestsPerSecond(100)
+                .decreaseFactor(0.1).minimumFraction(0.05).recoveryPerSecond(0.001).build());
+        limiter.onThrottled(GROUP, 0);
+        Thread.sleep(1010);
+        limiter.onThrottled(GROUP, 0);
+        double rate = limiter.getRequestsPerSecond(GROUP);
+        assertTrue(rate >= 5 && rate < 6, "rate " + rate);
+    }
+
+    @Test
+    void holdsRequestsBackUntilRetryAfter() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.builder().build());
+        limiter.onThrottled(GROUP, Duration.ofSeconds(2).toNanos());
+        long wait = limiter.reserve(GROUP);
+        assertTrue(wait > Duration.ofMillis(1900).toNanos() && wait <= Duration.ofSeconds(2).toNanos(),
+                "wait " + wait);
+    }
+
+    @Test
+    void parsesRetryAfter() {
+        assertEquals(Duration.ofSeconds(3).toNanos(), RateLimiter.retryAfterNanos("3"));
+        assertEquals(Duration.ofSeconds(3).toNanos(), RateLimiter.retryAfterNanos(" 3 "));
+        assertEquals(0, RateLimiter.retryAfterNanos(null));
+        assertEquals(0, RateLimiter.retryAfterNanos(""));
+        assertEquals(0, RateLimiter.retryAfterNanos("-5"));
+        assertEquals(0, RateLimiter.retryAfterNanos("soon"));
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+        long fromDate = RateLimiter.retryAfterNanos(date);
+        assertTrue(fromDate > Duration.ofSeconds(28).toNanos() && fromDate <= Duration.ofSeconds(30).toNanos(),
+                "from date " + fromDate);
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(30));
+        assertEquals(0, RateLimiter.retryAfterNanos(past));
+    }
+}
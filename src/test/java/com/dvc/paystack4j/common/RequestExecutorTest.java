@@ -0,0 +1,62 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.CircuitBreakerPolicy;
+import com.dvc.paystack4j.config.ClientOptions;
+import com.dvc.paystack4j.exceptions.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestExecutorTest {
+    private static final String URL = "http://127.0.0.1:1/transaction/verify/bad ref";
+
+    @Test
+    void unsendableRequestFailsTheFutureAndFreesTheBulkhead() throws Exception {
+        Transport transport = new Transport() {
+            @Override
+            public <T> T send(TransportRequest request, ResponseHandler<T> handler) throws IOException {
+                throw new AssertionError("not used");
+            }
+
+            @Override
+            public <T> CompletableFuture<T> sendAsync(TransportRequest request, ResponseHandler<T> handler) {
+                throw new IllegalArgumentException("Illegal character in path");
+            }
+        };
+        RequestExecutor executor = new RequestExecutor("sk_test_key", ClientOptions.builder()
+                .transport(transport)
+                .circuitBreaker(CircuitBreakerPolicy.builder().maxConcurrentCalls(1).build())
+                .build());
+        CircuitBreaker breaker = executor.getCircuitBreakers().get(EndpointGroup.of(URL));
+        for (int i = 0; i < 3; i++) {
+            // a leaked bulkhead slot would fail the second call with "Bulkhead ... is full" instead
+            assertInstanceOf(IllegalArgumentException.class, failure(executor.executeAsync(TransportRequest.get(URL))));
+            assertEquals(0, breaker.getConcurrentCalls());
+        }
+    }
+
+    @Test
+    void invalidUriFailsTheFutureOfTheHttpClientTransport() throws Exception {
+        try (HttpClientTransport transport = HttpClientTransport.builder().build()) {
+            RequestExecutor executor = new RequestExecutor("sk_test_key", transport);
+            assertInstanceOf(IllegalArgumentException.class, failure(executor.executeAsync(TransportRequest.get(URL))));
+        }
+    }
+
+    /**
+     * Waits for a future that must fail and returns the cause of its {@link APIException}
+     */
+    private static Throwable failure(CompletableFuture<JsonNode> future) throws InterruptedException {
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        APIException failure = assertInstanceOf(APIException.class, error.getCause());
+        return failure.getCause();
+    }
+}
@@ -0,0 +1,167 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.CachePolicy;
+import com.dvc.paystack4j.config.ClientOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private static final String BANKS = "https://api.paystack.co/bank";
+    private static final String COUNTRIES = "https://api.paystack.co/country";
+    private static final String CURRENCIES = "https://api.paystack.co/currency";
+
+    private final ScriptedTransport transport = new ScriptedTransport();
+
+    @Test
+    void servesFreshEntriesWithoutCallingTheTransport() {
+        RequestExecutor executor = executor(CachePolicy.builder().ttl(BANKS, Duration.ofHours(1)));
+        transport.respond(BANKS, 200, null, "{\"data\":1}");
+        assertEquals(1, executor.execute(TransportRequest.get(BANKS)).path("data").asInt());
+        transport.respond(BANKS, 200, null, "{\"data\":2}");
+        assertEquals(1, executor.execute(TransportRequest.get(BANKS)).path("data").asInt());
+
+        ResponseCache cache = executor.getResponseCache();
+        assertEquals(1, transport.requests.size());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void leavesEndpointsWithoutTtlUncached() {
+        RequestExecutor executor = executor(CachePolicy.builder().ttl(BANKS, Duration.ofHours(1)));
+        transport.respond(COUNTRIES, 200, null, "{\"data\":1}");
+        executor.execute(TransportRequest.get(COUNTRIES));
+        executor.execute(TransportRequest.get(COUNTRIES));
+        assertEquals(2, transport.requests.size());
+        assertEquals(0, executor.getResponseCache().size());
+    }
+
+    @Test
+    void revalidatesExpiredEntriesWithTheirETag() throws InterruptedException {
+        RequestExecutor executor = executor(CachePolicy.builder().ttl(BANKS, Duration.ofMillis(50)));
+        transport.respond(BANKS, 200, "\"v1\"", "{\"data\":1}");
+        executor.execute(TransportRequest.get(BANKS));
+        Thread.sleep(80);
+
+        transport.respond(BANKS, 304, null, "");
+        assertEquals(1, executor.execute(TransportRequest.get(BANKS)).path("data").asInt());
+        assertNull(transport.requests.get(0).getHeaders().get("If-None-Match"));
+        assertEquals("\"v1\"", transport.requests.get(1).getHeaders().get("If-None-Match"));
+        assertEquals(1, executor.getResponseCache().getRevalidations());
+
+        // the renewed entry is fresh again
+        executor.execute(TransportRequest.get(BANKS));
+        assertEquals(2, transport.requests.size());
+    }
+
+    @Test
+    void servesStaleEntriesWhileRefreshingInTheBackground() throws InterruptedException {
+        RequestExecutor executor = executor(CachePolicy.builder().ttl(BANKS, Duration.ofMillis(50))
+                .staleWhileRevalidate(Duration.ofHours(1)));
+        transport.respond(BANKS, 200, null, "{\"data\":1}");
+        executor.execute(TransportRequest.get(BANKS));
+        Thread.sleep(80);
+
+        transport.respond(BANKS, 200, null, "{\"data\":2}");
+        assertEquals(1, executor.execute(TransportRequest.get(BANKS)).path("data").asInt());
+        assertEquals(1, executor.getResponseCache().getStaleHits());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (executor.execute(TransportRequest.get(BANKS)).path("data").asInt() != 2) {
+            assertTrue(System.nanoTime() - deadline < 0, "background refresh never stored");
+            Thread.sleep(10);
+        }
+        assertEquals(2, transport.requests.size());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() throws InterruptedException {
+        RequestExecutor executor = executor(CachePolicy.builder().maxEntries(2)
+                .ttl(BANKS, Duration.ofHours(1)).ttl(COUNTRIES, Duration.ofHours(1)).ttl(CURRENCIES, Duration.ofHours(1)));
+        transport.respond(BANKS, 200, null, "{\"data\":\"banks\"}");
+        transport.respond(COUNTRIES, 200, null, "{\"data\":\"countries\"}");
+        transport.respond(CURRENCIES, 200, null, "{\"data\":\"currencies\"}");
+        executor.execute(TransportRequest.get(BANKS));
+        Thread.sleep(5);
+        executor.execute(TransportRequest.get(COUNTRIES));
+        Thread.sleep(5);
+        executor.execute(TransportRequest.get(BANKS));
+        Thread.sleep(5);
+        executor.execute(TransportRequest.get(CURRENCIES));
+
+        ResponseCache cache = executor.getResponseCache();
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        executor.execute(TransportRequest.get(BANKS));
+        executor.execute(TransportRequest.get(COUNTRIES));
+        assertEquals(4, transport.requests.size());
+    }
+
+    @Test
+    void evictsToStayWithinTheWeight() {
+        RequestExecutor executor = executor(CachePolicy.builder().maxWeight(30)
+                .ttl(BANKS, Duration.ofHours(1)).ttl(COUNTRIES, Duration.ofHours(1)));
+        transport.respond(BANKS, 200, null, "{\"data\":\"0123456789\"}");
+        transport.respond(COUNTRIES, 200, null, "{\"data\":\"0123456789\"}");
+        executor.execute(TransportRequest.get(BANKS));
+        executor.execute(TransportRequest.get(COUNTRIES));
+        ResponseCache cache = executor.getResponseCache();
+        assertEquals(1, cache.size());
+        assertTrue(cache.getWeight() <= 30);
+    }
+
+    @Test
+    void successfulWriteDropsTheGroupsEntries() {
+        RequestExecutor executor = executor(CachePolicy.builder().ttl(BANKS, Duration.ofHours(1)));
+        transport.respond(BANKS, 200, null, "{\"data\":1}");
+        executor.execute(TransportRequest.get(BANKS));
+        executor.execute(new TransportRequest("POST", BANKS, BANKS, Collections.emptyMap(),
+                TransportRequest.CONTENT_TYPE_JSON, "{}"));
+        assertEquals(0, executor.getResponseCache().size());
+        executor.execute(TransportRequest.get(BANKS));
+        assertEquals(3, transport.requests.size());
+    }
+
+    private RequestExecutor executor(CachePolicy.Builder policy) {
+        return new RequestExecutor("sk_test_key", ClientOptions.builder()
+                .transport(transport)
+                .responseCache(policy.build())
+                .build());
+    }
+
+    /**
+     * Answers each URL with the response last set for it and records the requests
+     */
+    private static final class ScriptedTransport implements Transport {
+        private final Map<String, String[]> responses = new ConcurrentHashMap<>();
+        private final List<TransportRequest> requests = new CopyOnWriteArrayList<>();
+
+        void respond(String url, int status, String etag, String body) {
+            responses.put(url, new String[]{Integer.toString(status), etag, body});
+        }
+
+        @Override
+        public <T> T send(TransportRequest request, ResponseHandler<T> handler) throws IOException {
+            requests.add(request);
+            String[] response = responses.get(request.getUrl());
+            InputStream body = new ByteArrayInputStream(response[2].getBytes(StandardCharsets.UTF_8));
+            return handler.handle(new TransportResponse(Integer.parseInt(response[0]),
+                    name -> "ETag".equalsIgnoreCase(name) ? response[1] : null, body));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.config.RetryPolicy;
+import com.dvc.paystack4j.exceptions.APIException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetrierTest {
+    private static final String URL = "https://api.paystack.co/transaction";
+    private static final long INITIAL = Duration.ofMillis(100).toNanos();
+    private static final long MAX = Duration.ofSeconds(2).toNanos();
+    private static final APIException UNAVAILABLE = new APIException("Service unavailable", 503);
+
+    @Test
+    void retriesIdempotentMethodsOnRetryableStatuses() {
+        Retrier retrier = retrier(RetryPolicy.builder());
+        for (String method : new String[]{"GET", "PUT", "DELETE"}) {
+            assertTrue(retrier.backoff(request(method), UNAVAILABLE, 1, 0) >= INITIAL, method);
+        }
+        assertEquals(-1, retrier.backoff(request("GET"), new APIException("Bad request", 400), 1, 0));
+        assertEquals(-1, retrier.backoff(request("GET"), new APIException("Not found", 404), 1, 0));
+    }
+
+    @Test
+    void retriesPostAndPatchOnlyWithAnIdempotencyKey() {
+        Retrier retrier = retrier(RetryPolicy.builder());
+        for (String method : new String[]{"POST", "PATCH"}) {
+            assertEquals(-1, retrier.backoff(request(method), UNAVAILABLE, 1, 0), method);
+            TransportRequest keyed = request(method).header(TransportRequest.IDEMPOTENCY_KEY, "key-1");
+            assertTrue(retrier.backoff(keyed, UNAVAILABLE, 1, 0) >= INITIAL, method);
+        }
+    }
+
+    @Test
+    void retriesNetworkErrorsUnlessDisabled() {
+        APIException reset = new APIException("Network or request error: reset", new IOException("reset"));
+        assertTrue(retrier(RetryPolicy.builder()).backoff(request("GET"), reset, 1, 0) >= INITIAL);
+        assertEquals(-1, retrier(RetryPolicy.builder().retryNetworkErrors(false))
+                .backoff(request("GET"), reset, 1, 0));
+        APIException failed = new APIException("Failed", new IllegalStateException("bug"));
+        assertEquals(-1, retrier(RetryPolicy.builder()).backoff(request("GET"), failed, 1, 0));
+    }
+
+    @Test
+    void waitsAtLeastRetryAfter() {
+        Retrier retrier = retrier(RetryPolicy.builder());
+        APIException throttled = new APIException("Rate limit exceeded", 429, Duration.ofSeconds(5));
+        assertEquals(Duration.ofSeconds(5).toNanos(), retrier.backoff(request("GET"), throttled, 1, 0));
+    }
+
+    @Test
+    void delaysStayWithinTheBackoffBounds() {
+        Retrier retrier = retrier(RetryPolicy.builder().budget(1, 1000));
+        long previous = 0;
+        for (int i = 0; i < 200; i++) {
+            long delay = retrier.backoff(request("GET"), UNAVAILABLE, 1, previous);
+            assertTrue(delay >= INITIAL && delay <= MAX, "delay " + delay);
+            assertTrue(delay <= Math.max(INITIAL, previous) * 3, "delay " + delay + " after " + previous);
+            previous = delay;
+        }
+    }
+
+    @Test
+    void givesUpAtMaxAttempts() {
+        Retrier retrier = retrier(RetryPolicy.builder().maxAttempts(3));
+        assertTrue(retrier.backoff(request("GET"), UNAVAILABLE, 2, INITIAL) >= 0);
+        assertEquals(-1, retrier.backoff(request("GET"), UNAVAILABLE, 3, INITIAL));
+    }
+
+    @Test
+    void budgetRunsOutAndRefillsWithCalls() {
+        Retrier retrier = retrier(RetryPolicy.builder().budget(0.25, 2));
+        assertTrue(retrier.backoff(request("GET"), UNAVAILABLE, 1, 0) >= 0);
+        assertTrue(retrier.backoff(request("GET"), UNAVAILABLE, 1, 0) >= 0);
+        assertEquals(-1, retrier.backoff(request("GET"), UNAVAILABLE, 1, 0));
+
+        for (int i = 0; i < 3; i++) {
+            retrier.recordCall();
+        }
+        assertEquals(-1, retrier.backoff(request("GET"), UNAVAILABLE, 1, 0));
+        retrier.recordCall();
+        assertTrue(retrier.backoff(request("GET"), UNAVAILABLE, 1, 0) >= 0);
+        assertEquals(-1, retrier.backoff(request("GET"), UNAVAILABLE, 1, 0));
+    }
+
+    @Test
+    void rejectedFailuresDoNotSpendTheBudget() {
+        Retrier retrier = retrier(RetryPolicy.builder().budget(0.25, 1));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(-1, retrier.backoff(request("POST"), UNAVAILABLE, 1, 0));
+        }
+        assertTrue(retrier.backoff(request("GET"), UNAVAILABLE, 1, 0) >= 0);
+    }
+
+    private static Retrier retrier(RetryPolicy.Builder policy) {
+        return new Retrier(policy.backoff(Duration.ofNanos(INITIAL), Duration.ofNanos(MAX)).build());
+    }
+
+    private static TransportRequest request(String method) {
+        String body = "GET".equals(method) || "DELETE".equals(method) ? null : "{}";
+        return new TransportRequest(method, URL, URL, Collections.emptyMap(),
+                body != null ? TransportRequest.CONTENT_TYPE_JSON : null, body);
+    }
+}
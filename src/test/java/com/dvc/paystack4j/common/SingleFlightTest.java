@@ -0,0 +1,156 @@
+package com.dvc.paystack4j.common;
+
+import com.dvc.paystack4j.exceptions.APIException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private final SingleFlight<String> flights = new SingleFlight<>(
+            error -> error instanceof APIException ? (APIException) error : new APIException("Failed: " + error));
+
+    @Test
+    void concurrentBlockingCallsShareOneRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(threads.submit(() -> flights.run("verify:ref", () -> {
+                    runs.incrementAndGet();
+                    await(release);
+                    return "verified";
+                })));
+            }
+            while (runs.get() == 0) {
+                Thread.onSpinWait();
+            }
+            // give the other callers time to join the flight before it completes
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("verified", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void callAfterCompletionRunsAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        assertEquals("1", flights.run("key", () -> String.valueOf(runs.incrementAndGet())));
+        assertEquals("2", flights.run("key", () -> String.valueOf(runs.incrementAndGet())));
+    }
+
+    @Test
+    void differentKeysRunSeparately() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        CompletableFuture<String> a = flights.submit("a", () -> first);
+        CompletableFuture<String> b = flights.submit("b", () -> second);
+        assertEquals(2, flights.size());
+        first.complete("A");
+        second.complete("B");
+        assertEquals("A", a.join());
+        assertEquals("B", b.join());
+    }
+
+    @Test
+    void asyncCallersShareTheFlightButNotTheFuture() {
+        AtomicInteger starts = new AtomicInteger();
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = flights.submit("fetch:1", () -> {
+            starts.incrementAndGet();
+            return call;
+        });
+        CompletableFuture<String> second = flights.submit("fetch:1", () -> {
+            starts.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertEquals(1, starts.get());
+
+        // cancelling one caller leaves the shared call and the other caller alone
+        first.cancel(true);
+        assertFalse(call.isCancelled());
+        call.complete("fetched");
+        assertEquals("fetched", second.join());
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void failureReachesEveryCaller() throws InterruptedException {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = flights.submit("key", () -> call);
+        CompletableFuture<String> second = flights.submit("key", () -> call);
+        APIException failure = new APIException("Server error", 500);
+        call.completeExceptionally(failure);
+        for (CompletableFuture<String> caller : List.of(first, second)) {
+            ExecutionException error = assertThrows(ExecutionException.class, caller::get);
+            assertSame(failure, error.getCause());
+        }
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void callThatThrowsIsReportedAsAFailedFuture() {
+        CompletableFuture<String> caller = flights.submit("key", () -> {
+            throw new IllegalStateException("broken");
+        });
+        assertTrue(caller.isCompletedExceptionally());
+        ExecutionException error = assertThrows(ExecutionException.class, caller::get);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void blockingCallerWaitingOnAFailedFlightGetsTheMappedException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = threads.submit(() -> flights.run("key", () -> {
+                started.countDown();
+                await(release);
+                throw new APIException("Not found", 404);
+            }));
+            await(started);
+            CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flights.run("key", () -> "own"));
+            Thread.sleep(100);
+            release.countDown();
+            ExecutionException error = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertEquals(404, assertInstanceOf(APIException.class, error.getCause()).getStatusCode());
+            assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,1082 @@
+package com.dvc.paystack4j.testing;
+
+import com.dvc.paystack4j.common.HttpClientTransport;
+import com.dvc.paystack4j.common.ResponseDecoder;
+import com.dvc.paystack4j.config.ClientOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * An in-process stand-in for the Paystack API, for offline integration and load tests.
+ *
+ * <p>The server keeps transactions, customers, plans, subscriptions, pages, transfers and bulk
+ * charge batches in memory and answers the corresponding endpoints with Paystack's envelope
+ * ({@code status}, {@code message}, {@code data} and, for lists, a {@code meta} block honouring
+ * {@code perPage} and {@code page}). Created resources can be fetched, updated and listed
+ * afterwards; POST requests repeating an {@code Idempotency-Key} get the original response
+ * again. Every request must carry a bearer token, whose value is not checked.</p>
+ *
+ * <p>{@link Faults} make the server slow, flaky or throttled, and can be swapped while it runs
+ * to exercise retries, the rate limiter and circuit breakers.</p>
+ *
+ * <pre>{@code
+ * try (FakePaystackServer server = FakePaystackServer.builder()
+ *         .faults(Faults.builder().latency(Duration.ofMillis(20)).errorRate(0.01).build())
+ *         .build()
+ *         .start()) {
+ *     server.seedTransactions(500);
+ *     PaystackClient client = new PaystackClient.Impl("sk_test_fake", server.clientOptions().build());
+ *     client.transactions().listAll(Map.of("perPage", 100)).count();
+ * }
+ * }</pre>
+ */
+public final class FakePaystackServer implements AutoCloseable {
+    private static final ObjectMapper MAPPER = ResponseDecoder.mapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final int DEFAULT_PER_PAGE = 50;
+
+    private final int port;
+    private final Duration bulkChargeProcessingTime;
+    private final AtomicLong ids = new AtomicLong(1000);
+    private final Map<String, Resource> resources = new HashMap<>();
+    private final Map<String, byte[]> idempotentResponses = new ConcurrentHashMap<>();
+    private final Map<String, ArrayNode> batchCharges = new ConcurrentHashMap<>();
+    private final Map<String, Long> batchReadyAt = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Object throttleLock = new Object();
+    private final Queue<Integer> scriptedFailures = new ConcurrentLinkedQueue<>();
+    private volatile Faults faults;
+    private long throttleWindow;
+    private int throttleCount;
+    private HttpServer server;
+    private ExecutorService threads;
+
+    private FakePaystackServer(Builder builder) {
+        this.port = builder.port;
+        this.bulkChargeProcessingTime = builder.bulkChargeProcessingTime;
+        this.faults = builder.faults;
+        for (String name : new String[]{"transaction", "customer", "plan", "subscription", "page", "transfer",
+                "bulkcharge"}) {
+            resources.put(name, new Resource());
+        }
+    }
+
+    /**
+     * Creates a builder for a stand-in server
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts listening on the loopback interface
+     * @return The server instance for chaining
+     * @throws IOException if the port cannot be bound
+     */
+    public FakePaystackServer start() throws IOException {
+        // Without it headers and body go out in separate segments held back by Nagle's algorithm
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        threads = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "fake-paystack");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(threads);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Stops the server and drops open connections
+     */
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the base URL to configure clients with
+     * @return The base URL, e.g. {@code http://127.0.0.1:41234}
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Creates client options pointing at this server; the JDK server only speaks HTTP/1.1, so the
+     * default transport is set up without the h2c upgrade attempt
+     * @return A builder preconfigured with the base URL and transport
+     */
+    public ClientOptions.Builder clientOptions() {
+        return ClientOptions.builder()
+                .baseUrl(getBaseUrl())
+                .transport(HttpClientTransport.builder().version(HttpClient.Version.HTTP_1_1).build());
+    }
+
+    /**
+     * Replaces the injected faults, taking effect with the next request
+     * @param faults The faults, {@link Faults#none()} to turn them off
+     */
+    public void setFaults(Faults faults) {
+        this.faults = faults;
+    }
+
+    /**
+     * Gets the injected faults
+     * @return The current faults
+     */
+    public Faults getFaults() {
+        return faults;
+    }
+
+    /**
+     * Answers the next requests with an error, ahead of any other fault, e.g. to check that a
+     * call is retried; a 429 comes with {@code Retry-After: 1}
+     * @param count The number of requests to fail
+     * @param status The HTTP status to answer them with
+     */
+    public void failNext(int count, int status) {
+        for (int i = 0; i < count; i++) {
+            scriptedFailures.add(status);
+        }
+    }
+
+    /**
+     * Gets the number of requests received, including throttled and failed ones
+     * @return The request count
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Gets the number of requests answered with 429 by the throttle
+     * @return The throttled request count
+     */
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    /**
+     * Gets the number of requests failed on purpose by the error rate
+     * @return The injected failure count
+     */
+    public long getInjectedFailureCount() {
+        return failed.get();
+    }
+
+    /**
+     * Creates successful transactions, e.g. to page through or verify under load. Their
+     * creation times are a minute apart, counting back from now.
+     * @param count The number of transactions
+     * @return Their references, oldest first
+     */
+    public List<String> seedTransactions(int count) {
+        List<String> references = new ArrayList<>(count);
+        Instant now = Instant.now();
+        for (int i = count; i > 0; i--) {
+            ObjectNode transaction = transaction("seed-" + ids.incrementAndGet(), 10_000 + i,
+                    "customer" + (i % 97) + "@example.com", "success");
+            transaction.put("created_at", now.minusSeconds(60L * i).toString());
+            resources.get("transaction").add(transaction, transaction.get("reference").asText());
+            references.add(transaction.get("reference").asText());
+        }
+        return references;
+    }
+
+    /**
+     * Gets a stored resource, e.g. to assert on it
+     * @param type The resource type: transaction, customer, plan, subscription, page, transfer or bulkcharge
+     * @param key The id, code, reference, email or slug of the resource
+     * @return The resource, or null if there is none
+     */
+    public JsonNode find(String type, String key) {
+        Resource resource = resources.get(type);
+        return resource != null ? resource.get(key) : null;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        Faults current = faults;
+        try (exchange) {
+            Integer scripted = scriptedFailures.poll();
+            if (scripted != null) {
+                if (scripted == 429) {
+                    throttled.incrementAndGet();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    respond(exchange, 429, error("Rate limit exceeded"));
+                } else {
+                    failed.incrementAndGet();
+                    respond(exchange, scripted, error("Injected failure"));
+                }
+                return;
+            }
+            long retryAfter = throttle(current);
+            if (retryAfter > 0) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", Long.toString(retryAfter));
+                respond(exchange, 429, error("Rate limit exceeded"));
+                return;
+            }
+            delay(current);
+            if (current.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < current.errorRate) {
+                failed.incrementAndGet();
+                respond(exchange, current.errorStatus, error("Injected failure"));
+                return;
+            }
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null || !authorization.startsWith("Bearer ")) {
+                respond(exchange, 401, error("Invalid key"));
+                return;
+            }
+            String key = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            if (key != null && "POST".equals(exchange.getRequestMethod())) {
+                byte[] previous = idempotentResponses.get(key);
+                if (previous != null) {
+                    respond(exchange, 200, previous);
+                    return;
+                }
+            }
+            Response response;
+            try {
+                response = route(exchange.getRequestMethod(), exchange.getRequestURI().getRawPath(),
+                        query(exchange.getRequestURI().getRawQuery()), body);
+            } catch (IllegalArgumentException e) {
+                response = new Response(400, error(e.getMessage()));
+            }
+            if (key != null && response.status == 200 && "POST".equals(exchange.getRequestMethod())) {
+                idempotentResponses.putIfAbsent(key, response.body);
+            }
+            respond(exchange, response.status, response.body);
+        }
+    }
+
+    /**
+     * Counts the request against the current one second window
+     * @return Seconds to wait before retrying, or 0 if the request is admitted
+     */
+    private long throttle(Faults current) {
+        if (current.requestsPerSecond <= 0) {
+            return 0;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        synchronized (throttleLock) {
+            if (second != throttleWindow) {
+                throttleWindow = second;
+                throttleCount = 0;
+            }
+            return ++throttleCount > current.requestsPerSecond ? 1 : 0;
+        }
+    }
+
+    private static void delay(Faults current) {
+        long nanos = current.latency.toNanos();
+        if (!current.latencyJitter.isZero()) {
+            nanos += ThreadLocalRandom.current().nextLong(current.latencyJitter.toNanos() + 1);
+        }
+        if (nanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Response route(String method, String path, Map<String, String> query, byte[] body) throws IOException {
+        String[] segments = path.replaceAll("^/+|/+$", "").split("/");
+        String type = segments[0];
+        String id = segments.length > 1 ? URLDecoder.decode(segments[1], StandardCharsets.UTF_8) : null;
+        String sub = segments.length > 2 ? segments[2] : null;
+        boolean get = "GET".equals(method);
+        boolean post = "POST".equals(method);
+        boolean put = "PUT".equals(method);
+        switch (type) {
+            case "transaction":
+                if (post && "initialize".equals(id)) {
+                    return initializeTransaction(json(body));
+                }
+                if (post && "charge_authorization".equals(id)) {
+                    return chargeAuthorization(json(body));
+                }
+                if (get && "verify".equals(id) && sub != null) {
+                    return verifyTransaction(URLDecoder.decode(sub, StandardCharsets.UTF_8));
+                }
+                if (get && id == null) {
+                    return list("transaction", query, "Transactions retrieved", filter(query, "status"));
+                }
+                if (get) {
+                    return fetch("transaction", id, "Transaction retrieved");
+                }
+                break;
+            case "customer":
+                if (post && id == null) {
+                    return createCustomer(json(body));
+                }
+                if (get && id == null) {
+                    return list("customer", query, "Customers retrieved", node -> true);
+                }
+                if (get) {
+                    return fetch("customer", id, "Customer retrieved");
+                }
+                if (put) {
+                    return update("customer", id, json(body), "Customer updated");
+                }
+                break;
+            case "plan":
+            case "page":
+                if (post && id == null) {
+                    return "plan".equals(type) ? createPlan(json(body)) : createPage(json(body));
+                }
+                if (get && id == null) {
+                    return list(type, query, capitalized(type) + "s retrieved", node -> true);
+                }
+                if (get) {
+                    return fetch(type, id, capitalized(type) + " retrieved");
+                }
+                if (put) {
+                    return update(type, id, json(body), capitalized(type) + " updated");
+                }
+                break;
+            case "subscription":
+                if (post && id == null) {
+                    return createSubscription(json(body));
+                }
+                if (post && ("enable".equals(id) || "disable".equals(id))) {
+                    return toggleSubscription(json(body), "enable".equals(id));
+                }
+                if (get && id == null) {
+                    return list("subscription", query, "Subscriptions retrieved", filter(query, "status"));
+                }
+                if (get) {
+                    return fetch("subscription", id, "Subscription retrieved");
+                }
+                break;
+            case "transfer":
+                if (post && id == null) {
+                    JsonNode transfer = json(body);
+                    return ok("Transfer has been queued", initiateTransfer(transfer, text(transfer, "source")));
+                }
+                if (post && "bulk".equals(id)) {
+                    return initiateBulkTransfer(json(body));
+                }
+                if (post && "finalize_transfer".equals(id)) {
+                    return finalizeTransfer(json(body));
+                }
+                if (get && "verify".equals(id) && sub != null) {
+                    return fetch("transfer", URLDecoder.decode(sub, StandardCharsets.UTF_8), "Transfer retrieved");
+                }
+                if (get && id == null) {
+                    return list("transfer", query, "Transfers retrieved", filter(query, "status"));
+                }
+                if (get) {
+                    return fetch("transfer", id, "Transfer retrieved");
+                }
+                break;
+            case "bulkcharge":
+                if (post && id == null) {
+                    return initiateBulkCharge(json(body));
+                }
+                if (get && ("pause".equals(id) || "resume".equals(id)) && sub != null) {
+                    return pauseBatch(URLDecoder.decode(sub, StandardCharsets.UTF_8), "pause".equals(id));
+                }
+                if (get && id == null) {
+                    return list("bulkcharge", query, "Bulk charges retrieved", node -> true);
+                }
+                if (get && "charges".equals(sub)) {
+                    return batchCharges(id, query);
+                }
+                if (get) {
+                    ObjectNode batch = batch(id);
+                    return batch != null ? ok("Bulk charge retrieved", batch) : notFound("Bulk charge");
+                }
+                break;
+            default:
+                break;
+        }
+        return new Response(404, error("No route for " + method + " " + path));
+    }
+
+    private Response initializeTransaction(JsonNode body) {
+        String reference = body.hasNonNull("reference") ? body.get("reference").asText() : "T" + ids.incrementAndGet();
+        if (find("transaction", reference) != null) {
+            throw new IllegalArgumentException("Duplicate Transaction Reference");
+        }
+        ObjectNode transaction = transaction(reference, amount(body), text(body, "email"), "abandoned");
+        resources.get("transaction").add(transaction, reference);
+        String accessCode = "ac_" + transaction.get("id").asText();
+        ObjectNode data = NODES.objectNode()
+                .put("authorization_url", "https://checkout.paystack.com/" + accessCode)
+                .put("access_code", accessCode)
+                .put("reference", reference);
+        return ok("Authorization URL created", data);
+    }
+
+    /**
+     * Verifying a transaction that was only initialized completes it, as if the customer had paid
+     */
+    private Response verifyTransaction(String reference) {
+        Resource transactions = resources.get("transaction");
+        ObjectNode transaction = transactions.get(reference);
+        if (transaction == null) {
+            return new Response(404, error("Transaction reference not found"));
+        }
+        if ("abandoned".equals(transaction.path("status").asText())) {
+            ObjectNode paid = transaction.deepCopy();
+            paid.put("status", "success").put("gateway_response", "Successful")
+                    .put("paid_at", Instant.now().toString());
+            transactions.replace(paid);
+            transaction = paid;
+        }
+        return ok("Verification successful", transaction);
+    }
+
+    private Response chargeAuthorization(JsonNode body) {
+        String reference = body.hasNonNull("reference") ? body.get("reference").asText() : "T" + ids.incrementAndGet();
+        if (!body.hasNonNull("authorization_code")) {
+            throw new IllegalArgumentException("authorization_code is required");
+        }
+        ObjectNode transaction = transaction(reference, amount(body), text(body, "email"), "success");
+        ((ObjectNode) transaction.get("authorization")).put("authorization_code", body.get("authorization_code").asText());
+        transaction.put("paid_at", Instant.now().toString());
+        resources.get("transaction").add(transaction, reference);
+        return ok("Charge attempted", transaction);
+    }
+
+    private Response createCustomer(JsonNode body) {
+        String email = text(body, "email");
+        Resource customers = resources.get("customer");
+        ObjectNode existing = customers.get(email);
+        if (existing != null) {
+            return ok("Customer created", existing);
+        }
+        ObjectNode customer = created(body, "customer_code", "CUS_");
+        customer.put("risk_action", "default");
+        customers.add(customer, email, customer.get("customer_code").asText());
+        return ok("Customer created", customer);
+    }
+
+    private Response createPlan(JsonNode body) {
+        text(body, "name");
+        amount(body);
+        text(body, "interval");
+        ObjectNode plan = created(body, "plan_code", "PLN_");
+        resources.get("plan").add(plan, plan.get("plan_code").asText());
+        return ok("Plan created", plan);
+    }
+
+    private Response createPage(JsonNode body) {
+        text(body, "name");
+        ObjectNode page = created(body, "slug", "");
+        page.put("slug", body.hasNonNull("slug") ? body.get("slug").asText() : "page-" + page.get("id").asText());
+        page.put("active", true);
+        resources.get("page").add(page, page.get("slug").asText());
+        return ok("Page created", page);
+    }
+
+    private Response createSubscription(JsonNode body) {
+        ObjectNode customer = resources.get("customer").get(text(body, "customer"));
+        ObjectNode plan = resources.get("plan").get(text(body, "plan"));
+        if (customer == null || plan == null) {
+            return new Response(404, error(customer == null ? "Customer not found" : "Plan not found"));
+        }
+        ObjectNode subscription = created(NODES.objectNode(), "subscription_code", "SUB_");
+        subscription.put("email_token", "tok_" + subscription.get("id").asText())
+                .put("status", "active")
+                .put("amount", plan.path("amount").asLong())
+                .put("customer", customer.get("id").asLong())
+                .put("plan", plan.get("id").asLong());
+        resources.get("subscription").add(subscription, subscription.get("subscription_code").asText());
+        return ok("Subscription successfully created", subscription);
+    }
+
+    private Response toggleSubscription(JsonNode body, boolean enable) {
+        Resource subscriptions = resources.get("subscription");
+        ObjectNode subscription = subscriptions.get(text(body, "code"));
+        if (subscription == null || !subscription.path("email_token").asText().equals(text(body, "token"))) {
+            return new Response(404, error("Subscription with code not found or already inactive"));
+        }
+        ObjectNode changed = subscription.deepCopy();
+        changed.put("status", enable ? "active" : "non-renewing");
+        subscriptions.replace(changed);
+        return ok(enable ? "Subscription enabled successfully" : "Subscription disabled successfully", null);
+    }
+
+    private ObjectNode initiateTransfer(JsonNode body, String source) {
+        if (!"balance".equals(source)) {
+            throw new IllegalArgumentException("Invalid transfer source");
+        }
+        String reference = body.hasNonNull("reference") ? body.get("reference").asText() : "TRF" + ids.incrementAndGet();
+        if (find("transfer", reference) != null) {
+            throw new IllegalArgumentException("Duplicate Transaction Reference: " + reference);
+        }
+        ObjectNode transfer = NODES.objectNode();
+        long id = ids.incrementAndGet();
+        transfer.put("id", id)
+                .put("transfer_code", "TRF_" + id)
+                .put("reference", reference)
+                .put("amount", amount(body))
+                .put("recipient", text(body, "recipient"))
+                .put("currency", body.hasNonNull("currency") ? body.get("currency").asText() : "NGN")
+                .put("reason", body.path("reason").asText(null))
+                .put("status", "pending")
+                .put("createdAt", Instant.now().toString());
+        resources.get("transfer").add(transfer, transfer.get("transfer_code").asText(), reference);
+        return transfer;
+    }
+
+    private Response initiateBulkTransfer(JsonNode body) {
+        String source = text(body, "source");
+        JsonNode items = body.path("transfers");
+        if (!items.isArray() || items.size() == 0) {
+            throw new IllegalArgumentException("transfers must be a non-empty array");
+        }
+        for (JsonNode item : items) {
+            if (item.hasNonNull("reference") && find("transfer", item.get("reference").asText()) != null) {
+                throw new IllegalArgumentException("Duplicate Transaction Reference: " + item.get("reference").asText());
+            }
+        }
+        ArrayNode data = NODES.arrayNode();
+        for (JsonNode item : items) {
+            ObjectNode transfer = item.deepCopy();
+            if (body.hasNonNull("currency") && !transfer.hasNonNull("currency")) {
+                transfer.put("currency", body.get("currency").asText());
+            }
+            data.add(initiateTransfer(transfer, source));
+        }
+        return ok(data.size() + " transfers queued.", data);
+    }
+
+    private Response finalizeTransfer(JsonNode body) {
+        Resource transfers = resources.get("transfer");
+        ObjectNode transfer = transfers.get(text(body, "transfer_code"));
+        if (transfer == null) {
+            return notFound("Transfer");
+        }
+        text(body, "otp");
+        ObjectNode finalized = transfer.deepCopy();
+        finalized.put("status", "success");
+        transfers.replace(finalized);
+        return ok("Transfer has been queued", finalized);
+    }
+
+    private Response initiateBulkCharge(JsonNode body) {
+        if (!body.isArray() || body.size() == 0) {
+            throw new IllegalArgumentException("Body must be a non-empty array of charges");
+        }
+        long id = ids.incrementAndGet();
+        String code = "BCH_" + id;
+        ObjectNode batch = NODES.objectNode()
+                .put("id", id)
+                .put("batch_code", code)
+                .put("status", "active")
+                .put("total_charges", body.size())
+                .put("pending_charges", body.size())
+                .put("createdAt", Instant.now().toString());
+        ArrayNode charges = NODES.arrayNode();
+        for (JsonNode item : body) {
+            ObjectNode charge = NODES.objectNode()
+                    .put("id", ids.incrementAndGet())
+                    .put("reference", item.hasNonNull("reference") ? item.get("reference").asText()
+                            : "BCH" + ids.incrementAndGet())
+                    .put("amount", amount(item))
+                    .put("status", "success");
+            charge.putObject("authorization").put("authorization_code", text(item, "authorization"));
+            charges.add(charge);
+        }
+        batchCharges.put(code, charges);
+        batchReadyAt.put(code, System.nanoTime() + bulkChargeProcessingTime.toNanos());
+        resources.get("bulkcharge").add(batch, code);
+        return ok("Charges have been queued", batch);
+    }
+
+    /**
+     * Gets a batch, completing it once its processing time has passed unless it is paused
+     */
+    private ObjectNode batch(String idOrCode) {
+        Resource batches = resources.get("bulkcharge");
+        ObjectNode batch = batches.get(idOrCode);
+        if (batch == null) {
+            return null;
+        }
+        if ("active".equals(batch.path("status").asText())
+                && System.nanoTime() - batchReadyAt.get(batch.get("batch_code").asText()) >= 0) {
+            ObjectNode complete = batch.deepCopy();
+            complete.put("status", "complete").put("pending_charges", 0);
+            batches.replace(complete);
+            batch = complete;
+        }
+        return batch;
+    }
+
+    private Response pauseBatch(String code, boolean pause) {
+        Resource batches = resources.get("bulkcharge");
+        ObjectNode batch = batches.get(code);
+        if (batch == null) {
+            return notFound("Bulk charge batch");
+        }
+        String status = batch.path("status").asText();
+        if (!"complete".equals(status)) {
+            ObjectNode changed = batch.deepCopy();
+            changed.put("status", pause ? "paused" : "active");
+            batches.replace(changed);
+        }
+        return ok(pause ? "Bulk charge batch has been paused" : "Bulk charge batch has been resumed", null);
+    }
+
+    private Response batchCharges(String idOrCode, Map<String, String> query) {
+        ObjectNode batch = batch(idOrCode);
+        if (batch == null) {
+            return notFound("Bulk charge");
+        }
+        List<JsonNode> charges = new ArrayList<>();
+        Predicate<JsonNode> status = filter(query, "status");
+        if ("complete".equals(batch.path("status").asText())) {
+            for (JsonNode charge : batchCharges.get(batch.get("batch_code").asText())) {
+                if (status.test(charge)) {
+                    charges.add(charge);
+                }
+            }
+        }
+        return page(charges, query, "Bulk charge items retrieved");
+    }
+
+    private Response fetch(String type, String key, String message) {
+        ObjectNode resource = resources.get(type).get(key);
+        return resource != null ? ok(message, resource) : notFound(capitalized(type));
+    }
+
+    private Response update(String type, String key, JsonNode body, String message) {
+        Resource resource = resources.get(type);
+        ObjectNode existing = resource.get(key);
+        if (existing == null) {
+            return notFound(capitalized(type));
+        }
+        ObjectNode updated = existing.deepCopy();
+        Iterator<Map.Entry<String, JsonNode>> fields = body.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!"id".equals(field.getKey())) {
+                updated.set(field.getKey(), field.getValue());
+            }
+        }
+        updated.put("updatedAt", Instant.now().toString());
+        resource.replace(updated);
+        return ok(message, updated);
+    }
+
+    private Response list(String type, Map<String, String> query, String message, Predicate<JsonNode> filter) {
+        String from = query.get("from");
+        String to = query.get("to");
+        List<JsonNode> matches = new ArrayList<>();
+        for (ObjectNode node : resources.get(type).newestFirst()) {
+            String created = node.path(node.has("created_at") ? "created_at" : "createdAt").asText();
+            if (filter.test(node) && (from == null || created.compareTo(from) >= 0)
+                    && (to == null || created.compareTo(to) <= 0)) {
+                matches.add(node);
+            }
+        }
+        return page(matches, query, message);
+    }
+
+    private static Response page(List<JsonNode> matches, Map<String, String> query, String message) {
+        int perPage = Math.max(1, integer(query, "perPage", DEFAULT_PER_PAGE));
+        int page = Math.max(1, integer(query, "page", 1));
+        int start = (int) Math.min((long) (page - 1) * perPage, matches.size());
+        int end = Math.min(start + perPage, matches.size());
+        ObjectNode envelope = envelope(message);
+        ArrayNode data = envelope.putArray("data");
+        matches.subList(start, end).forEach(data::add);
+        envelope.putObject("meta")
+                .put("total", matches.size())
+                .put("skipped", start)
+                .put("perPage", perPage)
+                .put("page", page)
+                .put("pageCount", (matches.size() + perPage - 1) / perPage);
+        return new Response(200, bytes(envelope));
+    }
+
+    private ObjectNode transaction(String reference, long amount, String email, String status) {
+        long id = ids.incrementAndGet();
+        ObjectNode transaction = NODES.objectNode()
+                .put("id", id)
+                .put("domain", "test")
+                .put("status", status)
+                .put("reference", reference)
+                .put("amount", amount)
+                .put("gateway_response", "success".equals(status) ? "Successful" : "The transaction was not completed")
+                .put("channel", "card")
+                .put("currency", "NGN")
+                .put("fees", amount / 100 + 100)
+                .put("created_at", Instant.now().toString());
+        transaction.putObject("authorization")
+                .put("authorization_code", "AUTH_" + id)
+                .put("bin", "408408")
+                .put("last4", "4081")
+                .put("card_type", "visa")
+                .put("reusable", true);
+        transaction.putObject("customer").put("email", email);
+        return transaction;
+    }
+
+    /**
+     * Copies the request body into a new resource with an id, a generated code and timestamps
+     */
+    private ObjectNode created(JsonNode body, String codeField, String codePrefix) {
+        ObjectNode resource = body.isObject() ? ((ObjectNode) body).deepCopy() : NODES.objectNode();
+        long id = ids.incrementAndGet();
+        String now = Instant.now().toString();
+        resource.put("id", id).put(codeField, codePrefix + id).put("createdAt", now).put("updatedAt", now);
+        return resource;
+    }
+
+    private static Predicate<JsonNode> filter(Map<String, String> query, String field) {
+        String value = query.get(field);
+        return value == null ? node -> true : node -> value.equals(node.path(field).asText());
+    }
+
+    private static String text(JsonNode body, String field) {
+        if (!body.hasNonNull(field) || body.get(field).asText().isEmpty()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return body.get(field).asText();
+    }
+
+    private static long amount(JsonNode body) {
+        long amount = body.path("amount").asLong(-1);
+        if (amount <= 0) {
+            throw new IllegalArgumentException("amount must be a positive integer");
+        }
+        return amount;
+    }
+
+    private static int integer(Map<String, String> query, String name, int fallback) {
+        try {
+            return query.containsKey(name) ? Integer.parseInt(query.get(name)) : fallback;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+    }
+
+    private static JsonNode json(byte[] body) throws IOException {
+        if (body.length == 0) {
+            return NODES.objectNode();
+        }
+        try {
+            return MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Request body is not valid JSON");
+        }
+    }
+
+    private static Map<String, String> query(String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            query.put(name, equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String capitalized(String type) {
+        return Character.toUpperCase(type.charAt(0)) + type.substring(1);
+    }
+
+    private static ObjectNode envelope(String message) {
+        return NODES.objectNode().put("status", true).put("message", message);
+    }
+
+    private static Response ok(String message, JsonNode data) {
+        ObjectNode envelope = envelope(message);
+        if (data != null) {
+            envelope.set("data", data);
+        }
+        return new Response(200, bytes(envelope));
+    }
+
+    private static Response notFound(String what) {
+        return new Response(404, error(what + " not found"));
+    }
+
+    private static byte[] error(String message) {
+        return bytes(NODES.objectNode().put("status", false).put("message", message));
+    }
+
+    private static byte[] bytes(JsonNode node) {
+        try {
+            return MAPPER.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Resources of one type. Stored nodes are never modified: updates replace them with a copy,
+     * so responses can be serialized while other requests change the same resource.
+     */
+    private static final class Resource {
+        private final Map<String, ObjectNode> byId = new ConcurrentHashMap<>();
+        private final Map<String, String> aliases = new ConcurrentHashMap<>();
+        private final List<String> order = new ArrayList<>();
+
+        void add(ObjectNode node, String... keys) {
+            String id = node.get("id").asText();
+            byId.put(id, node);
+            for (String key : keys) {
+                aliases.put(key, id);
+            }
+            synchronized (order) {
+                order.add(id);
+            }
+        }
+
+        void replace(ObjectNode node) {
+            byId.put(node.get("id").asText(), node);
+        }
+
+        ObjectNode get(String key) {
+            ObjectNode node = byId.get(key);
+            if (node != null) {
+                return node;
+            }
+            String id = aliases.get(key);
+            return id != null ? byId.get(id) : null;
+        }
+
+        List<ObjectNode> newestFirst() {
+            List<ObjectNode> nodes;
+            synchronized (order) {
+                nodes = new ArrayList<>(order.size());
+                for (int i = order.size() - 1; i >= 0; i--) {
+                    nodes.add(byId.get(order.get(i)));
+                }
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * Failures injected into every request: added latency, a share of requests failed with a
+     * server error, and a throttle answering requests beyond a per-second limit with 429 and a
+     * {@code Retry-After} header. Throttling is applied first, then latency, then errors.
+     */
+    public static final class Faults {
+        private static final Faults NONE = builder().build();
+
+        private final Duration latency;
+        private final Duration latencyJitter;
+        private final double errorRate;
+        private final int errorStatus;
+        private final int requestsPerSecond;
+
+        private Faults(Builder builder) {
+            this.latency = builder.latency;
+            this.latencyJitter = builder.latencyJitter;
+            this.errorRate = builder.errorRate;
+            this.errorStatus = builder.errorStatus;
+            this.requestsPerSecond = builder.requestsPerSecond;
+        }
+
+        /**
+         * Gets faults that leave every request alone
+         * @return No faults
+         */
+        public static Faults none() {
+            return NONE;
+        }
+
+        /**
+         * Creates a builder for faults
+         * @return A new builder
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Builder for {@link Faults}.
+         */
+        public static final class Builder {
+            private Duration latency = Duration.ZERO;
+            private Duration latencyJitter = Duration.ZERO;
+            private double errorRate;
+            private int errorStatus = 500;
+            private int requestsPerSecond;
+
+            private Builder() {
+            }
+
+            /**
+             * Delays every response by a fixed time
+             * @param latency The added latency
+             * @return The builder instance for chaining
+             */
+            public Builder latency(Duration latency) {
+                this.latency = latency;
+                return this;
+            }
+
+            /**
+             * Delays every response by a further random time, uniform between zero and the jitter
+             * @param latencyJitter The maximum random latency
+             * @return The builder instance for chaining
+             */
+            public Builder latencyJitter(Duration latencyJitter) {
+                this.latencyJitter = latencyJitter;
+                return this;
+            }
+
+            /**
+             * Fails a random share of requests
+             * @param errorRate The share of requests to fail, between 0 and 1
+             * @return The builder instance for chaining
+             */
+            public Builder errorRate(double errorRate) {
+                if (errorRate < 0 || errorRate > 1) {
+                    throw new IllegalArgumentException("errorRate must be between 0 and 1");
+                }
+                this.errorRate = errorRate;
+                return this;
+            }
+
+            /**
+             * Sets the status of injected failures, 500 by default
+             * @param errorStatus The HTTP status
+             * @return The builder instance for chaining
+             */
+            public Builder errorStatus(int errorStatus) {
+                this.errorStatus = errorStatus;
+                return this;
+            }
+
+            /**
+             * Answers requests beyond the given number per second with 429
+             * @param requestsPerSecond The limit, or 0 for no throttling
+             * @return The builder instance for chaining
+             */
+            public Builder throttle(int requestsPerSecond) {
+                this.requestsPerSecond = requestsPerSecond;
+                return this;
+            }
+
+            /**
+             * Builds the faults
+             * @return New faults
+             */
+            public Faults build() {
+                return new Faults(this);
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link FakePaystackServer}.
+     */
+    public static final class Builder {
+        private int port;
+        private Duration bulkChargeProcessingTime = Duration.ZERO;
+        private Faults faults = Faults.none();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the port to listen on; a free port is picked by default
+         * @param port The port
+         * @return The builder instance for chaining
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets how long a bulk charge batch stays active before it reports complete, so that
+         * status polling can be exercised; batches complete immediately by default
+         * @param bulkChargeProcessingTime The processing time
+         * @return The builder instance for chaining
+         */
+        public Builder bulkChargeProcessingTime(Duration bulkChargeProcessingTime) {
+            this.bulkChargeProcessingTime = bulkChargeProcessingTime;
+            return this;
+        }
+
+        /**
+         * Sets the faults injected from the start
+         * @param faults The faults
+         * @return The builder instance for chaining
+         */
+        public Builder faults(Faults faults) {
+            this.faults = faults;
+            return this;
+        }
+
+        /**
+         * Builds the server; call {@link FakePaystackServer#start()} to start listening
+         * @return A new server
+         */
+        public FakePaystackServer build() {
+            return new FakePaystackServer(this);
+        }
+    }
+}
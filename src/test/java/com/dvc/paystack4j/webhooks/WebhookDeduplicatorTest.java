@@ -0,0 +1,150 @@
+package com.dvc.paystack4j.webhooks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebhookDeduplicatorTest {
+    private static final Duration LONG_WINDOW = Duration.ofHours(1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void marksEachKeyOnce() {
+        WebhookDeduplicator seen = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(64).build();
+        assertTrue(seen.markSeen(42));
+        assertFalse(seen.markSeen(42));
+        assertTrue(seen.contains(42));
+        assertFalse(seen.contains(43));
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    void treatsKeyZeroAsOne() {
+        WebhookDeduplicator seen = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(64).build();
+        assertTrue(seen.markSeen(0));
+        assertFalse(seen.markSeen(1));
+    }
+
+    @Test
+    void forgottenKeyIsHandledAgain() {
+        WebhookDeduplicator seen = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(64).build();
+        seen.markSeen(7);
+        seen.forget(7);
+        assertFalse(seen.contains(7));
+        assertTrue(seen.markSeen(7));
+        assertFalse(seen.markSeen(7));
+    }
+
+    @Test
+    void forgettingKeepsCollidingKeysReachable() {
+        WebhookDeduplicator seen = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(16).build();
+        int capacity = seen.getCapacity();
+        // keys below 2^32 that differ by a multiple of the capacity share one home slot
+        long first = 5;
+        long second = first + capacity;
+        long third = first + 2L * capacity;
+        assertTrue(seen.markSeen(first));
+        assertTrue(seen.markSeen(second));
+        assertTrue(seen.markSeen(third));
+
+        seen.forget(second);
+
+        assertTrue(seen.contains(first));
+        assertFalse(seen.contains(second));
+        assertTrue(seen.contains(third));
+        assertFalse(seen.markSeen(third));
+        // the forgotten slot is reused rather than a new one taken further along
+        assertTrue(seen.markSeen(second));
+        assertEquals(3, seen.size());
+    }
+
+    @Test
+    void expiredKeysAreHandledAgain() throws InterruptedException {
+        WebhookDeduplicator seen = WebhookDeduplicator.builder().window(Duration.ofMillis(50)).maxEntries(64).build();
+        seen.markSeen(9);
+        Thread.sleep(120);
+        assertFalse(seen.contains(9));
+        assertEquals(0, seen.size());
+        assertTrue(seen.markSeen(9));
+    }
+
+    @Test
+    void compactionKeepsEveryLiveKey() throws InterruptedException {
+        WebhookDeduplicator seen = WebhookDeduplicator.builder().window(Duration.ofMillis(50)).maxEntries(16).build();
+        int capacity = seen.getCapacity();
+        for (long key = 1; key < capacity * 3 / 4; key++) {
+            seen.markSeen(key);
+        }
+        Thread.sleep(120);
+        long firstLive = 1000;
+        for (long key = firstLive; key < firstLive + capacity / 2; key++) {
+            assertTrue(seen.markSeen(key));
+        }
+        for (long key = firstLive; key < firstLive + capacity / 2; key++) {
+            assertTrue(seen.contains(key), "live key " + key + " lost by compaction");
+        }
+        assertEquals(capacity / 2, seen.size());
+    }
+
+    @Test
+    void fullTableForgetsKeysClosestToExpiry() throws InterruptedException {
+        WebhookDeduplicator seen = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(16).build();
+        int capacity = seen.getCapacity();
+        int inserted = capacity * 4;
+        for (long key = 1; key <= inserted; key++) {
+            assertTrue(seen.markSeen(key));
+            if (key == 1) {
+                // give the oldest key a strictly earlier expiry
+                Thread.sleep(5);
+            }
+        }
+        assertTrue(seen.size() <= capacity * 3 / 4);
+        assertFalse(seen.contains(1));
+        assertTrue(seen.contains(inserted));
+        assertFalse(seen.markSeen(inserted));
+    }
+
+    @Test
+    void reopensItsFile() {
+        Path file = dir.resolve("webhooks.dedup");
+        try (WebhookDeduplicator seen = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(64)
+                .file(file).build()) {
+            seen.markSeen(11);
+            seen.markSeen(12);
+            seen.forget(12);
+        }
+        try (WebhookDeduplicator reopened = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(64)
+                .file(file).build()) {
+            assertTrue(reopened.contains(11));
+            assertFalse(reopened.contains(12));
+            assertFalse(reopened.markSeen(11));
+            assertEquals(1, reopened.size());
+        }
+    }
+
+    @Test
+    void discardsFileWrittenWithAnotherCapacity() throws Exception {
+        Path file = dir.resolve("webhooks.dedup");
+        try (WebhookDeduplicator seen = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(64)
+                .file(file).build()) {
+            seen.markSeen(11);
+        }
+        long before = Files.size(file);
+        try (WebhookDeduplicator reopened = WebhookDeduplicator.builder().window(LONG_WINDOW).maxEntries(1024)
+                .file(file).build()) {
+            assertFalse(reopened.contains(11));
+            assertEquals(0, reopened.size());
+            assertTrue(reopened.markSeen(11));
+        }
+        assertTrue(Files.size(file) > before);
+    }
+}